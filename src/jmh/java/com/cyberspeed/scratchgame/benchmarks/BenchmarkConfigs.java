@@ -0,0 +1,76 @@
+package com.cyberspeed.scratchgame.benchmarks;
+
+import com.cyberspeed.scratchgame.GameLauncher;
+import com.cyberspeed.scratchgame.configs.GameConfig;
+import com.cyberspeed.scratchgame.probabilities.DefaultStandardSymbolsProbability;
+import com.cyberspeed.scratchgame.probabilities.Probability;
+import com.cyberspeed.scratchgame.wincombinations.LinearSymbolsWinCombination;
+import com.cyberspeed.scratchgame.wincombinations.SameSymbolsWinCombination;
+import com.cyberspeed.scratchgame.wincombinations.WinCombination;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Configurations the benchmarks are run with. Besides the shipped {@code config.json}, synthetic configurations of
+ * larger matrices are derived from it with the name {@code grid-<rows>x<columns>}.
+ */
+public final class BenchmarkConfigs {
+
+  /**
+   * Configuration file shipped with the game
+   */
+  public static final String SHIPPED_CONFIG = "config.json";
+
+  private static final String GRID_PREFIX = "grid-";
+
+  private BenchmarkConfigs() {
+  }
+
+  /**
+   * @param name {@link #SHIPPED_CONFIG} or {@code grid-<rows>x<columns>}
+   * @return the configuration with the given name
+   */
+  public static GameConfig load(String name) {
+    var shippedConfig = GameLauncher.loadConfig(SHIPPED_CONFIG);
+    if (!name.startsWith(GRID_PREFIX)) {
+      return GameLauncher.loadConfig(name);
+    }
+
+    var size = name.substring(GRID_PREFIX.length()).split("x");
+    return grid(shippedConfig, Integer.parseInt(size[0]), Integer.parseInt(size[1]));
+  }
+
+  /**
+   * Derives a configuration of the given matrix size from the shipped configuration. The probabilities of the first
+   * configured cell are the default probabilities of every cell, same symbol win combinations are kept, and linear win
+   * combinations cover every row, column and the two diagonals of the matrix.
+   */
+  private static GameConfig grid(GameConfig shippedConfig, int rows, int columns) {
+    var probabilities = shippedConfig.probabilities();
+    var cellProbabilities = probabilities.standardSymbolsProbabilities().get(0).symbols();
+
+    // every cell shares the default probabilities, none is listed
+    var defaultStandardSymbolsProbability = new DefaultStandardSymbolsProbability(cellProbabilities);
+
+    var winCombinations = new LinkedHashMap<String, WinCombination>();
+    shippedConfig.winCombinations().forEach((name, winCombination) -> {
+      if (winCombination instanceof SameSymbolsWinCombination) {
+        winCombinations.put(name, winCombination);
+      }
+    });
+
+    // covered areas are described by patterns, so the configuration does not grow with the matrix
+    winCombinations.put("same_symbols_horizontally",
+      new LinearSymbolsWinCombination(2, "horizontally_linear_symbols", null, "all_rows"));
+    winCombinations.put("same_symbols_vertically",
+      new LinearSymbolsWinCombination(2, "vertically_linear_symbols", null, "all_columns"));
+    winCombinations.put("same_symbols_diagonally_left_to_right",
+      new LinearSymbolsWinCombination(5, "ltr_diagonally_linear_symbols", null, "ltr_diagonal"));
+    winCombinations.put("same_symbols_diagonally_right_to_left",
+      new LinearSymbolsWinCombination(5, "rtl_diagonally_linear_symbols", null, "rtl_diagonal"));
+
+    return new GameConfig(rows, columns, shippedConfig.symbols(),
+      new Probability(List.of(), probabilities.bonusSymbolsProbability(), defaultStandardSymbolsProbability),
+      winCombinations);
+  }
+}
@@ -0,0 +1,61 @@
+package com.cyberspeed.scratchgame.benchmarks;
+
+import com.cyberspeed.scratchgame.GameLauncher;
+import com.cyberspeed.scratchgame.ScratchGame;
+import com.cyberspeed.scratchgame.configs.CompiledGameConfig;
+import com.cyberspeed.scratchgame.configs.GameConfig;
+import com.cyberspeed.scratchgame.models.GameOutput;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Loading of the shipped configuration file and printing of a {@link GameOutput}. The output is printed to a discarding
+ * stream, so that the console does not take part in the measurement.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GameLauncherBenchmark {
+
+  private GameOutput gameOutput;
+  private PrintStream systemOut;
+
+  @Setup
+  public void setup() {
+    var gameConfig = GameLauncher.loadConfig(BenchmarkConfigs.SHIPPED_CONFIG);
+    gameOutput = new ScratchGame(new CompiledGameConfig(gameConfig)).play(100);
+
+    systemOut = System.out;
+    System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+  }
+
+  @TearDown
+  public void tearDown() {
+    System.setOut(systemOut);
+  }
+
+  @Benchmark
+  public GameConfig loadConfig() {
+    return GameLauncher.loadConfig(BenchmarkConfigs.SHIPPED_CONFIG);
+  }
+
+  @Benchmark
+  public void printOutput() {
+    GameLauncher.printOutput(gameOutput);
+  }
+}
@@ -0,0 +1,34 @@
+package com.cyberspeed.scratchgame.benchmarks;
+
+import com.cyberspeed.scratchgame.ScratchGame;
+import com.cyberspeed.scratchgame.configs.CompiledGameConfig;
+import com.cyberspeed.scratchgame.configs.GameConfig;
+import com.cyberspeed.scratchgame.metrics.GameMetrics;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Configuration shared by the benchmarks, parameterised by the name of the configuration
+ */
+@State(Scope.Benchmark)
+public class GameState {
+
+  @Param({BenchmarkConfigs.SHIPPED_CONFIG, "grid-5x5", "grid-10x10"})
+  public String config;
+
+  public GameConfig gameConfig;
+  public CompiledGameConfig compiledGameConfig;
+  public ScratchGame scratchGame;
+  // same game, instrumented with metrics that are not published
+  public ScratchGame instrumentedScratchGame;
+
+  @Setup
+  public void setup() {
+    gameConfig = BenchmarkConfigs.load(config);
+    compiledGameConfig = new CompiledGameConfig(gameConfig);
+    scratchGame = new ScratchGame(compiledGameConfig);
+    instrumentedScratchGame = new ScratchGame(compiledGameConfig, new GameMetrics());
+  }
+}
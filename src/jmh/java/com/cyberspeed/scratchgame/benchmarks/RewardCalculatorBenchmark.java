@@ -0,0 +1,56 @@
+package com.cyberspeed.scratchgame.benchmarks;
+
+import com.cyberspeed.scratchgame.ScratchCard;
+import com.cyberspeed.scratchgame.utils.RewardCalculator;
+import com.cyberspeed.scratchgame.utils.WinCombinationFinder;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reward calculation of the win combination ids and bonus symbol ids of pre-generated {@link ScratchCard}s, with the
+ * compiled configuration the rounds are rewarded with
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RewardCalculatorBenchmark {
+
+  private static final int CARD_COUNT = 1024;
+  private static final int BETTING_AMOUNT = 100;
+
+  private final RewardCalculator rewardCalculator = new RewardCalculator();
+  private int[] bonusSymbolIds;
+  private int[][] winningCombinationIds;
+  private int next;
+
+  @Setup
+  public void setup(GameState state) {
+    var winCombinationFinder = WinCombinationFinder.sequential();
+    bonusSymbolIds = new int[CARD_COUNT];
+    winningCombinationIds = new int[CARD_COUNT][];
+    for (int i = 0; i < CARD_COUNT; i++) {
+      var scratchCard = new ScratchCard(state.compiledGameConfig);
+      bonusSymbolIds[i] = scratchCard.getBonusSymbolId();
+      winningCombinationIds[i] = winCombinationFinder.findIds(scratchCard, state.compiledGameConfig);
+    }
+  }
+
+  @Benchmark
+  public double calculate(GameState state) {
+    var i = next++ & (CARD_COUNT - 1);
+    return rewardCalculator.calculate(state.compiledGameConfig, BETTING_AMOUNT, bonusSymbolIds[i],
+      winningCombinationIds[i]);
+  }
+}
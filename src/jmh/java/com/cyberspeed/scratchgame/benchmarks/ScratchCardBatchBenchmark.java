@@ -0,0 +1,77 @@
+package com.cyberspeed.scratchgame.benchmarks;
+
+import com.cyberspeed.scratchgame.ScratchCard;
+import com.cyberspeed.scratchgame.ScratchCardBatch;
+import com.cyberspeed.scratchgame.utils.RandomGenerators;
+import com.cyberspeed.scratchgame.utils.RewardCalculator;
+import com.cyberspeed.scratchgame.utils.WinCombinationFinder;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Rounds of a simulation, without their output: generation of the cards, search of the win combinations, and
+ * calculation of the reward. The cards are either created one {@link ScratchCard} per round, or generated in a
+ * {@link ScratchCardBatch} and searched from the batch. Scores are per round.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ScratchCardBatchBenchmark {
+
+  private static final int BETTING_AMOUNT = 100;
+
+  // rounds of an invocation, as many as the cards of a batch
+  private static final int ROUNDS = 256;
+
+  private final WinCombinationFinder winCombinationFinder = new WinCombinationFinder();
+  private final RewardCalculator rewardCalculator = new RewardCalculator();
+  private final RandomGenerator random = RandomGenerators.create(1);
+  private ScratchCardBatch scratchCardBatch;
+
+  @Setup
+  public void setup(GameState state) {
+    scratchCardBatch = new ScratchCardBatch(state.compiledGameConfig, ROUNDS);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ROUNDS)
+  public double cards(GameState state) {
+    var compiledGameConfig = state.compiledGameConfig;
+    var totalReward = 0.0;
+    for (int round = 0; round < ROUNDS; round++) {
+      var scratchCard = new ScratchCard(compiledGameConfig, random);
+      var ids = winCombinationFinder.findIds(scratchCard, compiledGameConfig);
+      totalReward += rewardCalculator.calculate(compiledGameConfig, BETTING_AMOUNT, scratchCard.getBonusSymbolId(),
+        ids);
+    }
+    return totalReward;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ROUNDS)
+  public double batch(GameState state) {
+    var compiledGameConfig = state.compiledGameConfig;
+    var totalReward = 0.0;
+    scratchCardBatch.fill(random);
+    for (int card = 0; card < ROUNDS; card++) {
+      var ids = winCombinationFinder.findIds(scratchCardBatch, card, compiledGameConfig);
+      totalReward += rewardCalculator.calculate(compiledGameConfig, BETTING_AMOUNT,
+        scratchCardBatch.getBonusSymbolId(card), ids);
+    }
+    return totalReward;
+  }
+}
@@ -0,0 +1,33 @@
+package com.cyberspeed.scratchgame.benchmarks;
+
+import com.cyberspeed.scratchgame.ScratchCard;
+import com.cyberspeed.scratchgame.configs.CompiledGameConfig;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Generation of a {@link ScratchCard} from a compiled configuration and compilation of the configuration itself
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScratchCardBenchmark {
+
+  @Benchmark
+  public ScratchCard generate(GameState state) {
+    return new ScratchCard(state.compiledGameConfig);
+  }
+
+  @Benchmark
+  public CompiledGameConfig compile(GameState state) {
+    return new CompiledGameConfig(state.gameConfig);
+  }
+}
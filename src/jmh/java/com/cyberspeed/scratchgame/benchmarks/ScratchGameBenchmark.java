@@ -0,0 +1,36 @@
+package com.cyberspeed.scratchgame.benchmarks;
+
+import com.cyberspeed.scratchgame.ScratchGame;
+import com.cyberspeed.scratchgame.models.GameOutput;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Whole round of the {@link ScratchGame}: generation of the card, search of the win combinations, and calculation of
+ * the reward. The round of an instrumented game is measured as well, to compare the overhead of the metrics.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScratchGameBenchmark {
+
+  private static final int BETTING_AMOUNT = 100;
+
+  @Benchmark
+  public GameOutput play(GameState state) {
+    return state.scratchGame.play(BETTING_AMOUNT);
+  }
+
+  @Benchmark
+  public GameOutput playInstrumented(GameState state) {
+    return state.instrumentedScratchGame.play(BETTING_AMOUNT);
+  }
+}
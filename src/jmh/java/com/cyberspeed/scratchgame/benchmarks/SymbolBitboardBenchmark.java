@@ -0,0 +1,87 @@
+package com.cyberspeed.scratchgame.benchmarks;
+
+import com.cyberspeed.scratchgame.ScratchCard;
+import com.cyberspeed.scratchgame.configs.CompiledGameConfig;
+import com.cyberspeed.scratchgame.utils.BitboardKernel;
+import com.cyberspeed.scratchgame.utils.BitboardKernels;
+import com.cyberspeed.scratchgame.utils.SymbolBitboard;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Masks of the symbols of pre-generated {@link ScratchCard}s built and checked against the covered areas of the linear
+ * win combinations by the scalar and the vector {@link BitboardKernel}. The fork adds the Vector API module, so that
+ * both kernels are available.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", BitboardKernels.VECTOR_MODULE})
+@State(Scope.Thread)
+public class SymbolBitboardBenchmark {
+
+  // number of cards the benchmark cycles through, so that a single card does not dominate the branch profile
+  private static final int CARD_COUNT = 64;
+
+  @Param({"grid-10x10", "grid-100x100", "grid-250x250"})
+  public String config;
+
+  @Param({"scalar", "vector"})
+  public String kernel;
+
+  private CompiledGameConfig compiledGameConfig;
+  private BitboardKernel bitboardKernel;
+  private ScratchCard[] scratchCards;
+  private int next;
+
+  @Setup
+  public void setup() {
+    compiledGameConfig = new CompiledGameConfig(BenchmarkConfigs.load(config));
+    bitboardKernel = "vector".equals(kernel) ? BitboardKernels.vector() : BitboardKernels.scalar();
+    if (bitboardKernel == null) {
+      throw new IllegalStateException("Vector API module is not added to the benchmark JVM");
+    }
+
+    scratchCards = new ScratchCard[CARD_COUNT];
+    for (int i = 0; i < CARD_COUNT; i++) {
+      scratchCards[i] = new ScratchCard(compiledGameConfig);
+    }
+  }
+
+  @Benchmark
+  public SymbolBitboard build() {
+    return new SymbolBitboard(scratchCards[next++ & (CARD_COUNT - 1)], bitboardKernel);
+  }
+
+  @Benchmark
+  public int coverLinearAreas() {
+    var scratchCard = scratchCards[next++ & (CARD_COUNT - 1)];
+    var bitboard = new SymbolBitboard(scratchCard, bitboardKernel);
+    var cells = scratchCard.getCells();
+
+    // same checks as the win combination search, for the symbol of the first cell of each covered area
+    var coveredAreas = 0;
+    for (int id : compiledGameConfig.getLinearWinCombinationIds()) {
+      var coveredAreaCells = compiledGameConfig.getCoveredAreaCells(id);
+      var coveredAreaMasks = compiledGameConfig.getCoveredAreaMasks(id);
+      for (int area = 0; area < coveredAreaCells.length; area++) {
+        var symbolId = cells[coveredAreaCells[area][0]];
+        if (symbolId != ScratchCard.EMPTY_CELL && bitboard.covers(symbolId, coveredAreaMasks, area)) {
+          coveredAreas++;
+        }
+      }
+    }
+    return coveredAreas;
+  }
+}
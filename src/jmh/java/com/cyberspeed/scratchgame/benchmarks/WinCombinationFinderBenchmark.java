@@ -0,0 +1,57 @@
+package com.cyberspeed.scratchgame.benchmarks;
+
+import com.cyberspeed.scratchgame.ScratchCard;
+import com.cyberspeed.scratchgame.utils.WinCombinationFinder;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Search of the win combinations of pre-generated {@link ScratchCard}s, on the calling thread or split across the
+ * common fork join pool for large grids, e.g. {@code -p config=grid-250x250}. The split search only differs from the
+ * sequential one on a machine with more than one processor.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class WinCombinationFinderBenchmark {
+
+  // number of cards the benchmark cycles through, so that a single card does not dominate the branch profile
+  private static final int CARD_COUNT = 1024;
+
+  @Param({"sequential", "parallel"})
+  public String search;
+
+  private WinCombinationFinder winCombinationFinder;
+  private ScratchCard[] scratchCards;
+  private int next;
+
+  @Setup
+  public void setup(GameState state) {
+    winCombinationFinder = search.equals("parallel") ? new WinCombinationFinder() : WinCombinationFinder.sequential();
+    scratchCards = new ScratchCard[CARD_COUNT];
+    for (int i = 0; i < CARD_COUNT; i++) {
+      scratchCards[i] = new ScratchCard(state.compiledGameConfig);
+    }
+  }
+
+  @Benchmark
+  public Map<String, Set<String>> find(GameState state) {
+    var scratchCard = scratchCards[next++ & (CARD_COUNT - 1)];
+    return winCombinationFinder.find(scratchCard, state.compiledGameConfig);
+  }
+}
@@ -4,23 +4,38 @@ import static com.cyberspeed.scratchgame.utils.Validation.isGreaterThanZero;
 
 import com.cyberspeed.scratchgame.exceptions.GameException;
 import com.cyberspeed.scratchgame.models.GameInput;
+import com.cyberspeed.scratchgame.models.GameMode;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Set;
 
 /**
  * Utility class with a method two parse and validate game arguments
  */
 public class GameArgumentsParser {
 
+  private static final String EXACT_RTP_FLAG = "--exact-rtp";
+  private static final String METRICS_FLAG = "--metrics";
+  private static final Set<String> FLAGS = Set.of(EXACT_RTP_FLAG, METRICS_FLAG);
+
   /**
    * Parse and validate game arguments
    *
    * @param args arguments to the game
    * @return {@link GameInput} which contains game arguments
-   * @throws GameException if number of argument is incorrect, when bettingAmount is not greater than 0
+   * @throws GameException if number of argument is incorrect, when bettingAmount is not greater than 0, or when number
+   *                       of rounds to simulate or threads is not greater than 0, or when port is not valid,
+   *                       or when output file of a batch is missing
    */
   public GameInput parse(String[] args) {
     var arguments = new HashMap<String, String>();
 
+    // flags have no value, they are taken out before the remaining args are processed in pair
+    var exactRtp = Arrays.asList(args).contains(EXACT_RTP_FLAG);
+    // rounds are only counted and timed on demand, since the metrics add to the cost of every round
+    var metrics = Arrays.asList(args).contains(METRICS_FLAG);
+    args = Arrays.stream(args).filter(arg -> !FLAGS.contains(arg)).toArray(String[]::new);
+
     // args are processed in pair, first arg should be the name and second arg should be the value
     for (int i = 0; i < args.length; i += 2) {
       // check if there are at least two args available to be processed
@@ -30,26 +45,106 @@ public class GameArgumentsParser {
       }
     }
 
-    int bettingAmount;
+    // a flight recording is summarized without a configuration
+    var recordingFile = arguments.get("--jfr-summary");
+    if (recordingFile != null) {
+      return GameInput.builder().mode(GameMode.JFR_SUMMARY).threads(1).recordingFile(recordingFile).build();
+    }
+
+    int bettingAmount = 0;
     var configFile = arguments.get("--config");
     var amountAsString = arguments.get("--betting-amount");
+    // in serve and batch modes the betting amount is part of every request
+    var portAsString = arguments.get("--serve");
+    var batchFile = arguments.get("--batch");
 
     // if any of the argument is null throw exception
-    if (configFile == null || amountAsString == null) {
+    if (configFile == null || (amountAsString == null && portAsString == null && batchFile == null)) {
       throw new GameException(
         "Unable to parse game input. Usage: java -jar <your-jar-file> --config <config-file> --betting-amount <amount>");
     }
 
-    // assuming betting amount is always an integer value greater than 0;
+    if (amountAsString != null) {
+      // assuming betting amount is always an integer value greater than 0;
+      try {
+        bettingAmount = Integer.parseInt(amountAsString);
+      } catch (NumberFormatException e) {
+        throw new GameException("Unable to parse betting amount");
+      }
+
+      // validate betAmount is greater than 0
+      isGreaterThanZero(bettingAmount, "Betting amount must be greater than 0");
+    }
+
+    // by default simulation and exact RTP calculation use all the available processors
+    var threads = Runtime.getRuntime().availableProcessors();
+    var threadsAsString = arguments.get("--threads");
+    if (threadsAsString != null) {
+      try {
+        threads = Integer.parseInt(threadsAsString);
+      } catch (NumberFormatException e) {
+        throw new GameException("Unable to parse number of threads");
+      }
+      isGreaterThanZero(threads, "Number of threads must be greater than 0");
+    }
+
+    // the compiled configuration is cached on disk when a cache directory is given
+    var configCacheDirectory = arguments.get("--config-cache");
+
+    // rounds are replayed with the same seed
+    Long seed = null;
+    var seedAsString = arguments.get("--seed");
+    if (seedAsString != null) {
+      try {
+        seed = Long.parseLong(seedAsString);
+      } catch (NumberFormatException e) {
+        throw new GameException("Unable to parse seed");
+      }
+    }
+
+    var gameInput = GameInput.builder().configFile(configFile).bettingAmount(bettingAmount).threads(threads).seed(seed)
+      .configCacheDirectory(configCacheDirectory).metrics(metrics);
+
+    if (portAsString != null) {
+      int port;
+      try {
+        port = Integer.parseInt(portAsString);
+      } catch (NumberFormatException e) {
+        throw new GameException("Unable to parse port");
+      }
+      if (port < 0 || port > 65535) {
+        throw new GameException("Port must be between 0 and 65535, but was: " + port);
+      }
+      return gameInput.mode(GameMode.SERVE).port(port).build();
+    }
+
+    if (batchFile != null) {
+      // the output of the rounds is written to a file, next to each other line by line
+      var outputFile = arguments.get("--out");
+      if (outputFile == null) {
+        throw new GameException("Unable to parse batch input. Usage: --batch <requests-file> --out <output-file>");
+      }
+      return gameInput.mode(GameMode.BATCH).batchFile(batchFile).outputFile(outputFile).build();
+    }
+
+    if (exactRtp) {
+      return gameInput.mode(GameMode.EXACT_RTP).build();
+    }
+
+    // simulation mode is enabled with the number of rounds to simulate
+    var roundsAsString = arguments.get("--simulate");
+    if (roundsAsString == null) {
+      return gameInput.mode(GameMode.PLAY).simulationRounds(1).build();
+    }
+
+    long rounds;
     try {
-      bettingAmount = Integer.parseInt(amountAsString);
+      rounds = Long.parseLong(roundsAsString);
     } catch (NumberFormatException e) {
-      throw new GameException("Unable to parse betting amount");
+      throw new GameException("Unable to parse number of rounds to simulate");
     }
+    isGreaterThanZero(rounds, "Number of rounds to simulate must be greater than 0");
 
-    // validate betAmount is greater than 0
-    isGreaterThanZero(bettingAmount, "Betting amount must be greater than 0");
-
-    return new GameInput(configFile, bettingAmount);
+    return gameInput.mode(GameMode.SIMULATE).simulationRounds(rounds).build();
   }
 }
@@ -1,14 +1,24 @@
 package com.cyberspeed.scratchgame;
 
+import com.cyberspeed.scratchgame.batch.BatchGameRunner;
+import com.cyberspeed.scratchgame.configs.CompiledGameConfig;
+import com.cyberspeed.scratchgame.configs.CompiledGameConfigCache;
 import com.cyberspeed.scratchgame.configs.GameConfig;
-import com.cyberspeed.scratchgame.exceptions.GameException;
+import com.cyberspeed.scratchgame.configs.GameConfigParser;
+import com.cyberspeed.scratchgame.configs.GameConfigWatcher;
+import com.cyberspeed.scratchgame.jfr.ConfigLoadEvent;
+import com.cyberspeed.scratchgame.jfr.RecordingSummarizer;
+import com.cyberspeed.scratchgame.metrics.GameMetrics;
+import com.cyberspeed.scratchgame.models.GameInput;
+import com.cyberspeed.scratchgame.models.GameMode;
 import com.cyberspeed.scratchgame.models.GameOutput;
-import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import java.io.File;
-import java.io.IOException;
+import com.cyberspeed.scratchgame.server.GameServer;
+import com.cyberspeed.scratchgame.simulation.ExactRtpCalculator;
+import com.cyberspeed.scratchgame.simulation.MonteCarloSimulator;
+import com.cyberspeed.scratchgame.utils.GameOutputWriter;
+import com.cyberspeed.scratchgame.utils.RandomGenerators;
+import com.cyberspeed.scratchgame.utils.WinCombinationFinder;
+import java.nio.file.Path;
 
 /**
  * Main class responsible for parsing of game arguments, loading game configuration, running the game, and displaying
@@ -16,50 +26,108 @@ import java.io.IOException;
  */
 public class GameLauncher {
 
-  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
   private static final GameArgumentsParser GAME_ARGUMENTS_PARSER = new GameArgumentsParser();
-
-  static {
-    // indent output for pretty print JSON
-    OBJECT_MAPPER.enable(SerializationFeature.INDENT_OUTPUT);
-    // only serialize attributes that are non-empty
-    OBJECT_MAPPER.setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
-  }
+  private static final GameConfigParser GAME_CONFIG_PARSER = new GameConfigParser();
 
   public static void main(String[] args) {
     // Parse and validate input
     var gameInput = GAME_ARGUMENTS_PARSER.parse(args);
 
-    // load gameConfig
-    var gameConfig = loadConfig(gameInput.configFile());
+    if (gameInput.mode() == GameMode.JFR_SUMMARY) {
+      // summarize a flight recording of the game, which needs no configuration
+      printReport(new RecordingSummarizer().summarize(gameInput.recordingFile()));
+      return;
+    }
+
+    // load gameConfig and compile it once
+    var compiledGameConfig = compileConfig(gameInput, gameInput.configFile());
+
+    if (gameInput.mode() == GameMode.SERVE) {
+      // serve rounds of one game until the process is stopped, its metrics are published over JMX if enabled
+      var gameMetrics = gameInput.metrics() ? new GameMetrics().register() : null;
+      var gameServer = new GameServer(new ScratchGame(compiledGameConfig, gameMetrics), gameInput.port(),
+        gameInput.threads());
+      gameServer.start();
+      System.out.println("Scratch Game server is listening on port " + gameServer.getPort());
+
+      // a valid change of the configuration file replaces the game of the next rounds, an invalid one is rejected
+      var configWatcher = new GameConfigWatcher(gameInput.configFile(),
+        configFile -> compileConfig(gameInput, configFile),
+        reloadedGameConfig -> {
+          // the metrics keep counting across configurations
+          gameServer.setScratchGame(new ScratchGame(reloadedGameConfig, gameMetrics));
+          System.out.println("Scratch Game configuration is reloaded");
+        },
+        e -> System.err.println("Scratch Game configuration is rejected, the previous one is kept: " + e.getMessage()));
+      configWatcher.start();
+      return;
+    }
+
+    if (gameInput.mode() == GameMode.EXACT_RTP) {
+      // enumerate every Scratch Card to calculate the exact outcome of a round
+      var calculator = new ExactRtpCalculator(compiledGameConfig);
+      printReport(calculator.calculate(gameInput.bettingAmount(), gameInput.threads()));
+      return;
+    }
+
+    // the same seed replays the same rounds
+    var random = gameInput.seed() == null ? RandomGenerators.create() : RandomGenerators.create(gameInput.seed());
 
-    // create the game
-    var scratchGame = new ScratchGame(gameConfig);
+    if (gameInput.mode() == GameMode.BATCH) {
+      // play the rounds of every request in the batch file, the output is written to the output file, the metrics of
+      // the rounds are published over JMX while the batch runs if enabled
+      var gameMetrics = gameInput.metrics() ? new GameMetrics().register() : null;
+      var batchGameRunner = new BatchGameRunner(new ScratchGame(compiledGameConfig, gameMetrics));
+      batchGameRunner.run(gameInput.batchFile(), gameInput.outputFile(), gameInput.threads(), random);
+      return;
+    }
+
+    if (gameInput.mode() == GameMode.SIMULATE) {
+      // simulate many rounds to measure the statistics of the configuration
+      var simulator = new MonteCarloSimulator(compiledGameConfig);
+      printReport(simulator.simulate(gameInput.bettingAmount(), gameInput.simulationRounds(), gameInput.threads(),
+        random));
+      return;
+    }
+
+    // create the game, its single round may split the card of a large configuration across the common pool
+    var scratchGame = new ScratchGame(compiledGameConfig, null, new WinCombinationFinder());
 
     // play game with a bet
-    var gameOutput = scratchGame.play(gameInput.bettingAmount());
+    var gameOutput = scratchGame.play(gameInput.bettingAmount(), random);
 
     // print output
     printOutput(gameOutput);
   }
 
+  /**
+   * Loads and compiles the configuration file, or reads it compiled from the cache directory of the game input
+   */
+  private static CompiledGameConfig compileConfig(GameInput gameInput, String configFile) {
+    var configLoadEvent = new ConfigLoadEvent();
+    configLoadEvent.begin();
+    var compiledGameConfig = gameInput.configCacheDirectory() == null
+      ? new CompiledGameConfig(loadConfig(configFile))
+      : new CompiledGameConfigCache(Path.of(gameInput.configCacheDirectory())).load(configFile);
+    configLoadEvent.commit(configFile, gameInput.configCacheDirectory(), compiledGameConfig);
+    return compiledGameConfig;
+  }
+
   public static GameConfig loadConfig(String configFile) {
-    try {
-      return OBJECT_MAPPER.readValue(new File(configFile), GameConfig.class);
-    } catch (IOException e) {
-      throw new GameException("Unable to parse configuration file", e);
-    }
+    // the configuration is parsed token by token, without the introspection of data binding on a cold JVM
+    return GAME_CONFIG_PARSER.parse(configFile);
   }
 
   public static void printOutput(GameOutput gameOutput) {
-    try {
-      // adjust the json-string so that it look more indented when printed on console
-      var outputAsJson = OBJECT_MAPPER.writeValueAsString(gameOutput).replace("[ [", "[\n    [")
-        .replace("], [", "],\n    [").replace("] ],", "]\n  ],");
-      System.out.println(outputAsJson);
-    } catch (JsonProcessingException e) {
-      throw new GameException("Unable to parse Scratch Game output", e);
-    }
+    // the output is written straight to the console, each row of the matrix on its own line
+    GameOutputWriter.pretty().write(gameOutput, System.out);
+    System.out.println();
+  }
+
+  public static void printReport(Object report) {
+    // reports have no arrays, so they are indented like any other pretty printed JSON
+    GameOutputWriter.pretty().write(report, System.out);
+    System.out.println();
   }
 
 }
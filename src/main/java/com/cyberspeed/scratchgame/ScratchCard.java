@@ -2,12 +2,11 @@ package com.cyberspeed.scratchgame;
 
 import static com.cyberspeed.scratchgame.utils.Validation.isNotNull;
 
+import com.cyberspeed.scratchgame.configs.CompiledGameConfig;
 import com.cyberspeed.scratchgame.configs.GameConfig;
 import com.cyberspeed.scratchgame.exceptions.GameException;
-import java.util.LinkedHashMap;
-import java.util.Map;
-import java.util.Random;
-import java.util.stream.Collectors;
+import com.cyberspeed.scratchgame.utils.RandomGenerators;
+import java.util.random.RandomGenerator;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import org.jetbrains.annotations.Nullable;
@@ -15,117 +14,228 @@ import org.jetbrains.annotations.Nullable;
 /**
  * Scratch card contains a matrix to hold symbols. Symbols are selected randomly according to their probability
  * configured in {@link GameConfig}. There can at most one bonus symbol which may appear randomly.
+ * <p>
+ * The matrix is stored as a flat array of symbol ids (see {@link CompiledGameConfig#getSymbolId(String)}) where the
+ * symbol of a cell is at index {@code row * columns + column}. The matrix of symbol names is only built when it is
+ * requested by {@link #getMatrix()}.
  */
 @EqualsAndHashCode
 public class ScratchCard {
 
-  private static final int BONUS_GENERATION_PROBABILITY_PERCENTAGE = 75;
+  /**
+   * Symbol id of a cell for which no probabilities are configured
+   */
+  public static final byte EMPTY_CELL = -1;
 
-  @EqualsAndHashCode.Exclude
-  private final Random random;
+  /**
+   * Symbol id when no bonus symbol is placed on the matrix
+   */
+  public static final int NO_BONUS_SYMBOL = -1;
+
+  /**
+   * Probability, in percent, that a bonus symbol is placed on the matrix
+   */
+  public static final int BONUS_GENERATION_PROBABILITY_PERCENTAGE = 75;
 
   @Getter
-  private final String[][] matrix;
+  @EqualsAndHashCode.Exclude
+  private final CompiledGameConfig compiledGameConfig;
+
+  private final byte[] cells;
 
   @Getter
-  @Nullable
-  private final String bonusSymbol;
+  private final int bonusSymbolId;
 
   /**
-   * Constructor that validates {@link GameConfig} to make sure {@link ScratchCard} is always created correctly
+   * Constructor that validates {@link GameConfig} to make sure {@link ScratchCard} is always created correctly. The
+   * configuration is compiled for this card only, use {@link #ScratchCard(CompiledGameConfig)} to create many cards
+   * from the same configuration.
    *
    * @param gameConfig configuration of the game that is used to populate {@link ScratchCard} matrix accordingly
    * @throws GameException if gameConfig is null
    */
   public ScratchCard(GameConfig gameConfig) {
+    this(compile(gameConfig));
+  }
+
+  /**
+   * Constructor that validates {@link CompiledGameConfig} to make sure {@link ScratchCard} is always created correctly.
+   * The matrix is populated with the random number generator of the calling thread, see
+   * {@link RandomGenerators#current()}.
+   *
+   * @param compiledGameConfig compiled configuration of the game that is used to populate {@link ScratchCard} matrix
+   *                           accordingly
+   * @throws GameException if compiledGameConfig is null
+   */
+  public ScratchCard(CompiledGameConfig compiledGameConfig) {
+    this(compiledGameConfig, RandomGenerators.current());
+  }
+
+  /**
+   * Constructor that validates {@link CompiledGameConfig} to make sure {@link ScratchCard} is always created correctly
+   *
+   * @param compiledGameConfig compiled configuration of the game that is used to populate {@link ScratchCard} matrix
+   *                           accordingly
+   * @param random             random number generator used to select the symbols, the same sequence of random numbers
+   *                           always populates the same matrix
+   * @throws GameException if compiledGameConfig or random is null
+   */
+  public ScratchCard(CompiledGameConfig compiledGameConfig, RandomGenerator random) {
+    isNotNull(compiledGameConfig, "Config cannot be null");
+    isNotNull(random, "Random generator cannot be null");
+
+    this.compiledGameConfig = compiledGameConfig;
+    this.cells = new byte[compiledGameConfig.getRows() * compiledGameConfig.getColumns()];
+    this.bonusSymbolId = populate(compiledGameConfig, random, cells, 0);
+  }
+
+  /**
+   * Constructor that creates {@link ScratchCard} with the given matrix
+   *
+   * @param compiledGameConfig compiled configuration of the game the symbol ids belong to
+   * @param cells              symbol id of each cell, indexed by {@code row * columns + column}
+   * @param bonusSymbolId      id of the bonus symbol placed on the matrix or {@link #NO_BONUS_SYMBOL}
+   * @throws GameException if compiledGameConfig or cells is null, or number of cells does not match matrix size
+   */
+  public ScratchCard(CompiledGameConfig compiledGameConfig, byte[] cells, int bonusSymbolId) {
+    isNotNull(compiledGameConfig, "Config cannot be null");
+    isNotNull(cells, "Cells cannot be null");
+
+    if (cells.length != compiledGameConfig.getRows() * compiledGameConfig.getColumns()) {
+      throw new GameException("Number of cells must be %d, but was: %d".formatted(
+        compiledGameConfig.getRows() * compiledGameConfig.getColumns(), cells.length));
+    }
+
+    this.compiledGameConfig = compiledGameConfig;
+    this.cells = cells;
+    this.bonusSymbolId = bonusSymbolId;
+  }
+
+  private static CompiledGameConfig compile(GameConfig gameConfig) {
     // GameConfig validates all its attributes before its creation.
     // A non-null gameConfig means it has all the elements that we need to create Scratch Card correctly
     isNotNull(gameConfig, "Config cannot be null");
+    return new CompiledGameConfig(gameConfig);
+  }
 
-    random = new Random();
-    matrix = populateMatrix(gameConfig);
-    bonusSymbol = setBonusSymbolBasedOnProbability(gameConfig, matrix);
+  /**
+   * @return number of matrix rows
+   */
+  public int getRows() {
+    return compiledGameConfig.getRows();
   }
 
   /**
-   * Created and populate matrix according to the {@link GameConfig}
+   * @return number of matrix columns
+   */
+  public int getColumns() {
+    return compiledGameConfig.getColumns();
+  }
+
+  /**
+   * Symbol id of each cell indexed by {@code row * columns + column}. The returned array is the internal state of the
+   * card and must not be modified.
    *
-   * @param gameConfig configuration of the game that is used to populate {@link ScratchCard} matrix accordingly
-   * @return matrix which holds the symbols randomly
+   * @return symbol ids of the matrix
    */
-  private String[][] populateMatrix(GameConfig gameConfig) {
-    String[][] matrix = new String[gameConfig.rows()][gameConfig.columns()];
+  public byte[] getCells() {
+    return cells;
+  }
 
-    // iterate over Standard symbols probabilities
-    gameConfig.probabilities().standardSymbolsProbabilities().forEach(probability -> {
-      // row and colum of the cell to place a Standard symbol randomly
-      int row = probability.row();
-      int column = probability.column();
-      // Set a random Standard symbol based on probabilities
-      matrix[row][column] = getRandomSymbol(probability.symbols());
-    });
+  /**
+   * @param row    row of the cell
+   * @param column column of the cell
+   * @return symbol id of the cell, or {@link #EMPTY_CELL}
+   */
+  public int getSymbolId(int row, int column) {
+    return cells[row * compiledGameConfig.getColumns() + column];
+  }
+
+  /**
+   * Builds the matrix of symbol names
+   *
+   * @return matrix which holds the symbols, a cell without symbol is null
+   */
+  public String[][] getMatrix() {
+    var columns = compiledGameConfig.getColumns();
+    var matrix = new String[compiledGameConfig.getRows()][columns];
+
+    for (int cell = 0; cell < cells.length; cell++) {
+      if (cells[cell] != EMPTY_CELL) {
+        matrix[cell / columns][cell % columns] = compiledGameConfig.getSymbolName(cells[cell]);
+      }
+    }
 
     return matrix;
   }
 
+  /**
+   * @return bonus symbol if populated on the matrix otherwise null
+   */
+  @Nullable
+  public String getBonusSymbol() {
+    return bonusSymbolId == NO_BONUS_SYMBOL ? null : compiledGameConfig.getSymbolName(bonusSymbolId);
+  }
+
+  /**
+   * Populates the cells of a card, stored from the given offset of the array, and places a bonus symbol on it. The same
+   * random numbers are drawn in the same order for a {@link ScratchCard} and a card of {@link ScratchCardBatch}, so
+   * both are populated the same way from the same generator.
+   *
+   * @param compiledGameConfig compiled configuration of the game that is used to populate the matrix accordingly
+   * @param random             random number generator used to select the symbols
+   * @param cells              the array the symbol ids of the card are stored in
+   * @param offset             index of the first cell of the card in the array
+   * @return bonus symbol id if populated on the matrix otherwise {@link #NO_BONUS_SYMBOL}
+   */
+  static int populate(CompiledGameConfig compiledGameConfig, RandomGenerator random, byte[] cells, int offset) {
+    populateMatrix(compiledGameConfig, random, cells, offset);
+    return setBonusSymbolBasedOnProbability(compiledGameConfig, cells, offset, random);
+  }
+
+  /**
+   * Populate matrix according to the {@link CompiledGameConfig}
+   *
+   * @param compiledGameConfig compiled configuration of the game that is used to populate {@link ScratchCard} matrix
+   * @param random             random number generator used to select the symbols
+   * @param cells              the array the symbol ids of the matrix cells selected randomly are stored in
+   * @param offset             index of the first cell of the matrix in the array
+   */
+  private static void populateMatrix(CompiledGameConfig compiledGameConfig, RandomGenerator random, byte[] cells,
+    int offset) {
+    var cellCount = compiledGameConfig.getRows() * compiledGameConfig.getColumns();
+
+    // iterate over cells, a cell without Standard symbols probabilities is left empty
+    for (int cell = 0; cell < cellCount; cell++) {
+      var sampler = compiledGameConfig.getStandardSymbolSampler(cell);
+      // Set a random Standard symbol based on probabilities
+      cells[offset + cell] = sampler == null ? EMPTY_CELL : (byte) sampler.sampleSymbolId(random);
+    }
+  }
+
   /**
    * Randomly decides if the matrix should be populated with a Bonus symbol and then selects one of the Bonus symbol
    * randomly according to their probability|
    *
-   * @param gameConfig configuration of the game that is used to populate {@link ScratchCard} matrix accordingly
-   * @param matrix     the matrix of the {@link ScratchCard}
-   * @return bonus symbol if populated on the matrix otherwise null
+   * @param compiledGameConfig compiled configuration of the game that is used to populate {@link ScratchCard} matrix
+   * @param cells              the symbol ids of the {@link ScratchCard} matrix
+   * @param offset             index of the first cell of the matrix in cells
+   * @param random             random number generator used to select the bonus symbol and its cell
+   * @return bonus symbol id if populated on the matrix otherwise {@link #NO_BONUS_SYMBOL}
    */
-  private String setBonusSymbolBasedOnProbability(GameConfig gameConfig, String[][] matrix) {
+  private static int setBonusSymbolBasedOnProbability(CompiledGameConfig compiledGameConfig, byte[] cells, int offset,
+    RandomGenerator random) {
     boolean setBonusSymbol = (random.nextInt(100) + 1 <= BONUS_GENERATION_PROBABILITY_PERCENTAGE);
 
     if (setBonusSymbol) {
       // Select a random Bonus symbol based on probabilities
-      var bonusSymbol = getRandomSymbol(gameConfig.probabilities().bonusSymbolsProbability().symbols());
-      var randomRow = random.nextInt(matrix.length);
-      var randomColumn = random.nextInt(matrix[0].length);
-      matrix[randomRow][randomColumn] = bonusSymbol;
-      return bonusSymbol;
+      var bonusSymbolId = compiledGameConfig.getBonusSymbolSampler().sampleSymbolId(random);
+      var randomRow = random.nextInt(compiledGameConfig.getRows());
+      var randomColumn = random.nextInt(compiledGameConfig.getColumns());
+      cells[offset + randomRow * compiledGameConfig.getColumns() + randomColumn] = (byte) bonusSymbolId;
+      return bonusSymbolId;
     }
 
-    return null;
-  }
-
-  /**
-   * Randomly selects a symbol to be places on the matrix
-   *
-   * @param symbolProbabilities a map of symbols and their probability
-   * @return randomly selected symbol
-   */
-  private String getRandomSymbol(Map<String, Integer> symbolProbabilities) {
-    // sum of probability of all the symbols
-    var totalProbabilities = symbolProbabilities.values().stream().mapToInt(Integer::intValue).sum();
-
-    // generate a random number between 0 and totalProbabilities
-    var randomNumber = random.nextInt(totalProbabilities) + 1;
-
-    // to maintain cumulative sum
-    final int[] cumulativeSum = {0};
-
-    // to hold the highest probability of all symbols
-    final int[] highestProbability = {0};
-
-    // to hold the symbol with the highest probability.
-    final String[] highestProbabilitySymbol = new String[1];
-
-    // sort map according to probability value, so that the symbol is correctly selected according to its
-    // contribution to cumulativeSum when compare to randomNumber.
-    return symbolProbabilities.entrySet().stream().sorted(Map.Entry.comparingByValue())
-      .collect(Collectors.toMap(Map.Entry::getKey, entry -> {
-        var symbolProbability = entry.getValue();
-        // keep highestProbability and highestProbabilitySymbol updated
-        if (symbolProbability > highestProbability[0]) {
-          highestProbability[0] = symbolProbability;
-          highestProbabilitySymbol[0] = entry.getKey();
-        }
-        return cumulativeSum[0] += entry.getValue();
-      }, (oldValue, newValue) -> oldValue, LinkedHashMap::new)).entrySet().stream()
-      .filter(entry -> entry.getValue() >= randomNumber).map(Map.Entry::getKey).findFirst()
-      .orElse(highestProbabilitySymbol[0]); // this should never happen
+    return NO_BONUS_SYMBOL;
   }
 }
@@ -0,0 +1,169 @@
+package com.cyberspeed.scratchgame;
+
+import static com.cyberspeed.scratchgame.utils.Validation.isGreaterThanZero;
+import static com.cyberspeed.scratchgame.utils.Validation.isNotNull;
+
+import com.cyberspeed.scratchgame.configs.CompiledGameConfig;
+import com.cyberspeed.scratchgame.exceptions.GameException;
+import com.cyberspeed.scratchgame.utils.RewardCalculator;
+import com.cyberspeed.scratchgame.utils.WinCombinationFinder;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.random.RandomGenerator;
+import lombok.Getter;
+
+/**
+ * Batch of Scratch cards stored back to back in a single array of symbol ids, for simulations that play many rounds
+ * without needing a {@link ScratchCard} object per round. The cells of card i are between {@code i * cellCount}
+ * (inclusive) and {@code (i + 1) * cellCount} (exclusive), in the same order as the cells of {@link ScratchCard}, and
+ * the bonus symbol of each card is stored in a parallel array.
+ * <p>
+ * The cards of a batch are searched and rewarded directly by
+ * {@link WinCombinationFinder#findIds(ScratchCardBatch, int, CompiledGameConfig)} and
+ * {@link RewardCalculator#calculate(CompiledGameConfig, int, int, int[])}. A batch is refilled in place, so it is not
+ * thread safe.
+ */
+public class ScratchCardBatch {
+
+  @Getter
+  private final CompiledGameConfig compiledGameConfig;
+
+  /**
+   * Number of cells of a card
+   */
+  @Getter
+  private final int cellCount;
+
+  /**
+   * Maximum number of cards of the batch
+   */
+  @Getter
+  private final int capacity;
+
+  private final byte[] cells;
+
+  private final int[] bonusSymbolIds;
+
+  /**
+   * Number of cards populated by the last fill
+   */
+  @Getter
+  private int size;
+
+  /**
+   * Constructor that validates {@link CompiledGameConfig} and creates an empty {@link ScratchCardBatch} of the given
+   * capacity
+   *
+   * @param compiledGameConfig compiled configuration of the game that is used to populate the cards
+   * @param capacity           maximum number of cards of the batch
+   * @throws GameException if compiledGameConfig is null, or capacity is not greater than 0, or the cells of the cards
+   *                       do not fit in an array
+   */
+  public ScratchCardBatch(CompiledGameConfig compiledGameConfig, int capacity) {
+    this(compiledGameConfig, new byte[cellArrayLength(compiledGameConfig, capacity)]);
+  }
+
+  /**
+   * Constructor that validates {@link CompiledGameConfig} and creates an empty {@link ScratchCardBatch} which stores
+   * its cards in the given array. The capacity of the batch is the number of whole cards that fit in the array.
+   *
+   * @param compiledGameConfig compiled configuration of the game that is used to populate the cards
+   * @param cells              the array the cells of the cards are stored in, it is overwritten by each fill
+   * @throws GameException if compiledGameConfig or cells is null, or cells cannot hold a single card
+   */
+  public ScratchCardBatch(CompiledGameConfig compiledGameConfig, byte[] cells) {
+    isNotNull(compiledGameConfig, "Config cannot be null");
+    isNotNull(cells, "Cells cannot be null");
+
+    this.compiledGameConfig = compiledGameConfig;
+    this.cellCount = compiledGameConfig.getRows() * compiledGameConfig.getColumns();
+    this.capacity = cells.length / cellCount;
+    if (capacity == 0) {
+      throw new GameException("Number of cells must be at least %d, but was: %d".formatted(cellCount, cells.length));
+    }
+    this.cells = cells;
+    this.bonusSymbolIds = new int[capacity];
+  }
+
+  private static int cellArrayLength(CompiledGameConfig compiledGameConfig, int capacity) {
+    isNotNull(compiledGameConfig, "Config cannot be null");
+    isGreaterThanZero(capacity, "Capacity of the batch must be greater than 0");
+
+    var length = (long) capacity * compiledGameConfig.getRows() * compiledGameConfig.getColumns();
+    if (length > Integer.MAX_VALUE - 8) {
+      throw new GameException("Batch of %d cards does not fit in an array of cells".formatted(capacity));
+    }
+    return (int) length;
+  }
+
+  /**
+   * Populates all the cards of the batch, see {@link #fill(RandomGenerator, int)}
+   *
+   * @param random random number generator used to select the symbols
+   * @throws GameException if random is null
+   */
+  public void fill(RandomGenerator random) {
+    fill(random, capacity);
+  }
+
+  /**
+   * Populates the given number of cards, one after the other. The cards are the same as the {@link ScratchCard}s
+   * created one after the other with the same generator.
+   *
+   * @param random random number generator used to select the symbols
+   * @param cards  number of cards to populate
+   * @throws GameException if random is null, or cards is not between 1 and the capacity of the batch
+   */
+  public void fill(RandomGenerator random, int cards) {
+    isNotNull(random, "Random generator cannot be null");
+    if (cards <= 0 || cards > capacity) {
+      throw new GameException("Number of cards must be between 1 and %d, but was: %d".formatted(capacity, cards));
+    }
+
+    for (int card = 0; card < cards; card++) {
+      bonusSymbolIds[card] = ScratchCard.populate(compiledGameConfig, random, cells, card * cellCount);
+    }
+    size = cards;
+  }
+
+  /**
+   * Symbol ids of the cells of all the cards, see {@link #getCellOffset(int)}. The returned array is the internal state
+   * of the batch and must not be modified.
+   *
+   * @return symbol ids of the cards
+   */
+  public byte[] getCells() {
+    return cells;
+  }
+
+  /**
+   * @param card index of the card in the batch
+   * @return index of the first cell of the card in {@link #getCells()}
+   * @throws IndexOutOfBoundsException if card is not populated
+   */
+  public int getCellOffset(int card) {
+    return Objects.checkIndex(card, size) * cellCount;
+  }
+
+  /**
+   * @param card index of the card in the batch
+   * @return id of the bonus symbol placed on the card or {@link ScratchCard#NO_BONUS_SYMBOL}
+   * @throws IndexOutOfBoundsException if card is not populated
+   */
+  public int getBonusSymbolId(int card) {
+    return bonusSymbolIds[Objects.checkIndex(card, size)];
+  }
+
+  /**
+   * Copies a card of the batch to a {@link ScratchCard}, e.g. to print a round of a simulation
+   *
+   * @param card index of the card in the batch
+   * @return new Scratch card with the cells and bonus symbol of the card
+   * @throws IndexOutOfBoundsException if card is not populated
+   */
+  public ScratchCard getScratchCard(int card) {
+    var offset = getCellOffset(card);
+    return new ScratchCard(compiledGameConfig, Arrays.copyOfRange(cells, offset, offset + cellCount),
+      bonusSymbolIds[card]);
+  }
+}
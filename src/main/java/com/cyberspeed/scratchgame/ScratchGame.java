@@ -2,23 +2,49 @@ package com.cyberspeed.scratchgame;
 
 import static com.cyberspeed.scratchgame.utils.Validation.isNotNull;
 
+import com.cyberspeed.scratchgame.configs.CompiledGameConfig;
 import com.cyberspeed.scratchgame.configs.GameConfig;
 import com.cyberspeed.scratchgame.exceptions.GameException;
+import com.cyberspeed.scratchgame.jfr.CardGenerationEvent;
+import com.cyberspeed.scratchgame.jfr.RewardCalculationEvent;
+import com.cyberspeed.scratchgame.jfr.WinEvaluationEvent;
+import com.cyberspeed.scratchgame.metrics.GameMetrics;
+import com.cyberspeed.scratchgame.metrics.GameMetrics.RoundCounters;
 import com.cyberspeed.scratchgame.models.GameOutput;
+import com.cyberspeed.scratchgame.utils.RandomGenerators;
 import com.cyberspeed.scratchgame.utils.RewardCalculator;
 import com.cyberspeed.scratchgame.utils.WinCombinationFinder;
 import com.cyberspeed.scratchgame.wincombinations.WinCombination;
+import java.util.random.RandomGenerator;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Scratch game that has a method to play the game. It takes the bettingAmount as input, find the winning combination,
  * calculates the rewards, and print the output
+ * <p>
+ * The game is created once per configuration and holds no state of a round, every call to
+ * {@link #play(int, RandomGenerator)} plays a new round with a new {@link ScratchCard}. A game can be shared by any
+ * number of threads as long as each thread uses its own random number generator.
+ * <p>
+ * The win combinations of a round are searched on the thread that plays it, unless the game is created with a
+ * {@link WinCombinationFinder} that splits the cards of large configurations, which only pays off when a single round is
+ * played at a time.
+ * <p>
+ * A game created with {@link GameMetrics} counts every round and times its stages, a game created without is not
+ * instrumented at all.
+ * <p>
+ * The stages of every round are also emitted as flight recorder events, which are only committed while a recording
+ * with a threshold lower than their duration is running.
  */
 public class ScratchGame {
 
-  private final ScratchCard scratchCard;
-  private final GameConfig gameConfig;
+  private final CompiledGameConfig compiledGameConfig;
   private final RewardCalculator rewardCalculator;
   private final WinCombinationFinder winCombinationFinder;
+  @Nullable
+  private final GameMetrics gameMetrics;
+  @Nullable
+  private final RoundCounters roundCounters;
 
   /**
    * Validates {@link GameConfig} and initialize its attributes
@@ -28,33 +54,156 @@ public class ScratchGame {
    * @throws GameException if gameConfig is null
    */
   public ScratchGame(GameConfig gameConfig) {
+    this(compile(gameConfig));
+  }
+
+  /**
+   * Validates {@link CompiledGameConfig} and initialize its attributes
+   *
+   * @param compiledGameConfig compiled configuration of the game that is used to create {@link ScratchCard}, finding
+   *                           {@link WinCombination} and calculating reward
+   * @throws GameException if compiledGameConfig is null
+   */
+  public ScratchGame(CompiledGameConfig compiledGameConfig) {
+    this(compiledGameConfig, null);
+  }
+
+  /**
+   * Validates {@link CompiledGameConfig} and initialize its attributes
+   *
+   * @param compiledGameConfig compiled configuration of the game that is used to create {@link ScratchCard}, finding
+   *                           {@link WinCombination} and calculating reward
+   * @param gameMetrics        metrics the rounds are recorded in, or null if the game is not instrumented
+   * @throws GameException if compiledGameConfig is null
+   */
+  public ScratchGame(CompiledGameConfig compiledGameConfig, @Nullable GameMetrics gameMetrics) {
+    this(compiledGameConfig, gameMetrics, WinCombinationFinder.sequential());
+  }
+
+  /**
+   * Validates {@link CompiledGameConfig} and {@link WinCombinationFinder} and initialize its attributes
+   *
+   * @param compiledGameConfig   compiled configuration of the game that is used to create {@link ScratchCard}, finding
+   *                             {@link WinCombination} and calculating reward
+   * @param gameMetrics          metrics the rounds are recorded in, or null if the game is not instrumented
+   * @param winCombinationFinder finder the win combinations of every round are searched with
+   * @throws GameException if compiledGameConfig or winCombinationFinder is null
+   */
+  public ScratchGame(CompiledGameConfig compiledGameConfig, @Nullable GameMetrics gameMetrics,
+    WinCombinationFinder winCombinationFinder) {
+    isNotNull(compiledGameConfig, "Config cannot be null");
+    isNotNull(winCombinationFinder, "Win combination finder cannot be null");
+
+    this.compiledGameConfig = compiledGameConfig;
+    this.rewardCalculator = new RewardCalculator();
+    this.winCombinationFinder = winCombinationFinder;
+    this.gameMetrics = gameMetrics;
+    this.roundCounters = gameMetrics == null ? null : gameMetrics.counters(compiledGameConfig);
+  }
+
+  /**
+   * @return metrics the rounds are recorded in, or null if the game is not instrumented
+   */
+  @Nullable
+  public GameMetrics getGameMetrics() {
+    return gameMetrics;
+  }
+
+  private static CompiledGameConfig compile(GameConfig gameConfig) {
     // GameConfig validates all its attributes before its creation.
     // A non-null gameConfig means it has all the elements that we need to create Scratch Card correctly
     isNotNull(gameConfig, "Config cannot be null");
-
-    this.gameConfig = gameConfig;
-    this.scratchCard = new ScratchCard(gameConfig);
-    this.rewardCalculator = new RewardCalculator();
-    this.winCombinationFinder = new WinCombinationFinder();
+    return new CompiledGameConfig(gameConfig);
   }
 
+  /**
+   * Plays a round with a new {@link ScratchCard} populated by the random number generator of the calling thread
+   *
+   * @param bettingAmount the amount placed on the bet
+   * @return output of the round
+   * @throws GameException if bettingAmount is not greater than 0
+   */
   public GameOutput play(int bettingAmount) {
+    return play(bettingAmount, RandomGenerators.current());
+  }
+
+  /**
+   * Plays a round with a new {@link ScratchCard}
+   *
+   * @param bettingAmount the amount placed on the bet
+   * @param random        random number generator used to populate the {@link ScratchCard}
+   * @return output of the round
+   * @throws GameException if bettingAmount is not greater than 0, or random is null
+   */
+  public GameOutput play(int bettingAmount, RandomGenerator random) {
+    var cardGenerationEvent = new CardGenerationEvent();
+    if (gameMetrics == null) {
+      cardGenerationEvent.begin();
+      var scratchCard = new ScratchCard(compiledGameConfig, random);
+      cardGenerationEvent.commit(scratchCard);
+      return play(bettingAmount, scratchCard, GameMetrics.NOT_TIMED);
+    }
+
+    // the stages of a round sampled by the metrics are timed one after the other
+    var start = gameMetrics.startTimer();
+    cardGenerationEvent.begin();
+    var scratchCard = new ScratchCard(compiledGameConfig, random);
+    cardGenerationEvent.commit(scratchCard);
+    return play(bettingAmount, scratchCard, gameMetrics.recordCardGeneration(start));
+  }
+
+  /**
+   * Plays a round with the given {@link ScratchCard}
+   *
+   * @param bettingAmount the amount placed on the bet
+   * @param scratchCard   the Scratch Card of the round, created from the compiled configuration of the game
+   * @return output of the round
+   * @throws GameException if bettingAmount is not greater than 0, or scratchCard is null, or scratchCard was created
+   *                       from another configuration, e.g. the one of a game replaced by a reload
+   */
+  public GameOutput play(int bettingAmount, ScratchCard scratchCard) {
+    isNotNull(scratchCard, "Game Scratch Card cannot be null");
+    if (scratchCard.getCompiledGameConfig() != compiledGameConfig) {
+      throw new GameException("Game Scratch Card was not created from the config of the game");
+    }
+    return play(bettingAmount, scratchCard, gameMetrics == null ? GameMetrics.NOT_TIMED : gameMetrics.startTimer());
+  }
+
+  /**
+   * @param start start time of the win combination search, or {@link GameMetrics#NOT_TIMED} if the round is not timed
+   */
+  private GameOutput play(int bettingAmount, ScratchCard scratchCard, long start) {
+    isNotNull(scratchCard, "Game Scratch Card cannot be null");
+
     // get bonus symbol
     var bonusSymbol = scratchCard.getBonusSymbol();
 
-    // find wining combination
-    var winningCombinations = winCombinationFinder.find(scratchCard, gameConfig.winCombinations());
+    // find wining combination ids
+    var winEvaluationEvent = new WinEvaluationEvent();
+    winEvaluationEvent.begin();
+    var winningCombinationIds = winCombinationFinder.findIds(scratchCard, compiledGameConfig);
+    winEvaluationEvent.commit(compiledGameConfig, winningCombinationIds);
+    var found = gameMetrics == null ? GameMetrics.NOT_TIMED : gameMetrics.recordWinCombinationSearch(start);
+
+    // calculate reward with the compiled reward multipliers and bonus impacts
+    var rewardCalculationEvent = new RewardCalculationEvent();
+    rewardCalculationEvent.begin();
+    var finalReward = rewardCalculator.calculate(compiledGameConfig, bettingAmount, scratchCard.getBonusSymbolId(),
+      winningCombinationIds);
+    rewardCalculationEvent.commit(bettingAmount, finalReward, bonusSymbol);
 
-    // calculate reward
-    var finalReward = rewardCalculator.calculate(gameConfig, bettingAmount, bonusSymbol, winningCombinations);
+    if (gameMetrics != null) {
+      gameMetrics.recordRewardCalculation(found);
+      roundCounters.record(scratchCard, bettingAmount, winningCombinationIds, finalReward);
+    }
 
-    // build Game output
-    var outputBuilder = GameOutput.builder().matrix(scratchCard.getMatrix()).reward((int) finalReward)
-      .appliedWinningCombinations(winningCombinations);
+    // build Game output, the names of the winning combinations are only needed in the output
+    var outputBuilder = GameOutput.builder().scratchCard(scratchCard).reward((int) finalReward)
+      .appliedWinningCombinations(winCombinationFinder.toNames(winningCombinationIds, compiledGameConfig));
 
     // only add bonus symbol if it is applied (i.e. not null or MISS) and there is a reward
     if (finalReward > 0 && bonusSymbol != null && !bonusSymbol.equalsIgnoreCase("miss")) {
-      outputBuilder.appliedBonusSymbol(scratchCard.getBonusSymbol());
+      outputBuilder.appliedBonusSymbol(bonusSymbol);
     }
 
     return outputBuilder.build();
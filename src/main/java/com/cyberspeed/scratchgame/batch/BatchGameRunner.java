@@ -0,0 +1,205 @@
+package com.cyberspeed.scratchgame.batch;
+
+import static com.cyberspeed.scratchgame.utils.Validation.isGreaterThanZero;
+import static com.cyberspeed.scratchgame.utils.Validation.isNotNull;
+
+import com.cyberspeed.scratchgame.ScratchGame;
+import com.cyberspeed.scratchgame.exceptions.GameException;
+import com.cyberspeed.scratchgame.metrics.GameMetrics;
+import com.cyberspeed.scratchgame.models.GameOutput;
+import com.cyberspeed.scratchgame.models.PlayRequest;
+import com.cyberspeed.scratchgame.utils.GameOutputWriter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+
+/**
+ * Plays the rounds of a JSON Lines file of {@link PlayRequest}s, one request per line, and writes the {@link GameOutput}
+ * of every round as one line, in the order of the requests. A request that cannot be parsed or played is answered with a
+ * line containing its error, and the next requests are played.
+ * <p>
+ * Requests are read one at a time and at most a fixed number of rounds are in flight on the worker pool, so the memory
+ * used does not depend on the size of the file.
+ */
+public class BatchGameRunner {
+
+  // rounds that are played ahead of the one being written, per thread
+  private static final int ROUNDS_IN_FLIGHT_PER_THREAD = 64;
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  // a line holds a single request, anything after it makes the line malformed
+  private static final ObjectReader PLAY_REQUEST_READER = OBJECT_MAPPER.readerFor(PlayRequest.class)
+    .with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+  private static final GameOutputWriter GAME_OUTPUT_WRITER = GameOutputWriter.compact();
+
+  private final ScratchGame scratchGame;
+
+  /**
+   * Constructor that validates {@link ScratchGame} and create {@link BatchGameRunner}
+   *
+   * @param scratchGame the game to play the rounds of
+   * @throws GameException if scratchGame is null
+   */
+  public BatchGameRunner(ScratchGame scratchGame) {
+    isNotNull(scratchGame, "Scratch Game cannot be null");
+
+    this.scratchGame = scratchGame;
+  }
+
+  /**
+   * Plays the rounds of the input file and writes their output to the output file
+   *
+   * @param inputFile  location of the JSON Lines file of requests
+   * @param outputFile location of the JSON Lines file to write the output to
+   * @param threads    number of threads to play the rounds on
+   * @param random     random number generator the generator of every round is split from
+   * @return number of requests
+   * @throws GameException if a file cannot be read or written
+   */
+  public long run(String inputFile, String outputFile, int threads, SplittableGenerator random) {
+    try (var input = new BufferedInputStream(new FileInputStream(inputFile));
+      var output = new BufferedOutputStream(new FileOutputStream(outputFile))) {
+      return run(input, output, threads, random);
+    } catch (IOException e) {
+      throw new GameException("Unable to read or write batch file", e);
+    }
+  }
+
+  /**
+   * Plays the rounds of the input stream and writes their output to the output stream
+   *
+   * @param input   JSON Lines stream of requests
+   * @param output  stream to write JSON Lines of output to
+   * @param threads number of threads to play the rounds on
+   * @param random  random number generator the generator of every round is split from, in the order of the requests
+   * @return number of requests, blank lines are not requests
+   * @throws GameException if threads is not greater than 0, or random is null, or a stream cannot be read or written.
+   *                       The rounds of the requests read before the input fails are written first.
+   */
+  public long run(InputStream input, OutputStream output, int threads, SplittableGenerator random) {
+    isGreaterThanZero(threads, "Number of threads must be greater than 0");
+    isNotNull(random, "Random generator cannot be null");
+
+    var maxRoundsInFlight = threads * ROUNDS_IN_FLIGHT_PER_THREAD;
+    var roundsInFlight = new ArrayDeque<Future<Object>>(maxRoundsInFlight);
+    var executor = Executors.newFixedThreadPool(threads);
+    var requests = 0L;
+    GameException readFailure = null;
+
+    var reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+    try (var generator = GAME_OUTPUT_WRITER.createGenerator(output)) {
+      // rounds are separated by a new line only, instead of the default space between root values
+      generator.setRootValueSeparator(null);
+
+      while (true) {
+        String line;
+        try {
+          line = reader.readLine();
+        } catch (IOException e) {
+          // the rounds of the requests read so far are written before the failure is thrown
+          readFailure = new GameException("Unable to read batch request " + (requests + 1), e);
+          break;
+        }
+        if (line == null) {
+          break;
+        }
+        if (line.isBlank()) {
+          continue;
+        }
+
+        // every request takes the next generator, even a malformed one, so that the rounds of the other requests do
+        // not depend on it
+        var roundRandom = random.split();
+        requests++;
+        roundsInFlight.add(play(executor, line, requests, roundRandom));
+
+        // write the oldest round before more rounds are played
+        if (roundsInFlight.size() == maxRoundsInFlight) {
+          write(generator, roundsInFlight.poll());
+        }
+      }
+
+      while (!roundsInFlight.isEmpty()) {
+        write(generator, roundsInFlight.poll());
+      }
+    } catch (IOException e) {
+      throw new GameException("Unable to write batch output", e);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    if (readFailure != null) {
+      throw readFailure;
+    }
+    return requests;
+  }
+
+  /**
+   * Parses and plays a request on the worker pool
+   *
+   * @param line    the line of the request
+   * @param request number of the request, from 1
+   * @return future of the output of the round, or of the error of a request that cannot be parsed or played
+   */
+  private Future<Object> play(ExecutorService executor, String line, long request, RandomGenerator random) {
+    return executor.submit(() -> {
+      PlayRequest playRequest;
+      try {
+        playRequest = PLAY_REQUEST_READER.readValue(line);
+      } catch (JsonProcessingException e) {
+        playRequest = null;
+      }
+      // a line of malformed JSON, or of a JSON null, holds no request
+      if (playRequest == null) {
+        return Map.of("error", "Unable to parse batch request " + request);
+      }
+
+      try {
+        return scratchGame.play(playRequest.betAmount(), random);
+      } catch (GameException e) {
+        return Map.of("error", e.getMessage());
+      }
+    });
+  }
+
+  private void write(JsonGenerator generator, Future<Object> round) throws IOException {
+    try {
+      var value = round.get();
+
+      // only the output of a round is timed, not the errors
+      var gameMetrics = value instanceof GameOutput ? scratchGame.getGameMetrics() : null;
+      var start = gameMetrics == null ? GameMetrics.NOT_TIMED : gameMetrics.startTimer();
+      GAME_OUTPUT_WRITER.write(value, generator);
+      if (gameMetrics != null) {
+        gameMetrics.recordOutputSerialization(start);
+      }
+
+      generator.writeRaw('\n');
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new GameException("Batch was interrupted", e);
+    } catch (ExecutionException e) {
+      throw new GameException("Batch round failed", e.getCause());
+    }
+  }
+}
@@ -0,0 +1,808 @@
+package com.cyberspeed.scratchgame.configs;
+
+import static com.cyberspeed.scratchgame.utils.Validation.isNotNull;
+import static com.cyberspeed.scratchgame.utils.Validation.isWithinBounds;
+
+import com.cyberspeed.scratchgame.ScratchCard;
+import com.cyberspeed.scratchgame.exceptions.GameException;
+import com.cyberspeed.scratchgame.probabilities.Probability;
+import com.cyberspeed.scratchgame.probabilities.SymbolSampler;
+import com.cyberspeed.scratchgame.symbols.BonusImpact;
+import com.cyberspeed.scratchgame.symbols.BonusSymbol;
+import com.cyberspeed.scratchgame.utils.SymbolBitboard;
+import com.cyberspeed.scratchgame.wincombinations.LinearSymbolsWinCombination;
+import com.cyberspeed.scratchgame.wincombinations.SameSymbolsWinCombination;
+import com.cyberspeed.scratchgame.wincombinations.WinCombination;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Form of {@link GameConfig} that is compiled once, when the configuration is loaded, into the structures needed to
+ * play rounds without re-deriving them from the configuration on every round.
+ */
+@Getter
+public final class CompiledGameConfig {
+
+  /**
+   * Maximum number of symbols, so that a symbol id fits in a byte
+   */
+  public static final int MAX_SYMBOL_COUNT = Byte.MAX_VALUE;
+
+  private final int rows;
+  private final int columns;
+
+  /**
+   * Standard symbol samplers of each {@link ScratchCard} cell, indexed by {@code row * columns + column}. Cells with
+   * the same probabilities share the same sampler. A cell without configured probabilities, and without default
+   * probabilities, has no sampler.
+   */
+  @Getter(AccessLevel.NONE)
+  private final SymbolSampler[] standardSymbolSamplers;
+
+  /**
+   * Distinct samplers of {@link #standardSymbolSamplers}, in the order of the first cell that uses them
+   */
+  @Getter(AccessLevel.NONE)
+  private final SymbolSampler[] distinctStandardSymbolSamplers;
+
+  private final SymbolSampler bonusSymbolSampler;
+
+  /**
+   * Name of each symbol indexed by its dense symbol id. Symbols of {@link GameConfig#symbols()} come first in their
+   * configured order, followed by any other symbol that only appears in the probabilities.
+   */
+  @Getter(AccessLevel.NONE)
+  private final String[] symbolNames;
+  @Getter(AccessLevel.NONE)
+  private final Map<String, Integer> symbolIds;
+
+  /**
+   * Name and configuration of each win combination indexed by its dense win combination id, in their configured
+   * order. The configurations of a compiled form read from {@link CompiledGameConfigCache} are created when they are
+   * first requested.
+   */
+  @Getter(AccessLevel.NONE)
+  private final String[] winCombinationNames;
+  @Getter(AccessLevel.NONE)
+  private final Map<String, Integer> winCombinationIds;
+  @Getter(AccessLevel.NONE)
+  private final WinCombination[] winCombinations;
+
+  /**
+   * Cell indexes of the covered areas of each {@link LinearSymbolsWinCombination} indexed by win combination id, or
+   * null for other win combinations
+   */
+  @Getter(AccessLevel.NONE)
+  private final int[][][] coveredAreaCells;
+
+  /**
+   * Masks of the covered areas of each {@link LinearSymbolsWinCombination} indexed by win combination id, or null for
+   * other win combinations, see {@link SymbolBitboard#toMasks(int[][], int)}
+   */
+  @Getter(AccessLevel.NONE)
+  private final long[][] coveredAreaMasks;
+
+  /**
+   * Count of each {@link SameSymbolsWinCombination} indexed by win combination id, or 0 for other win combinations
+   */
+  @Getter(AccessLevel.NONE)
+  private final int[] sameSymbolCounts;
+
+  /**
+   * Ids of the {@link SameSymbolsWinCombination}s indexed by their count, from 0 to the number of cells. Only the best
+   * win combination of each group is kept for a count, since at most one win combination of a group is applied to a
+   * symbol. A count without win combination has an empty array.
+   */
+  @Getter(AccessLevel.NONE)
+  private final int[][] sameSymbolWinCombinationIds;
+
+  /**
+   * Dense group id of each win combination indexed by win combination id, groups are numbered in the order they first
+   * appear in the configuration
+   */
+  @Getter(AccessLevel.NONE)
+  private final int[] winCombinationGroupIds;
+  @Getter(AccessLevel.NONE)
+  private final String[] winCombinationGroupNames;
+  private final int winCombinationGroupCount;
+
+  /**
+   * Rank of each win combination indexed by win combination id. Win combinations are ranked by group, and within a
+   * group by reward multiplier from highest to lowest, so that a win combination with a lower rank is better than the
+   * other win combinations of its group.
+   */
+  @Getter(AccessLevel.NONE)
+  private final int[] winCombinationRanks;
+
+  /**
+   * Ids of the {@link LinearSymbolsWinCombination}s in the order of their rank
+   */
+  @Getter(AccessLevel.NONE)
+  private final int[] linearWinCombinationIds;
+
+  /**
+   * Number of covered areas of the {@link LinearSymbolsWinCombination}s before each of them in rank order, followed by
+   * the total number of covered areas, so that the covered areas of all of them can be numbered in rank order
+   */
+  @Getter(AccessLevel.NONE)
+  private final int[] linearAreaOffsets;
+
+  /**
+   * Estimated cost of searching the {@link LinearSymbolsWinCombination}s of a {@link ScratchCard}, i.e. the number of
+   * mask words compared when every covered area is checked against a symbol
+   */
+  private final long linearWinCombinationCost;
+
+  /**
+   * Reward multiplier of each symbol indexed by symbol id, or NaN for a symbol that is only used in probabilities
+   */
+  @Getter(AccessLevel.NONE)
+  private final double[] symbolRewardMultipliers;
+  @Getter(AccessLevel.NONE)
+  private final double[] winCombinationRewardMultipliers;
+
+  /**
+   * Impact and extra amount of each bonus symbol that can be placed on the matrix indexed by symbol id, or null and 0
+   * for other symbols
+   */
+  @Getter(AccessLevel.NONE)
+  private final BonusImpact[] bonusImpacts;
+  @Getter(AccessLevel.NONE)
+  private final int[] bonusExtras;
+
+  /**
+   * Number of longs in the mask of a symbol or covered area, see {@link SymbolBitboard#wordCount(int)}
+   */
+  private final int maskWords;
+
+  /**
+   * Constructor that compiles the {@link GameConfig}
+   *
+   * @param gameConfig configuration of the game to compile
+   * @throws GameException if gameConfig is null, or there are too many symbols, or a standard symbol probability or a
+   *                       covered area is not within the matrix bounds, or a bonus symbol has an unknown impact
+   */
+  public CompiledGameConfig(GameConfig gameConfig) {
+    // GameConfig validates all its attributes before its creation.
+    isNotNull(gameConfig, "Config cannot be null");
+
+    this.rows = gameConfig.rows();
+    this.columns = gameConfig.columns();
+
+    var probabilities = gameConfig.probabilities();
+
+    this.symbolIds = new LinkedHashMap<>();
+    gameConfig.symbols().keySet().forEach(this::addSymbol);
+    probabilities.standardSymbolsProbabilities().forEach(probability -> probability.symbols().keySet()
+      .forEach(this::addSymbol));
+    if (probabilities.defaultStandardSymbolsProbability() != null) {
+      probabilities.defaultStandardSymbolsProbability().symbols().keySet().forEach(this::addSymbol);
+    }
+    probabilities.bonusSymbolsProbability().symbols().keySet().forEach(this::addSymbol);
+    this.symbolNames = symbolIds.keySet().toArray(String[]::new);
+
+    // symbol ids are stored as bytes in the Scratch Card matrix
+    if (symbolNames.length > MAX_SYMBOL_COUNT) {
+      throw new GameException("Number of symbols cannot be greater than %d, but was: %d".formatted(MAX_SYMBOL_COUNT,
+        symbolNames.length));
+    }
+
+    this.standardSymbolSamplers = compileStandardSymbolSamplers(probabilities);
+    this.distinctStandardSymbolSamplers = distinct(standardSymbolSamplers);
+    this.bonusSymbolSampler = new SymbolSampler(probabilities.bonusSymbolsProbability().symbols(), symbolIds::get);
+
+    var combinations = gameConfig.winCombinations();
+    this.winCombinationNames = combinations.keySet().toArray(String[]::new);
+    this.winCombinationIds = new LinkedHashMap<>();
+    this.winCombinations = new WinCombination[winCombinationNames.length];
+    this.coveredAreaCells = new int[winCombinationNames.length][][];
+    this.coveredAreaMasks = new long[winCombinationNames.length][];
+    this.sameSymbolCounts = new int[winCombinationNames.length];
+    this.maskWords = SymbolBitboard.wordCount(rows * columns);
+    for (int id = 0; id < winCombinationNames.length; id++) {
+      winCombinationIds.put(winCombinationNames[id], id);
+      winCombinations[id] = combinations.get(winCombinationNames[id]);
+      // covered areas are parsed and checked against matrix bounds once, here
+      if (winCombinations[id] instanceof LinearSymbolsWinCombination linearSymbolsWinCombination) {
+        coveredAreaCells[id] = linearSymbolsWinCombination.toCellIndexes(rows, columns);
+        coveredAreaMasks[id] = SymbolBitboard.toMasks(coveredAreaCells[id], maskWords);
+      } else if (winCombinations[id] instanceof SameSymbolsWinCombination sameSymbolsWinCombination) {
+        sameSymbolCounts[id] = sameSymbolsWinCombination.getCount();
+      }
+    }
+
+    var groupIds = new LinkedHashMap<String, Integer>();
+    this.winCombinationGroupIds = new int[winCombinationNames.length];
+    for (int id = 0; id < winCombinationNames.length; id++) {
+      winCombinationGroupIds[id] = groupIds.computeIfAbsent(winCombinations[id].getGroup(), g -> groupIds.size());
+    }
+    this.winCombinationGroupNames = groupIds.keySet().toArray(String[]::new);
+    this.winCombinationGroupCount = groupIds.size();
+
+    // within a group the highest reward multiplier comes first, win combinations with the same reward multiplier keep
+    // their configured order
+    var rankedIds = IntStream.range(0, winCombinationNames.length).boxed()
+      .sorted(Comparator.<Integer>comparingInt(id -> winCombinationGroupIds[id])
+        .thenComparing(id -> winCombinations[id].getRewardMultiplier(), Comparator.reverseOrder()))
+      .mapToInt(Integer::intValue).toArray();
+    this.winCombinationRanks = new int[winCombinationNames.length];
+    for (int rank = 0; rank < rankedIds.length; rank++) {
+      winCombinationRanks[rankedIds[rank]] = rank;
+    }
+    this.linearWinCombinationIds = Arrays.stream(rankedIds).filter(id -> coveredAreaCells[id] != null).toArray();
+    this.linearAreaOffsets = compileLinearAreaOffsets();
+    this.linearWinCombinationCost = (long) getLinearAreaCount() * maskWords;
+    this.sameSymbolWinCombinationIds = compileSameSymbolWinCombinationIds(rankedIds);
+
+    // reward multipliers and bonus impacts are looked up by id when the reward of a round is calculated
+    this.symbolRewardMultipliers = new double[symbolNames.length];
+    this.bonusImpacts = new BonusImpact[symbolNames.length];
+    this.bonusExtras = new int[symbolNames.length];
+    for (int symbolId = 0; symbolId < symbolNames.length; symbolId++) {
+      var symbol = gameConfig.symbols().get(symbolNames[symbolId]);
+      symbolRewardMultipliers[symbolId] = symbol == null ? Double.NaN : symbol.getRewardMultiplier();
+    }
+    for (int index = 0; index < bonusSymbolSampler.size(); index++) {
+      var symbolId = bonusSymbolSampler.getSymbolId(index);
+      // a bonus symbol that is not configured fails when the reward of a round is calculated
+      if (gameConfig.symbols().get(symbolNames[symbolId]) instanceof BonusSymbol bonusSymbol) {
+        bonusImpacts[symbolId] = BonusImpact.of(bonusSymbol.getImpact());
+        bonusExtras[symbolId] = bonusSymbol.getExtra();
+      }
+    }
+    this.winCombinationRewardMultipliers = Arrays.stream(winCombinations)
+      .mapToDouble(WinCombination::getRewardMultiplier).toArray();
+  }
+
+  /**
+   * Constructor that reads the compiled form of a configuration written by {@link #writeTo(DataOutputStream)}. The
+   * compiled form is trusted, nothing is validated or compiled again.
+   *
+   * @param buffer buffer positioned at the start of the compiled form
+   */
+  private CompiledGameConfig(ByteBuffer buffer) {
+    this.rows = buffer.getInt();
+    this.columns = buffer.getInt();
+    this.maskWords = buffer.getInt();
+
+    this.symbolNames = readStrings(buffer);
+    this.symbolIds = new LinkedHashMap<>();
+    Arrays.stream(symbolNames).forEach(this::addSymbol);
+
+    this.distinctStandardSymbolSamplers = new SymbolSampler[buffer.getInt()];
+    for (int index = 0; index < distinctStandardSymbolSamplers.length; index++) {
+      distinctStandardSymbolSamplers[index] = readSymbolSampler(buffer);
+    }
+    this.standardSymbolSamplers = new SymbolSampler[rows * columns];
+    for (int cell = 0; cell < standardSymbolSamplers.length; cell++) {
+      var index = buffer.getInt();
+      standardSymbolSamplers[cell] = index < 0 ? null : distinctStandardSymbolSamplers[index];
+    }
+    this.bonusSymbolSampler = readSymbolSampler(buffer);
+
+    this.symbolRewardMultipliers = readDoubles(buffer);
+    this.bonusImpacts = Arrays.stream(readInts(buffer))
+      .mapToObj(impact -> impact < 0 ? null : BonusImpact.values()[impact]).toArray(BonusImpact[]::new);
+    this.bonusExtras = readInts(buffer);
+
+    this.winCombinationNames = readStrings(buffer);
+    this.winCombinationGroupNames = readStrings(buffer);
+    this.winCombinationGroupCount = winCombinationGroupNames.length;
+    this.winCombinationGroupIds = readInts(buffer);
+    this.winCombinationRanks = readInts(buffer);
+    this.winCombinationRewardMultipliers = readDoubles(buffer);
+    this.sameSymbolCounts = readInts(buffer);
+    this.coveredAreaCells = new int[winCombinationNames.length][][];
+    this.coveredAreaMasks = new long[winCombinationNames.length][];
+    for (int id = 0; id < winCombinationNames.length; id++) {
+      coveredAreaCells[id] = readIntMatrix(buffer);
+      coveredAreaMasks[id] = readLongs(buffer);
+    }
+    this.linearWinCombinationIds = readInts(buffer);
+    this.linearAreaOffsets = compileLinearAreaOffsets();
+    this.linearWinCombinationCost = (long) getLinearAreaCount() * maskWords;
+    this.sameSymbolWinCombinationIds = readIntMatrix(buffer);
+
+    this.winCombinationIds = new LinkedHashMap<>();
+    for (int id = 0; id < winCombinationNames.length; id++) {
+      winCombinationIds.put(winCombinationNames[id], id);
+    }
+    // rounds are played without the configurations of the win combinations, see getWinCombination(int)
+    this.winCombinations = new WinCombination[winCombinationNames.length];
+  }
+
+  /**
+   * Reads the compiled form of a configuration written by {@link #writeTo(DataOutputStream)}
+   *
+   * @param buffer buffer positioned at the start of the compiled form
+   * @return the compiled configuration, which has no {@link GameConfig}
+   * @throws RuntimeException if the buffer does not hold a compiled form, e.g. it is truncated
+   */
+  static CompiledGameConfig read(ByteBuffer buffer) {
+    return new CompiledGameConfig(buffer);
+  }
+
+  /**
+   * Writes the compiled form of the configuration, i.e. the symbol table, the samplers, the covered areas and the
+   * reward tables, so that it can be read with {@link #read(ByteBuffer)} without compiling the configuration again
+   *
+   * @param output stream to write to
+   * @throws IOException if the compiled form cannot be written
+   */
+  void writeTo(DataOutputStream output) throws IOException {
+    output.writeInt(rows);
+    output.writeInt(columns);
+    output.writeInt(maskWords);
+
+    writeStrings(symbolNames, output);
+    // the samplers are written once, each cell refers to its sampler by index
+    output.writeInt(distinctStandardSymbolSamplers.length);
+    var samplerIndexes = new IdentityHashMap<SymbolSampler, Integer>();
+    for (SymbolSampler sampler : distinctStandardSymbolSamplers) {
+      samplerIndexes.put(sampler, samplerIndexes.size());
+      writeSymbolSampler(sampler, output);
+    }
+    for (SymbolSampler sampler : standardSymbolSamplers) {
+      output.writeInt(sampler == null ? -1 : samplerIndexes.get(sampler));
+    }
+    writeSymbolSampler(bonusSymbolSampler, output);
+
+    writeDoubles(symbolRewardMultipliers, output);
+    writeInts(Arrays.stream(bonusImpacts).mapToInt(impact -> impact == null ? -1 : impact.ordinal()).toArray(),
+      output);
+    writeInts(bonusExtras, output);
+
+    writeStrings(winCombinationNames, output);
+    writeStrings(winCombinationGroupNames, output);
+    writeInts(winCombinationGroupIds, output);
+    writeInts(winCombinationRanks, output);
+    writeDoubles(winCombinationRewardMultipliers, output);
+    writeInts(sameSymbolCounts, output);
+    for (int id = 0; id < winCombinationNames.length; id++) {
+      writeIntMatrix(coveredAreaCells[id], output);
+      writeLongs(coveredAreaMasks[id], output);
+    }
+    writeInts(linearWinCombinationIds, output);
+    writeIntMatrix(sameSymbolWinCombinationIds, output);
+  }
+
+  /**
+   * @return number of symbols, symbol ids are between 0 (inclusive) and symbol count (exclusive)
+   */
+  public int getSymbolCount() {
+    return symbolNames.length;
+  }
+
+  /**
+   * @param symbol name of the symbol
+   * @return id of the symbol or -1 if the symbol is unknown
+   */
+  public int getSymbolId(String symbol) {
+    return symbolIds.getOrDefault(symbol, -1);
+  }
+
+  /**
+   * @param symbolId id of the symbol
+   * @return name of the symbol
+   */
+  public String getSymbolName(int symbolId) {
+    return symbolNames[symbolId];
+  }
+
+  /**
+   * @return number of win combinations, win combination ids are between 0 (inclusive) and win combination count
+   * (exclusive)
+   */
+  public int getWinCombinationCount() {
+    return winCombinationNames.length;
+  }
+
+  /**
+   * @param winCombination name of the win combination
+   * @return id of the win combination or -1 if the win combination is unknown
+   */
+  public int getWinCombinationId(String winCombination) {
+    return winCombinationIds.getOrDefault(winCombination, -1);
+  }
+
+  /**
+   * @param winCombinationId id of the win combination
+   * @return name of the win combination
+   */
+  public String getWinCombinationName(int winCombinationId) {
+    return winCombinationNames[winCombinationId];
+  }
+
+  /**
+   * @param winCombinationId id of the win combination
+   * @return configuration of the win combination
+   */
+  public WinCombination getWinCombination(int winCombinationId) {
+    var winCombination = winCombinations[winCombinationId];
+    if (winCombination == null) {
+      // win combinations of a compiled form are created from it, creating one twice is harmless
+      var group = winCombinationGroupNames[winCombinationGroupIds[winCombinationId]];
+      var rewardMultiplier = winCombinationRewardMultipliers[winCombinationId];
+      winCombination = coveredAreaCells[winCombinationId] == null
+        ? new SameSymbolsWinCombination(rewardMultiplier, group, sameSymbolCounts[winCombinationId])
+        : new LinearSymbolsWinCombination(rewardMultiplier, group, toCoveredAreas(winCombinationId));
+      winCombinations[winCombinationId] = winCombination;
+    }
+    return winCombination;
+  }
+
+  /**
+   * @param winCombinationId id of the win combination
+   * @return cell indexes of each covered area of a {@link LinearSymbolsWinCombination}, or null for other win
+   * combinations
+   */
+  @Nullable
+  public int[][] getCoveredAreaCells(int winCombinationId) {
+    return coveredAreaCells[winCombinationId];
+  }
+
+  /**
+   * @param winCombinationId id of the win combination
+   * @return masks of the covered areas of a {@link LinearSymbolsWinCombination}, or null for other win combinations
+   */
+  @Nullable
+  public long[] getCoveredAreaMasks(int winCombinationId) {
+    return coveredAreaMasks[winCombinationId];
+  }
+
+  /**
+   * @param winCombinationId id of the win combination
+   * @return count of a {@link SameSymbolsWinCombination}, or 0 for other win combinations
+   */
+  public int getSameSymbolCount(int winCombinationId) {
+    return sameSymbolCounts[winCombinationId];
+  }
+
+  /**
+   * @param winCombinationId id of the win combination
+   * @return group id of the win combination, group ids are between 0 (inclusive) and
+   * {@link #getWinCombinationGroupCount()} (exclusive)
+   */
+  public int getWinCombinationGroupId(int winCombinationId) {
+    return winCombinationGroupIds[winCombinationId];
+  }
+
+  /**
+   * @param winCombinationId id of the win combination
+   * @param otherId          id of another win combination of the same group
+   * @return true if the win combination is better than the other one, i.e. it has a higher reward multiplier or is
+   * configured first when they have the same reward multiplier
+   */
+  public boolean isBetterWinCombination(int winCombinationId, int otherId) {
+    return winCombinationRanks[winCombinationId] < winCombinationRanks[otherId];
+  }
+
+  /**
+   * @return ids of the {@link LinearSymbolsWinCombination}s, the win combinations of a group are ordered from the best
+   * one to the worst one
+   */
+  public int[] getLinearWinCombinationIds() {
+    return linearWinCombinationIds;
+  }
+
+  /**
+   * @param index index of the linear win combination in {@link #getLinearWinCombinationIds()}, or the number of linear
+   *              win combinations
+   * @return number of covered areas of the linear win combinations before the one at the given index, or the total
+   * number of covered areas
+   */
+  public int getLinearAreaOffset(int index) {
+    return linearAreaOffsets[index];
+  }
+
+  /**
+   * @return number of covered areas of all the linear win combinations
+   */
+  public int getLinearAreaCount() {
+    return linearAreaOffsets[linearWinCombinationIds.length];
+  }
+
+  /**
+   * @param symbolId id of the symbol
+   * @return reward multiplier of the symbol, or NaN if the symbol is not configured
+   */
+  public double getSymbolRewardMultiplier(int symbolId) {
+    return symbolRewardMultipliers[symbolId];
+  }
+
+  /**
+   * @param winCombinationId id of the win combination
+   * @return reward multiplier of the win combination
+   */
+  public double getWinCombinationRewardMultiplier(int winCombinationId) {
+    return winCombinationRewardMultipliers[winCombinationId];
+  }
+
+  /**
+   * @param symbolId id of the symbol
+   * @return impact of the bonus symbol, or null if the symbol is not a bonus symbol that can be placed on the matrix
+   */
+  @Nullable
+  public BonusImpact getBonusImpact(int symbolId) {
+    return bonusImpacts[symbolId];
+  }
+
+  /**
+   * @param symbolId id of the symbol
+   * @return extra amount of the bonus symbol, or 0 if the symbol is not a bonus symbol that can be placed on the matrix
+   */
+  public int getBonusExtra(int symbolId) {
+    return bonusExtras[symbolId];
+  }
+
+  /**
+   * @param count number of cells on which a symbol appears
+   * @return ids of the best {@link SameSymbolsWinCombination} of each group with the given count, an empty array if
+   * there are none
+   */
+  public int[] getSameSymbolWinCombinationIds(int count) {
+    return sameSymbolWinCombinationIds[count];
+  }
+
+  /**
+   * @param row    row of the {@link ScratchCard} cell
+   * @param column column of the {@link ScratchCard} cell
+   * @return standard symbol sampler of the cell or null if no probabilities are configured for the cell
+   */
+  @Nullable
+  public SymbolSampler getStandardSymbolSampler(int row, int column) {
+    return standardSymbolSamplers[row * columns + column];
+  }
+
+  private void addSymbol(String symbol) {
+    symbolIds.putIfAbsent(symbol, symbolIds.size());
+  }
+
+  /**
+   * @param cell index of the {@link ScratchCard} cell, i.e. {@code row * columns + column}
+   * @return standard symbol sampler of the cell or null if no probabilities are configured for the cell
+   */
+  @Nullable
+  public SymbolSampler getStandardSymbolSampler(int cell) {
+    return standardSymbolSamplers[cell];
+  }
+
+  /**
+   * @return number of distinct Standard symbol samplers, cells with the same probabilities share the same sampler
+   */
+  public int getDistinctStandardSymbolSamplerCount() {
+    return distinctStandardSymbolSamplers.length;
+  }
+
+  private int[][] compileSameSymbolWinCombinationIds(int[] rankedIds) {
+    // a count greater than the number of cells can never be reached, so its win combinations are left out
+    var idsByCount = new int[rows * columns + 1][];
+
+    for (int count = 0; count < idsByCount.length; count++) {
+      var matchingCount = count;
+      var groups = new HashSet<Integer>();
+      // the first win combination of a group in rank order is the best one
+      idsByCount[count] = Arrays.stream(rankedIds)
+        .filter(id -> sameSymbolCounts[id] != 0 && sameSymbolCounts[id] == matchingCount)
+        .filter(id -> groups.add(winCombinationGroupIds[id]))
+        .toArray();
+    }
+
+    return idsByCount;
+  }
+
+  private SymbolSampler[] compileStandardSymbolSamplers(Probability probabilities) {
+    var samplers = new SymbolSampler[rows * columns];
+
+    // identical probabilities are compiled once into a sampler shared by their cells. Symbols with the same probability
+    // are selected in their configured order, so probabilities are only identical if their symbols have the same order
+    var sharedSamplers = new HashMap<List<Map.Entry<String, Integer>>, SymbolSampler>();
+    Function<Map<String, Integer>, SymbolSampler> compileSampler = symbols -> sharedSamplers.computeIfAbsent(
+      List.copyOf(symbols.entrySet()), entries -> new SymbolSampler(symbols, symbolIds::get));
+
+    probabilities.standardSymbolsProbabilities().forEach(probability -> {
+      var row = probability.row();
+      var column = probability.column();
+
+      // ensure probability cell falls within matrix dimension
+      isWithinBounds(row, column, rows, columns,
+        "Standard Symbol probability [%d:%d] is not within bounds".formatted(row, column));
+
+      // when a cell is configured more than once, the last configuration is used
+      samplers[row * columns + column] = compileSampler.apply(probability.symbols());
+    });
+
+    // the cells that are not listed use the default probabilities
+    var defaultProbability = probabilities.defaultStandardSymbolsProbability();
+    if (defaultProbability != null) {
+      var defaultSampler = compileSampler.apply(defaultProbability.symbols());
+      for (int cell = 0; cell < samplers.length; cell++) {
+        if (samplers[cell] == null) {
+          samplers[cell] = defaultSampler;
+        }
+      }
+    }
+
+    return samplers;
+  }
+
+  private int[] compileLinearAreaOffsets() {
+    var offsets = new int[linearWinCombinationIds.length + 1];
+    for (int index = 0; index < linearWinCombinationIds.length; index++) {
+      offsets[index + 1] = offsets[index] + coveredAreaCells[linearWinCombinationIds[index]].length;
+    }
+    return offsets;
+  }
+
+  private static SymbolSampler[] distinct(SymbolSampler[] samplers) {
+    var distinctSamplers = Collections.newSetFromMap(new IdentityHashMap<SymbolSampler, Boolean>());
+    return Arrays.stream(samplers).filter(Objects::nonNull).filter(distinctSamplers::add).toArray(SymbolSampler[]::new);
+  }
+
+  private List<List<String>> toCoveredAreas(int winCombinationId) {
+    return Arrays.stream(coveredAreaCells[winCombinationId])
+      .map(area -> Arrays.stream(area).mapToObj(cell -> cell / columns + ":" + cell % columns).toList())
+      .toList();
+  }
+
+  @Nullable
+  private SymbolSampler readSymbolSampler(ByteBuffer buffer) {
+    var size = buffer.getInt();
+    if (size == 0) {
+      return null;
+    }
+
+    // symbols are already in the order they are selected
+    var symbols = new String[size];
+    var ids = new int[size];
+    var probabilities = new int[size];
+    for (int index = 0; index < size; index++) {
+      ids[index] = buffer.getInt();
+      symbols[index] = symbolNames[ids[index]];
+      probabilities[index] = buffer.getInt();
+    }
+    return new SymbolSampler(symbols, ids, probabilities);
+  }
+
+  private static void writeSymbolSampler(@Nullable SymbolSampler sampler, DataOutputStream output)
+    throws IOException {
+    if (sampler == null) {
+      output.writeInt(0);
+      return;
+    }
+
+    output.writeInt(sampler.size());
+    for (int index = 0; index < sampler.size(); index++) {
+      output.writeInt(sampler.getSymbolId(index));
+      output.writeInt(sampler.getProbability(index));
+    }
+  }
+
+  private static String[] readStrings(ByteBuffer buffer) {
+    var strings = new String[buffer.getInt()];
+    for (int i = 0; i < strings.length; i++) {
+      var bytes = new byte[buffer.getInt()];
+      buffer.get(bytes);
+      strings[i] = new String(bytes, StandardCharsets.UTF_8);
+    }
+    return strings;
+  }
+
+  private static void writeStrings(String[] strings, DataOutputStream output) throws IOException {
+    output.writeInt(strings.length);
+    for (String string : strings) {
+      var bytes = string.getBytes(StandardCharsets.UTF_8);
+      output.writeInt(bytes.length);
+      output.write(bytes);
+    }
+  }
+
+  // a null array is written with a length of -1
+
+  @Nullable
+  private static int[] readInts(ByteBuffer buffer) {
+    var length = buffer.getInt();
+    if (length < 0) {
+      return null;
+    }
+
+    var ints = new int[length];
+    buffer.asIntBuffer().get(ints);
+    buffer.position(buffer.position() + length * Integer.BYTES);
+    return ints;
+  }
+
+  private static void writeInts(@Nullable int[] ints, DataOutputStream output) throws IOException {
+    if (ints == null) {
+      output.writeInt(-1);
+      return;
+    }
+
+    output.writeInt(ints.length);
+    for (int value : ints) {
+      output.writeInt(value);
+    }
+  }
+
+  @Nullable
+  private static int[][] readIntMatrix(ByteBuffer buffer) {
+    var length = buffer.getInt();
+    if (length < 0) {
+      return null;
+    }
+
+    var matrix = new int[length][];
+    for (int i = 0; i < length; i++) {
+      matrix[i] = readInts(buffer);
+    }
+    return matrix;
+  }
+
+  private static void writeIntMatrix(@Nullable int[][] matrix, DataOutputStream output) throws IOException {
+    if (matrix == null) {
+      output.writeInt(-1);
+      return;
+    }
+
+    output.writeInt(matrix.length);
+    for (int[] ints : matrix) {
+      writeInts(ints, output);
+    }
+  }
+
+  @Nullable
+  private static long[] readLongs(ByteBuffer buffer) {
+    var length = buffer.getInt();
+    if (length < 0) {
+      return null;
+    }
+
+    var longs = new long[length];
+    buffer.asLongBuffer().get(longs);
+    buffer.position(buffer.position() + length * Long.BYTES);
+    return longs;
+  }
+
+  private static void writeLongs(@Nullable long[] longs, DataOutputStream output) throws IOException {
+    if (longs == null) {
+      output.writeInt(-1);
+      return;
+    }
+
+    output.writeInt(longs.length);
+    for (long value : longs) {
+      output.writeLong(value);
+    }
+  }
+
+  private static double[] readDoubles(ByteBuffer buffer) {
+    var doubles = new double[buffer.getInt()];
+    buffer.asDoubleBuffer().get(doubles);
+    buffer.position(buffer.position() + doubles.length * Double.BYTES);
+    return doubles;
+  }
+
+  private static void writeDoubles(double[] doubles, DataOutputStream output) throws IOException {
+    output.writeInt(doubles.length);
+    for (double value : doubles) {
+      output.writeDouble(value);
+    }
+  }
+}
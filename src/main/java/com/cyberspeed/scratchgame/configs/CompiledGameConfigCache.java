@@ -0,0 +1,169 @@
+package com.cyberspeed.scratchgame.configs;
+
+import static com.cyberspeed.scratchgame.utils.Validation.isNotNull;
+
+import com.cyberspeed.scratchgame.exceptions.GameException;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Cache of {@link CompiledGameConfig} on disk, so that a configuration file is parsed, validated and compiled once for
+ * all the processes started with it. The compiled form of a configuration is kept in a file of the cache directory
+ * named after the SHA-256 hash of the configuration file content:
+ * <ul>
+ *   <li>when the cache file exists and was written for the same hash and {@link #FORMAT_VERSION}, it is memory-mapped
+ *   and trusted</li>
+ *   <li>otherwise the configuration file is compiled and the cache file is written again</li>
+ * </ul>
+ */
+public class CompiledGameConfigCache {
+
+  /**
+   * Version of the compiled form, which must be increased whenever the compiled form of a configuration changes
+   */
+  public static final int FORMAT_VERSION = 2;
+
+  // "SGCC" at the start of every cache file
+  private static final int MAGIC = 0x53474343;
+  private static final String FILE_EXTENSION = ".compiled";
+  private static final GameConfigParser GAME_CONFIG_PARSER = new GameConfigParser();
+
+  private final Path directory;
+
+  /**
+   * Constructor that validates the cache directory and creates {@link CompiledGameConfigCache}. The directory is
+   * created when the first configuration is written to it.
+   *
+   * @param directory directory of the cache files
+   * @throws GameException if directory is null
+   */
+  public CompiledGameConfigCache(Path directory) {
+    isNotNull(directory, "Cache directory cannot be null");
+    this.directory = directory;
+  }
+
+  /**
+   * Reads the compiled configuration from the cache, or compiles the configuration file and writes it to the cache when
+   * it is not cached yet. A cache file that cannot be written is ignored, the configuration is compiled again on the
+   * next load.
+   *
+   * @param configFile path of the configuration file
+   * @return the compiled configuration
+   * @throws GameException if configFile is null, or the configuration file cannot be read or parsed, or the
+   *                       configuration is not valid
+   */
+  public CompiledGameConfig load(String configFile) {
+    isNotNull(configFile, "Configuration file cannot be null");
+
+    byte[] config;
+    try {
+      config = Files.readAllBytes(Path.of(configFile));
+    } catch (IOException | InvalidPathException e) {
+      throw new GameException("Unable to parse configuration file", e);
+    }
+
+    var hash = hash(config);
+    var cacheFile = resolveCacheFile(hash);
+
+    var compiledGameConfig = read(cacheFile, hash);
+    if (compiledGameConfig == null) {
+      compiledGameConfig = new CompiledGameConfig(GAME_CONFIG_PARSER.parse(new ByteArrayInputStream(config)));
+      write(cacheFile, hash, compiledGameConfig);
+    }
+
+    return compiledGameConfig;
+  }
+
+  /**
+   * @param config content of a configuration file
+   * @return path of the cache file of the configuration, which may not exist
+   */
+  public Path getCacheFile(byte[] config) {
+    isNotNull(config, "Configuration cannot be null");
+    return resolveCacheFile(hash(config));
+  }
+
+  private Path resolveCacheFile(byte[] hash) {
+    return directory.resolve(HexFormat.of().formatHex(hash) + FILE_EXTENSION);
+  }
+
+  /**
+   * @return the compiled configuration of the cache file, or null if the cache file does not exist, or was written for
+   * another hash or version, or cannot be read
+   */
+  @Nullable
+  private static CompiledGameConfig read(Path cacheFile, byte[] hash) {
+    if (!Files.isRegularFile(cacheFile)) {
+      return null;
+    }
+
+    try (var channel = FileChannel.open(cacheFile, StandardOpenOption.READ)) {
+      var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+        return null;
+      }
+
+      var cachedHash = new byte[hash.length];
+      buffer.get(cachedHash);
+      return Arrays.equals(hash, cachedHash) ? CompiledGameConfig.read(buffer) : null;
+    } catch (IOException | RuntimeException e) {
+      // a truncated or corrupted cache file is compiled again
+      return null;
+    }
+  }
+
+  private void write(Path cacheFile, byte[] hash, CompiledGameConfig compiledGameConfig) {
+    Path tempFile = null;
+    try {
+      Files.createDirectories(directory);
+      tempFile = Files.createTempFile(directory, cacheFile.getFileName().toString(), ".tmp");
+
+      try (var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+        output.writeInt(MAGIC);
+        output.writeInt(FORMAT_VERSION);
+        output.write(hash);
+        compiledGameConfig.writeTo(output);
+      }
+
+      // the cache file is replaced at once, so that another process never reads a partially written one
+      Files.move(tempFile, cacheFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      // the cache is only an optimization, the configuration is compiled again on the next load
+    } finally {
+      deleteQuietly(tempFile);
+    }
+  }
+
+  private static void deleteQuietly(@Nullable Path file) {
+    if (file == null) {
+      return;
+    }
+
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      // left over temporary files are ignored by the cache
+    }
+  }
+
+  private static byte[] hash(byte[] config) {
+    try {
+      return MessageDigest.getInstance("SHA-256").digest(config);
+    } catch (NoSuchAlgorithmException e) {
+      throw new GameException("Unable to hash configuration file", e);
+    }
+  }
+}
@@ -0,0 +1,396 @@
+package com.cyberspeed.scratchgame.configs;
+
+import static com.cyberspeed.scratchgame.utils.Validation.isNotNull;
+
+import com.cyberspeed.scratchgame.exceptions.GameException;
+import com.cyberspeed.scratchgame.probabilities.BonusSymbolsProbability;
+import com.cyberspeed.scratchgame.probabilities.DefaultStandardSymbolsProbability;
+import com.cyberspeed.scratchgame.probabilities.Probability;
+import com.cyberspeed.scratchgame.probabilities.StandardSymbolsProbability;
+import com.cyberspeed.scratchgame.symbols.BonusSymbol;
+import com.cyberspeed.scratchgame.symbols.StandardSymbol;
+import com.cyberspeed.scratchgame.symbols.Symbol;
+import com.cyberspeed.scratchgame.wincombinations.LinearSymbolsWinCombination;
+import com.cyberspeed.scratchgame.wincombinations.SameSymbolsWinCombination;
+import com.cyberspeed.scratchgame.wincombinations.WinCombination;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parser of the configuration file that reads the JSON tokens one by one and creates {@link GameConfig} with the
+ * constructors of its attributes. Unlike data binding, it does not introspect the configuration classes at runtime,
+ * which dominates the start of the game on a cold JVM.
+ * <p>
+ * Attributes are validated by their constructors, so a configuration that is parsed but not valid is reported with the
+ * same messages as before. A configuration that is not well-formed, has an unknown attribute, or a symbol or a win
+ * combination of an unknown type cannot be parsed at all.
+ */
+public class GameConfigParser {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  /**
+   * Parses the configuration file
+   *
+   * @param configFile path of the configuration file
+   * @return the configuration of the game
+   * @throws GameException if configFile is null, or the file cannot be read or parsed, or the configuration is not
+   *                       valid
+   */
+  public GameConfig parse(String configFile) {
+    isNotNull(configFile, "Configuration file cannot be null");
+
+    try (var parser = JSON_FACTORY.createParser(new File(configFile))) {
+      return readGameConfig(parser);
+    } catch (IOException e) {
+      throw new GameException("Unable to parse configuration file", e);
+    }
+  }
+
+  /**
+   * Parses the configuration read from the stream, the stream is not closed
+   *
+   * @param inputStream stream of the configuration
+   * @return the configuration of the game
+   * @throws GameException if inputStream is null, or the stream cannot be read or parsed, or the configuration is not
+   *                       valid
+   */
+  public GameConfig parse(InputStream inputStream) {
+    isNotNull(inputStream, "Configuration stream cannot be null");
+
+    try (var parser = JSON_FACTORY.createParser(inputStream)) {
+      return readGameConfig(parser);
+    } catch (IOException e) {
+      throw new GameException("Unable to parse configuration file", e);
+    }
+  }
+
+  private static GameConfig readGameConfig(JsonParser parser) throws IOException {
+    parser.nextToken();
+    expect(parser, JsonToken.START_OBJECT);
+
+    int rows = 0;
+    int columns = 0;
+    Map<String, Symbol> symbols = null;
+    Probability probabilities = null;
+    Map<String, WinCombination> winCombinations = null;
+
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      var name = parser.currentName();
+      parser.nextToken();
+
+      switch (name) {
+        case "rows" -> rows = readInt(parser);
+        case "columns" -> columns = readInt(parser);
+        case "symbols" -> symbols = readSymbols(parser);
+        case "probabilities" -> probabilities = readProbability(parser);
+        case "win_combinations" -> winCombinations = readWinCombinations(parser);
+        default -> throw unknownAttribute(parser, name);
+      }
+    }
+
+    return new GameConfig(rows, columns, symbols, probabilities, winCombinations);
+  }
+
+  private static Map<String, Symbol> readSymbols(JsonParser parser) throws IOException {
+    if (parser.currentToken() == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    expect(parser, JsonToken.START_OBJECT);
+
+    // symbols keep the order of the file, which is the order of their ids once compiled
+    var symbols = new LinkedHashMap<String, Symbol>();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      var symbol = parser.currentName();
+      parser.nextToken();
+      symbols.put(symbol, readSymbol(parser));
+    }
+
+    return symbols;
+  }
+
+  private static Symbol readSymbol(JsonParser parser) throws IOException {
+    if (parser.currentToken() == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    expect(parser, JsonToken.START_OBJECT);
+
+    // type may come after the other attributes, so the symbol is created once all of them are read
+    String type = null;
+    double rewardMultiplier = 0;
+    int extra = 0;
+    String impact = null;
+
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      var name = parser.currentName();
+      parser.nextToken();
+
+      switch (name) {
+        case "type" -> type = readString(parser);
+        case "reward_multiplier" -> rewardMultiplier = readDouble(parser);
+        case "extra" -> extra = readInt(parser);
+        case "impact" -> impact = readString(parser);
+        default -> throw unknownAttribute(parser, name);
+      }
+    }
+
+    if ("standard".equals(type)) {
+      return new StandardSymbol(rewardMultiplier);
+    } else if ("bonus".equals(type)) {
+      return new BonusSymbol(rewardMultiplier, extra, impact);
+    }
+    throw new JsonParseException(parser, "Unknown symbol type: " + type);
+  }
+
+  private static Probability readProbability(JsonParser parser) throws IOException {
+    if (parser.currentToken() == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    expect(parser, JsonToken.START_OBJECT);
+
+    List<StandardSymbolsProbability> standardSymbolsProbabilities = null;
+    BonusSymbolsProbability bonusSymbolsProbability = null;
+    DefaultStandardSymbolsProbability defaultStandardSymbolsProbability = null;
+
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      var name = parser.currentName();
+      parser.nextToken();
+
+      switch (name) {
+        case "standard_symbols" -> standardSymbolsProbabilities = readStandardSymbolsProbabilities(parser);
+        case "bonus_symbols" -> bonusSymbolsProbability = readBonusSymbolsProbability(parser);
+        case "default_standard_symbols" ->
+          defaultStandardSymbolsProbability = readDefaultStandardSymbolsProbability(parser);
+        default -> throw unknownAttribute(parser, name);
+      }
+    }
+
+    return new Probability(standardSymbolsProbabilities, bonusSymbolsProbability, defaultStandardSymbolsProbability);
+  }
+
+  private static List<StandardSymbolsProbability> readStandardSymbolsProbabilities(JsonParser parser)
+    throws IOException {
+    if (parser.currentToken() == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    expect(parser, JsonToken.START_ARRAY);
+
+    // cells with the same probabilities, in the same order, share the same map
+    var sharedSymbols = new HashMap<List<Map.Entry<String, Integer>>, Map<String, Integer>>();
+    var standardSymbolsProbabilities = new ArrayList<StandardSymbolsProbability>();
+    while (parser.nextToken() != JsonToken.END_ARRAY) {
+      standardSymbolsProbabilities.add(readStandardSymbolsProbability(parser, sharedSymbols));
+    }
+
+    return standardSymbolsProbabilities;
+  }
+
+  private static StandardSymbolsProbability readStandardSymbolsProbability(JsonParser parser,
+    Map<List<Map.Entry<String, Integer>>, Map<String, Integer>> sharedSymbols) throws IOException {
+    if (parser.currentToken() == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    expect(parser, JsonToken.START_OBJECT);
+
+    int row = 0;
+    int column = 0;
+    Map<String, Integer> symbols = null;
+
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      var name = parser.currentName();
+      parser.nextToken();
+
+      switch (name) {
+        case "row" -> row = readInt(parser);
+        case "column" -> column = readInt(parser);
+        case "symbols" -> symbols = readSymbolProbabilities(parser);
+        default -> throw unknownAttribute(parser, name);
+      }
+    }
+
+    if (symbols != null) {
+      var parsedSymbols = symbols;
+      symbols = sharedSymbols.computeIfAbsent(List.copyOf(symbols.entrySet()), entries -> parsedSymbols);
+    }
+    return new StandardSymbolsProbability(row, column, symbols);
+  }
+
+  private static BonusSymbolsProbability readBonusSymbolsProbability(JsonParser parser) throws IOException {
+    if (parser.currentToken() == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    return new BonusSymbolsProbability(readSymbolsObject(parser));
+  }
+
+  private static DefaultStandardSymbolsProbability readDefaultStandardSymbolsProbability(JsonParser parser)
+    throws IOException {
+    if (parser.currentToken() == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    return new DefaultStandardSymbolsProbability(readSymbolsObject(parser));
+  }
+
+  private static Map<String, Integer> readSymbolsObject(JsonParser parser) throws IOException {
+    // the only attribute of the object is the map of symbol probabilities
+    expect(parser, JsonToken.START_OBJECT);
+
+    Map<String, Integer> symbols = null;
+
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      var name = parser.currentName();
+      parser.nextToken();
+
+      if (!"symbols".equals(name)) {
+        throw unknownAttribute(parser, name);
+      }
+      symbols = readSymbolProbabilities(parser);
+    }
+
+    return symbols;
+  }
+
+  private static Map<String, Integer> readSymbolProbabilities(JsonParser parser) throws IOException {
+    if (parser.currentToken() == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    expect(parser, JsonToken.START_OBJECT);
+
+    // probabilities keep the order of the file, which is the order in which symbols are sampled
+    var symbols = new LinkedHashMap<String, Integer>();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      var symbol = parser.currentName();
+      parser.nextToken();
+      symbols.put(symbol, parser.currentToken() == JsonToken.VALUE_NULL ? null : readInt(parser));
+    }
+
+    return symbols;
+  }
+
+  private static Map<String, WinCombination> readWinCombinations(JsonParser parser) throws IOException {
+    if (parser.currentToken() == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    expect(parser, JsonToken.START_OBJECT);
+
+    // win combinations keep the order of the file, which is the order of their ids once compiled
+    var winCombinations = new LinkedHashMap<String, WinCombination>();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      var winCombination = parser.currentName();
+      parser.nextToken();
+      winCombinations.put(winCombination, readWinCombination(parser));
+    }
+
+    return winCombinations;
+  }
+
+  private static WinCombination readWinCombination(JsonParser parser) throws IOException {
+    if (parser.currentToken() == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    expect(parser, JsonToken.START_OBJECT);
+
+    // when may come after the other attributes, so the win combination is created once all of them are read
+    String when = null;
+    double rewardMultiplier = 0;
+    String group = null;
+    int count = 0;
+    List<List<String>> coveredAreas = null;
+    String coveredAreasPattern = null;
+
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      var name = parser.currentName();
+      parser.nextToken();
+
+      switch (name) {
+        case "when" -> when = readString(parser);
+        case "reward_multiplier" -> rewardMultiplier = readDouble(parser);
+        case "group" -> group = readString(parser);
+        case "count" -> count = readInt(parser);
+        case "covered_areas" -> coveredAreas = readCoveredAreas(parser);
+        case "covered_areas_pattern" -> coveredAreasPattern = readString(parser);
+        default -> throw unknownAttribute(parser, name);
+      }
+    }
+
+    if ("same_symbols".equals(when)) {
+      return new SameSymbolsWinCombination(rewardMultiplier, group, count);
+    } else if ("linear_symbols".equals(when)) {
+      return new LinearSymbolsWinCombination(rewardMultiplier, group, coveredAreas, coveredAreasPattern);
+    }
+    throw new JsonParseException(parser, "Unknown win combination type: " + when);
+  }
+
+  private static List<List<String>> readCoveredAreas(JsonParser parser) throws IOException {
+    if (parser.currentToken() == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    expect(parser, JsonToken.START_ARRAY);
+
+    var coveredAreas = new ArrayList<List<String>>();
+    while (parser.nextToken() != JsonToken.END_ARRAY) {
+      if (parser.currentToken() == JsonToken.VALUE_NULL) {
+        coveredAreas.add(null);
+        continue;
+      }
+      expect(parser, JsonToken.START_ARRAY);
+
+      var coveredArea = new ArrayList<String>();
+      while (parser.nextToken() != JsonToken.END_ARRAY) {
+        coveredArea.add(readString(parser));
+      }
+      coveredAreas.add(coveredArea);
+    }
+
+    return coveredAreas;
+  }
+
+  private static int readInt(JsonParser parser) throws IOException {
+    if (parser.currentToken() == JsonToken.VALUE_NULL) {
+      return 0;
+    }
+    if (!parser.currentToken().isNumeric()) {
+      throw new JsonParseException(parser, "Expected a number, but was: " + parser.currentToken());
+    }
+    return parser.getValueAsInt();
+  }
+
+  private static double readDouble(JsonParser parser) throws IOException {
+    if (parser.currentToken() == JsonToken.VALUE_NULL) {
+      return 0;
+    }
+    if (!parser.currentToken().isNumeric()) {
+      throw new JsonParseException(parser, "Expected a number, but was: " + parser.currentToken());
+    }
+    return parser.getValueAsDouble();
+  }
+
+  private static String readString(JsonParser parser) throws IOException {
+    if (parser.currentToken() == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    if (parser.currentToken() != JsonToken.VALUE_STRING) {
+      throw new JsonParseException(parser, "Expected a string, but was: " + parser.currentToken());
+    }
+    return parser.getText();
+  }
+
+  private static void expect(JsonParser parser, JsonToken token) throws JsonParseException {
+    if (parser.currentToken() != token) {
+      throw new JsonParseException(parser, "Expected %s, but was: %s".formatted(token, parser.currentToken()));
+    }
+  }
+
+  private static JsonParseException unknownAttribute(JsonParser parser, String name) {
+    return new JsonParseException(parser, "Unknown attribute: " + name);
+  }
+}
@@ -0,0 +1,143 @@
+package com.cyberspeed.scratchgame.configs;
+
+import static com.cyberspeed.scratchgame.utils.Validation.isNotNull;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import com.cyberspeed.scratchgame.exceptions.GameException;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Watches the configuration file and loads it again whenever it changes, on a thread of its own so that the rounds
+ * being played are never held up by parsing, validating and compiling the configuration.
+ * <ul>
+ *   <li>a configuration that is loaded is passed to the reload listener, which publishes it to the next rounds</li>
+ *   <li>a configuration that cannot be loaded is passed to the reject listener with its {@link GameException}, the
+ *   configuration loaded before stays in use</li>
+ * </ul>
+ * The directory of the file is watched, so that a file replaced by an editor or a deployment is reloaded as well.
+ */
+public class GameConfigWatcher implements AutoCloseable {
+
+  // time without any change of the file after which it is loaded, a file is often written in several steps
+  private static final long QUIET_PERIOD_MILLIS = 100;
+
+  private final Path configFile;
+  private final Function<String, CompiledGameConfig> loader;
+  private final Consumer<CompiledGameConfig> reloadListener;
+  private final Consumer<GameException> rejectListener;
+  private final WatchService watchService;
+  private final Thread thread;
+
+  /**
+   * Constructor that validates its arguments and starts watching the directory of the configuration file. Changes are
+   * only loaded once {@link #start()} is called.
+   *
+   * @param configFile     path of the configuration file
+   * @param loader         loads the configuration file, e.g. parses and compiles it
+   * @param reloadListener called with every configuration that is loaded
+   * @param rejectListener called with the exception of every configuration that cannot be loaded
+   * @throws GameException if any argument is null, or the directory of the configuration file cannot be watched
+   */
+  public GameConfigWatcher(String configFile, Function<String, CompiledGameConfig> loader,
+    Consumer<CompiledGameConfig> reloadListener, Consumer<GameException> rejectListener) {
+    isNotNull(configFile, "Configuration file cannot be null");
+    isNotNull(loader, "Loader cannot be null");
+    isNotNull(reloadListener, "Reload listener cannot be null");
+    isNotNull(rejectListener, "Reject listener cannot be null");
+
+    this.loader = loader;
+    this.reloadListener = reloadListener;
+    this.rejectListener = rejectListener;
+
+    try {
+      this.configFile = Path.of(configFile).toAbsolutePath();
+      this.watchService = this.configFile.getFileSystem().newWatchService();
+      this.configFile.getParent().register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+    } catch (IOException | InvalidPathException e) {
+      throw new GameException("Unable to watch configuration file", e);
+    }
+
+    this.thread = new Thread(this::watch, "config-watcher");
+    // the watcher never keeps the process alive
+    thread.setDaemon(true);
+  }
+
+  /**
+   * Starts loading the configuration file in the background whenever it changes
+   */
+  public void start() {
+    thread.start();
+  }
+
+  /**
+   * Stops watching the configuration file, a configuration being loaded is still passed to its listener
+   */
+  @Override
+  public void close() {
+    try {
+      watchService.close();
+    } catch (IOException e) {
+      throw new GameException("Unable to stop watching configuration file", e);
+    }
+  }
+
+  private void watch() {
+    try {
+      while (true) {
+        var changed = pollEvents(watchService.take());
+
+        // the file is loaded once it has not changed for a while
+        WatchKey key;
+        while ((key = watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+          changed |= pollEvents(key);
+        }
+
+        if (changed) {
+          reload();
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ClosedWatchServiceException e) {
+      // the watcher is closed
+    }
+  }
+
+  /**
+   * @return true if one of the events is a change of the configuration file, or events were lost
+   */
+  private boolean pollEvents(WatchKey key) {
+    var changed = false;
+    for (var event : key.pollEvents()) {
+      changed |= event.kind() == OVERFLOW || configFile.getFileName().equals(event.context());
+    }
+    key.reset();
+    return changed;
+  }
+
+  private void reload() {
+    CompiledGameConfig compiledGameConfig;
+    try {
+      compiledGameConfig = loader.apply(configFile.toString());
+    } catch (GameException e) {
+      rejectListener.accept(e);
+      return;
+    } catch (RuntimeException e) {
+      // the watcher keeps running whatever the configuration is
+      rejectListener.accept(new GameException("Unable to load configuration file", e));
+      return;
+    }
+
+    reloadListener.accept(compiledGameConfig);
+  }
+}
@@ -0,0 +1,49 @@
+package com.cyberspeed.scratchgame.jfr;
+
+import com.cyberspeed.scratchgame.ScratchCard;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event of the generation of a {@link ScratchCard}. Only the generations slower than the threshold are
+ * recorded by default, the threshold can be lowered when the recording is started.
+ */
+@Name(CardGenerationEvent.NAME)
+@Label("Card Generation")
+@Description("Generation of the symbols of a Scratch Card")
+@Category({"Scratch Game", "Round"})
+@StackTrace(false)
+@Threshold("1 ms")
+public class CardGenerationEvent extends Event {
+
+  public static final String NAME = "com.cyberspeed.scratchgame.CardGeneration";
+
+  @Label("Rows")
+  private int rows;
+
+  @Label("Columns")
+  private int columns;
+
+  @Label("Bonus Symbol")
+  private String bonusSymbol;
+
+  /**
+   * Ends the event and commits it with the generated card, the card is only read if the event is recorded
+   *
+   * @param scratchCard the generated Scratch Card
+   */
+  public void commit(ScratchCard scratchCard) {
+    end();
+    if (shouldCommit()) {
+      rows = scratchCard.getRows();
+      columns = scratchCard.getColumns();
+      bonusSymbol = scratchCard.getBonusSymbol();
+      commit();
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package com.cyberspeed.scratchgame.jfr;
+
+import com.cyberspeed.scratchgame.configs.CompiledGameConfig;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event of the loading and compilation of a configuration file, at startup or when it is reloaded.
+ * Every load is recorded.
+ */
+@Name(ConfigLoadEvent.NAME)
+@Label("Configuration Load")
+@Description("Parsing, validation and compilation of a configuration file, or reading of its compiled form from cache")
+@Category({"Scratch Game", "Configuration"})
+@StackTrace(false)
+@Threshold("0 ms")
+public class ConfigLoadEvent extends Event {
+
+  public static final String NAME = "com.cyberspeed.scratchgame.ConfigLoad";
+
+  @Label("Configuration File")
+  private String configFile;
+
+  @Label("Cache Directory")
+  @Description("Directory of the compiled configuration cache, if any")
+  private String cacheDirectory;
+
+  @Label("Rows")
+  private int rows;
+
+  @Label("Columns")
+  private int columns;
+
+  @Label("Symbols")
+  private int symbols;
+
+  @Label("Win Combinations")
+  private int winCombinations;
+
+  /**
+   * Ends the event and commits it with the loaded configuration
+   *
+   * @param configFile         location of the configuration file
+   * @param cacheDirectory     directory of the compiled configuration cache, or null
+   * @param compiledGameConfig the loaded configuration
+   */
+  public void commit(String configFile, String cacheDirectory, CompiledGameConfig compiledGameConfig) {
+    end();
+    if (shouldCommit()) {
+      this.configFile = configFile;
+      this.cacheDirectory = cacheDirectory;
+      rows = compiledGameConfig.getRows();
+      columns = compiledGameConfig.getColumns();
+      symbols = compiledGameConfig.getSymbolCount();
+      winCombinations = compiledGameConfig.getWinCombinationCount();
+      commit();
+    }
+  }
+}
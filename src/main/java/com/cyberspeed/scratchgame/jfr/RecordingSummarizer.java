@@ -0,0 +1,83 @@
+package com.cyberspeed.scratchgame.jfr;
+
+import static com.cyberspeed.scratchgame.utils.Validation.isNotNull;
+
+import com.cyberspeed.scratchgame.exceptions.GameException;
+import com.cyberspeed.scratchgame.metrics.LatencyHistogram;
+import com.cyberspeed.scratchgame.metrics.LatencySnapshot;
+import com.cyberspeed.scratchgame.models.JfrSummaryReport;
+import com.cyberspeed.scratchgame.models.StageTimings;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Summarizes the events of the Scratch Game in a flight recording into the timings of each stage. The recording is
+ * read event by event, so a recording of any size is summarized in constant memory. Events of other types are skipped.
+ */
+public class RecordingSummarizer {
+
+  // stage of each event type, in the order of a round
+  private static final Map<String, String> STAGES = Map.of(
+    ConfigLoadEvent.NAME, "config_load",
+    CardGenerationEvent.NAME, "card_generation",
+    WinEvaluationEvent.NAME, "win_evaluation",
+    RewardCalculationEvent.NAME, "reward_calculation");
+  private static final String[] STAGE_ORDER = {"config_load", "card_generation", "win_evaluation",
+    "reward_calculation"};
+
+  private static final double NANOS_PER_MICRO = 1_000;
+  private static final double NANOS_PER_MILLI = 1_000_000;
+
+  /**
+   * Reads the events of the recording and summarizes their durations per stage
+   *
+   * @param recordingFile location of the flight recording
+   * @return timings of each stage with at least one event in the recording
+   * @throws GameException if recordingFile is null, or the recording cannot be read
+   */
+  public JfrSummaryReport summarize(String recordingFile) {
+    isNotNull(recordingFile, "Recording file cannot be null");
+
+    var histograms = new LinkedHashMap<String, LatencyHistogram>();
+    for (var stage : STAGE_ORDER) {
+      histograms.put(stage, new LatencyHistogram());
+    }
+
+    try (var recording = new RecordingFile(Path.of(recordingFile))) {
+      while (recording.hasMoreEvents()) {
+        var event = recording.readEvent();
+        var stage = STAGES.get(event.getEventType().getName());
+        if (stage != null) {
+          histograms.get(stage).record(event.getDuration().toNanos());
+        }
+      }
+    } catch (IOException e) {
+      throw new GameException("Unable to read JFR recording", e);
+    }
+
+    var stages = new LinkedHashMap<String, StageTimings>();
+    histograms.forEach((stage, histogram) -> {
+      var snapshot = histogram.snapshot();
+      if (snapshot.getCount() > 0) {
+        stages.put(stage, toStageTimings(snapshot));
+      }
+    });
+
+    return JfrSummaryReport.builder().recording(recordingFile).stages(stages).build();
+  }
+
+  private static StageTimings toStageTimings(LatencySnapshot snapshot) {
+    return StageTimings.builder()
+      .count(snapshot.getCount())
+      .totalMillis(snapshot.getMeanNanos() * snapshot.getCount() / NANOS_PER_MILLI)
+      .meanMicros(snapshot.getMeanNanos() / NANOS_PER_MICRO)
+      .p50Micros(snapshot.getP50Nanos() / NANOS_PER_MICRO)
+      .p90Micros(snapshot.getP90Nanos() / NANOS_PER_MICRO)
+      .p99Micros(snapshot.getP99Nanos() / NANOS_PER_MICRO)
+      .maxMicros(snapshot.getMaxNanos() / NANOS_PER_MICRO)
+      .build();
+  }
+}
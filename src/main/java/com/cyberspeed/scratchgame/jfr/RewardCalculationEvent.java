@@ -0,0 +1,50 @@
+package com.cyberspeed.scratchgame.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event of the calculation of the reward of a round. Only the calculations slower than the threshold
+ * are recorded by default, the threshold can be lowered when the recording is started.
+ */
+@Name(RewardCalculationEvent.NAME)
+@Label("Reward Calculation")
+@Description("Calculation of the reward of the win combinations and the bonus symbol of a round")
+@Category({"Scratch Game", "Round"})
+@StackTrace(false)
+@Threshold("1 ms")
+public class RewardCalculationEvent extends Event {
+
+  public static final String NAME = "com.cyberspeed.scratchgame.RewardCalculation";
+
+  @Label("Bet")
+  private int bettingAmount;
+
+  @Label("Reward")
+  private long reward;
+
+  @Label("Bonus Symbol")
+  private String bonusSymbol;
+
+  /**
+   * Ends the event and commits it with the outcome of the round
+   *
+   * @param bettingAmount the amount placed on the bet
+   * @param reward        final reward of the round
+   * @param bonusSymbol   bonus symbol of the Scratch Card, or null
+   */
+  public void commit(int bettingAmount, double reward, String bonusSymbol) {
+    end();
+    if (shouldCommit()) {
+      this.bettingAmount = bettingAmount;
+      this.reward = (long) reward;
+      this.bonusSymbol = bonusSymbol;
+      commit();
+    }
+  }
+}
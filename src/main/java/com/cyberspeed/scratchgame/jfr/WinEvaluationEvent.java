@@ -0,0 +1,63 @@
+package com.cyberspeed.scratchgame.jfr;
+
+import com.cyberspeed.scratchgame.ScratchCard;
+import com.cyberspeed.scratchgame.configs.CompiledGameConfig;
+import com.cyberspeed.scratchgame.utils.WinCombinationFinder;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event of the search of the win combinations of a {@link ScratchCard}. Only the searches slower than
+ * the threshold are recorded by default, the threshold can be lowered when the recording is started.
+ */
+@Name(WinEvaluationEvent.NAME)
+@Label("Win Evaluation")
+@Description("Search of the win combinations applied to the symbols of a Scratch Card")
+@Category({"Scratch Game", "Round"})
+@StackTrace(false)
+@Threshold("1 ms")
+public class WinEvaluationEvent extends Event {
+
+  public static final String NAME = "com.cyberspeed.scratchgame.WinEvaluation";
+
+  @Label("Rows")
+  private int rows;
+
+  @Label("Columns")
+  private int columns;
+
+  @Label("Win Combinations Evaluated")
+  @Description("Number of win combinations of the configuration")
+  private int winCombinationsEvaluated;
+
+  @Label("Win Combinations Matched")
+  @Description("Number of win combinations applied to a symbol, a win combination applied to two symbols counts twice")
+  private int winCombinationsMatched;
+
+  /**
+   * Ends the event and commits it with the applied win combinations, which are only counted if the event is recorded
+   *
+   * @param compiledGameConfig     compiled configuration the win combinations are searched with
+   * @param appliedWinCombinations ids of the applied win combinations as returned by
+   *                               {@link WinCombinationFinder#findIds(ScratchCard, CompiledGameConfig)}
+   */
+  public void commit(CompiledGameConfig compiledGameConfig, int[] appliedWinCombinations) {
+    end();
+    if (shouldCommit()) {
+      rows = compiledGameConfig.getRows();
+      columns = compiledGameConfig.getColumns();
+      winCombinationsEvaluated = compiledGameConfig.getWinCombinationCount();
+      for (int winCombinationId : appliedWinCombinations) {
+        if (winCombinationId != WinCombinationFinder.NO_WIN_COMBINATION) {
+          winCombinationsMatched++;
+        }
+      }
+      commit();
+    }
+  }
+}
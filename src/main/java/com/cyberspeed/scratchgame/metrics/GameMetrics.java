@@ -0,0 +1,427 @@
+package com.cyberspeed.scratchgame.metrics;
+
+import static com.cyberspeed.scratchgame.utils.Validation.isNotNull;
+
+import com.cyberspeed.scratchgame.ScratchCard;
+import com.cyberspeed.scratchgame.configs.CompiledGameConfig;
+import com.cyberspeed.scratchgame.exceptions.GameException;
+import com.cyberspeed.scratchgame.symbols.BonusImpact;
+import com.cyberspeed.scratchgame.utils.WinCombinationFinder;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.ToLongFunction;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Metrics of the rounds played, recorded without locks by any number of threads and published over JMX, see
+ * {@link GameMetricsMXBean}.
+ * <ul>
+ *   <li>counters are incremented in every round, in stripes of counters claimed by one round at a time, see
+ *   {@link RoundCounters}</li>
+ *   <li>latencies of the stages of a round are recorded in a {@link LatencyHistogram} per stage, for one round out of
+ *   {@link #LATENCY_SAMPLING_INTERVAL} only, since reading the clock costs as much as a stage of a small matrix</li>
+ * </ul>
+ * Counters of symbols and win combinations are kept by name in one table, so that the metrics outlive the
+ * configuration they are counted with, e.g. when the configuration of a server is reloaded. The table grows with the
+ * names that are counted, not with the configurations, and keeps no reference to them.
+ * <p>
+ * Counting and timing a round costs about a tenth of a round of a small matrix, so the launcher only instruments its
+ * rounds when run with {@code --metrics}.
+ */
+public class GameMetrics implements GameMetricsMXBean {
+
+  /**
+   * Name of the metrics on the platform MBean server
+   */
+  public static final String OBJECT_NAME = "com.cyberspeed.scratchgame:type=GameMetrics";
+
+  /**
+   * Start time of a stage that is not timed, see {@link #startTimer()}
+   */
+  public static final long NOT_TIMED = Long.MIN_VALUE;
+
+  /**
+   * One round out of this number is timed on average, a power of two
+   */
+  public static final int LATENCY_SAMPLING_INTERVAL = 64;
+
+  // twice as many stripes of counters as processors, so that a round seldom finds its stripe held by another one
+  private static final int STRIPES = stripes(Runtime.getRuntime().availableProcessors());
+
+  private final Stripe[] stripes = new Stripe[STRIPES];
+  // stripe of each slot, or null while a round holds it
+  private final AtomicReferenceArray<Stripe> slots = new AtomicReferenceArray<>(STRIPES);
+
+  // indexes of the counters of the symbols and win combinations by name, only added to while counters are created
+  private final Map<String, Integer> symbolIndexes = new HashMap<>();
+  private final Map<String, Integer> winCombinationIndexes = new HashMap<>();
+  // names by index, published once every stripe has a counter for each of them
+  private volatile String[] symbolNames = new String[0];
+  private volatile String[] winCombinationNames = new String[0];
+
+  private final LatencyHistogram cardGenerationLatency = new LatencyHistogram();
+  private final LatencyHistogram winCombinationSearchLatency = new LatencyHistogram();
+  private final LatencyHistogram rewardCalculationLatency = new LatencyHistogram();
+  private final LatencyHistogram outputSerializationLatency = new LatencyHistogram();
+
+  public GameMetrics() {
+    for (int slot = 0; slot < STRIPES; slot++) {
+      stripes[slot] = new Stripe();
+      slots.set(slot, stripes[slot]);
+    }
+  }
+
+  /**
+   * Publishes the metrics on the platform MBean server under {@link #OBJECT_NAME}
+   *
+   * @return the metrics
+   * @throws GameException if the metrics cannot be published, e.g. other metrics are published already
+   */
+  public GameMetrics register() {
+    try {
+      ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+    } catch (JMException e) {
+      throw new GameException("Unable to register game metrics", e);
+    }
+    return this;
+  }
+
+  /**
+   * Removes the metrics from the platform MBean server
+   *
+   * @throws GameException if the metrics cannot be removed, e.g. they are not published
+   */
+  public void unregister() {
+    try {
+      ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(OBJECT_NAME));
+    } catch (JMException e) {
+      throw new GameException("Unable to unregister game metrics", e);
+    }
+  }
+
+  /**
+   * Creates the counters of the rounds played with a configuration, which add up to the counters of the other
+   * configurations by name. The counters are not retained by the metrics, nor is the configuration by the counters.
+   *
+   * @param compiledGameConfig the configuration of the rounds
+   * @return counters of the rounds played with the configuration
+   * @throws GameException if compiledGameConfig is null
+   */
+  public synchronized RoundCounters counters(CompiledGameConfig compiledGameConfig) {
+    isNotNull(compiledGameConfig, "Config cannot be null");
+
+    var symbolCount = compiledGameConfig.getSymbolCount();
+    var symbolCounterIndexes = new int[symbolCount];
+    var bonusImpacts = new BonusImpact[symbolCount];
+    for (int symbolId = 0; symbolId < symbolCount; symbolId++) {
+      symbolCounterIndexes[symbolId] = index(symbolIndexes, compiledGameConfig.getSymbolName(symbolId));
+      bonusImpacts[symbolId] = compiledGameConfig.getBonusImpact(symbolId);
+    }
+
+    var winCombinationCounterIndexes = new int[compiledGameConfig.getWinCombinationCount()];
+    for (int winCombinationId = 0; winCombinationId < winCombinationCounterIndexes.length; winCombinationId++) {
+      winCombinationCounterIndexes[winCombinationId] = index(winCombinationIndexes,
+        compiledGameConfig.getWinCombinationName(winCombinationId));
+    }
+
+    if (symbolIndexes.size() > symbolNames.length || winCombinationIndexes.size() > winCombinationNames.length) {
+      grow();
+    }
+    return new RoundCounters(symbolCounterIndexes, winCombinationCounterIndexes, bonusImpacts);
+  }
+
+  /**
+   * @return index of the counter of the name, a new one if the name is not counted yet
+   */
+  private static int index(Map<String, Integer> indexes, String name) {
+    var index = indexes.get(name);
+    if (index == null) {
+      index = indexes.size();
+      indexes.put(name, index);
+    }
+    return index;
+  }
+
+  /**
+   * Adds a counter to every stripe for each name that is not counted yet, holding the stripes one at a time, and
+   * publishes the names once every stripe counts them
+   */
+  private void grow() {
+    var grownSymbolNames = names(symbolIndexes);
+    var grownWinCombinationNames = names(winCombinationIndexes);
+
+    for (int slot = 0; slot < STRIPES; slot++) {
+      // waits for the round that holds the stripe, if any
+      while (slots.getAndSet(slot, null) == null) {
+        Thread.yield();
+      }
+
+      var stripe = stripes[slot];
+      stripe.symbolsPlaced = Arrays.copyOf(stripe.symbolsPlaced, grownSymbolNames.length);
+      stripe.winCombinationsTriggered = Arrays.copyOf(stripe.winCombinationsTriggered,
+        grownWinCombinationNames.length);
+      slots.setRelease(slot, stripe);
+    }
+
+    symbolNames = grownSymbolNames;
+    winCombinationNames = grownWinCombinationNames;
+  }
+
+  private static String[] names(Map<String, Integer> indexes) {
+    var names = new String[indexes.size()];
+    indexes.forEach((name, index) -> names[index] = name);
+    return names;
+  }
+
+  /**
+   * Starts timing a stage if the round is sampled
+   *
+   * @return the current time in nanoseconds, or {@link #NOT_TIMED} if the round is not sampled
+   */
+  public long startTimer() {
+    var sampled = (ThreadLocalRandom.current().nextInt() & (LATENCY_SAMPLING_INTERVAL - 1)) == 0;
+    return sampled ? System.nanoTime() : NOT_TIMED;
+  }
+
+  /**
+   * @param start start time of the card generation as returned by {@link #startTimer()}
+   * @return the end time of the card generation, to time the next stage from, or {@link #NOT_TIMED}
+   */
+  public long recordCardGeneration(long start) {
+    return record(cardGenerationLatency, start);
+  }
+
+  /**
+   * @param start start time of the win combination search as returned by {@link #startTimer()}
+   * @return the end time of the win combination search, to time the next stage from, or {@link #NOT_TIMED}
+   */
+  public long recordWinCombinationSearch(long start) {
+    return record(winCombinationSearchLatency, start);
+  }
+
+  /**
+   * @param start start time of the reward calculation as returned by {@link #startTimer()}
+   * @return the end time of the reward calculation, to time the next stage from, or {@link #NOT_TIMED}
+   */
+  public long recordRewardCalculation(long start) {
+    return record(rewardCalculationLatency, start);
+  }
+
+  /**
+   * @param start start time of the output serialisation as returned by {@link #startTimer()}
+   * @return the end time of the output serialisation, or {@link #NOT_TIMED}
+   */
+  public long recordOutputSerialization(long start) {
+    return record(outputSerializationLatency, start);
+  }
+
+  private static long record(LatencyHistogram histogram, long start) {
+    if (start == NOT_TIMED) {
+      return NOT_TIMED;
+    }
+
+    var end = System.nanoTime();
+    histogram.record(end - start);
+    return end;
+  }
+
+  @Override
+  public long getRounds() {
+    return sum(stripe -> stripe.rounds);
+  }
+
+  @Override
+  public long getTotalWagered() {
+    return sum(stripe -> stripe.totalWagered);
+  }
+
+  @Override
+  public long getTotalPaid() {
+    return sum(stripe -> stripe.totalPaid);
+  }
+
+  @Override
+  public Map<String, Long> getSymbolsPlaced() {
+    var names = symbolNames;
+    var sums = new TreeMap<String, Long>();
+    for (int index = 0; index < names.length; index++) {
+      var counterIndex = index;
+      sums.put(names[index], sum(stripe -> stripe.symbolsPlaced[counterIndex]));
+    }
+    return sums;
+  }
+
+  @Override
+  public Map<String, Long> getWinCombinationsTriggered() {
+    var names = winCombinationNames;
+    var sums = new TreeMap<String, Long>();
+    for (int index = 0; index < names.length; index++) {
+      var counterIndex = index;
+      sums.put(names[index], sum(stripe -> stripe.winCombinationsTriggered[counterIndex]));
+    }
+    return sums;
+  }
+
+  @Override
+  public Map<String, Long> getBonusImpacts() {
+    var sums = new TreeMap<String, Long>();
+    for (BonusImpact bonusImpact : BonusImpact.values()) {
+      sums.put(bonusImpact.name().toLowerCase(Locale.ROOT), sum(stripe -> stripe.bonusImpacts[bonusImpact.ordinal()]));
+    }
+    return sums;
+  }
+
+  @Override
+  public LatencySnapshot getCardGenerationLatency() {
+    return cardGenerationLatency.snapshot();
+  }
+
+  @Override
+  public LatencySnapshot getWinCombinationSearchLatency() {
+    return winCombinationSearchLatency.snapshot();
+  }
+
+  @Override
+  public LatencySnapshot getRewardCalculationLatency() {
+    return rewardCalculationLatency.snapshot();
+  }
+
+  @Override
+  public LatencySnapshot getOutputSerializationLatency() {
+    return outputSerializationLatency.snapshot();
+  }
+
+  private long sum(ToLongFunction<Stripe> counter) {
+    var sum = 0L;
+    for (int slot = 0; slot < STRIPES; slot++) {
+      sum += counter.applyAsLong(read(slot));
+    }
+    return sum;
+  }
+
+  private Stripe read(int slot) {
+    // synchronizes with the last release of the stripe, after the counters of the published names are added to it
+    slots.getAcquire(slot);
+    return stripes[slot];
+  }
+
+  /**
+   * @return slot of the stripe claimed by the calling thread, which is the same one as long as no other thread holds
+   * it
+   */
+  private int claim() {
+    // the id of a thread is read from a field, which costs less than its identity hash code
+    var slot = spread(Long.hashCode(Thread.currentThread().getId()));
+    while (true) {
+      for (int attempt = 0; attempt < STRIPES; attempt++, slot = (slot + 1) & (STRIPES - 1)) {
+        if (slots.getPlain(slot) != null && slots.getAndSet(slot, null) != null) {
+          return slot;
+        }
+      }
+
+      // every stripe is held, by threads that may not be running
+      Thread.yield();
+    }
+  }
+
+  /**
+   * @return power of two that is at least twice the number of processors
+   */
+  private static int stripes(int processors) {
+    return Integer.highestOneBit(Math.max(processors * 2 - 1, 1)) << 1;
+  }
+
+  /**
+   * Spreads the bits of a hash code over the slots of the stripes
+   */
+  private static int spread(int hashCode) {
+    return (hashCode ^ (hashCode >>> 16)) & (STRIPES - 1);
+  }
+
+  /**
+   * Counters of the rounds played with one configuration, which map the ids of its symbols and win combinations to the
+   * counters of their names so that no name is looked up while a round is counted.
+   * <p>
+   * The counters are split in stripes, a round claims a stripe with a single atomic exchange, increments its counters
+   * as plain fields and releases it, instead of an atomic increment per counter. A stripe is read after it is released
+   * by the last round that claimed it, the rounds being counted meanwhile may be left out of a read.
+   */
+  public final class RoundCounters {
+
+    // index of the counter of each symbol id and win combination id
+    private final int[] symbolIndexes;
+    private final int[] winCombinationIndexes;
+    // impact of each symbol id, null if the symbol is not a bonus symbol
+    private final BonusImpact[] bonusImpacts;
+
+    private RoundCounters(int[] symbolIndexes, int[] winCombinationIndexes, BonusImpact[] bonusImpacts) {
+      this.symbolIndexes = symbolIndexes;
+      this.winCombinationIndexes = winCombinationIndexes;
+      this.bonusImpacts = bonusImpacts;
+    }
+
+    /**
+     * Counts a round
+     *
+     * @param scratchCard            the Scratch Card of the round
+     * @param bettingAmount          the amount placed on the bet
+     * @param appliedWinCombinations ids of the applied win combinations as returned by
+     *                               {@link WinCombinationFinder#findIds(ScratchCard, CompiledGameConfig)}
+     * @param reward                 final reward of the round, of which the integer part is paid
+     */
+    public void record(ScratchCard scratchCard, int bettingAmount, int[] appliedWinCombinations, double reward) {
+      var slot = claim();
+      var stripe = stripes[slot];
+
+      stripe.rounds++;
+      stripe.totalWagered += bettingAmount;
+      stripe.totalPaid += (int) reward;
+
+      var symbolsPlaced = stripe.symbolsPlaced;
+      for (byte symbolId : scratchCard.getCells()) {
+        if (symbolId != ScratchCard.EMPTY_CELL) {
+          symbolsPlaced[symbolIndexes[symbolId]]++;
+        }
+      }
+
+      // reward multipliers are greater than 0, so a round has a reward if and only if a win combination is applied
+      if (reward > 0) {
+        for (int winCombinationId : appliedWinCombinations) {
+          if (winCombinationId != WinCombinationFinder.NO_WIN_COMBINATION) {
+            stripe.winCombinationsTriggered[winCombinationIndexes[winCombinationId]]++;
+          }
+        }
+
+        var bonusSymbolId = scratchCard.getBonusSymbolId();
+        var bonusImpact = bonusSymbolId == ScratchCard.NO_BONUS_SYMBOL ? null : bonusImpacts[bonusSymbolId];
+        if (bonusImpact != null) {
+          stripe.bonusImpacts[bonusImpact.ordinal()]++;
+        }
+      }
+
+      // publishes the counters to the next round and the readers that claim the stripe
+      slots.setRelease(slot, stripe);
+    }
+  }
+
+  /**
+   * Counters of the rounds counted by the round that holds the stripe
+   */
+  private static final class Stripe {
+
+    // indexed by the counters of the names, replaced by larger arrays while the stripe is held to count new names
+    private long[] symbolsPlaced = new long[0];
+    private long[] winCombinationsTriggered = new long[0];
+    private final long[] bonusImpacts = new long[BonusImpact.values().length];
+    private long rounds;
+    private long totalWagered;
+    private long totalPaid;
+  }
+}
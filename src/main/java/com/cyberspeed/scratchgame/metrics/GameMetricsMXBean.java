@@ -0,0 +1,61 @@
+package com.cyberspeed.scratchgame.metrics;
+
+import java.util.Map;
+
+/**
+ * Management interface of {@link GameMetrics}, published on the platform MBean server under
+ * {@link GameMetrics#OBJECT_NAME}. Counters are counted since the metrics are created, latencies are recorded in
+ * nanoseconds for a sample of the rounds.
+ */
+public interface GameMetricsMXBean {
+
+  /**
+   * @return number of rounds played
+   */
+  long getRounds();
+
+  /**
+   * @return sum of the betting amounts of the rounds played
+   */
+  long getTotalWagered();
+
+  /**
+   * @return sum of the rewards of the rounds played
+   */
+  long getTotalPaid();
+
+  /**
+   * @return number of times each symbol is placed on a matrix, by name of the symbol
+   */
+  Map<String, Long> getSymbolsPlaced();
+
+  /**
+   * @return number of times each win combination is applied to a symbol, by name of the win combination
+   */
+  Map<String, Long> getWinCombinationsTriggered();
+
+  /**
+   * @return number of times a bonus symbol is applied to a reward, by impact of the bonus symbol
+   */
+  Map<String, Long> getBonusImpacts();
+
+  /**
+   * @return latencies of the generation of a Scratch Card
+   */
+  LatencySnapshot getCardGenerationLatency();
+
+  /**
+   * @return latencies of the search of the win combinations of a Scratch Card
+   */
+  LatencySnapshot getWinCombinationSearchLatency();
+
+  /**
+   * @return latencies of the calculation of the reward of a round
+   */
+  LatencySnapshot getRewardCalculationLatency();
+
+  /**
+   * @return latencies of the serialisation of the output of a round
+   */
+  LatencySnapshot getOutputSerializationLatency();
+}
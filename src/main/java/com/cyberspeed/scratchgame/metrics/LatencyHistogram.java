@@ -0,0 +1,107 @@
+package com.cyberspeed.scratchgame.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of latencies in nanoseconds, recorded without locks by any number of threads. Like an HDR histogram, the
+ * buckets grow with the power of two of the latency and every power of two is split in {@link #SUB_BUCKETS} buckets of
+ * the same width, so that a latency of any magnitude is recorded with a relative error below 1 / {@link #SUB_BUCKETS}.
+ */
+public final class LatencyHistogram {
+
+  /**
+   * Number of buckets every power of two is split in
+   */
+  public static final int SUB_BUCKETS = 16;
+
+  private static final int SUB_BUCKET_BITS = Integer.numberOfTrailingZeros(SUB_BUCKETS);
+
+  // latencies below SUB_BUCKETS have a bucket each, then SUB_BUCKETS buckets for each power of two up to Long.MAX_VALUE
+  private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder total = new LongAdder();
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+  /**
+   * Records a latency, a negative latency (e.g. of a clock going backward) is recorded as 0
+   *
+   * @param nanos latency in nanoseconds
+   */
+  public void record(long nanos) {
+    var value = Math.max(nanos, 0);
+    counts.incrementAndGet(bucket(value));
+    total.add(value);
+    max.accumulate(value);
+  }
+
+  /**
+   * Takes a snapshot of the latencies recorded so far. Latencies recorded while the snapshot is taken may be left out.
+   *
+   * @return count, mean, maximum and percentiles of the latencies
+   */
+  public LatencySnapshot snapshot() {
+    var bucketCounts = new long[BUCKETS];
+    var count = 0L;
+    for (int bucket = 0; bucket < BUCKETS; bucket++) {
+      bucketCounts[bucket] = counts.get(bucket);
+      count += bucketCounts[bucket];
+    }
+
+    var maxNanos = max.get();
+    return LatencySnapshot.builder()
+      .count(count)
+      .meanNanos(count == 0 ? 0 : (double) total.sum() / count)
+      .maxNanos(maxNanos)
+      .p50Nanos(percentile(bucketCounts, count, 0.5, maxNanos))
+      .p90Nanos(percentile(bucketCounts, count, 0.9, maxNanos))
+      .p99Nanos(percentile(bucketCounts, count, 0.99, maxNanos))
+      .p999Nanos(percentile(bucketCounts, count, 0.999, maxNanos))
+      .build();
+  }
+
+  /**
+   * @return the highest latency of the bucket of the percentile, which is never above the maximum latency
+   */
+  private static long percentile(long[] bucketCounts, long count, double percentile, long maxNanos) {
+    var rank = (long) Math.ceil(percentile * count);
+    var seen = 0L;
+    for (int bucket = 0; bucket < BUCKETS; bucket++) {
+      seen += bucketCounts[bucket];
+      if (seen > 0 && seen >= rank) {
+        return Math.min(highestValue(bucket), maxNanos);
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * @param value latency in nanoseconds, not negative
+   * @return bucket of the latency
+   */
+  static int bucket(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+
+    // the highest bits of the latency select the bucket within its power of two
+    var shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    return (shift + 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+  }
+
+  /**
+   * @param bucket bucket of the histogram
+   * @return highest latency recorded in the bucket
+   */
+  static long highestValue(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+
+    var shift = bucket / SUB_BUCKETS - 1;
+    var lowestValue = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+    return lowestValue + (1L << shift) - 1;
+  }
+}
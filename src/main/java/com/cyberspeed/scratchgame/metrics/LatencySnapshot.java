@@ -0,0 +1,27 @@
+package com.cyberspeed.scratchgame.metrics;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Class to represent the latencies recorded by a {@link LatencyHistogram} at a point in time, which is published over
+ * JMX as composite data. Percentiles are the highest latency of their bucket in the histogram.
+ */
+@Getter
+@Builder
+public class LatencySnapshot {
+
+  private long count;
+
+  private double meanNanos;
+
+  private long maxNanos;
+
+  private long p50Nanos;
+
+  private long p90Nanos;
+
+  private long p99Nanos;
+
+  private long p999Nanos;
+}
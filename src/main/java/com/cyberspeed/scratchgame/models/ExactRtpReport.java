@@ -0,0 +1,50 @@
+package com.cyberspeed.scratchgame.models;
+
+import com.cyberspeed.scratchgame.ScratchGame;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.Map;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Class to represent the exact theoretical outcome of a round of the {@link ScratchGame}, calculated by enumerating
+ * every possible Scratch Card.
+ */
+@Getter
+@Builder
+public class ExactRtpReport {
+
+  @JsonProperty("betting_amount")
+  private int bettingAmount;
+
+  // number of Scratch Cards whose reward is evaluated
+  @JsonProperty("outcomes")
+  private long outcomes;
+
+  // return to player, i.e. expected reward divided by betting amount
+  @JsonProperty("rtp")
+  private double rtp;
+
+  @JsonProperty("expected_reward")
+  private double expectedReward;
+
+  // probability of a round with a reward
+  @JsonProperty("hit_frequency")
+  private double hitFrequency;
+
+  @JsonProperty("reward_variance")
+  private double rewardVariance;
+
+  @JsonProperty("reward_standard_deviation")
+  private double rewardStandardDeviation;
+
+  @JsonProperty("max_reward")
+  private long maxReward;
+
+  // probability of each reward, ordered by reward
+  @JsonProperty("payout_distribution")
+  private Map<Integer, Double> payoutDistribution;
+
+  @JsonProperty("duration_millis")
+  private long durationMillis;
+}
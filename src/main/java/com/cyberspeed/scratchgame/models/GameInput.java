@@ -1,11 +1,42 @@
 package com.cyberspeed.scratchgame.models;
 
+import lombok.Builder;
+import org.jetbrains.annotations.Nullable;
+
 /**
- * Record that contains the location of the configuration file and user betting amount.
+ * Record that contains the location of the configuration file, user betting amount, and how the game should be run.
+ * The arguments that do not apply to the mode are left to their default with the builder.
  *
- * @param configFile    location of the game configuration JSON file
- * @param bettingAmount user betting amount
+ * @param mode                 mode in which the game is launched
+ * @param configFile           location of the game configuration JSON file, or null in {@link GameMode#JFR_SUMMARY}
+ *                             mode
+ * @param bettingAmount        user betting amount, the betting amount of every round is part of its request in
+ *                             {@link GameMode#SERVE} and {@link GameMode#BATCH} modes
+ * @param simulationRounds     number of rounds to play in {@link GameMode#SIMULATE} mode
+ * @param threads              number of threads used in {@link GameMode#SIMULATE}, {@link GameMode#EXACT_RTP} and
+ *                             {@link GameMode#BATCH} modes
+ * @param seed                 seed of the random number generator to replay the same rounds, or null for a random seed
+ * @param port                 port to listen on in {@link GameMode#SERVE} mode
+ * @param batchFile            location of the JSON Lines file of requests in {@link GameMode#BATCH} mode
+ * @param outputFile           location of the JSON Lines file to write the output to in {@link GameMode#BATCH} mode
+ * @param configCacheDirectory directory in which the compiled configuration is cached, or null to compile the
+ *                             configuration on every start
+ * @param recordingFile        location of the flight recording to summarize in {@link GameMode#JFR_SUMMARY} mode
+ * @param metrics              whether the rounds are counted and timed in metrics published over JMX in
+ *                             {@link GameMode#SERVE} and {@link GameMode#BATCH} modes
  */
-public record GameInput(String configFile, int bettingAmount) {
+@Builder
+public record GameInput(GameMode mode, String configFile, int bettingAmount, long simulationRounds, int threads,
+                        @Nullable Long seed, int port, @Nullable String batchFile, @Nullable String outputFile,
+                        @Nullable String configCacheDirectory, @Nullable String recordingFile, boolean metrics) {
 
+  /**
+   * Creates {@link GameInput} to play a single round
+   *
+   * @param configFile    location of the game configuration JSON file
+   * @param bettingAmount user betting amount
+   */
+  public GameInput(String configFile, int bettingAmount) {
+    this(GameMode.PLAY, configFile, bettingAmount, 1, 1, null, 0, null, null, null, null, false);
+  }
 }
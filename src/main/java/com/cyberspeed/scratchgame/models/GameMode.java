@@ -0,0 +1,37 @@
+package com.cyberspeed.scratchgame.models;
+
+/**
+ * Modes in which the game can be launched
+ */
+public enum GameMode {
+
+  /**
+   * Play a single round and print its output
+   */
+  PLAY,
+
+  /**
+   * Play many rounds in parallel and print statistics of their outcome
+   */
+  SIMULATE,
+
+  /**
+   * Calculate the exact return to player and payout distribution of a round
+   */
+  EXACT_RTP,
+
+  /**
+   * Serve rounds over HTTP until the process is stopped
+   */
+  SERVE,
+
+  /**
+   * Play the rounds of a file of requests and write their output to a file
+   */
+  BATCH,
+
+  /**
+   * Summarize the timings of the stages of the game in a flight recording
+   */
+  JFR_SUMMARY
+}
@@ -2,29 +2,52 @@ package com.cyberspeed.scratchgame.models;
 
 import com.cyberspeed.scratchgame.ScratchCard;
 import com.cyberspeed.scratchgame.ScratchGame;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.Map;
 import java.util.Set;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 
 /**
  * Class to represent the result of the {@link ScratchGame} containing the {@link ScratchCard} matrix, total reward,
  * name of the wining combination and bonus details, if any applied.
+ * <p>
+ * An output is immutable, so it can be built on one thread and serialized on another.
  */
 @Getter
 @Builder
 public class GameOutput {
 
   @JsonProperty("matrix")
-  private String[][] matrix;
+  private final String[][] matrix;
+
+  // the Scratch card is kept to build its matrix only when the output is serialized or the matrix is requested. It
+  // references the compiled configuration of its game, which is shared by every round, so an output only retains the
+  // cells of its card. It is not exposed, the output only gives the matrix of the card
+  @JsonIgnore
+  @Getter(AccessLevel.NONE)
+  private final ScratchCard scratchCard;
 
   @JsonProperty("reward")
-  private int reward;
+  private final int reward;
 
   @JsonProperty("applied_winning_combinations")
-  private Map<String, Set<String>> appliedWinningCombinations;
+  private final Map<String, Set<String>> appliedWinningCombinations;
 
   @JsonProperty("applied_bonus_symbol")
-  private String appliedBonusSymbol;
+  private final String appliedBonusSymbol;
+
+  /**
+   * @return matrix of the output, which is built from the {@link ScratchCard} on every call when it is not given
+   * explicitly
+   */
+  @JsonProperty("matrix")
+  public String[][] getMatrix() {
+    if (matrix != null || scratchCard == null) {
+      return matrix;
+    }
+    return scratchCard.getMatrix();
+  }
 }
@@ -0,0 +1,23 @@
+package com.cyberspeed.scratchgame.models;
+
+import com.cyberspeed.scratchgame.ScratchGame;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.Map;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Class to represent the timings of the stages of the {@link ScratchGame} in a flight recording, which is used to find
+ * the stage a round spends its time in.
+ */
+@Getter
+@Builder
+public class JfrSummaryReport {
+
+  @JsonProperty("recording")
+  private String recording;
+
+  // timings of each stage with at least one event, in the order of a round
+  @JsonProperty("stages")
+  private Map<String, StageTimings> stages;
+}
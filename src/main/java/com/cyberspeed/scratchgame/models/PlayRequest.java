@@ -0,0 +1,12 @@
+package com.cyberspeed.scratchgame.models;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Record that contains the betting amount of a round requested through the play service.
+ *
+ * @param betAmount user betting amount
+ */
+public record PlayRequest(@JsonProperty("bet_amount") int betAmount) {
+
+}
@@ -0,0 +1,65 @@
+package com.cyberspeed.scratchgame.models;
+
+import com.cyberspeed.scratchgame.ScratchGame;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.Map;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Class to represent the outcome of many simulated rounds of the {@link ScratchGame}, which is used to tune the game
+ * configuration.
+ */
+@Getter
+@Builder
+public class SimulationReport {
+
+  @JsonProperty("rounds")
+  private long rounds;
+
+  @JsonProperty("threads")
+  private int threads;
+
+  @JsonProperty("betting_amount")
+  private int bettingAmount;
+
+  @JsonProperty("total_bet")
+  private double totalBet;
+
+  @JsonProperty("total_reward")
+  private double totalReward;
+
+  // return to player, i.e. total reward divided by total bet
+  @JsonProperty("rtp")
+  private double rtp;
+
+  // fraction of rounds with a reward
+  @JsonProperty("hit_frequency")
+  private double hitFrequency;
+
+  @JsonProperty("average_reward")
+  private double averageReward;
+
+  @JsonProperty("reward_variance")
+  private double rewardVariance;
+
+  @JsonProperty("reward_standard_deviation")
+  private double rewardStandardDeviation;
+
+  @JsonProperty("max_reward")
+  private long maxReward;
+
+  // fraction of rounds in which a win combination is applied to at least one symbol
+  @JsonProperty("win_combination_trigger_rates")
+  private Map<String, Double> winCombinationTriggerRates;
+
+  // fraction of rounds in which a bonus symbol is applied to the reward
+  @JsonProperty("bonus_symbol_trigger_rates")
+  private Map<String, Double> bonusSymbolTriggerRates;
+
+  @JsonProperty("duration_millis")
+  private long durationMillis;
+
+  @JsonProperty("rounds_per_second")
+  private double roundsPerSecond;
+}
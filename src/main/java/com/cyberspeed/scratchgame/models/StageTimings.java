@@ -0,0 +1,36 @@
+package com.cyberspeed.scratchgame.models;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Class to represent the timings of one stage of the {@link com.cyberspeed.scratchgame.ScratchGame}, summarized from
+ * the flight recorder events of the stage.
+ */
+@Getter
+@Builder
+public class StageTimings {
+
+  // number of recorded events, only the events longer than the threshold of the recording are recorded
+  @JsonProperty("count")
+  private long count;
+
+  @JsonProperty("total_millis")
+  private double totalMillis;
+
+  @JsonProperty("mean_micros")
+  private double meanMicros;
+
+  @JsonProperty("p50_micros")
+  private double p50Micros;
+
+  @JsonProperty("p90_micros")
+  private double p90Micros;
+
+  @JsonProperty("p99_micros")
+  private double p99Micros;
+
+  @JsonProperty("max_micros")
+  private double maxMicros;
+}
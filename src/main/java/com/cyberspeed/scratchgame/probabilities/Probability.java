@@ -7,26 +7,48 @@ import com.cyberspeed.scratchgame.ScratchCard;
 import com.cyberspeed.scratchgame.exceptions.GameException;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.List;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Record that holds the probabilities for both Standard and Bonus symbols
  *
- * @param standardSymbolsProbabilities list of Standard symbol probabilities for each cell of {@link ScratchCard}
- *                                     matrix
- * @param bonusSymbolsProbability      Bonus symbol probabilities
+ * @param standardSymbolsProbabilities      list of Standard symbol probabilities for each cell of {@link ScratchCard}
+ *                                          matrix
+ * @param bonusSymbolsProbability           Bonus symbol probabilities
+ * @param defaultStandardSymbolsProbability Standard symbol probabilities of the cells that are not listed, or null to
+ *                                          leave them empty
  */
 public record Probability(
   @JsonProperty("standard_symbols") List<StandardSymbolsProbability> standardSymbolsProbabilities,
-  @JsonProperty("bonus_symbols") BonusSymbolsProbability bonusSymbolsProbability) {
+  @JsonProperty("bonus_symbols") BonusSymbolsProbability bonusSymbolsProbability,
+  @JsonProperty("default_standard_symbols")
+  @Nullable DefaultStandardSymbolsProbability defaultStandardSymbolsProbability) {
 
   /**
    * Constructor which validates symbol probabilities and create {@link Probability}
    *
-   * @throws GameException If standardSymbolsProbabilities list is null or empty, or symbols is null
+   * @throws GameException If standardSymbolsProbabilities list is null or empty while there is no default Standard
+   *                       symbol probabilities, or symbols is null
    */
   public Probability {
-    isNonEmptyCollection(standardSymbolsProbabilities, "standard_symbols cannot be null or empty");
+    // with a default, every cell has Standard symbol probabilities even if none is listed
+    if (defaultStandardSymbolsProbability == null) {
+      isNonEmptyCollection(standardSymbolsProbabilities, "standard_symbols cannot be null or empty");
+    } else if (standardSymbolsProbabilities == null) {
+      standardSymbolsProbabilities = List.of();
+    }
     isNotNull(bonusSymbolsProbability, "bonus_symbols cannot be null");
   }
 
+  /**
+   * Constructor which validates symbol probabilities and create {@link Probability} without default Standard symbol
+   * probabilities
+   *
+   * @throws GameException If standardSymbolsProbabilities list is null or empty, or symbols is null
+   */
+  public Probability(List<StandardSymbolsProbability> standardSymbolsProbabilities,
+    BonusSymbolsProbability bonusSymbolsProbability) {
+    this(standardSymbolsProbabilities, bonusSymbolsProbability, null);
+  }
+
 }
@@ -0,0 +1,231 @@
+package com.cyberspeed.scratchgame.probabilities;
+
+import static com.cyberspeed.scratchgame.utils.Validation.isNonEmptyMap;
+import static com.cyberspeed.scratchgame.utils.Validation.isNotNull;
+
+import com.cyberspeed.scratchgame.ScratchCard;
+import com.cyberspeed.scratchgame.exceptions.GameException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+import java.util.random.RandomGenerator;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Selects a symbol randomly according to its probability number. The symbol probabilities are compiled once into a
+ * cumulative table (and a direct lookup table when the total probability is small), so that selecting a symbol for a
+ * {@link ScratchCard} cell costs one random number and a couple of array reads without any allocation.
+ * <p>
+ * Symbols are ordered by their probability number in ascending order, exactly like they were ordered when the
+ * selection was done on the fly, so the same random number always selects the same symbol.
+ */
+public final class SymbolSampler {
+
+  // total probability up to which a direct lookup table (one entry per random number) is built
+  private static final int MAX_LOOKUP_TABLE_SIZE = 4096;
+
+  private final String[] symbols;
+  private final int[] symbolIds;
+  private final int[] cumulativeProbabilities;
+  private final int[] lookupTable;
+  private final int totalProbability;
+
+  /**
+   * Constructor that validates the symbol probabilities and compiles them into {@link SymbolSampler}
+   *
+   * @param symbolProbabilities a map of symbols and their probability
+   * @throws GameException if symbolProbabilities is null or empty, or a probability is null, or sum of probabilities is
+   *                       too large
+   */
+  public SymbolSampler(Map<String, Integer> symbolProbabilities) {
+    this(symbolProbabilities, null);
+  }
+
+  /**
+   * Constructor that validates the symbol probabilities and compiles them into {@link SymbolSampler} which selects the
+   * ids of the symbols
+   *
+   * @param symbolProbabilities a map of symbols and their probability
+   * @param symbolIdMapper      maps a symbol to its id, or null to use the index of the symbol as its id
+   * @throws GameException if symbolProbabilities is null or empty, or a probability is null, or sum of probabilities is
+   *                       too large
+   */
+  public SymbolSampler(Map<String, Integer> symbolProbabilities, @Nullable ToIntFunction<String> symbolIdMapper) {
+    this(sortByProbability(symbolProbabilities), symbolIdMapper);
+  }
+
+  private SymbolSampler(List<Map.Entry<String, Integer>> entries, @Nullable ToIntFunction<String> symbolIdMapper) {
+    this(entries.stream().map(Map.Entry::getKey).toArray(String[]::new),
+      toSymbolIds(entries, symbolIdMapper),
+      entries.stream().mapToInt(Map.Entry::getValue).toArray());
+  }
+
+  /**
+   * Constructor that validates symbols which are already in the order they are selected, e.g. the symbols of another
+   * sampler read with {@link #getSymbol(int)}, {@link #getSymbolId(int)} and {@link #getProbability(int)}, and compiles
+   * them into {@link SymbolSampler}
+   *
+   * @param symbols       symbols ordered by their probability in ascending order
+   * @param symbolIds     id of each symbol
+   * @param probabilities probability of each symbol
+   * @throws GameException if symbols, symbolIds or probabilities is null or empty, or they do not have the same length,
+   *                       or sum of probabilities is too large
+   */
+  public SymbolSampler(String[] symbols, int[] symbolIds, int[] probabilities) {
+    isNotNull(symbols, "Symbols cannot be null");
+    isNotNull(symbolIds, "Symbol ids cannot be null");
+    isNotNull(probabilities, "Probabilities cannot be null");
+    if (symbols.length == 0 || symbols.length != symbolIds.length || symbols.length != probabilities.length) {
+      throw new GameException("Symbols, symbol ids and probabilities must have the same non-zero length");
+    }
+
+    this.symbols = symbols;
+    this.symbolIds = symbolIds;
+    this.cumulativeProbabilities = new int[symbols.length];
+
+    var cumulativeSum = 0;
+    for (int i = 0; i < symbols.length; i++) {
+      try {
+        cumulativeSum = Math.addExact(cumulativeSum, probabilities[i]);
+      } catch (ArithmeticException e) {
+        throw new GameException("Sum of symbol probabilities is too large", e);
+      }
+      cumulativeProbabilities[i] = cumulativeSum;
+    }
+
+    if (cumulativeSum <= 0) {
+      throw new GameException("Sum of symbol probabilities must be greater than 0");
+    }
+
+    totalProbability = cumulativeSum;
+    lookupTable = totalProbability <= MAX_LOOKUP_TABLE_SIZE ? buildLookupTable() : null;
+  }
+
+  private static List<Map.Entry<String, Integer>> sortByProbability(Map<String, Integer> symbolProbabilities) {
+    isNonEmptyMap(symbolProbabilities, "Symbol probability map cannot be null or empty");
+
+    // probabilities are validated before they are compared by the sort
+    symbolProbabilities.forEach((symbol, probability) ->
+      isNotNull(probability, "Probability cannot be null for symbol: " + symbol));
+
+    // sort symbols according to probability value, so that the symbol is correctly selected according to its
+    // contribution to cumulative sum when compared to the random number.
+    return symbolProbabilities.entrySet().stream().sorted(Map.Entry.comparingByValue()).toList();
+  }
+
+  private static int[] toSymbolIds(List<Map.Entry<String, Integer>> entries,
+    @Nullable ToIntFunction<String> symbolIdMapper) {
+    var symbolIds = new int[entries.size()];
+    for (int i = 0; i < symbolIds.length; i++) {
+      symbolIds[i] = symbolIdMapper == null ? i : symbolIdMapper.applyAsInt(entries.get(i).getKey());
+    }
+    return symbolIds;
+  }
+
+  /**
+   * Randomly selects a symbol according to its probability
+   *
+   * @param random the random number generator to use
+   * @return randomly selected symbol
+   */
+  public String sample(RandomGenerator random) {
+    return symbols[sampleIndex(random)];
+  }
+
+  /**
+   * Randomly selects a symbol according to its probability
+   *
+   * @param random the random number generator to use
+   * @return index of the randomly selected symbol, see {@link #getSymbol(int)}
+   */
+  public int sampleIndex(RandomGenerator random) {
+    // generate a random number between 0 (inclusive) and totalProbability (exclusive)
+    var randomNumber = random.nextInt(totalProbability);
+
+    if (lookupTable != null) {
+      return lookupTable[randomNumber];
+    }
+
+    return findIndex(randomNumber);
+  }
+
+  /**
+   * Randomly selects a symbol according to its probability
+   *
+   * @param random the random number generator to use
+   * @return id of the randomly selected symbol
+   */
+  public int sampleSymbolId(RandomGenerator random) {
+    return symbolIds[sampleIndex(random)];
+  }
+
+  /**
+   * @param index index of the symbol as returned by {@link #sampleIndex(RandomGenerator)}
+   * @return the symbol at the given index
+   */
+  public String getSymbol(int index) {
+    return symbols[index];
+  }
+
+  /**
+   * @param index index of the symbol as returned by {@link #sampleIndex(RandomGenerator)}
+   * @return id of the symbol at the given index
+   */
+  public int getSymbolId(int index) {
+    return symbolIds[index];
+  }
+
+  /**
+   * @return number of symbols that can be selected by this sampler
+   */
+  public int size() {
+    return symbols.length;
+  }
+
+  /**
+   * @return sum of the probability numbers of all the symbols
+   */
+  public int getTotalProbability() {
+    return totalProbability;
+  }
+
+  /**
+   * @param index index of the symbol
+   * @return probability number of the symbol at the given index
+   */
+  public int getProbability(int index) {
+    return index == 0 ? cumulativeProbabilities[0] : cumulativeProbabilities[index] - cumulativeProbabilities[index - 1];
+  }
+
+  /**
+   * Builds a table that maps each random number directly to the index of the selected symbol
+   */
+  private int[] buildLookupTable() {
+    var table = new int[totalProbability];
+    var index = 0;
+    for (int randomNumber = 0; randomNumber < totalProbability; randomNumber++) {
+      while (cumulativeProbabilities[index] <= randomNumber) {
+        index++;
+      }
+      table[randomNumber] = index;
+    }
+    return table;
+  }
+
+  /**
+   * Binary search of the first symbol whose cumulative probability is greater than the random number
+   */
+  private int findIndex(int randomNumber) {
+    int low = 0;
+    int high = cumulativeProbabilities.length - 1;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (cumulativeProbabilities[mid] <= randomNumber) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+}
@@ -0,0 +1,202 @@
+package com.cyberspeed.scratchgame.server;
+
+import static com.cyberspeed.scratchgame.utils.Validation.isGreaterThanZero;
+import static com.cyberspeed.scratchgame.utils.Validation.isNotNull;
+
+import com.cyberspeed.scratchgame.ScratchGame;
+import com.cyberspeed.scratchgame.exceptions.GameException;
+import com.cyberspeed.scratchgame.metrics.GameMetrics;
+import com.cyberspeed.scratchgame.models.GameOutput;
+import com.cyberspeed.scratchgame.models.PlayRequest;
+import com.cyberspeed.scratchgame.utils.GameOutputWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * HTTP service that plays rounds of one {@link ScratchGame}, built on the HTTP server of the JDK.
+ * <ul>
+ *   <li>{@code POST /play} with {@code {"bet_amount": <amount>}} plays a round and responds with the
+ *   {@link GameOutput}</li>
+ *   <li>{@code GET /health} responds with the status of the service</li>
+ * </ul>
+ * Every request is handled on its own virtual thread when the JDK supports them, otherwise on a fixed pool of threads.
+ * <p>
+ * The game can be replaced while requests are handled, see {@link #setScratchGame(ScratchGame)}. A request plays its
+ * round with the game it started with, so no request is dropped or sees two configurations.
+ */
+public class GameServer {
+
+  // number of pending connections the server accepts before refusing new ones
+  private static final int BACKLOG = 4096;
+
+  // size of the buffer a response is written to, enough for the output of a round
+  private static final int RESPONSE_BUFFER_SIZE = 512;
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  private static final GameOutputWriter GAME_OUTPUT_WRITER = GameOutputWriter.compact();
+
+  private final AtomicReference<ScratchGame> scratchGame;
+  private final HttpServer httpServer;
+  private final ExecutorService executor;
+
+  /**
+   * Constructor that validates {@link ScratchGame} and binds the server to the port
+   *
+   * @param scratchGame the game to play the rounds of
+   * @param port        port to listen on, or 0 to listen on any free port
+   * @param threads     number of threads to handle requests on when the JDK does not support virtual threads
+   * @throws GameException if scratchGame is null, or threads is not greater than 0, or the port cannot be bound
+   */
+  public GameServer(ScratchGame scratchGame, int port, int threads) {
+    isNotNull(scratchGame, "Scratch Game cannot be null");
+    isGreaterThanZero(threads, "Number of threads must be greater than 0");
+
+    this.scratchGame = new AtomicReference<>(scratchGame);
+    this.executor = createExecutor(threads);
+
+    try {
+      this.httpServer = HttpServer.create(new InetSocketAddress(port), BACKLOG);
+    } catch (IOException e) {
+      executor.shutdown();
+      throw new GameException("Unable to start server on port " + port, e);
+    }
+
+    httpServer.setExecutor(executor);
+    httpServer.createContext("/play", this::handlePlay);
+    httpServer.createContext("/health", this::handleHealth);
+  }
+
+  /**
+   * Starts handling requests in the background
+   */
+  public void start() {
+    httpServer.start();
+  }
+
+  /**
+   * Stops handling requests, waiting at most the given number of seconds for the requests being handled
+   *
+   * @param delaySeconds maximum time to wait for the requests being handled
+   */
+  public void stop(int delaySeconds) {
+    httpServer.stop(delaySeconds);
+    executor.shutdown();
+  }
+
+  /**
+   * Replaces the game the rounds are played with. Rounds being played finish with the previous game, every round
+   * started afterward is played with the new one.
+   *
+   * @param scratchGame the game to play the next rounds of
+   * @throws GameException if scratchGame is null
+   */
+  public void setScratchGame(ScratchGame scratchGame) {
+    isNotNull(scratchGame, "Scratch Game cannot be null");
+    this.scratchGame.set(scratchGame);
+  }
+
+  /**
+   * @return the game the next rounds are played with
+   */
+  public ScratchGame getScratchGame() {
+    return scratchGame.get();
+  }
+
+  /**
+   * @return port the server listens on
+   */
+  public int getPort() {
+    return httpServer.getAddress().getPort();
+  }
+
+  private void handlePlay(HttpExchange exchange) throws IOException {
+    if (!"POST".equals(exchange.getRequestMethod())) {
+      sendJson(exchange, 405, Map.of("error", "Method not allowed"));
+      return;
+    }
+
+    PlayRequest playRequest;
+    try (InputStream body = exchange.getRequestBody()) {
+      playRequest = OBJECT_MAPPER.readValue(body, PlayRequest.class);
+    } catch (IOException e) {
+      sendJson(exchange, 400, Map.of("error", "Unable to parse play request"));
+      return;
+    }
+
+    // the game is read once, the round is played with it even if it is replaced meanwhile. Unseeded rounds use the
+    // generator of the calling thread, which is not created per virtual thread
+    var game = scratchGame.get();
+    GameOutput gameOutput;
+    try {
+      gameOutput = game.play(playRequest.betAmount());
+    } catch (GameException e) {
+      sendJson(exchange, 400, Map.of("error", e.getMessage()));
+      return;
+    }
+
+    sendJson(exchange, 200, gameOutput, game.getGameMetrics());
+  }
+
+  private void handleHealth(HttpExchange exchange) throws IOException {
+    if (!"GET".equals(exchange.getRequestMethod())) {
+      sendJson(exchange, 405, Map.of("error", "Method not allowed"));
+      return;
+    }
+
+    sendJson(exchange, 200, Map.of("status", "UP"));
+  }
+
+  private static void sendJson(HttpExchange exchange, int status, Object body) throws IOException {
+    sendJson(exchange, status, body, null);
+  }
+
+  /**
+   * Sends the body, the time it takes to serialise it is recorded in the metrics, if any
+   */
+  private static void sendJson(HttpExchange exchange, int status, Object body, @Nullable GameMetrics gameMetrics)
+    throws IOException {
+    // the response is written to a buffer first, its length is sent before the body
+    var response = new ByteArrayOutputStream(RESPONSE_BUFFER_SIZE);
+    try {
+      var start = gameMetrics == null ? GameMetrics.NOT_TIMED : gameMetrics.startTimer();
+      GAME_OUTPUT_WRITER.write(body, response);
+      if (gameMetrics != null) {
+        gameMetrics.recordOutputSerialization(start);
+      }
+    } catch (GameException e) {
+      status = 500;
+      response.reset();
+      response.write("{\"error\":\"Unable to parse response\"}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    exchange.getResponseHeaders().set("Content-Type", "application/json");
+    exchange.sendResponseHeaders(status, response.size());
+    try (var responseBody = exchange.getResponseBody()) {
+      response.writeTo(responseBody);
+    }
+  }
+
+  /**
+   * Creates an executor that starts a virtual thread per request. Virtual threads are looked up reflectively, so that
+   * the game still builds and runs on a JDK without them, where a fixed pool of threads is used instead.
+   */
+  private static ExecutorService createExecutor(int threads) {
+    try {
+      var factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (ExecutorService) factory.invoke(null);
+    } catch (ReflectiveOperationException e) {
+      return Executors.newFixedThreadPool(threads);
+    }
+  }
+}
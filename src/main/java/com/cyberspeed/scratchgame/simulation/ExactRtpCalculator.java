@@ -0,0 +1,466 @@
+package com.cyberspeed.scratchgame.simulation;
+
+import static com.cyberspeed.scratchgame.utils.Validation.isGreaterThanZero;
+import static com.cyberspeed.scratchgame.utils.Validation.isNotNull;
+
+import com.cyberspeed.scratchgame.ScratchCard;
+import com.cyberspeed.scratchgame.configs.CompiledGameConfig;
+import com.cyberspeed.scratchgame.exceptions.GameException;
+import com.cyberspeed.scratchgame.models.ExactRtpReport;
+import com.cyberspeed.scratchgame.symbols.BonusImpact;
+import com.cyberspeed.scratchgame.utils.RewardCalculator;
+import com.cyberspeed.scratchgame.utils.WinCombinationFinder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+
+/**
+ * Calculates the exact expected reward and payout distribution of a round by enumerating every combination of the
+ * Standard symbols of the matrix cells, weighted by their probability.
+ * <p>
+ * The bonus symbol is not enumerated as an extra cell. It is placed with a fixed probability on a uniformly selected
+ * cell, replacing the Standard symbol of that cell, so the cards with a bonus symbol on a cell are the combinations of
+ * the other cells only. When a single bonus symbol cannot form a win combination on its own, these cards are evaluated
+ * once and every bonus symbol is applied to that reward.
+ * <p>
+ * Rewards are evaluated on primitive arrays with the same rules as {@link WinCombinationFinder} and
+ * {@link RewardCalculator}, and are truncated to an integer like the reward of a played round.
+ */
+public class ExactRtpCalculator {
+
+  /**
+   * Maximum number of Scratch Cards that are evaluated
+   */
+  public static final long MAX_OUTCOMES = 1_000_000_000L;
+
+  // number of leading free cells that are fixed per task, to split the enumeration between threads
+  private static final int TASK_PREFIX_CELLS = 2;
+
+  private final CompiledGameConfig compiledGameConfig;
+  private final int cellCount;
+
+  // symbol ids and probabilities of each cell, a cell without probabilities has no symbol ids
+  private final byte[][] cellSymbolIds;
+  private final double[][] cellProbabilities;
+
+  private final double[] symbolRewardMultipliers;
+  private final double[] winCombinationRewardMultipliers;
+  // cell indexes of the covered areas of linear win combinations, or null for same symbols win combinations
+  private final int[][][] coveredAreaCells;
+
+  private final byte[] bonusSymbolIds;
+  private final double[] bonusSymbolProbabilities;
+  private final BonusImpact[] bonusSymbolImpacts;
+  private final double[] bonusSymbolRewardMultipliers;
+  private final int[] bonusSymbolExtras;
+  private final boolean bonusSymbolCanWin;
+
+  /**
+   * Constructor that validates {@link CompiledGameConfig} and create {@link ExactRtpCalculator}
+   *
+   * @param compiledGameConfig compiled configuration of the game to calculate
+   * @throws GameException if compiledGameConfig is null, or a symbol or a bonus symbol is not configured
+   */
+  public ExactRtpCalculator(CompiledGameConfig compiledGameConfig) {
+    isNotNull(compiledGameConfig, "Config cannot be null");
+
+    this.compiledGameConfig = compiledGameConfig;
+    this.cellCount = compiledGameConfig.getRows() * compiledGameConfig.getColumns();
+
+    // symbols with zero probability are never selected, they are left out of the enumeration
+    cellSymbolIds = new byte[cellCount][];
+    cellProbabilities = new double[cellCount][];
+    for (int cell = 0; cell < cellCount; cell++) {
+      var sampler = compiledGameConfig.getStandardSymbolSampler(cell);
+      if (sampler == null) {
+        cellSymbolIds[cell] = new byte[0];
+        cellProbabilities[cell] = new double[0];
+        continue;
+      }
+
+      var ids = new ArrayList<Byte>();
+      var probabilities = new ArrayList<Double>();
+      for (int index = 0; index < sampler.size(); index++) {
+        if (sampler.getProbability(index) > 0) {
+          ids.add((byte) sampler.getSymbolId(index));
+          probabilities.add((double) sampler.getProbability(index) / sampler.getTotalProbability());
+        }
+      }
+      cellSymbolIds[cell] = new byte[ids.size()];
+      cellProbabilities[cell] = new double[ids.size()];
+      for (int i = 0; i < ids.size(); i++) {
+        cellSymbolIds[cell][i] = ids.get(i);
+        cellProbabilities[cell][i] = probabilities.get(i);
+      }
+    }
+
+    symbolRewardMultipliers = new double[compiledGameConfig.getSymbolCount()];
+    for (int symbolId = 0; symbolId < symbolRewardMultipliers.length; symbolId++) {
+      symbolRewardMultipliers[symbolId] = compiledGameConfig.getSymbolRewardMultiplier(symbolId);
+      if (Double.isNaN(symbolRewardMultipliers[symbolId])) {
+        throw new GameException("Symbol is not configured: " + compiledGameConfig.getSymbolName(symbolId));
+      }
+    }
+
+    var winCombinationCount = compiledGameConfig.getWinCombinationCount();
+    winCombinationRewardMultipliers = new double[winCombinationCount];
+    coveredAreaCells = new int[winCombinationCount][][];
+    var singleCellWinCombination = false;
+    for (int id = 0; id < winCombinationCount; id++) {
+      winCombinationRewardMultipliers[id] = compiledGameConfig.getWinCombinationRewardMultiplier(id);
+
+      coveredAreaCells[id] = compiledGameConfig.getCoveredAreaCells(id);
+      if (coveredAreaCells[id] != null) {
+        for (int[] area : coveredAreaCells[id]) {
+          singleCellWinCombination |= isSingleCell(area);
+        }
+      } else if (compiledGameConfig.getSameSymbolCount(id) > 0) {
+        singleCellWinCombination |= compiledGameConfig.getSameSymbolCount(id) == 1;
+      } else {
+        throw new GameException("Unsupported win combination: " + compiledGameConfig.getWinCombinationName(id));
+      }
+    }
+    // a bonus symbol appears on one cell only, it can only form a win combination that covers a single cell
+    bonusSymbolCanWin = singleCellWinCombination;
+
+    var bonusSymbolSampler = compiledGameConfig.getBonusSymbolSampler();
+    bonusSymbolIds = new byte[bonusSymbolSampler.size()];
+    bonusSymbolProbabilities = new double[bonusSymbolSampler.size()];
+    bonusSymbolImpacts = new BonusImpact[bonusSymbolSampler.size()];
+    bonusSymbolRewardMultipliers = new double[bonusSymbolSampler.size()];
+    bonusSymbolExtras = new int[bonusSymbolSampler.size()];
+    for (int index = 0; index < bonusSymbolSampler.size(); index++) {
+      var symbolId = bonusSymbolSampler.getSymbolId(index);
+      // impacts of the bonus symbols are resolved when the configuration is compiled
+      bonusSymbolImpacts[index] = compiledGameConfig.getBonusImpact(symbolId);
+      if (bonusSymbolImpacts[index] == null) {
+        throw new GameException("Bonus symbol is not configured: " + bonusSymbolSampler.getSymbol(index));
+      }
+
+      bonusSymbolIds[index] = (byte) symbolId;
+      bonusSymbolProbabilities[index] =
+        (double) bonusSymbolSampler.getProbability(index) / bonusSymbolSampler.getTotalProbability();
+      bonusSymbolRewardMultipliers[index] = compiledGameConfig.getSymbolRewardMultiplier(symbolId);
+      bonusSymbolExtras[index] = compiledGameConfig.getBonusExtra(symbolId);
+    }
+  }
+
+  /**
+   * @return number of Scratch Cards that are evaluated to calculate the exact outcome
+   * @throws GameException if the number of Scratch Cards does not fit in a long
+   */
+  public long countOutcomes() {
+    try {
+      // cards without a bonus symbol
+      var outcomes = countCombinations(-1);
+      // cards with a bonus symbol on each cell
+      for (int cell = 0; cell < cellCount; cell++) {
+        var combinations = countCombinations(cell);
+        outcomes = Math.addExact(outcomes,
+          bonusSymbolCanWin ? Math.multiplyExact(combinations, bonusSymbolIds.length) : combinations);
+      }
+      return outcomes;
+    } catch (ArithmeticException e) {
+      throw new GameException("Configuration has too many outcomes to calculate exact RTP", e);
+    }
+  }
+
+  /**
+   * Calculates the exact outcome of a round on the given number of threads
+   *
+   * @param bettingAmount the amount placed on the bet
+   * @param threads       number of threads to enumerate the Scratch Cards on
+   * @return report of the exact outcome of a round
+   * @throws GameException if bettingAmount or threads is not greater than 0, or the configuration has more than
+   *                       {@link #MAX_OUTCOMES} outcomes, or the calculation fails
+   */
+  public ExactRtpReport calculate(int bettingAmount, int threads) {
+    isGreaterThanZero(bettingAmount, "Betting amount must be greater than 0");
+    isGreaterThanZero(threads, "Number of threads must be greater than 0");
+
+    var outcomes = countOutcomes();
+    if (outcomes > MAX_OUTCOMES) {
+      throw new GameException("Configuration has too many outcomes to calculate exact RTP, maximum is %d, but was: %d"
+        .formatted(MAX_OUTCOMES, outcomes));
+    }
+
+    var startTime = System.nanoTime();
+
+    // one scenario without a bonus symbol, and one scenario for each cell the bonus symbol can be placed on
+    var tasks = new ArrayList<EnumerationTask>();
+    for (int bonusCell = -1; bonusCell < cellCount; bonusCell++) {
+      var freeCells = freeCells(bonusCell);
+      var prefixCells = Math.min(TASK_PREFIX_CELLS, freeCells.length);
+      var taskCount = 1;
+      for (int i = 0; i < prefixCells; i++) {
+        taskCount *= cellSymbolIds[freeCells[i]].length;
+      }
+      for (int task = 0; task < taskCount; task++) {
+        tasks.add(new EnumerationTask(bettingAmount, bonusCell, freeCells, prefixCells, task));
+      }
+    }
+
+    var distribution = new TreeMap<Integer, Double>();
+    var executor = Executors.newFixedThreadPool(threads);
+    try {
+      for (var future : executor.invokeAll(tasks)) {
+        var task = future.get();
+        task.payouts.forEach((payout, probability) -> distribution.merge(payout, probability[0], Double::sum));
+        // every bonus symbol is applied to the rewards of the cards with a bonus symbol
+        task.bonusCardRewards.forEach((reward, probability) -> {
+          for (int bonus = 0; bonus < bonusSymbolIds.length; bonus++) {
+            distribution.merge((int) applyBonusSymbol(bonus, reward),
+              probability[0] * bonusSymbolProbabilities[bonus], Double::sum);
+          }
+        });
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new GameException("Exact RTP calculation was interrupted", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof GameException gameException) {
+        throw gameException;
+      }
+      throw new GameException("Exact RTP calculation failed", e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+
+    return buildReport(distribution, bettingAmount, outcomes, System.nanoTime() - startTime);
+  }
+
+  /**
+   * @return reward after the bonus symbol is applied, see {@link RewardCalculator}
+   */
+  private double applyBonusSymbol(int bonus, double reward) {
+    return bonusSymbolImpacts[bonus].apply(reward, bonusSymbolRewardMultipliers[bonus], bonusSymbolExtras[bonus]);
+  }
+
+  private long countCombinations(int bonusCell) {
+    var combinations = 1L;
+    for (int cell : freeCells(bonusCell)) {
+      combinations = Math.multiplyExact(combinations, cellSymbolIds[cell].length);
+    }
+    return combinations;
+  }
+
+  /**
+   * @return cells with Standard symbol probabilities, except the cell of the bonus symbol
+   */
+  private int[] freeCells(int bonusCell) {
+    var cells = new ArrayList<Integer>();
+    for (int cell = 0; cell < cellCount; cell++) {
+      if (cell != bonusCell && cellSymbolIds[cell].length > 0) {
+        cells.add(cell);
+      }
+    }
+    return cells.stream().mapToInt(Integer::intValue).toArray();
+  }
+
+  private static boolean isSingleCell(int[] area) {
+    for (int cell : area) {
+      if (cell != area[0]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private ExactRtpReport buildReport(TreeMap<Integer, Double> distribution, int bettingAmount, long outcomes,
+    long durationNanos) {
+    var expectedReward = 0.0;
+    var expectedSquaredReward = 0.0;
+    var hitFrequency = 0.0;
+    for (var entry : distribution.entrySet()) {
+      expectedReward += entry.getKey() * entry.getValue();
+      expectedSquaredReward += (double) entry.getKey() * entry.getKey() * entry.getValue();
+      if (entry.getKey() > 0) {
+        hitFrequency += entry.getValue();
+      }
+    }
+    var variance = Math.max(0, expectedSquaredReward - expectedReward * expectedReward);
+
+    return ExactRtpReport.builder().bettingAmount(bettingAmount).outcomes(outcomes)
+      .rtp(expectedReward / bettingAmount).expectedReward(expectedReward).hitFrequency(hitFrequency)
+      .rewardVariance(variance).rewardStandardDeviation(Math.sqrt(variance)).maxReward(distribution.lastKey())
+      .payoutDistribution(new LinkedHashMap<>(distribution)).durationMillis(durationNanos / 1_000_000).build();
+  }
+
+  /**
+   * Enumerates the Scratch Cards of one scenario whose leading free cells hold the symbols selected by the task number,
+   * and collects the probability of each payout
+   */
+  private final class EnumerationTask implements Callable<EnumerationTask> {
+
+    private final int bettingAmount;
+    private final int bonusCell;
+    private final int[] freeCells;
+    private final int prefixCells;
+    private final int task;
+
+    private final byte[] cells = new byte[cellCount];
+    // probability of each payout
+    private final Map<Integer, double[]> payouts = new HashMap<>();
+    // probability of each reward of the cards with a winning combination and a bonus symbol that cannot win, before
+    // the bonus symbol is applied
+    private final Map<Double, double[]> bonusCardRewards = new HashMap<>();
+
+    // number of each symbol on the card, kept up to date while the cells are enumerated
+    private final int[] symbolCounts = new int[compiledGameConfig.getSymbolCount()];
+    // evaluation state, reset for every card: best win combination id applied to each symbol in each group, indexed by
+    // symbolId * groupCount + groupId
+    private final int groupCount = compiledGameConfig.getWinCombinationGroupCount();
+    private final int[] appliedWinCombinations = new int[compiledGameConfig.getSymbolCount() * groupCount];
+    private boolean won;
+
+    private EnumerationTask(int bettingAmount, int bonusCell, int[] freeCells, int prefixCells, int task) {
+      this.bettingAmount = bettingAmount;
+      this.bonusCell = bonusCell;
+      this.freeCells = freeCells;
+      this.prefixCells = prefixCells;
+      this.task = task;
+    }
+
+    @Override
+    public EnumerationTask call() {
+      Arrays.fill(cells, ScratchCard.EMPTY_CELL);
+
+      // decode the symbols of the leading free cells from the task number
+      var probability = bonusCell < 0 ? 1 - ScratchCard.BONUS_GENERATION_PROBABILITY_PERCENTAGE / 100.0
+        : ScratchCard.BONUS_GENERATION_PROBABILITY_PERCENTAGE / 100.0 / cellCount;
+      var remainder = task;
+      for (int i = prefixCells - 1; i >= 0; i--) {
+        var cell = freeCells[i];
+        var option = remainder % cellSymbolIds[cell].length;
+        remainder /= cellSymbolIds[cell].length;
+        cells[cell] = cellSymbolIds[cell][option];
+        symbolCounts[cells[cell]]++;
+        probability *= cellProbabilities[cell][option];
+      }
+
+      enumerate(prefixCells, probability);
+      return this;
+    }
+
+    private void enumerate(int depth, double probability) {
+      if (depth == freeCells.length) {
+        evaluateCard(probability);
+        return;
+      }
+
+      var cell = freeCells[depth];
+      var symbolIds = cellSymbolIds[cell];
+      var probabilities = cellProbabilities[cell];
+      for (int option = 0; option < symbolIds.length; option++) {
+        cells[cell] = symbolIds[option];
+        symbolCounts[symbolIds[option]]++;
+        enumerate(depth + 1, probability * probabilities[option]);
+        symbolCounts[symbolIds[option]]--;
+      }
+    }
+
+    private void evaluateCard(double probability) {
+      if (bonusCell < 0) {
+        var reward = evaluateReward();
+        addPayout(won ? (int) reward : 0, probability);
+        return;
+      }
+
+      if (!bonusSymbolCanWin) {
+        // the bonus cell never takes part in a win combination, the reward is the same for every bonus symbol
+        cells[bonusCell] = ScratchCard.EMPTY_CELL;
+        var reward = evaluateReward();
+        if (won) {
+          bonusCardRewards.computeIfAbsent(reward, r -> new double[1])[0] += probability;
+        } else {
+          addPayout(0, probability);
+        }
+        return;
+      }
+
+      for (int bonus = 0; bonus < bonusSymbolIds.length; bonus++) {
+        cells[bonusCell] = bonusSymbolIds[bonus];
+        symbolCounts[bonusSymbolIds[bonus]]++;
+        var reward = evaluateReward();
+        symbolCounts[bonusSymbolIds[bonus]]--;
+        addPayout(won ? (int) applyBonusSymbol(bonus, reward) : 0, probability * bonusSymbolProbabilities[bonus]);
+      }
+    }
+
+    /**
+     * Applies the win combinations to the card, see {@link WinCombinationFinder} and {@link RewardCalculator}
+     *
+     * @return reward of the win combinations before the bonus symbol is applied
+     */
+    private double evaluateReward() {
+      Arrays.fill(appliedWinCombinations, -1);
+
+      // win combinations of a group come from the best to the worst, a symbol that already won in a group is not
+      // checked again
+      for (int id : compiledGameConfig.getLinearWinCombinationIds()) {
+        var groupId = compiledGameConfig.getWinCombinationGroupId(id);
+        for (int[] area : coveredAreaCells[id]) {
+          var symbolId = cells[area[0]];
+          if (symbolId != ScratchCard.EMPTY_CELL && appliedWinCombinations[symbolId * groupCount + groupId] < 0
+            && isSymbolInCoveredArea(symbolId, area)) {
+            appliedWinCombinations[symbolId * groupCount + groupId] = id;
+          }
+        }
+      }
+
+      for (int symbolId = 0; symbolId < symbolCounts.length; symbolId++) {
+        if (symbolCounts[symbolId] > 0) {
+          for (int id : compiledGameConfig.getSameSymbolWinCombinationIds(symbolCounts[symbolId])) {
+            applyWinCombination(symbolId, id);
+          }
+        }
+      }
+
+      won = false;
+      var reward = 0.0;
+      for (int symbolId = 0; symbolId < symbolCounts.length; symbolId++) {
+        var symbolReward = symbolRewardMultipliers[symbolId];
+        var symbolWon = false;
+        for (int slot = symbolId * groupCount; slot < (symbolId + 1) * groupCount; slot++) {
+          if (appliedWinCombinations[slot] >= 0) {
+            symbolReward *= winCombinationRewardMultipliers[appliedWinCombinations[slot]];
+            symbolWon = true;
+          }
+        }
+        if (symbolWon) {
+          reward += symbolReward * bettingAmount;
+          won = true;
+        }
+      }
+      return reward;
+    }
+
+    private boolean isSymbolInCoveredArea(int symbolId, int[] area) {
+      for (int i = 1; i < area.length; i++) {
+        if (cells[area[i]] != symbolId) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private void applyWinCombination(int symbolId, int winCombinationId) {
+      // at most one win combination of a group is applied to a symbol, the best one
+      var slot = symbolId * groupCount + compiledGameConfig.getWinCombinationGroupId(winCombinationId);
+      var appliedId = appliedWinCombinations[slot];
+      if (appliedId < 0 || compiledGameConfig.isBetterWinCombination(winCombinationId, appliedId)) {
+        appliedWinCombinations[slot] = winCombinationId;
+      }
+    }
+
+    private void addPayout(int payout, double probability) {
+      payouts.computeIfAbsent(payout, p -> new double[1])[0] += probability;
+    }
+  }
+}
@@ -0,0 +1,213 @@
+package com.cyberspeed.scratchgame.simulation;
+
+import static com.cyberspeed.scratchgame.utils.Validation.isGreaterThanZero;
+import static com.cyberspeed.scratchgame.utils.Validation.isNotNull;
+
+import com.cyberspeed.scratchgame.ScratchCard;
+import com.cyberspeed.scratchgame.ScratchCardBatch;
+import com.cyberspeed.scratchgame.ScratchGame;
+import com.cyberspeed.scratchgame.configs.CompiledGameConfig;
+import com.cyberspeed.scratchgame.exceptions.GameException;
+import com.cyberspeed.scratchgame.models.SimulationReport;
+import com.cyberspeed.scratchgame.utils.RandomGenerators;
+import com.cyberspeed.scratchgame.utils.RewardCalculator;
+import com.cyberspeed.scratchgame.utils.WinCombinationFinder;
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+
+/**
+ * Plays many rounds of one {@link ScratchGame} in parallel, to measure the return to player, hit frequency and other
+ * statistics of the configuration.
+ */
+public class MonteCarloSimulator {
+
+  // rounds are split in tasks of a fixed size, so that threads finishing early can pick up remaining work and the
+  // tasks do not depend on the number of threads
+  private static final long ROUNDS_PER_TASK = 1 << 16;
+
+  // tasks that are submitted ahead of the one being merged, per thread, so that the memory used does not depend on the
+  // number of rounds
+  private static final int TASKS_IN_FLIGHT_PER_THREAD = 4;
+
+  // cells of the cards generated at once by a task, small enough for the batch to stay in the cache of a core
+  private static final int CELLS_PER_BATCH = 1 << 16;
+
+  private final CompiledGameConfig compiledGameConfig;
+  private final WinCombinationFinder winCombinationFinder;
+  private final RewardCalculator rewardCalculator;
+
+  // bonus symbols that are reported as applied to a round with a reward, indexed by symbol id
+  private final boolean[] appliedBonusSymbols;
+
+  /**
+   * Constructor that validates {@link CompiledGameConfig} and create {@link MonteCarloSimulator}
+   *
+   * @param compiledGameConfig compiled configuration of the game to simulate
+   * @throws GameException if compiledGameConfig is null
+   */
+  public MonteCarloSimulator(CompiledGameConfig compiledGameConfig) {
+    isNotNull(compiledGameConfig, "Config cannot be null");
+
+    this.compiledGameConfig = compiledGameConfig;
+    // rounds are already played in parallel, so the cards of large configurations are not split again
+    this.winCombinationFinder = WinCombinationFinder.sequential();
+    this.rewardCalculator = new RewardCalculator();
+
+    // like in the output of a round, a bonus symbol is not applied if it is a miss
+    this.appliedBonusSymbols = new boolean[compiledGameConfig.getSymbolCount()];
+    for (int symbolId = 0; symbolId < appliedBonusSymbols.length; symbolId++) {
+      appliedBonusSymbols[symbolId] = !compiledGameConfig.getSymbolName(symbolId).equalsIgnoreCase("miss");
+    }
+  }
+
+  /**
+   * Plays the given number of rounds on the given number of threads
+   *
+   * @param bettingAmount the amount placed on the bet of each round
+   * @param rounds        number of rounds to play
+   * @param threads       number of threads to play the rounds on
+   * @return report of the simulated rounds
+   * @throws GameException if bettingAmount, rounds or threads is not greater than 0, or the simulation fails
+   */
+  public SimulationReport simulate(int bettingAmount, long rounds, int threads) {
+    return simulate(bettingAmount, rounds, threads, RandomGenerators.create());
+  }
+
+  /**
+   * Plays the given number of rounds on the given number of threads. Every task of rounds gets its own generator split
+   * from the given generator, so that the same seed plays the same rounds for any number of threads.
+   *
+   * @param bettingAmount the amount placed on the bet of each round
+   * @param rounds        number of rounds to play
+   * @param threads       number of threads to play the rounds on
+   * @param random        random number generator the generators of the tasks are split from
+   * @return report of the simulated rounds
+   * @throws GameException if bettingAmount, rounds or threads is not greater than 0, or random is null, or the
+   *                       simulation fails
+   */
+  public SimulationReport simulate(int bettingAmount, long rounds, int threads, SplittableGenerator random) {
+    isNotNull(random, "Random generator cannot be null");
+    isGreaterThanZero(bettingAmount, "Betting amount must be greater than 0");
+    isGreaterThanZero(rounds, "Number of rounds to simulate must be greater than 0");
+    isGreaterThanZero(threads, "Number of threads must be greater than 0");
+
+    var startTime = System.nanoTime();
+
+    var statistics = newStatistics();
+    var maxTasksInFlight = threads * TASKS_IN_FLIGHT_PER_THREAD;
+    var tasksInFlight = new ArrayDeque<Future<SimulationStatistics>>(maxTasksInFlight);
+    var executor = Executors.newFixedThreadPool(threads);
+    try {
+      // split rounds into tasks, the generators are split and the statistics are merged in task order on this thread
+      for (long taskStart = 0; taskStart < rounds; taskStart += ROUNDS_PER_TASK) {
+        var taskRounds = Math.min(ROUNDS_PER_TASK, rounds - taskStart);
+        var taskRandom = random.split();
+        tasksInFlight.add(executor.submit(() -> simulateRounds(bettingAmount, taskRounds, taskRandom)));
+
+        // merge the oldest task before more tasks are submitted
+        if (tasksInFlight.size() == maxTasksInFlight) {
+          statistics.merge(tasksInFlight.poll().get());
+        }
+      }
+
+      while (!tasksInFlight.isEmpty()) {
+        statistics.merge(tasksInFlight.poll().get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new GameException("Simulation was interrupted", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof GameException gameException) {
+        throw gameException;
+      }
+      throw new GameException("Simulation failed", e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+
+    return buildReport(statistics, bettingAmount, threads, System.nanoTime() - startTime);
+  }
+
+  /**
+   * Plays the given number of rounds sequentially. The cards are generated in batches, in the same order as
+   * {@link ScratchGame#play(int, RandomGenerator)} would generate them, and their win combinations and rewards are
+   * computed from the batch without creating the output of each round.
+   */
+  private SimulationStatistics simulateRounds(int bettingAmount, long rounds, RandomGenerator random) {
+    var statistics = newStatistics();
+    var triggered = new boolean[compiledGameConfig.getWinCombinationCount()];
+    var batchCapacity = Math.max(1, CELLS_PER_BATCH / (compiledGameConfig.getRows() * compiledGameConfig.getColumns()));
+    var scratchCardBatch = new ScratchCardBatch(compiledGameConfig, (int) Math.min(rounds, batchCapacity));
+
+    for (long round = 0; round < rounds; round += scratchCardBatch.getSize()) {
+      scratchCardBatch.fill(random, (int) Math.min(scratchCardBatch.getCapacity(), rounds - round));
+
+      for (int card = 0; card < scratchCardBatch.getSize(); card++) {
+        var winCombinationIds = winCombinationFinder.findIds(scratchCardBatch, card, compiledGameConfig);
+        var bonusSymbolId = scratchCardBatch.getBonusSymbolId(card);
+        var reward = rewardCalculator.calculate(compiledGameConfig, bettingAmount, bonusSymbolId, winCombinationIds);
+
+        // the reward of a round is reported in whole units, like in its output
+        statistics.addRound((int) reward);
+
+        // a win combination is counted once per round, even when it is applied to more than one symbol
+        for (int id : winCombinationIds) {
+          if (id != WinCombinationFinder.NO_WIN_COMBINATION) {
+            triggered[id] = true;
+          }
+        }
+        for (int id = 0; id < triggered.length; id++) {
+          if (triggered[id]) {
+            statistics.addWinCombinationTrigger(id);
+            triggered[id] = false;
+          }
+        }
+
+        // bonus symbol is only applied if it is not MISS and there is a reward
+        if (reward > 0 && bonusSymbolId != ScratchCard.NO_BONUS_SYMBOL && appliedBonusSymbols[bonusSymbolId]) {
+          statistics.addBonusSymbolTrigger(bonusSymbolId);
+        }
+      }
+    }
+
+    return statistics;
+  }
+
+  private SimulationStatistics newStatistics() {
+    return new SimulationStatistics(compiledGameConfig.getSymbolCount(), compiledGameConfig.getWinCombinationCount());
+  }
+
+  private SimulationReport buildReport(SimulationStatistics statistics, int bettingAmount, int threads,
+    long durationNanos) {
+    var rounds = statistics.getRounds();
+    var totalBet = (double) bettingAmount * rounds;
+
+    var winCombinationTriggerRates = new LinkedHashMap<String, Double>();
+    for (int id = 0; id < compiledGameConfig.getWinCombinationCount(); id++) {
+      winCombinationTriggerRates.put(compiledGameConfig.getWinCombinationName(id),
+        (double) statistics.getWinCombinationTriggers(id) / rounds);
+    }
+
+    // only bonus symbols are reported
+    var bonusSymbolTriggerRates = new LinkedHashMap<String, Double>();
+    var bonusSymbolSampler = compiledGameConfig.getBonusSymbolSampler();
+    for (int index = 0; index < bonusSymbolSampler.size(); index++) {
+      var symbolId = bonusSymbolSampler.getSymbolId(index);
+      bonusSymbolTriggerRates.put(compiledGameConfig.getSymbolName(symbolId),
+        (double) statistics.getBonusSymbolTriggers(symbolId) / rounds);
+    }
+
+    return SimulationReport.builder().rounds(rounds).threads(threads).bettingAmount(bettingAmount).totalBet(totalBet)
+      .totalReward(statistics.getTotalReward()).rtp(statistics.getTotalReward() / totalBet)
+      .hitFrequency((double) statistics.getWinningRounds() / rounds).averageReward(statistics.getMean())
+      .rewardVariance(statistics.getVariance()).rewardStandardDeviation(Math.sqrt(statistics.getVariance()))
+      .maxReward(statistics.getMaxReward()).winCombinationTriggerRates(winCombinationTriggerRates)
+      .bonusSymbolTriggerRates(bonusSymbolTriggerRates).durationMillis(durationNanos / 1_000_000)
+      .roundsPerSecond(rounds * 1e9 / Math.max(durationNanos, 1)).build();
+  }
+}
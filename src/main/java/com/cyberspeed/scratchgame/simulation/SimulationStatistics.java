@@ -0,0 +1,128 @@
+package com.cyberspeed.scratchgame.simulation;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Accumulates the outcome of simulated rounds. An instance is used by one thread only, instances of different threads
+ * are merged once all the rounds are played.
+ */
+@Getter
+public final class SimulationStatistics {
+
+  @Getter(AccessLevel.NONE)
+  private final long[] winCombinationTriggers;
+  @Getter(AccessLevel.NONE)
+  private final long[] bonusSymbolTriggers;
+
+  private long rounds;
+  private long winningRounds;
+  private double totalReward;
+  private long maxReward;
+
+  // running mean and sum of squared differences from the mean of the rewards (Welford's algorithm)
+  private double mean;
+  @Getter(AccessLevel.NONE)
+  private double m2;
+
+  /**
+   * @param symbolCount         number of symbols, to count bonus symbol triggers by symbol id
+   * @param winCombinationCount number of win combinations, to count win combination triggers by win combination id
+   */
+  public SimulationStatistics(int symbolCount, int winCombinationCount) {
+    this.winCombinationTriggers = new long[winCombinationCount];
+    this.bonusSymbolTriggers = new long[symbolCount];
+  }
+
+  /**
+   * Adds the reward of a round
+   *
+   * @param reward final reward of the round
+   */
+  public void addRound(long reward) {
+    rounds++;
+    totalReward += reward;
+
+    if (reward > 0) {
+      winningRounds++;
+    }
+
+    if (reward > maxReward) {
+      maxReward = reward;
+    }
+
+    var delta = reward - mean;
+    mean += delta / rounds;
+    m2 += delta * (reward - mean);
+  }
+
+  /**
+   * Counts a win combination that is applied in a round
+   *
+   * @param winCombinationId id of the win combination
+   */
+  public void addWinCombinationTrigger(int winCombinationId) {
+    winCombinationTriggers[winCombinationId]++;
+  }
+
+  /**
+   * Counts a bonus symbol that is applied to the reward of a round
+   *
+   * @param symbolId id of the bonus symbol
+   */
+  public void addBonusSymbolTrigger(int symbolId) {
+    bonusSymbolTriggers[symbolId]++;
+  }
+
+  /**
+   * Merges the statistics of other rounds into this statistics
+   *
+   * @param other statistics of other rounds
+   */
+  public void merge(SimulationStatistics other) {
+    if (other.rounds == 0) {
+      return;
+    }
+
+    // combine means and sum of squared differences of both sets of rounds (Chan et al.)
+    var totalRounds = rounds + other.rounds;
+    var delta = other.mean - mean;
+    mean += delta * other.rounds / totalRounds;
+    m2 += other.m2 + delta * delta * ((double) rounds * other.rounds / totalRounds);
+
+    rounds = totalRounds;
+    winningRounds += other.winningRounds;
+    totalReward += other.totalReward;
+    maxReward = Math.max(maxReward, other.maxReward);
+
+    for (int i = 0; i < winCombinationTriggers.length; i++) {
+      winCombinationTriggers[i] += other.winCombinationTriggers[i];
+    }
+    for (int i = 0; i < bonusSymbolTriggers.length; i++) {
+      bonusSymbolTriggers[i] += other.bonusSymbolTriggers[i];
+    }
+  }
+
+  /**
+   * @return population variance of the rewards
+   */
+  public double getVariance() {
+    return rounds == 0 ? 0 : m2 / rounds;
+  }
+
+  /**
+   * @param winCombinationId id of the win combination
+   * @return number of rounds in which the win combination is applied
+   */
+  public long getWinCombinationTriggers(int winCombinationId) {
+    return winCombinationTriggers[winCombinationId];
+  }
+
+  /**
+   * @param symbolId id of the bonus symbol
+   * @return number of rounds in which the bonus symbol is applied to the reward
+   */
+  public long getBonusSymbolTriggers(int symbolId) {
+    return bonusSymbolTriggers[symbolId];
+  }
+}
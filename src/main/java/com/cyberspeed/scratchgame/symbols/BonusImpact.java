@@ -0,0 +1,69 @@
+package com.cyberspeed.scratchgame.symbols;
+
+import com.cyberspeed.scratchgame.exceptions.GameException;
+
+/**
+ * Impact of a {@link BonusSymbol} on the reward of the win combinations
+ */
+public enum BonusImpact {
+
+  /**
+   * Reward is multiplied by the reward multiplier of the bonus symbol
+   */
+  MULTIPLY_REWARD("multiply_reward") {
+    @Override
+    public double apply(double reward, double rewardMultiplier, int extra) {
+      return reward * rewardMultiplier;
+    }
+  },
+
+  /**
+   * Extra amount of the bonus symbol is added to the reward
+   */
+  EXTRA_BONUS("extra_bonus") {
+    @Override
+    public double apply(double reward, double rewardMultiplier, int extra) {
+      return reward + extra;
+    }
+  },
+
+  /**
+   * Reward is not changed
+   */
+  MISS("miss") {
+    @Override
+    public double apply(double reward, double rewardMultiplier, int extra) {
+      return reward;
+    }
+  };
+
+  private final String impact;
+
+  BonusImpact(String impact) {
+    this.impact = impact;
+  }
+
+  /**
+   * Applies the impact of a bonus symbol to the reward
+   *
+   * @param reward           reward of the win combinations
+   * @param rewardMultiplier reward multiplier of the bonus symbol
+   * @param extra            extra amount of the bonus symbol
+   * @return reward after the bonus symbol is applied
+   */
+  public abstract double apply(double reward, double rewardMultiplier, int extra);
+
+  /**
+   * @param impact impact as configured on a {@link BonusSymbol} (e.g. 'multiply_reward', 'extra_bonus', 'miss')
+   * @return the bonus impact
+   * @throws GameException if impact is unknown
+   */
+  public static BonusImpact of(String impact) {
+    for (BonusImpact bonusImpact : values()) {
+      if (bonusImpact.impact.equals(impact)) {
+        return bonusImpact;
+      }
+    }
+    throw new GameException("Unknown bonus symbol impact: " + impact);
+  }
+}
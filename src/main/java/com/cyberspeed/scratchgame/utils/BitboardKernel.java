@@ -0,0 +1,34 @@
+package com.cyberspeed.scratchgame.utils;
+
+import com.cyberspeed.scratchgame.ScratchCard;
+
+/**
+ * Builds and checks the masks of {@link SymbolBitboard}. The scalar kernel is always available, the vector kernel is
+ * available when the JVM is started with {@code --add-modules jdk.incubator.vector}, see {@link BitboardKernels}. Both
+ * kernels build the same masks and counts.
+ */
+public interface BitboardKernel {
+
+  /**
+   * Sets the bit of each cell in the mask of the symbol placed on it and counts the cells of each symbol
+   *
+   * @param cells        symbol id of each cell, or {@link ScratchCard#EMPTY_CELL}
+   * @param offset       index of the first cell of the card in cells
+   * @param cellCount    number of cells of the card
+   * @param words        number of longs in the mask of a symbol, see {@link SymbolBitboard#wordCount(int)}
+   * @param symbolMasks  zeroed masks of the symbols, the words of symbol id s are between s * words (inclusive) and
+   *                     (s + 1) * words (exclusive)
+   * @param symbolCounts zeroed number of cells of each symbol, indexed by symbol id
+   */
+  void build(byte[] cells, int offset, int cellCount, int words, long[] symbolMasks, int[] symbolCounts);
+
+  /**
+   * @param symbolMasks  masks of the symbols
+   * @param symbolOffset index of the first word of the mask of the symbol
+   * @param areaMasks    masks of the covered areas, see {@link SymbolBitboard#toMasks(int[][], int)}
+   * @param areaOffset   index of the first word of the mask of the covered area
+   * @param words        number of longs in a mask
+   * @return true if every bit of the mask of the covered area is set in the mask of the symbol
+   */
+  boolean covers(long[] symbolMasks, int symbolOffset, long[] areaMasks, int areaOffset, int words);
+}
@@ -0,0 +1,57 @@
+package com.cyberspeed.scratchgame.utils;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Utility class that selects the {@link BitboardKernel} of {@link SymbolBitboard}. The vector kernel is selected when
+ * the {@value #VECTOR_MODULE} module is added to the JVM (with {@code --add-modules jdk.incubator.vector}), otherwise
+ * the scalar kernel is selected.
+ */
+public final class BitboardKernels {
+
+  /**
+   * Module of the Vector API, which is not resolved unless it is added to the JVM
+   */
+  public static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+  private static final String VECTOR_KERNEL = "com.cyberspeed.scratchgame.utils.VectorBitboardKernel";
+
+  private static final BitboardKernel VECTOR = loadVectorKernel();
+
+  private BitboardKernels() {
+  }
+
+  /**
+   * @return kernel that reads one cell and compares one word at a time
+   */
+  public static BitboardKernel scalar() {
+    return ScalarBitboardKernel.INSTANCE;
+  }
+
+  /**
+   * @return kernel of the Vector API, or null if the {@value #VECTOR_MODULE} module is not added to the JVM
+   */
+  public static @Nullable BitboardKernel vector() {
+    return VECTOR;
+  }
+
+  /**
+   * @return the vector kernel if it is available, the scalar kernel otherwise
+   */
+  public static BitboardKernel selected() {
+    return VECTOR != null ? VECTOR : ScalarBitboardKernel.INSTANCE;
+  }
+
+  // the vector kernel is loaded by name, so that the classes of the module are never linked when it is absent
+  private static @Nullable BitboardKernel loadVectorKernel() {
+    if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+      return null;
+    }
+
+    try {
+      return (BitboardKernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException | LinkageError e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,255 @@
+package com.cyberspeed.scratchgame.utils;
+
+import static com.cyberspeed.scratchgame.utils.Validation.isNotNull;
+
+import com.cyberspeed.scratchgame.exceptions.GameException;
+import com.cyberspeed.scratchgame.models.GameOutput;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.DefaultIndenter;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.OutputStream;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Writes {@link GameOutput} as JSON straight to an {@link OutputStream} or a {@link JsonGenerator}, without building
+ * the JSON as a string first. Only attributes that are non-empty are written.
+ * <ul>
+ *   <li>{@link #pretty()} writes the layout printed on console, where every row of the matrix is on its own line</li>
+ *   <li>{@link #compact()} writes the JSON on a single line</li>
+ * </ul>
+ * {@link GameOutput} is written token by token, data binding is only loaded to write any other value (e.g. a report),
+ * which keeps it off the start of a single round. A writer is immutable and can be shared by any number of threads.
+ */
+public final class GameOutputWriter {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  static {
+    // the stream belongs to the caller, it is flushed but never closed
+    JSON_FACTORY.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+  }
+
+  // writers are created once the factory is configured
+  private static final GameOutputWriter PRETTY = new GameOutputWriter(new GameOutputPrettyPrinter());
+  private static final GameOutputWriter COMPACT = new GameOutputWriter(null);
+
+  @Nullable
+  private final GameOutputPrettyPrinter prettyPrinter;
+
+  private GameOutputWriter(@Nullable GameOutputPrettyPrinter prettyPrinter) {
+    this.prettyPrinter = prettyPrinter;
+  }
+
+  /**
+   * @return writer of the layout printed on console
+   */
+  public static GameOutputWriter pretty() {
+    return PRETTY;
+  }
+
+  /**
+   * @return writer of the JSON on a single line
+   */
+  public static GameOutputWriter compact() {
+    return COMPACT;
+  }
+
+  /**
+   * Creates a generator to write many values to the same stream with {@link #write(Object, JsonGenerator)}. Closing
+   * the generator flushes it without closing the stream.
+   *
+   * @param outputStream stream to write to
+   * @return generator that writes to the stream in the layout of this writer
+   * @throws GameException if the generator cannot be created
+   */
+  public JsonGenerator createGenerator(OutputStream outputStream) {
+    try {
+      var generator = JSON_FACTORY.createGenerator(outputStream);
+      if (prettyPrinter != null) {
+        generator.setPrettyPrinter(prettyPrinter.createInstance());
+      }
+      return generator;
+    } catch (IOException e) {
+      throw new GameException("Unable to write Scratch Game output", e);
+    }
+  }
+
+  /**
+   * Writes the value to the stream and flushes it
+   *
+   * @param value        {@link GameOutput} or any other value to write, such as an error
+   * @param outputStream stream to write to
+   * @throws GameException if value or outputStream is null, or the value cannot be written
+   */
+  public void write(Object value, OutputStream outputStream) {
+    isNotNull(outputStream, "Output stream cannot be null");
+
+    try (var generator = createGenerator(outputStream)) {
+      write(value, generator);
+    } catch (IOException e) {
+      throw new GameException("Unable to write Scratch Game output", e);
+    }
+  }
+
+  /**
+   * Writes the value to the generator, after the values already written to it. The layout is the one of the
+   * generator, see {@link #createGenerator(OutputStream)}.
+   *
+   * @param value     {@link GameOutput} or any other value to write, such as an error
+   * @param generator generator to write to
+   * @throws GameException if value or generator is null, or the value cannot be written
+   */
+  public void write(Object value, JsonGenerator generator) {
+    isNotNull(value, "Scratch Game output cannot be null");
+    isNotNull(generator, "Generator cannot be null");
+
+    try {
+      if (value instanceof GameOutput gameOutput) {
+        writeGameOutput(gameOutput, generator);
+      } else {
+        DataBinding.OBJECT_WRITER.writeValue(generator, value);
+      }
+    } catch (IOException e) {
+      throw new GameException("Unable to write Scratch Game output", e);
+    }
+  }
+
+  /**
+   * Writes the attributes of {@link GameOutput} in the order, and with the same inclusion, as data binding would
+   */
+  private static void writeGameOutput(GameOutput gameOutput, JsonGenerator generator) throws IOException {
+    generator.writeStartObject();
+
+    var matrix = gameOutput.getMatrix();
+    if (matrix != null && matrix.length > 0) {
+      generator.writeFieldName("matrix");
+      generator.writeStartArray();
+      for (String[] row : matrix) {
+        writeStrings(row, generator);
+      }
+      generator.writeEndArray();
+    }
+
+    generator.writeNumberField("reward", gameOutput.getReward());
+
+    var appliedWinningCombinations = gameOutput.getAppliedWinningCombinations();
+    if (appliedWinningCombinations != null && !appliedWinningCombinations.isEmpty()) {
+      generator.writeFieldName("applied_winning_combinations");
+      generator.writeStartObject();
+      for (var entry : appliedWinningCombinations.entrySet()) {
+        // entries are non-empty as well
+        if (entry.getValue() != null && !entry.getValue().isEmpty()) {
+          generator.writeFieldName(entry.getKey());
+          writeStrings(entry.getValue().toArray(String[]::new), generator);
+        }
+      }
+      generator.writeEndObject();
+    }
+
+    var appliedBonusSymbol = gameOutput.getAppliedBonusSymbol();
+    if (appliedBonusSymbol != null && !appliedBonusSymbol.isEmpty()) {
+      generator.writeStringField("applied_bonus_symbol", appliedBonusSymbol);
+    }
+
+    generator.writeEndObject();
+  }
+
+  private static void writeStrings(@Nullable String[] strings, JsonGenerator generator) throws IOException {
+    if (strings == null) {
+      generator.writeNull();
+      return;
+    }
+
+    generator.writeStartArray();
+    for (String string : strings) {
+      generator.writeString(string);
+    }
+    generator.writeEndArray();
+  }
+
+  /**
+   * Data binding of any other value than {@link GameOutput}, loaded the first time such a value is written
+   */
+  private static final class DataBinding {
+
+    private static final ObjectWriter OBJECT_WRITER = new ObjectMapper()
+      // only serialize attributes that are non-empty
+      .setSerializationInclusion(JsonInclude.Include.NON_EMPTY)
+      .disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+      .writer();
+  }
+
+  /**
+   * Indents objects like the default pretty printer and keeps arrays on one line, except the arrays of the root object
+   * (i.e. the matrix) which have each of their values on its own line:
+   * <pre>
+   * {
+   *   "matrix" : [
+   *     [ "A", "B" ],
+   *     [ "C", "D" ]
+   *   ],
+   *   "reward" : 0
+   * }
+   * </pre>
+   */
+  private static final class GameOutputPrettyPrinter extends DefaultPrettyPrinter {
+
+    // values of the matrix are separated by a line feed on every platform
+    private static final DefaultIndenter ROW_INDENTER = new DefaultIndenter("  ", "\n");
+
+    private GameOutputPrettyPrinter() {
+    }
+
+    private GameOutputPrettyPrinter(GameOutputPrettyPrinter base) {
+      super(base);
+    }
+
+    @Override
+    public DefaultPrettyPrinter createInstance() {
+      return new GameOutputPrettyPrinter(this);
+    }
+
+    @Override
+    public void beforeArrayValues(JsonGenerator generator) throws IOException {
+      if (isRootObjectArray(generator)) {
+        ROW_INDENTER.writeIndentation(generator, _nesting + 1);
+      } else {
+        super.beforeArrayValues(generator);
+      }
+    }
+
+    @Override
+    public void writeArrayValueSeparator(JsonGenerator generator) throws IOException {
+      if (isRootObjectArray(generator)) {
+        generator.writeRaw(',');
+        ROW_INDENTER.writeIndentation(generator, _nesting + 1);
+      } else {
+        super.writeArrayValueSeparator(generator);
+      }
+    }
+
+    @Override
+    public void writeEndArray(JsonGenerator generator, int nrOfValues) throws IOException {
+      if (nrOfValues > 0 && isRootObjectArray(generator)) {
+        ROW_INDENTER.writeIndentation(generator, _nesting);
+        generator.writeRaw(']');
+      } else {
+        super.writeEndArray(generator, nrOfValues);
+      }
+    }
+
+    /**
+     * @return true if the array being written is the value of an attribute of the root object
+     */
+    private static boolean isRootObjectArray(JsonGenerator generator) {
+      var context = generator.getOutputContext();
+      return context.inArray() && context.getParent().inObject() && context.getParent().getParent().inRoot();
+    }
+  }
+}
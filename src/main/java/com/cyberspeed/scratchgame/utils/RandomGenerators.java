@@ -0,0 +1,50 @@
+package com.cyberspeed.scratchgame.utils;
+
+import com.cyberspeed.scratchgame.ScratchCard;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * Utility class that creates the random number generators used to populate {@link ScratchCard}. Generators are not
+ * synchronized, so a generator must only be used by one thread at a time. {@link #current()} returns a generator of
+ * the calling thread, and {@link #create(long)} creates a generator from a seed to replay the same rounds.
+ * <p>
+ * The generator of the calling thread is {@link ThreadLocalRandom}, whose state is held by the thread itself, so that
+ * it costs nothing to get even when every round is played on a new thread, e.g. on a virtual thread per request.
+ */
+public class RandomGenerators {
+
+  /**
+   * Algorithm of the generators, a fast splittable generator of the LXM family
+   */
+  public static final String ALGORITHM = "L64X128MixRandom";
+
+  private static final RandomGeneratorFactory<SplittableGenerator> FACTORY = RandomGeneratorFactory.of(ALGORITHM);
+
+  private RandomGenerators() {
+  }
+
+  /**
+   * @return generator of the calling thread, which is seeded randomly, it must not be shared with other threads
+   */
+  public static RandomGenerator current() {
+    return ThreadLocalRandom.current();
+  }
+
+  /**
+   * @return new generator seeded randomly
+   */
+  public static SplittableGenerator create() {
+    return FACTORY.create();
+  }
+
+  /**
+   * @param seed the seed of the generator
+   * @return new generator that always generates the same numbers for the same seed
+   */
+  public static SplittableGenerator create(long seed) {
+    return FACTORY.create(seed);
+  }
+}
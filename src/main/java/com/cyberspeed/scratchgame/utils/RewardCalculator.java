@@ -4,8 +4,10 @@ import static com.cyberspeed.scratchgame.utils.Validation.isGreaterThanZero;
 import static com.cyberspeed.scratchgame.utils.Validation.isNotNull;
 
 import com.cyberspeed.scratchgame.ScratchCard;
+import com.cyberspeed.scratchgame.configs.CompiledGameConfig;
 import com.cyberspeed.scratchgame.configs.GameConfig;
 import com.cyberspeed.scratchgame.exceptions.GameException;
+import com.cyberspeed.scratchgame.symbols.BonusImpact;
 import com.cyberspeed.scratchgame.symbols.BonusSymbol;
 import java.util.Map;
 import java.util.Set;
@@ -17,7 +19,9 @@ import org.jetbrains.annotations.Nullable;
 public class RewardCalculator {
 
   /**
-   * Calculates the total reward based of betting amount, bonus symbol and standard symbols win combinations.
+   * Calculates the total reward based of betting amount, bonus symbol and standard symbols win combinations, looking up
+   * the reward multipliers and bonus impacts by name. Every applied win combination multiplies the reward of its
+   * symbol, even if more than one of its group is applied.
    *
    * @param gameConfig             configuration of the game
    * @param bettingAmount          the amount placed on the bet
@@ -25,8 +29,10 @@ public class RewardCalculator {
    * @param appliedWinCombinations map of Standard symbol and win combination name.
    * @return the total reward calculated. Total reward is 0 if appliedWinCombinations is empty
    * @throws GameException if bonusAmount is not greater than 0, or win combinations is null, or game configuration is
-   *                       null
+   *                       null, or a symbol or win combination is not configured
+   * @deprecated use {@link #calculate(CompiledGameConfig, int, int, int[])} with a configuration compiled once
    */
+  @Deprecated
   public double calculate(GameConfig gameConfig, int bettingAmount, @Nullable String bonusSymbol,
     Map<String, Set<String>> appliedWinCombinations) {
 
@@ -37,57 +43,108 @@ public class RewardCalculator {
     // ensure appliedWinCombinations is not null, it can be empty
     isNotNull(appliedWinCombinations, "Applied win combination cannot be null");
 
-    var finalReward = 0.0;
-
     // final reward is 0 if there are no applied win combinations
     if (appliedWinCombinations.isEmpty()) {
+      return 0.0;
+    }
+
+    // reward of a symbol is its reward multiplier multiplied by the reward multiplier of each applied win combination
+    var finalReward = 0.0;
+    for (var entry : appliedWinCombinations.entrySet()) {
+      var symbol = gameConfig.symbols().get(entry.getKey());
+      if (symbol == null) {
+        throw new GameException("Symbol is not configured: " + entry.getKey());
+      }
+
+      var symbolReward = symbol.getRewardMultiplier();
+      for (var winCombinationName : entry.getValue()) {
+        var winCombination = gameConfig.winCombinations().get(winCombinationName);
+        if (winCombination == null) {
+          throw new GameException("Win combination is not configured: " + winCombinationName);
+        }
+        symbolReward *= winCombination.getRewardMultiplier();
+      }
+
+      finalReward += symbolReward * bettingAmount;
+    }
+
+    if (bonusSymbol == null) {
       return finalReward;
     }
 
-    /*
-     * Calculate reward based on win combination
-     */
-
-    // iterate over applies win combinations map to determine involved symbols and win combinations to calculate total reward
-    for (Map.Entry<String, Set<String>> entry : appliedWinCombinations.entrySet()) {
-      // get reward multiplier of the symbol from the game configuration and set to the current symbol reward
-      var symbolReward = gameConfig.symbols().get(entry.getKey()).getRewardMultiplier();
-
-      // now iterate over all the symbol win combinations
-      for (String combinationName : entry.getValue()) {
-        // get reward multiplier of the win combination from the game configuration
-        var combinationReward = gameConfig.winCombinations().get(combinationName).getRewardMultiplier();
-        // multiply current symbol reward with win combination reward multiplier and update current symbol reward with the result
-        symbolReward *= combinationReward;
+    // based of symbol impact, multiply final reward with bonus symbol reward multiplier, or add extra amount to final
+    // reward, or do nothing if impact is miss
+    if (!(gameConfig.symbols().get(bonusSymbol) instanceof BonusSymbol bonusSymbolConfig)) {
+      throw new GameException("Bonus symbol is not configured: " + bonusSymbol);
+    }
+    return BonusImpact.of(bonusSymbolConfig.getImpact()).apply(finalReward, bonusSymbolConfig.getRewardMultiplier(),
+      bonusSymbolConfig.getExtra());
+  }
+
+  /**
+   * Calculates the total reward like {@link #calculate(GameConfig, int, String, Map)}, with the reward multipliers and
+   * bonus impacts compiled in {@link CompiledGameConfig} instead of looking them up by name
+   *
+   * @param compiledGameConfig     compiled configuration of the game
+   * @param bettingAmount          the amount placed on the bet
+   * @param bonusSymbolId          id of the bonus symbol appeared on the {@link ScratchCard} matrix or
+   *                               {@link ScratchCard#NO_BONUS_SYMBOL}
+   * @param appliedWinCombinations ids of the applied win combinations as returned by
+   *                               {@link WinCombinationFinder#findIds(ScratchCard, CompiledGameConfig)}
+   * @return the total reward calculated. Total reward is 0 if no win combination is applied
+   * @throws GameException if bettingAmount is not greater than 0, or win combinations is null, or game configuration
+   *                       is null, or a symbol that won or the bonus symbol is not configured
+   */
+  public double calculate(CompiledGameConfig compiledGameConfig, int bettingAmount, int bonusSymbolId,
+    int[] appliedWinCombinations) {
+    isNotNull(compiledGameConfig, "Game config cannot be null");
+    isGreaterThanZero(bettingAmount, "Betting amount must be greater than zero");
+    isNotNull(appliedWinCombinations, "Applied win combination cannot be null");
+
+    var groupCount = compiledGameConfig.getWinCombinationGroupCount();
+    var finalReward = 0.0;
+    var won = false;
+
+    // reward of a symbol is its reward multiplier multiplied by the reward multiplier of each applied win combination
+    for (int symbolId = 0; symbolId < compiledGameConfig.getSymbolCount(); symbolId++) {
+      var symbolReward = 0.0;
+      var symbolWon = false;
+      for (int slot = symbolId * groupCount; slot < (symbolId + 1) * groupCount; slot++) {
+        var winCombinationId = appliedWinCombinations[slot];
+        if (winCombinationId != WinCombinationFinder.NO_WIN_COMBINATION) {
+          if (!symbolWon) {
+            symbolReward = symbolRewardMultiplier(compiledGameConfig, symbolId);
+            symbolWon = true;
+          }
+          symbolReward *= compiledGameConfig.getWinCombinationRewardMultiplier(winCombinationId);
+        }
       }
 
-      // multiply current symbol reward with betting amount and update current symbol reward with the result
-      symbolReward *= bettingAmount;
-      // add current symbol reward to final reward and update final reward with the result
-      finalReward += symbolReward;
-      // continue loop to update final reward with the next symbol and its win combination reward
+      if (symbolWon) {
+        finalReward += symbolReward * bettingAmount;
+        won = true;
+      }
     }
 
-    /*
-     * Apply bonus symbol reward if it is available
-     */
-
-    if (bonusSymbol != null) {
-      // get bonus symbol configuration
-      var bonusSymbolConfig = (BonusSymbol) gameConfig.symbols().get(bonusSymbol);
-
-      // based of symbol impact, multiply final reward with bonus symbol reward multiplier, or add extra amount to
-      // final reward, or do nothing if impact is miss
-      return switch (bonusSymbolConfig.getImpact()) {
-        case "multiply_reward" -> finalReward * bonusSymbolConfig.getRewardMultiplier();
-        case "extra_bonus" -> finalReward + bonusSymbolConfig.getExtra();
-        case "miss" -> finalReward; // no change to finalReward
-        default -> throw new GameException("Unknown bonus symbol impact: " + bonusSymbolConfig.getImpact());
-      };
+    // final reward is 0 if there are no applied win combinations, the bonus symbol is only applied to a reward
+    if (!won || bonusSymbolId == ScratchCard.NO_BONUS_SYMBOL) {
+      return finalReward;
     }
 
-    // calculated total reward
-    return finalReward;
+    var bonusImpact = compiledGameConfig.getBonusImpact(bonusSymbolId);
+    if (bonusImpact == null) {
+      throw new GameException("Bonus symbol is not configured: " + compiledGameConfig.getSymbolName(bonusSymbolId));
+    }
+    return bonusImpact.apply(finalReward, compiledGameConfig.getSymbolRewardMultiplier(bonusSymbolId),
+      compiledGameConfig.getBonusExtra(bonusSymbolId));
+  }
+
+  private static double symbolRewardMultiplier(CompiledGameConfig compiledGameConfig, int symbolId) {
+    var rewardMultiplier = compiledGameConfig.getSymbolRewardMultiplier(symbolId);
+    if (Double.isNaN(rewardMultiplier)) {
+      throw new GameException("Symbol is not configured: " + compiledGameConfig.getSymbolName(symbolId));
+    }
+    return rewardMultiplier;
   }
 
 }
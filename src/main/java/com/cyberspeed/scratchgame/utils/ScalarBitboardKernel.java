@@ -0,0 +1,37 @@
+package com.cyberspeed.scratchgame.utils;
+
+import com.cyberspeed.scratchgame.ScratchCard;
+
+/**
+ * {@link BitboardKernel} that reads one cell and compares one word at a time
+ */
+final class ScalarBitboardKernel implements BitboardKernel {
+
+  static final ScalarBitboardKernel INSTANCE = new ScalarBitboardKernel();
+
+  private ScalarBitboardKernel() {
+  }
+
+  @Override
+  public void build(byte[] cells, int offset, int cellCount, int words, long[] symbolMasks, int[] symbolCounts) {
+    // masks and counts are built in the same pass
+    for (int cell = 0; cell < cellCount; cell++) {
+      var symbolId = cells[offset + cell];
+      if (symbolId != ScratchCard.EMPTY_CELL) {
+        symbolMasks[symbolId * words + (cell >>> 6)] |= 1L << cell;
+        symbolCounts[symbolId]++;
+      }
+    }
+  }
+
+  @Override
+  public boolean covers(long[] symbolMasks, int symbolOffset, long[] areaMasks, int areaOffset, int words) {
+    for (int word = 0; word < words; word++) {
+      var areaMask = areaMasks[areaOffset + word];
+      if ((symbolMasks[symbolOffset + word] & areaMask) != areaMask) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
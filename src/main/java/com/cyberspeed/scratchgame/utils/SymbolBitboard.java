@@ -0,0 +1,136 @@
+package com.cyberspeed.scratchgame.utils;
+
+import static com.cyberspeed.scratchgame.utils.Validation.isNotNull;
+
+import com.cyberspeed.scratchgame.ScratchCard;
+import com.cyberspeed.scratchgame.ScratchCardBatch;
+import com.cyberspeed.scratchgame.exceptions.GameException;
+
+/**
+ * Occupancy masks and counts of the symbols of a {@link ScratchCard}, built in a single pass over its cells. The bit of
+ * a cell ({@code row * columns + column}) is set in the mask of the symbol placed on it.
+ * <p>
+ * A matrix of up to 64 cells fits in one {@code long} per symbol, larger matrices use a bitset of
+ * {@link #wordCount(int)} longs per symbol. Masks of covered areas (see {@link #toMasks(int[][], int)}) use the same
+ * layout, so that a covered area is filled by a symbol when {@code (symbolMask & areaMask) == areaMask}.
+ * <p>
+ * Masks of more than one word are built and checked by a {@link BitboardKernel}, which uses the Vector API when it is
+ * available.
+ */
+public final class SymbolBitboard {
+
+  private final BitboardKernel kernel;
+
+  private final int words;
+
+  // masks of each symbol, the words of symbol id s are between s * words (inclusive) and (s + 1) * words (exclusive)
+  private final long[] symbolMasks;
+
+  // number of cells on which each symbol appears, indexed by symbol id
+  private final int[] symbolCounts;
+
+  /**
+   * Constructor that validates {@link ScratchCard} and builds the masks of its symbols with the selected kernel, see
+   * {@link BitboardKernels#selected()}
+   *
+   * @param scratchCard the Scratch card to build the masks of
+   * @throws GameException if scratchCard is null
+   */
+  public SymbolBitboard(ScratchCard scratchCard) {
+    this(scratchCard, BitboardKernels.selected());
+  }
+
+  /**
+   * Constructor that validates {@link ScratchCard} and builds the masks of its symbols with the given kernel
+   *
+   * @param scratchCard the Scratch card to build the masks of
+   * @param kernel      the kernel that builds and checks the masks
+   * @throws GameException if scratchCard or kernel is null
+   */
+  public SymbolBitboard(ScratchCard scratchCard, BitboardKernel kernel) {
+    isNotNull(scratchCard, "Game Scratch Card cannot be null");
+    isNotNull(kernel, "Bitboard kernel cannot be null");
+
+    var cells = scratchCard.getCells();
+    this.kernel = kernel;
+    this.words = wordCount(cells.length);
+    var symbolCount = scratchCard.getCompiledGameConfig().getSymbolCount();
+    this.symbolMasks = new long[symbolCount * words];
+    this.symbolCounts = new int[symbolCount];
+
+    kernel.build(cells, 0, cells.length, words, symbolMasks, symbolCounts);
+  }
+
+  /**
+   * Constructor that validates {@link ScratchCardBatch} and builds the masks of the symbols of one of its cards with
+   * the selected kernel
+   *
+   * @param scratchCardBatch the batch of Scratch cards
+   * @param card             index of the card to build the masks of
+   * @throws GameException             if scratchCardBatch is null
+   * @throws IndexOutOfBoundsException if card is not populated
+   */
+  public SymbolBitboard(ScratchCardBatch scratchCardBatch, int card) {
+    isNotNull(scratchCardBatch, "Game Scratch Card batch cannot be null");
+
+    var cellCount = scratchCardBatch.getCellCount();
+    this.kernel = BitboardKernels.selected();
+    this.words = wordCount(cellCount);
+    var symbolCount = scratchCardBatch.getCompiledGameConfig().getSymbolCount();
+    this.symbolMasks = new long[symbolCount * words];
+    this.symbolCounts = new int[symbolCount];
+
+    kernel.build(scratchCardBatch.getCells(), scratchCardBatch.getCellOffset(card), cellCount, words, symbolMasks,
+      symbolCounts);
+  }
+
+  /**
+   * @param cells number of {@link ScratchCard} matrix cells
+   * @return number of longs in the mask of a symbol or covered area
+   */
+  public static int wordCount(int cells) {
+    return (cells + Long.SIZE - 1) >>> 6;
+  }
+
+  /**
+   * Converts cell indexes of covered areas to masks
+   *
+   * @param coveredAreaCells cell indexes of each covered area
+   * @param words            number of longs in a mask, see {@link #wordCount(int)}
+   * @return masks of the covered areas, the words of covered area a are between a * words (inclusive) and
+   * (a + 1) * words (exclusive)
+   */
+  public static long[] toMasks(int[][] coveredAreaCells, int words) {
+    var masks = new long[coveredAreaCells.length * words];
+
+    for (int area = 0; area < coveredAreaCells.length; area++) {
+      for (int cell : coveredAreaCells[area]) {
+        masks[area * words + (cell >>> 6)] |= 1L << cell;
+      }
+    }
+
+    return masks;
+  }
+
+  /**
+   * @param symbolId  id of the symbol
+   * @param areaMasks masks of the covered areas, see {@link #toMasks(int[][], int)}
+   * @param area      index of the covered area
+   * @return true if the symbol appears in every cell of the covered area
+   */
+  public boolean covers(int symbolId, long[] areaMasks, int area) {
+    if (words == 1) {
+      return (symbolMasks[symbolId] & areaMasks[area]) == areaMasks[area];
+    }
+
+    return kernel.covers(symbolMasks, symbolId * words, areaMasks, area * words, words);
+  }
+
+  /**
+   * @param symbolId id of the symbol
+   * @return number of cells on which the symbol appears
+   */
+  public int count(int symbolId) {
+    return symbolCounts[symbolId];
+  }
+}
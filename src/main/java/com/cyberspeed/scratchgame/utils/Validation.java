@@ -75,6 +75,19 @@ public class Validation {
     }
   }
 
+  /**
+   * Checks that the specified long is greater than 0
+   *
+   * @param value        the long value
+   * @param errorMessage message to be used if exception is thrown
+   * @throws GameException if value is less than or equals to 0
+   */
+  public static void isGreaterThanZero(long value, String errorMessage) {
+    if (value <= 0) {
+      throw new GameException(errorMessage);
+    }
+  }
+
   /**
    * Checks that the specified double is greater than 0
    *
@@ -1,47 +1,306 @@
 package com.cyberspeed.scratchgame.utils;
 
-import static com.cyberspeed.scratchgame.utils.Validation.isNonEmptyMap;
 import static com.cyberspeed.scratchgame.utils.Validation.isNotNull;
 
 import com.cyberspeed.scratchgame.ScratchCard;
+import com.cyberspeed.scratchgame.ScratchCardBatch;
+import com.cyberspeed.scratchgame.configs.CompiledGameConfig;
 import com.cyberspeed.scratchgame.exceptions.GameException;
 import com.cyberspeed.scratchgame.wincombinations.WinCombination;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * Utility class with a method to apply win combinations to {@link ScratchCard}
+ * <p>
+ * The covered areas of the linear win combinations are checked on the calling thread, unless their estimated cost (see
+ * {@link CompiledGameConfig#getLinearWinCombinationCost()}) reaches the parallel cost threshold, in which case they are
+ * split across the threads of the fork join pool. Both ways apply the same win combinations.
+ * <p>
+ * Splitting a card only lowers the latency of a single round. Code that already plays many rounds on its own threads
+ * should use a {@link #sequential()} finder, so that the cards of its rounds are not split again on top of them.
+ *
+ * @param forkJoinPool          pool the covered areas of large configurations are checked in
+ * @param parallelCostThreshold estimated cost of the linear win combinations from which they are checked in parallel
  */
-public record WinCombinationFinder() {
+public record WinCombinationFinder(ForkJoinPool forkJoinPool, long parallelCostThreshold) {
 
   /**
-   * Applies all the provided {@link WinCombination} to {@link ScratchCard} to determine which symbols on the Scratch
-   * Card matrix are placed according to the win combination.
+   * Id of the win combination applied to a symbol in a group where it did not win
+   */
+  public static final int NO_WIN_COMBINATION = -1;
+
+  /**
+   * Default estimated cost from which linear win combinations are checked in parallel, about a hundred microseconds of
+   * mask comparisons, so that the cost of forking and joining tasks is small in comparison
+   */
+  public static final long PARALLEL_COST_THRESHOLD = 1 << 16;
+
+  // each task checks at least this share of the parallel cost threshold, divided by the parallelism of the pool
+  private static final int TASKS_PER_THREAD = 4;
+
+  /**
+   * Constructor that validates the fork join pool and creates {@link WinCombinationFinder}
+   *
+   * @throws GameException if forkJoinPool is null, or parallelCostThreshold is negative
+   */
+  public WinCombinationFinder {
+    isNotNull(forkJoinPool, "Fork join pool cannot be null");
+    if (parallelCostThreshold < 0) {
+      throw new GameException("Parallel cost threshold cannot be negative, but was: " + parallelCostThreshold);
+    }
+  }
+
+  /**
+   * Creates {@link WinCombinationFinder} which checks the linear win combinations of large configurations in the
+   * common fork join pool
+   */
+  public WinCombinationFinder() {
+    this(ForkJoinPool.commonPool(), PARALLEL_COST_THRESHOLD);
+  }
+
+  /**
+   * Creates {@link WinCombinationFinder} which checks the linear win combinations of every configuration on the calling
+   * thread
+   *
+   * @return finder that never splits a card
+   */
+  public static WinCombinationFinder sequential() {
+    return new WinCombinationFinder(ForkJoinPool.commonPool(), Long.MAX_VALUE);
+  }
+
+  /**
+   * Applies all the {@link WinCombination} of the compiled game configuration to {@link ScratchCard} to determine which
+   * symbols on the Scratch Card matrix are placed according to the win combination. At most one win combination of
+   * each group is applied to a symbol, the one with the highest reward multiplier.
    *
-   * @param scratchCard          the Scratch card to apply win combinations to
-   * @param winCombinationConfig map of win combinations to apply on Scratch card
+   * @param scratchCard        the Scratch card to apply win combinations to
+   * @param compiledGameConfig compiled game configuration that holds the win combinations to apply on Scratch card
    * @return map of symbol and list of all the win combinations name that are applied successfully
-   * @throws GameException if {@link ScratchCard} is null or winCombinationConfig is empty
+   * @throws GameException if {@link ScratchCard} is null or compiledGameConfig is null, or the Scratch card was not
+   *                       created from compiledGameConfig
+   */
+  public Map<String, Set<String>> find(ScratchCard scratchCard, CompiledGameConfig compiledGameConfig) {
+    return toNames(findIds(scratchCard, compiledGameConfig), compiledGameConfig);
+  }
+
+  /**
+   * Applies all the {@link WinCombination} of the compiled game configuration to {@link ScratchCard}, like
+   * {@link #find(ScratchCard, CompiledGameConfig)}, without building the names of the symbols and win combinations
+   *
+   * @param scratchCard        the Scratch card to apply win combinations to
+   * @param compiledGameConfig compiled game configuration that holds the win combinations to apply on Scratch card
+   * @return id of the win combination applied to each symbol in each group, indexed by
+   * {@code symbolId * groupCount + groupId}, or {@link #NO_WIN_COMBINATION}
+   * @throws GameException if {@link ScratchCard} is null or compiledGameConfig is null, or the Scratch card was not
+   *                       created from compiledGameConfig
    */
-  public Map<String, Set<String>> find(ScratchCard scratchCard, Map<String, WinCombination> winCombinationConfig) {
+  public int[] findIds(ScratchCard scratchCard, CompiledGameConfig compiledGameConfig) {
     isNotNull(scratchCard, "Game Scratch Card cannot be null");
-    isNonEmptyMap(winCombinationConfig, "Win combination cannot be null or empty");
+    isNotNull(compiledGameConfig, "Game config cannot be null");
+    // the masks of the card are sized by its own config, the win combinations are indexed by the given one
+    if (scratchCard.getCompiledGameConfig() != compiledGameConfig) {
+      throw new GameException("Game Scratch Card was not created from the game config");
+    }
+
+    // occupancy mask and count of each symbol, built once for all the win combinations
+    return findIds(compiledGameConfig, scratchCard.getCells(), 0, new SymbolBitboard(scratchCard));
+  }
+
+  /**
+   * Applies all the {@link WinCombination} of the compiled game configuration to a card of {@link ScratchCardBatch},
+   * like {@link #findIds(ScratchCard, CompiledGameConfig)}, without copying the card
+   *
+   * @param scratchCardBatch   the batch of Scratch cards
+   * @param card               index of the card in the batch to apply win combinations to
+   * @param compiledGameConfig compiled game configuration that holds the win combinations to apply on the card
+   * @return id of the win combination applied to each symbol in each group, indexed by
+   * {@code symbolId * groupCount + groupId}, or {@link #NO_WIN_COMBINATION}
+   * @throws GameException             if scratchCardBatch is null or compiledGameConfig is null, or the batch was not
+   *                                   created from compiledGameConfig
+   * @throws IndexOutOfBoundsException if card is not populated
+   */
+  public int[] findIds(ScratchCardBatch scratchCardBatch, int card, CompiledGameConfig compiledGameConfig) {
+    isNotNull(scratchCardBatch, "Game Scratch Card batch cannot be null");
+    isNotNull(compiledGameConfig, "Game config cannot be null");
+    if (scratchCardBatch.getCompiledGameConfig() != compiledGameConfig) {
+      throw new GameException("Game Scratch Card batch was not created from the game config");
+    }
+
+    return findIds(compiledGameConfig, scratchCardBatch.getCells(), scratchCardBatch.getCellOffset(card),
+      new SymbolBitboard(scratchCardBatch, card));
+  }
+
+  /**
+   * Applies the win combinations to the card whose cells are stored from cellOffset
+   */
+  private int[] findIds(CompiledGameConfig compiledGameConfig, byte[] cells, int cellOffset, SymbolBitboard bitboard) {
+    // best win combination id applied to each symbol in each group, indexed by symbolId * groupCount + groupId. The
+    // covered areas of linear win combinations are numbered in rank order, a large number of them is split across the
+    // threads of the pool
+    int[] appliedWinCombinations;
+    var linearAreaCount = compiledGameConfig.getLinearAreaCount();
+    if (compiledGameConfig.getLinearWinCombinationCost() >= parallelCostThreshold
+      && forkJoinPool.getParallelism() > 1 && linearAreaCount > 1) {
+      var leafAreaCount = Math.max(1, parallelCostThreshold / compiledGameConfig.getMaskWords()
+        / ((long) TASKS_PER_THREAD * forkJoinPool.getParallelism()));
+      appliedWinCombinations = forkJoinPool.invoke(
+        new LinearWinCombinationTask(compiledGameConfig, cells, cellOffset, bitboard, 0, linearAreaCount,
+          leafAreaCount));
+    } else {
+      appliedWinCombinations = newAppliedWinCombinations(compiledGameConfig);
+      applyLinearWinCombinations(compiledGameConfig, cells, cellOffset, bitboard, appliedWinCombinations, 0,
+        linearAreaCount);
+    }
+
+    // a symbol wins the same symbol win combinations of its count
+    for (int symbolId = 0; symbolId < compiledGameConfig.getSymbolCount(); symbolId++) {
+      var count = bitboard.count(symbolId);
+      if (count > 0) {
+        for (int id : compiledGameConfig.getSameSymbolWinCombinationIds(count)) {
+          apply(compiledGameConfig, appliedWinCombinations, symbolId, id);
+        }
+      }
+    }
+
+    return appliedWinCombinations;
+  }
+
+  /**
+   * @param appliedWinCombinations ids of the applied win combinations as returned by
+   *                               {@link #findIds(ScratchCard, CompiledGameConfig)}
+   * @param compiledGameConfig     compiled game configuration the ids belong to
+   * @return map of symbol and list of all the win combinations name that are applied
+   */
+  public Map<String, Set<String>> toNames(int[] appliedWinCombinations, CompiledGameConfig compiledGameConfig) {
+    var groupCount = compiledGameConfig.getWinCombinationGroupCount();
 
     // map between a symbol and it applied win combinations name
     var winningCombination = new HashMap<String, Set<String>>();
-
-    // Iterate through win combinations
-    winCombinationConfig.forEach((combinationName, winCombination) -> {
-      // get list of all the symbols which meets the criteria of this win combination
-      var winningCombinations = winCombination.apply(scratchCard);
-      // prepares a map where key is the symbol and value is a set of applied win combination name
-      winningCombinations.forEach(
-        symbol -> winningCombination.computeIfAbsent(symbol, s -> new HashSet<>()).add(combinationName));
-    });
+    for (int slot = 0; slot < appliedWinCombinations.length; slot++) {
+      if (appliedWinCombinations[slot] != NO_WIN_COMBINATION) {
+        winningCombination.computeIfAbsent(compiledGameConfig.getSymbolName(slot / groupCount), s -> new HashSet<>())
+          .add(compiledGameConfig.getWinCombinationName(appliedWinCombinations[slot]));
+      }
+    }
 
     return winningCombination;
   }
 
+  private static int[] newAppliedWinCombinations(CompiledGameConfig compiledGameConfig) {
+    var appliedWinCombinations = new int[compiledGameConfig.getSymbolCount()
+      * compiledGameConfig.getWinCombinationGroupCount()];
+    Arrays.fill(appliedWinCombinations, NO_WIN_COMBINATION);
+    return appliedWinCombinations;
+  }
+
+  /**
+   * Applies the linear win combinations whose covered areas, numbered in rank order, are between fromArea (inclusive)
+   * and toArea (exclusive), to the card whose cells are stored from cellOffset
+   */
+  private static void applyLinearWinCombinations(CompiledGameConfig compiledGameConfig, byte[] cells, int cellOffset,
+    SymbolBitboard bitboard, int[] appliedWinCombinations, int fromArea, int toArea) {
+    var groupCount = compiledGameConfig.getWinCombinationGroupCount();
+    var linearWinCombinationIds = compiledGameConfig.getLinearWinCombinationIds();
+
+    // covered areas of linear win combinations are already compiled to masks, only the symbol of the first cell of an
+    // area can fill it. Win combinations of a group come from the best to the worst, so a symbol that already won in a
+    // group is not checked again
+    var index = 0;
+    while (index < linearWinCombinationIds.length && compiledGameConfig.getLinearAreaOffset(index + 1) <= fromArea) {
+      index++;
+    }
+    for (; index < linearWinCombinationIds.length && compiledGameConfig.getLinearAreaOffset(index) < toArea; index++) {
+      var id = linearWinCombinationIds[index];
+      var groupId = compiledGameConfig.getWinCombinationGroupId(id);
+      var coveredAreaMasks = compiledGameConfig.getCoveredAreaMasks(id);
+      var coveredAreaCells = compiledGameConfig.getCoveredAreaCells(id);
+      var offset = compiledGameConfig.getLinearAreaOffset(index);
+
+      var lastArea = Math.min(coveredAreaCells.length, toArea - offset);
+      for (int area = Math.max(0, fromArea - offset); area < lastArea; area++) {
+        var symbolId = cells[cellOffset + coveredAreaCells[area][0]];
+        if (symbolId == ScratchCard.EMPTY_CELL) {
+          continue;
+        }
+
+        var slot = symbolId * groupCount + groupId;
+        if (appliedWinCombinations[slot] == NO_WIN_COMBINATION && bitboard.covers(symbolId, coveredAreaMasks, area)) {
+          appliedWinCombinations[slot] = id;
+        }
+      }
+    }
+  }
+
+  /**
+   * Applies the linear win combinations of a range of covered areas, numbered in rank order, by splitting it in two
+   * halves until it is small enough. Each half applies its win combinations on its own array, the first half covers the
+   * win combinations of better rank, so its applied win combination is kept when both halves applied one to a symbol.
+   */
+  private static final class LinearWinCombinationTask extends RecursiveTask<int[]> {
+
+    private final CompiledGameConfig compiledGameConfig;
+    private final byte[] cells;
+    private final int cellOffset;
+    private final SymbolBitboard bitboard;
+    private final int fromArea;
+    private final int toArea;
+    private final long leafAreaCount;
+
+    private LinearWinCombinationTask(CompiledGameConfig compiledGameConfig, byte[] cells, int cellOffset,
+      SymbolBitboard bitboard, int fromArea, int toArea, long leafAreaCount) {
+      this.compiledGameConfig = compiledGameConfig;
+      this.cells = cells;
+      this.cellOffset = cellOffset;
+      this.bitboard = bitboard;
+      this.fromArea = fromArea;
+      this.toArea = toArea;
+      this.leafAreaCount = leafAreaCount;
+    }
+
+    @Override
+    protected int[] compute() {
+      if (toArea - fromArea <= leafAreaCount) {
+        var appliedWinCombinations = newAppliedWinCombinations(compiledGameConfig);
+        applyLinearWinCombinations(compiledGameConfig, cells, cellOffset, bitboard, appliedWinCombinations, fromArea,
+          toArea);
+        return appliedWinCombinations;
+      }
+
+      var middleArea = (fromArea + toArea) >>> 1;
+      var secondHalf = new LinearWinCombinationTask(compiledGameConfig, cells, cellOffset, bitboard, middleArea,
+        toArea, leafAreaCount);
+      secondHalf.fork();
+      var appliedWinCombinations = new LinearWinCombinationTask(compiledGameConfig, cells, cellOffset, bitboard,
+        fromArea, middleArea, leafAreaCount).compute();
+      var secondHalfWinCombinations = secondHalf.join();
+
+      for (int slot = 0; slot < appliedWinCombinations.length; slot++) {
+        if (appliedWinCombinations[slot] == NO_WIN_COMBINATION) {
+          appliedWinCombinations[slot] = secondHalfWinCombinations[slot];
+        }
+      }
+      return appliedWinCombinations;
+    }
+  }
+
+  /**
+   * Applies the win combination to the symbol, unless a better win combination of its group is already applied
+   */
+  private static void apply(CompiledGameConfig compiledGameConfig, int[] appliedWinCombinations, int symbolId,
+    int winCombinationId) {
+    var slot = symbolId * compiledGameConfig.getWinCombinationGroupCount()
+      + compiledGameConfig.getWinCombinationGroupId(winCombinationId);
+    var appliedId = appliedWinCombinations[slot];
+
+    if (appliedId == NO_WIN_COMBINATION || compiledGameConfig.isBetterWinCombination(winCombinationId, appliedId)) {
+      appliedWinCombinations[slot] = winCombinationId;
+    }
+  }
+
 }
@@ -0,0 +1,146 @@
+package com.cyberspeed.scratchgame.wincombinations;
+
+import static com.cyberspeed.scratchgame.utils.Validation.isNotBlank;
+import static com.cyberspeed.scratchgame.utils.Validation.isWithinBounds;
+
+import com.cyberspeed.scratchgame.ScratchCard;
+import com.cyberspeed.scratchgame.exceptions.GameException;
+import java.util.ArrayList;
+
+/**
+ * Covered areas of a {@link LinearSymbolsWinCombination} described by a pattern instead of a list of coordinates, so
+ * that the size of a configuration does not grow with the size of the {@link ScratchCard} matrix. A pattern is expanded
+ * to cell indexes once the matrix size is known, in the same order as the coordinates would be listed:
+ * <ul>
+ *   <li>{@code all_rows}: every row, from the top one, each from left to right</li>
+ *   <li>{@code all_columns}: every column, from the left one, each from top to bottom</li>
+ *   <li>{@code ltr_diagonal}: the diagonal from the top left cell down to the right</li>
+ *   <li>{@code rtl_diagonal}: the diagonal from the top right cell down to the left</li>
+ *   <li>{@code diagonals}: the left to right diagonal followed by the right to left diagonal</li>
+ *   <li>{@code stride:<row>:<column>:<row step>:<column step>}: the cells from the given cell, moving by the given
+ *   steps until leaving the matrix, e.g. {@code stride:0:0:0:2} is every other cell of the top row</li>
+ * </ul>
+ */
+public final class CoveredAreasPattern {
+
+  private static final String STRIDE_PREFIX = "stride:";
+
+  private enum Type {
+    ALL_ROWS, ALL_COLUMNS, LTR_DIAGONAL, RTL_DIAGONAL, DIAGONALS, STRIDE
+  }
+
+  private final String pattern;
+  private final Type type;
+
+  // start cell and steps of a stride pattern
+  private final int row;
+  private final int column;
+  private final int rowStep;
+  private final int columnStep;
+
+  /**
+   * Constructor that validates and parses the pattern and create {@link CoveredAreasPattern}
+   *
+   * @param pattern one of the patterns described in {@link CoveredAreasPattern}
+   * @throws GameException if pattern is null or empty, or it is not a known pattern, or the steps of a stride pattern
+   *                       are both 0
+   */
+  public CoveredAreasPattern(String pattern) {
+    isNotBlank(pattern, "covered_areas_pattern cannot be null or empty");
+    this.pattern = pattern;
+
+    if (!pattern.startsWith(STRIDE_PREFIX)) {
+      this.type = switch (pattern) {
+        case "all_rows" -> Type.ALL_ROWS;
+        case "all_columns" -> Type.ALL_COLUMNS;
+        case "ltr_diagonal" -> Type.LTR_DIAGONAL;
+        case "rtl_diagonal" -> Type.RTL_DIAGONAL;
+        case "diagonals" -> Type.DIAGONALS;
+        default -> throw new GameException("Unknown covered areas pattern: " + pattern);
+      };
+      this.row = 0;
+      this.column = 0;
+      this.rowStep = 0;
+      this.columnStep = 0;
+      return;
+    }
+
+    var values = pattern.substring(STRIDE_PREFIX.length()).split(":");
+    if (values.length != 4) {
+      throw new GameException("Incorrect stride pattern, expected stride:<row>:<column>:<row step>:<column step>, "
+        + "but was: " + pattern);
+    }
+    try {
+      this.type = Type.STRIDE;
+      this.row = Integer.parseInt(values[0]);
+      this.column = Integer.parseInt(values[1]);
+      this.rowStep = Integer.parseInt(values[2]);
+      this.columnStep = Integer.parseInt(values[3]);
+    } catch (NumberFormatException e) {
+      throw new GameException("Incorrect stride pattern: " + pattern, e);
+    }
+    if (rowStep == 0 && columnStep == 0) {
+      throw new GameException("Steps of a stride pattern cannot both be 0: " + pattern);
+    }
+  }
+
+  /**
+   * Expands the pattern to the index of {@link ScratchCard} matrix cells, where index of a cell is
+   * {@code row * columns + column}
+   *
+   * @param rows    number of {@link ScratchCard} matrix rows
+   * @param columns number of {@link ScratchCard} matrix columns
+   * @return cell indexes of each covered area
+   * @throws GameException if the start cell of a stride pattern is not within matrix bounds
+   */
+  public int[][] toCellIndexes(int rows, int columns) {
+    return switch (type) {
+      case ALL_ROWS -> allRows(rows, columns);
+      case ALL_COLUMNS -> allColumns(rows, columns);
+      case LTR_DIAGONAL -> new int[][]{stride(0, 0, 1, 1, rows, columns)};
+      case RTL_DIAGONAL -> new int[][]{stride(0, columns - 1, 1, -1, rows, columns)};
+      case DIAGONALS -> new int[][]{stride(0, 0, 1, 1, rows, columns), stride(0, columns - 1, 1, -1, rows, columns)};
+      case STRIDE -> {
+        isWithinBounds(row, column, rows, columns,
+          "Coordinates [%d:%d] are not within bounds: ".formatted(row, column));
+        yield new int[][]{stride(row, column, rowStep, columnStep, rows, columns)};
+      }
+    };
+  }
+
+  private static int[][] allRows(int rows, int columns) {
+    var cellIndexes = new int[rows][columns];
+    for (int row = 0; row < rows; row++) {
+      for (int column = 0; column < columns; column++) {
+        cellIndexes[row][column] = row * columns + column;
+      }
+    }
+    return cellIndexes;
+  }
+
+  private static int[][] allColumns(int rows, int columns) {
+    var cellIndexes = new int[columns][rows];
+    for (int column = 0; column < columns; column++) {
+      for (int row = 0; row < rows; row++) {
+        cellIndexes[column][row] = row * columns + column;
+      }
+    }
+    return cellIndexes;
+  }
+
+  /**
+   * @return indexes of the cells from the given cell, moving by the given steps until leaving the matrix
+   */
+  private static int[] stride(int row, int column, int rowStep, int columnStep, int rows, int columns) {
+    var cells = new ArrayList<Integer>();
+    for (int r = row, c = column; r >= 0 && r < rows && c >= 0 && c < columns; r += rowStep, c += columnStep) {
+      cells.add(r * columns + c);
+    }
+    return cells.stream().mapToInt(Integer::intValue).toArray();
+  }
+
+  @Override
+  public String toString() {
+    return pattern;
+  }
+}
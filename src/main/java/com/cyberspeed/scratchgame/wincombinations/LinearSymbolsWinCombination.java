@@ -7,21 +7,40 @@ import static com.cyberspeed.scratchgame.utils.Validation.isWithinBounds;
 
 import com.cyberspeed.scratchgame.ScratchCard;
 import com.cyberspeed.scratchgame.exceptions.GameException;
+import com.cyberspeed.scratchgame.utils.SymbolBitboard;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import lombok.AccessLevel;
 import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
 
 /**
- * Represents a liner win combination that all the reward details associated to it
+ * Represents a liner win combination that all the reward details associated to it. Its covered areas are either listed
+ * as coordinates, or described by a {@link CoveredAreasPattern} that is expanded once the matrix size is known.
  */
 @Getter
 public class LinearSymbolsWinCombination extends WinCombination {
 
+  @Nullable
   private final List<List<String>> coveredAreas;
 
+  @Nullable
+  private final String coveredAreasPattern;
+
+  // pattern of the covered areas, parsed once when win combination is created, or null if coordinates are listed
+  @Getter(AccessLevel.NONE)
+  @Nullable
+  private final CoveredAreasPattern pattern;
+
+  // row and column of each coordinate of each covered area, parsed once when win combination is created
+  @Getter(AccessLevel.NONE)
+  private final int[][] coveredAreaRows;
+  @Getter(AccessLevel.NONE)
+  private final int[][] coveredAreaColumns;
+
   /**
    * Constructor that validates attributes of {@link LinearSymbolsWinCombination} and create its instance
    *
@@ -29,16 +48,83 @@ public class LinearSymbolsWinCombination extends WinCombination {
    * @param group            the group this win combination belongs to (e.g. horizontally_linear_symbols,
    *                         vertically_linear_symbols, etc)
    * @param coveredAreas     represents cells on the {@link ScratchCard} matrix
-   * @throws GameException if covered areas is null or empty
+   * @throws GameException if covered areas is null or empty, or coordinates are not in "%d:%d" format
+   */
+  public LinearSymbolsWinCombination(double rewardMultiplier, String group, List<List<String>> coveredAreas) {
+    this(rewardMultiplier, group, coveredAreas, null);
+  }
+
+  /**
+   * Constructor that validates attributes of {@link LinearSymbolsWinCombination} and create its instance, with covered
+   * areas either listed as coordinates or described by a pattern
+   *
+   * @param rewardMultiplier    the multiplier to be applied to the reward
+   * @param group               the group this win combination belongs to (e.g. horizontally_linear_symbols,
+   *                            vertically_linear_symbols, etc)
+   * @param coveredAreas        represents cells on the {@link ScratchCard} matrix, or null if a pattern is given
+   * @param coveredAreasPattern pattern of the covered areas (see {@link CoveredAreasPattern}), or null if covered areas
+   *                            are given
+   * @throws GameException if neither or both covered areas and pattern are given, or covered areas are empty, or
+   *                       coordinates are not in "%d:%d" format, or the pattern is incorrect
    */
   @JsonCreator
   public LinearSymbolsWinCombination(@JsonProperty("reward_multiplier") double rewardMultiplier,
-    @JsonProperty("group") String group, @JsonProperty("covered_areas") List<List<String>> coveredAreas) {
+    @JsonProperty("group") String group, @JsonProperty("covered_areas") @Nullable List<List<String>> coveredAreas,
+    @JsonProperty("covered_areas_pattern") @Nullable String coveredAreasPattern) {
     super(rewardMultiplier, "linear_symbols", group);
     this.coveredAreas = coveredAreas;
+    this.coveredAreasPattern = coveredAreasPattern;
+
+    if (coveredAreasPattern != null) {
+      if (coveredAreas != null) {
+        throw new GameException("covered_areas and covered_areas_pattern cannot both be given");
+      }
+      this.pattern = new CoveredAreasPattern(coveredAreasPattern);
+      this.coveredAreaRows = null;
+      this.coveredAreaColumns = null;
+      return;
+    }
 
     isNonEmptyCollection(coveredAreas, "covered_areas cannot be null or empty");
     coveredAreas.forEach(area -> isNonEmptyCollection(area, "coordinates cannot be null or empty"));
+
+    this.pattern = null;
+    this.coveredAreaRows = new int[coveredAreas.size()][];
+    this.coveredAreaColumns = new int[coveredAreas.size()][];
+    parseCoveredAreas();
+  }
+
+  /**
+   * Converts covered areas to the index of {@link ScratchCard} matrix cells, where index of a cell is
+   * {@code row * columns + column}
+   *
+   * @param rows    number of {@link ScratchCard} matrix rows
+   * @param columns number of {@link ScratchCard} matrix columns
+   * @return cell indexes of each covered area
+   * @throws GameException if coordinates are not within matrix bounds
+   */
+  public int[][] toCellIndexes(int rows, int columns) {
+    if (pattern != null) {
+      return pattern.toCellIndexes(rows, columns);
+    }
+
+    var cellIndexes = new int[coveredAreaRows.length][];
+
+    for (int i = 0; i < coveredAreaRows.length; i++) {
+      cellIndexes[i] = new int[coveredAreaRows[i].length];
+
+      for (int j = 0; j < coveredAreaRows[i].length; j++) {
+        var row = coveredAreaRows[i][j];
+        var col = coveredAreaColumns[i][j];
+
+        // ensure coordinates falls within matrix dimension
+        isWithinBounds(row, col, rows, columns, "Coordinates [%d:%d] are not within bounds: ".formatted(row, col));
+
+        cellIndexes[i][j] = row * columns + col;
+      }
+    }
+
+    return cellIndexes;
   }
 
 
@@ -51,39 +137,56 @@ public class LinearSymbolsWinCombination extends WinCombination {
   @Override
   public Set<String> apply(ScratchCard scratchCard) {
     isNotNull(scratchCard, "Game Scratch Card cannot be null");
-    return findSymbolsInCoveredAreas(scratchCard.getMatrix(), coveredAreas);
+    return findSymbolsInCoveredAreas(scratchCard);
   }
 
-  private Set<String> findSymbolsInCoveredAreas(String[][] matrix, List<List<String>> coveredAreas) {
+  private Set<String> findSymbolsInCoveredAreas(ScratchCard scratchCard) {
     var symbols = new HashSet<String>();
 
+    var rows = scratchCard.getRows();
+    var columns = scratchCard.getColumns();
+    var bitboard = new SymbolBitboard(scratchCard);
+    var coveredAreaCells = toCellIndexes(rows, columns);
+    var coveredAreaMasks = SymbolBitboard.toMasks(coveredAreaCells, SymbolBitboard.wordCount(rows * columns));
+
+    // iterate over all the covered areas
+    for (int i = 0; i < coveredAreaCells.length; i++) {
+      var symbolId = scratchCard.getCells()[coveredAreaCells[i][0]];
+
+      // if same symbol has appeared in all matrix cells represented by this covered area then this symbol has
+      // fulfilled the criteria
+      if (symbolId != ScratchCard.EMPTY_CELL && bitboard.covers(symbolId, coveredAreaMasks, i)) {
+        symbols.add(scratchCard.getCompiledGameConfig().getSymbolName(symbolId));
+      }
+    }
+
+    // symbol(s) that were present in covered area(s)
+    return symbols;
+  }
+
+  private void parseCoveredAreas() {
     // iterate over list of all the covered areas
-    for (List<String> coveredArea : coveredAreas) {
-      var symbolsInCoveredArea = new HashSet<String>();
+    for (int i = 0; i < coveredAreas.size(); i++) {
+      var coveredArea = coveredAreas.get(i);
+      coveredAreaRows[i] = new int[coveredArea.size()];
+      coveredAreaColumns[i] = new int[coveredArea.size()];
 
       // iterate over list of matrix coordinates in this covered area
-      for (var area : coveredArea) {
+      for (int j = 0; j < coveredArea.size(); j++) {
+        var area = coveredArea.get(j);
+        isNotNull(area, "Incorrect coordinates: " + area);
+
         // split to get row and column number
         var coordinates = area.split(":");
         checkLength(coordinates, 2, "Incorrect coordinates: " + area);
 
-        var row = Integer.parseInt(coordinates[0]);
-        var col = Integer.parseInt(coordinates[1]);
-
-        // ensure coordinates falls within matrix dimension
-        isWithinBounds(row, col, matrix.length, matrix[0].length,
-          "Coordinates [%d:%d] are not within bounds: ".formatted(row, col));
-
-        symbolsInCoveredArea.add(matrix[row][col]);
-      }
-
-      // if same symbol has appeared in all matrix cells represented by this covered area then this symbol has fulfilled the criteria
-      if (symbolsInCoveredArea.size() == 1) {
-        symbols.add(symbolsInCoveredArea.stream().toList().get(0));
+        try {
+          coveredAreaRows[i][j] = Integer.parseInt(coordinates[0]);
+          coveredAreaColumns[i][j] = Integer.parseInt(coordinates[1]);
+        } catch (NumberFormatException e) {
+          throw new GameException("Incorrect coordinates: " + area, e);
+        }
       }
     }
-
-    // symbol(s) that were present in covered area(s)
-    return symbols;
   }
 }
@@ -5,12 +5,11 @@ import static com.cyberspeed.scratchgame.utils.Validation.isNotNull;
 
 import com.cyberspeed.scratchgame.ScratchCard;
 import com.cyberspeed.scratchgame.exceptions.GameException;
+import com.cyberspeed.scratchgame.utils.SymbolBitboard;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import java.util.Arrays;
-import java.util.Map;
+import java.util.HashSet;
 import java.util.Set;
-import java.util.stream.Collectors;
 import lombok.Getter;
 
 /**
@@ -49,9 +48,19 @@ public class SameSymbolsWinCombination extends WinCombination {
   public Set<String> apply(ScratchCard scratchCard) {
     isNotNull(scratchCard, "Game Scratch Card cannot be null");
 
-    // create a map between symbol and its count and then collect all symbols in to set if symbol count is equals to win combination count
-    return Arrays.stream(scratchCard.getMatrix()).flatMap(Arrays::stream)
-      .collect(Collectors.groupingBy(symbol -> symbol, Collectors.counting())).entrySet().stream()
-      .filter(entry -> entry.getValue() == count).map(Map.Entry::getKey).collect(Collectors.toSet());
+    var compiledGameConfig = scratchCard.getCompiledGameConfig();
+
+    // count of a symbol is the number of bits set in its occupancy mask, collect all symbols in to set if symbol count
+    // is equals to win combination count
+    var bitboard = new SymbolBitboard(scratchCard);
+
+    var symbols = new HashSet<String>();
+    for (int symbolId = 0; symbolId < compiledGameConfig.getSymbolCount(); symbolId++) {
+      if (bitboard.count(symbolId) == count) {
+        symbols.add(compiledGameConfig.getSymbolName(symbolId));
+      }
+    }
+
+    return symbols;
   }
 }
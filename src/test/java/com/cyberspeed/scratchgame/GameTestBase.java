@@ -2,6 +2,7 @@ package com.cyberspeed.scratchgame;
 
 import static org.mockito.Mockito.when;
 
+import com.cyberspeed.scratchgame.configs.CompiledGameConfig;
 import com.cyberspeed.scratchgame.configs.GameConfig;
 import com.cyberspeed.scratchgame.probabilities.BonusSymbolsProbability;
 import com.cyberspeed.scratchgame.probabilities.Probability;
@@ -36,6 +37,8 @@ public class GameTestBase {
     when(gameConfig.rows()).thenReturn(3);
     when(gameConfig.columns()).thenReturn(3);
 
+    // symbols added by a test are not kept for the next one
+    ALL_SYMBOLS.clear();
     ALL_SYMBOLS.put("A", new StandardSymbol(50));
     ALL_SYMBOLS.put("B", new StandardSymbol(25));
     ALL_SYMBOLS.put("C", new StandardSymbol(10));
@@ -94,4 +97,43 @@ public class GameTestBase {
       new LinearSymbolsWinCombination(2, "rtl_diagonally_linear_symbols", List.of(List.of("0:2", "1:1", "2:0"))));
     when(gameConfig.winCombinations()).thenReturn(WIN_COMBINATIONS);
   }
+
+  /**
+   * Copies the mocked game configuration into a {@link GameConfig} record, for tests that play many rounds and would
+   * otherwise record every call to the mock
+   */
+  protected GameConfig copyGameConfig() {
+    return new GameConfig(gameConfig.rows(), gameConfig.columns(), gameConfig.symbols(), gameConfig.probabilities(),
+      gameConfig.winCombinations());
+  }
+
+  /**
+   * Creates a Scratch card with the given matrix of symbols, the first bonus symbol on the matrix (if any) is the bonus
+   * symbol of the card
+   */
+  protected ScratchCard createScratchCard(String[][] matrix) {
+    return createScratchCard(new CompiledGameConfig(gameConfig), matrix);
+  }
+
+  /**
+   * Creates a Scratch card of the given compiled configuration with the given matrix of symbols, see
+   * {@link #createScratchCard(String[][])}
+   */
+  protected ScratchCard createScratchCard(CompiledGameConfig compiledGameConfig, String[][] matrix) {
+    var cells = new byte[matrix.length * matrix[0].length];
+    var bonusSymbolId = ScratchCard.NO_BONUS_SYMBOL;
+
+    for (int row = 0; row < matrix.length; row++) {
+      for (int column = 0; column < matrix[row].length; column++) {
+        var symbolId = compiledGameConfig.getSymbolId(matrix[row][column]);
+        cells[row * matrix[row].length + column] = (byte) symbolId;
+
+        if (bonusSymbolId == ScratchCard.NO_BONUS_SYMBOL && ALL_SYMBOLS.get(matrix[row][column]) instanceof BonusSymbol) {
+          bonusSymbolId = symbolId;
+        }
+      }
+    }
+
+    return new ScratchCard(compiledGameConfig, cells, bonusSymbolId);
+  }
 }
@@ -0,0 +1,88 @@
+package com.cyberspeed.scratchgame;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.cyberspeed.scratchgame.configs.CompiledGameConfig;
+import com.cyberspeed.scratchgame.exceptions.GameException;
+import com.cyberspeed.scratchgame.utils.RandomGenerators;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ScratchCardBatchTest extends GameTestBase {
+
+  @Test
+  void fill_populatesSameCardsAsScratchCards() {
+    var compiledGameConfig = new CompiledGameConfig(gameConfig);
+    var scratchCardBatch = new ScratchCardBatch(compiledGameConfig, 100);
+    scratchCardBatch.fill(RandomGenerators.create(42));
+
+    var random = RandomGenerators.create(42);
+    for (int card = 0; card < 100; card++) {
+      var scratchCard = new ScratchCard(compiledGameConfig, random);
+      var offset = scratchCardBatch.getCellOffset(card);
+
+      assertEquals(card * 9, offset);
+      assertArrayEquals(scratchCard.getCells(), Arrays.copyOfRange(scratchCardBatch.getCells(), offset, offset + 9));
+      assertEquals(scratchCard.getBonusSymbolId(), scratchCardBatch.getBonusSymbolId(card));
+      assertEquals(scratchCard, scratchCardBatch.getScratchCard(card));
+    }
+  }
+
+  @Test
+  void fill_populatesCardsInGivenArray() {
+    var compiledGameConfig = new CompiledGameConfig(gameConfig);
+    // 2 cards of 9 cells fit in 20 cells, the last 2 cells are not used
+    var cells = new byte[20];
+    var scratchCardBatch = new ScratchCardBatch(compiledGameConfig, cells);
+
+    scratchCardBatch.fill(RandomGenerators.create(7), 1);
+
+    assertSame(cells, scratchCardBatch.getCells());
+    assertEquals(2, scratchCardBatch.getCapacity());
+    assertEquals(1, scratchCardBatch.getSize());
+    assertArrayEquals(new ScratchCard(compiledGameConfig, RandomGenerators.create(7)).getCells(),
+      Arrays.copyOf(cells, 9));
+    assertThrows(IndexOutOfBoundsException.class, () -> scratchCardBatch.getBonusSymbolId(1));
+  }
+
+  @Test
+  void throwsException_whenCapacityIsNotGreaterThanZero() {
+    var compiledGameConfig = new CompiledGameConfig(gameConfig);
+
+    var exception = assertThrows(GameException.class, () -> new ScratchCardBatch(compiledGameConfig, 0));
+    assertEquals("Capacity of the batch must be greater than 0", exception.getMessage());
+  }
+
+  @Test
+  void throwsException_whenCellsCannotHoldCard() {
+    var compiledGameConfig = new CompiledGameConfig(gameConfig);
+
+    var exception = assertThrows(GameException.class, () -> new ScratchCardBatch(compiledGameConfig, new byte[8]));
+    assertEquals("Number of cells must be at least 9, but was: 8", exception.getMessage());
+  }
+
+  @Test
+  void throwsException_whenNumberOfCardsIsLargerThanCapacity() {
+    var scratchCardBatch = new ScratchCardBatch(new CompiledGameConfig(gameConfig), 2);
+
+    var exception = assertThrows(GameException.class, () -> scratchCardBatch.fill(RandomGenerators.create(), 3));
+    assertEquals("Number of cards must be between 1 and 2, but was: 3", exception.getMessage());
+  }
+
+  @Test
+  void throwsException_whenRandomGeneratorIsNull() {
+    var scratchCardBatch = new ScratchCardBatch(new CompiledGameConfig(gameConfig), 2);
+
+    var exception = assertThrows(GameException.class, () -> scratchCardBatch.fill(null));
+    assertEquals("Random generator cannot be null", exception.getMessage());
+  }
+}
@@ -1,11 +1,15 @@
 package com.cyberspeed.scratchgame;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.mockito.Mockito.times;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.verify;
 
+import com.cyberspeed.scratchgame.configs.CompiledGameConfig;
+import com.cyberspeed.scratchgame.exceptions.GameException;
+import com.cyberspeed.scratchgame.utils.RandomGenerators;
 import java.util.Arrays;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -32,12 +36,10 @@ class ScratchCardTest extends GameTestBase {
     var symbolsCount = Arrays.stream(matrix).flatMap(Arrays::stream).filter(ALL_SYMBOLS::containsKey).count();
     assertEquals(9, symbolsCount);
 
-    var getProbabilitiesCount = scratchCard.getBonusSymbol() == null ? 1 : 2;
-
-    // Verify config method calls
+    // Verify config method calls, probabilities are compiled once for all the cells
     verify(gameConfig).rows();
     verify(gameConfig).columns();
-    verify(gameConfig, times(getProbabilitiesCount)).probabilities(); // one for each symbol
+    verify(gameConfig).probabilities();
   }
 
   @Test
@@ -48,4 +50,42 @@ class ScratchCardTest extends GameTestBase {
     assertNotEquals(grid1, grid2);
   }
 
+  @Test
+  void sameSeedPopulatesSameGrid() {
+    var compiledGameConfig = new CompiledGameConfig(gameConfig);
+    var grid1 = new ScratchCard(compiledGameConfig, RandomGenerators.create(42));
+    var grid2 = new ScratchCard(compiledGameConfig, RandomGenerators.create(42));
+
+    assertEquals(grid1, grid2);
+    assertArrayEquals(grid1.getMatrix(), grid2.getMatrix());
+  }
+
+  @Test
+  void throwsException_whenRandomGeneratorIsNull() {
+    var compiledGameConfig = new CompiledGameConfig(gameConfig);
+
+    var exception = assertThrows(GameException.class, () -> new ScratchCard(compiledGameConfig, null));
+    assertEquals("Random generator cannot be null", exception.getMessage());
+  }
+
+  @Test
+  void constructsFromCells() {
+    String[][] matrix = {{"A", "B", "C"}, {"D", "E", "F"}, {"A", "+1000", "C"}};
+    var scratchCard = createScratchCard(matrix);
+
+    assertArrayEquals(matrix, scratchCard.getMatrix());
+    assertEquals("+1000", scratchCard.getBonusSymbol());
+    assertEquals(scratchCard.getCompiledGameConfig().getSymbolId("E"), scratchCard.getSymbolId(1, 1));
+    assertEquals(scratchCard.getCompiledGameConfig().getSymbolId("E"), scratchCard.getCells()[4]);
+  }
+
+  @Test
+  void throwsException_whenNumberOfCellsIsIncorrect() {
+    var compiledGameConfig = new CompiledGameConfig(gameConfig);
+
+    var exception = assertThrows(GameException.class,
+      () -> new ScratchCard(compiledGameConfig, new byte[8], ScratchCard.NO_BONUS_SYMBOL));
+    assertEquals("Number of cells must be 9, but was: 8", exception.getMessage());
+  }
+
 }
@@ -1,16 +1,29 @@
 package com.cyberspeed.scratchgame;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.cyberspeed.scratchgame.configs.CompiledGameConfig;
+import com.cyberspeed.scratchgame.exceptions.GameException;
+import com.cyberspeed.scratchgame.metrics.GameMetrics;
+import com.cyberspeed.scratchgame.utils.RandomGenerators;
 import com.cyberspeed.scratchgame.utils.RewardCalculator;
 import com.cyberspeed.scratchgame.utils.WinCombinationFinder;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -24,6 +37,7 @@ import org.mockito.quality.Strictness;
 @MockitoSettings(strictness = Strictness.LENIENT)
 public class ScratchGameTest extends GameTestBase {
 
+  private CompiledGameConfig compiledGameConfig;
   private ScratchGame scratchGame;
   @Mock
   private ScratchCard scratchCard;
@@ -34,8 +48,9 @@ public class ScratchGameTest extends GameTestBase {
 
   @BeforeEach
   public void setup() throws IllegalAccessException {
-    scratchGame = new ScratchGame(gameConfig);
-    setPrivateField(scratchGame, "scratchCard", scratchCard);
+    compiledGameConfig = new CompiledGameConfig(gameConfig);
+    scratchGame = new ScratchGame(compiledGameConfig);
+    when(scratchCard.getCompiledGameConfig()).thenReturn(compiledGameConfig);
     setPrivateField(scratchGame, "winCombinationFinder", winCombinationFinder);
     setPrivateField(scratchGame, "rewardCalculator", rewardCalculator);
   }
@@ -44,29 +59,131 @@ public class ScratchGameTest extends GameTestBase {
   void play_verifyOutput() {
     String[][] matrix = {{"A", "A", "A"}, {"X", "B", "X"}, {"B", "B", "Y"}};
     Map<String, Set<String>> winningCombinations = new HashMap<>();
+    var winningCombinationIds = new int[0];
 
     when(scratchCard.getMatrix()).thenReturn(matrix);
     when(scratchCard.getBonusSymbol()).thenReturn("+1000");
     when(scratchCard.getMatrix()).thenReturn(matrix);
-    when(winCombinationFinder.find(scratchCard, gameConfig.winCombinations())).thenReturn(winningCombinations);
-    when(rewardCalculator.calculate(gameConfig, 100, "+1000", winningCombinations)).thenReturn(2500.00);
+    when(scratchCard.getBonusSymbolId()).thenReturn(7);
+    when(winCombinationFinder.findIds(eq(scratchCard), any(CompiledGameConfig.class))).thenReturn(
+      winningCombinationIds);
+    when(winCombinationFinder.toNames(eq(winningCombinationIds), any(CompiledGameConfig.class))).thenReturn(
+      winningCombinations);
+    when(rewardCalculator.calculate(any(CompiledGameConfig.class), eq(100), eq(7), eq(winningCombinationIds)))
+      .thenReturn(2500.00);
 
-    var actualGameOutput = scratchGame.play(100);
+    var actualGameOutput = scratchGame.play(100, scratchCard);
 
-    verify(scratchCard).getMatrix();
-    verify(winCombinationFinder).find(scratchCard, gameConfig.winCombinations());
-    verify(rewardCalculator).calculate(gameConfig, 100, "+1000", winningCombinations);
-    verify(scratchCard, times(2)).getBonusSymbol(); //
+    // matrix is only built when it is requested from the output
+    verify(scratchCard, never()).getMatrix();
+    verify(winCombinationFinder).findIds(eq(scratchCard), any(CompiledGameConfig.class));
+    verify(rewardCalculator).calculate(any(CompiledGameConfig.class), eq(100), eq(7), eq(winningCombinationIds));
+    verify(scratchCard, times(1)).getBonusSymbol();
 
     assertNotNull(actualGameOutput);
     assertEquals(2500, actualGameOutput.getReward());
     assertEquals(matrix, actualGameOutput.getMatrix());
+    verify(scratchCard).getMatrix();
     assertEquals(winningCombinations, actualGameOutput.getAppliedWinningCombinations());
     assertEquals("+1000", actualGameOutput.getAppliedBonusSymbol());
 
     System.out.println();
   }
 
+  @Test
+  void play_createsNewScratchCardForEveryRound() {
+    var game = new ScratchGame(copyGameConfig());
+    var random = RandomGenerators.create(1);
+
+    var firstOutput = game.play(100, random);
+    var firstMatrix = firstOutput.getMatrix();
+    var secondOutput = game.play(100, random);
+
+    // the card of the first round is not reused by the second one
+    assertArrayEquals(firstMatrix, firstOutput.getMatrix());
+    assertFalse(Arrays.deepEquals(firstMatrix, secondOutput.getMatrix()));
+  }
+
+  @Test
+  void play_outputBuildsMatrixWithoutKeepingIt() {
+    var compiledGameConfig = new CompiledGameConfig(copyGameConfig());
+    var output = new ScratchGame(compiledGameConfig).play(100, RandomGenerators.create(1));
+
+    // the output is not modified when its matrix is requested, e.g. by a thread serializing it
+    var matrix = output.getMatrix();
+    assertArrayEquals(new ScratchCard(compiledGameConfig, RandomGenerators.create(1)).getMatrix(), matrix);
+    assertNotSame(matrix, output.getMatrix());
+  }
+
+  @Test
+  void play_sameSeedPlaysSameRound() {
+    var game = new ScratchGame(copyGameConfig());
+
+    var firstOutput = game.play(100, RandomGenerators.create(1));
+    var secondOutput = game.play(100, RandomGenerators.create(1));
+
+    assertArrayEquals(firstOutput.getMatrix(), secondOutput.getMatrix());
+    assertEquals(firstOutput.getReward(), secondOutput.getReward());
+    assertEquals(firstOutput.getAppliedWinningCombinations(), secondOutput.getAppliedWinningCombinations());
+  }
+
+  @Test
+  void play_instrumentedGamePlaysSameRound() {
+    var game = new ScratchGame(copyGameConfig());
+    var gameMetrics = new GameMetrics();
+    var instrumentedGame = new ScratchGame(new CompiledGameConfig(copyGameConfig()), gameMetrics);
+
+    for (int seed = 0; seed < 100; seed++) {
+      var output = game.play(100, RandomGenerators.create(seed));
+      var instrumentedOutput = instrumentedGame.play(100, RandomGenerators.create(seed));
+
+      assertArrayEquals(output.getMatrix(), instrumentedOutput.getMatrix());
+      assertEquals(output.getReward(), instrumentedOutput.getReward());
+      assertEquals(output.getAppliedWinningCombinations(), instrumentedOutput.getAppliedWinningCombinations());
+      assertEquals(output.getAppliedBonusSymbol(), instrumentedOutput.getAppliedBonusSymbol());
+    }
+    assertEquals(100, gameMetrics.getRounds());
+  }
+
+  @Test
+  void play_searchesWinCombinationsWithGivenFinder() {
+    var compiledGameConfig = new CompiledGameConfig(copyGameConfig());
+    var game = new ScratchGame(compiledGameConfig, null, WinCombinationFinder.sequential());
+    var splittingGame = new ScratchGame(compiledGameConfig, null,
+      new WinCombinationFinder(ForkJoinPool.commonPool(), 0));
+
+    for (int seed = 0; seed < 100; seed++) {
+      var output = game.play(100, RandomGenerators.create(seed));
+      var splittingOutput = splittingGame.play(100, RandomGenerators.create(seed));
+
+      assertEquals(output.getReward(), splittingOutput.getReward());
+      assertEquals(output.getAppliedWinningCombinations(), splittingOutput.getAppliedWinningCombinations());
+    }
+  }
+
+  @Test
+  void throwsException_whenWinCombinationFinderIsNull() {
+    var compiledGameConfig = new CompiledGameConfig(copyGameConfig());
+    var exception = assertThrows(GameException.class, () -> new ScratchGame(compiledGameConfig, null, null));
+    assertEquals("Win combination finder cannot be null", exception.getMessage());
+  }
+
+  @Test
+  void throwsException_whenScratchCardIsCreatedFromAnotherConfig() {
+    // e.g. a card created before the configuration of the game was reloaded
+    var otherScratchCard = new ScratchCard(new CompiledGameConfig(copyGameConfig()), RandomGenerators.create(1));
+
+    var exception = assertThrows(GameException.class, () -> scratchGame.play(100, otherScratchCard));
+    assertEquals("Game Scratch Card was not created from the config of the game", exception.getMessage());
+    verify(winCombinationFinder, never()).findIds(any(ScratchCard.class), any(CompiledGameConfig.class));
+  }
+
+  @Test
+  void throwsException_whenScratchCardIsNull() {
+    var exception = assertThrows(GameException.class, () -> scratchGame.play(100, (ScratchCard) null));
+    assertEquals("Game Scratch Card cannot be null", exception.getMessage());
+  }
+
   private void setPrivateField(ScratchGame scratchGame, String fieldName, Object newField)
     throws IllegalAccessException {
     var field = ReflectionUtils.findFields(ScratchGame.class, f -> f.getName().equals(fieldName),
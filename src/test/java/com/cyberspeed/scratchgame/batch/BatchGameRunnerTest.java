@@ -0,0 +1,169 @@
+package com.cyberspeed.scratchgame.batch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.cyberspeed.scratchgame.GameTestBase;
+import com.cyberspeed.scratchgame.ScratchGame;
+import com.cyberspeed.scratchgame.exceptions.GameException;
+import com.cyberspeed.scratchgame.utils.RandomGenerators;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class BatchGameRunnerTest extends GameTestBase {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private BatchGameRunner batchGameRunner;
+
+  @BeforeEach
+  void createRunner() {
+    batchGameRunner = new BatchGameRunner(new ScratchGame(copyGameConfig()));
+  }
+
+  @Test
+  void run_writesOneLinePerRequest_inRequestOrder() throws Exception {
+    var requests = new StringBuilder();
+    for (int i = 1; i <= 1000; i++) {
+      requests.append("{\"bet_amount\":").append(i % 3 == 0 ? 0 : 100).append("}\n");
+    }
+
+    var lines = run(requests.toString(), 3, 7);
+
+    assertEquals(1000, lines.length);
+    for (int i = 1; i <= 1000; i++) {
+      assertTrue(lines[i - 1].startsWith("{"));
+      var output = OBJECT_MAPPER.readTree(lines[i - 1]);
+      if (i % 3 == 0) {
+        assertEquals("Betting amount must be greater than zero", output.get("error").asText());
+      } else {
+        assertTrue(output.has("matrix"));
+        assertTrue(output.has("reward"));
+      }
+    }
+  }
+
+  @Test
+  void run_sameSeedWritesSameOutput_withAnyNumberOfThreads() {
+    var requests = "{\"bet_amount\":100}\n".repeat(500);
+
+    var lines1 = run(requests, 1, 7);
+    var lines2 = run(requests, 4, 7);
+
+    assertEquals(String.join("\n", lines1), String.join("\n", lines2));
+  }
+
+  @Test
+  void run_withEmptyInput() {
+    var output = new ByteArrayOutputStream();
+
+    var requests = batchGameRunner.run(new ByteArrayInputStream(new byte[0]), output, 2, RandomGenerators.create(7));
+
+    assertEquals(0, requests);
+    assertEquals(0, output.size());
+  }
+
+  @Test
+  void run_writesErrorLine_whenRequestInTheMiddleIsMalformed() throws Exception {
+    var requests = new StringBuilder();
+    var fixedRequests = new StringBuilder();
+    for (int i = 1; i <= 300; i++) {
+      requests.append(i == 150 ? "{\"bet_amount\":" : i == 151 ? "null" : "{\"bet_amount\":100}").append("\n");
+      fixedRequests.append("{\"bet_amount\":100}\n");
+    }
+
+    var lines = run(requests.toString(), 2, 7);
+    var fixedLines = run(fixedRequests.toString(), 2, 7);
+
+    // the rounds in flight and the ones after the malformed requests are written, as if the requests were valid
+    assertEquals(300, lines.length);
+    assertEquals("Unable to parse batch request 150", OBJECT_MAPPER.readTree(lines[149]).get("error").asText());
+    assertEquals("Unable to parse batch request 151", OBJECT_MAPPER.readTree(lines[150]).get("error").asText());
+    for (int i = 1; i <= 300; i++) {
+      if (i != 150 && i != 151) {
+        assertEquals(fixedLines[i - 1], lines[i - 1]);
+      }
+    }
+  }
+
+  @Test
+  void run_writesErrorLine_whenRequestHasTrailingContent() throws Exception {
+    var lines = run("{\"bet_amount\":100} {\"bet_amount\":100}\n\n{\"bet_amount\":100}\n", 1, 7);
+
+    assertEquals(2, lines.length);
+    assertEquals("Unable to parse batch request 1", OBJECT_MAPPER.readTree(lines[0]).get("error").asText());
+    assertTrue(OBJECT_MAPPER.readTree(lines[1]).has("matrix"));
+  }
+
+  @Test
+  void throwsGameException_whenInputCannotBeRead_afterWritingRoundsReadBefore() {
+    var input = new SequenceInputStream(
+      new ByteArrayInputStream("{\"bet_amount\":100}\n{\"bet_amount\":100}\n".getBytes(StandardCharsets.UTF_8)),
+      new InputStream() {
+        @Override
+        public int read() throws IOException {
+          throw new IOException("Disk failure");
+        }
+      });
+    var output = new ByteArrayOutputStream();
+
+    var exception = assertThrows(GameException.class,
+      () -> batchGameRunner.run(input, output, 2, RandomGenerators.create(7)));
+    assertEquals("Unable to read batch request 3", exception.getMessage());
+    assertEquals(2, output.toString(StandardCharsets.UTF_8).split("\n").length);
+  }
+
+  @Test
+  void throwsGameException_whenOutputCannotBeWritten() {
+    var input = new ByteArrayInputStream("{\"bet_amount\":100}\n".getBytes(StandardCharsets.UTF_8));
+    var output = new OutputStream() {
+      @Override
+      public void write(int b) throws IOException {
+        throw new IOException("Disk full");
+      }
+    };
+
+    var exception = assertThrows(GameException.class,
+      () -> batchGameRunner.run(input, output, 2, RandomGenerators.create(7)));
+    assertEquals("Unable to write batch output", exception.getMessage());
+  }
+
+  @Test
+  void throwsGameException_whenThreadsIsNotGreaterThanZero() {
+    var input = new ByteArrayInputStream(new byte[0]);
+
+    var exception = assertThrows(GameException.class,
+      () -> batchGameRunner.run(input, new ByteArrayOutputStream(), 0, RandomGenerators.create(7)));
+    assertEquals("Number of threads must be greater than 0", exception.getMessage());
+  }
+
+  @Test
+  void throwsGameException_whenScratchGameIsNull() {
+    var exception = assertThrows(GameException.class, () -> new BatchGameRunner(null));
+    assertEquals("Scratch Game cannot be null", exception.getMessage());
+  }
+
+  private String[] run(String requests, int threads, long seed) {
+    var input = new ByteArrayInputStream(requests.getBytes(StandardCharsets.UTF_8));
+    var output = new ByteArrayOutputStream();
+
+    batchGameRunner.run(input, output, threads, RandomGenerators.create(seed));
+
+    return output.toString(StandardCharsets.UTF_8).split("\n");
+  }
+}
@@ -0,0 +1,213 @@
+package com.cyberspeed.scratchgame.config;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.cyberspeed.scratchgame.ScratchGame;
+import com.cyberspeed.scratchgame.configs.CompiledGameConfig;
+import com.cyberspeed.scratchgame.configs.CompiledGameConfigCache;
+import com.cyberspeed.scratchgame.exceptions.GameException;
+import com.cyberspeed.scratchgame.probabilities.SymbolSampler;
+import com.cyberspeed.scratchgame.utils.RandomGenerators;
+import com.cyberspeed.scratchgame.wincombinations.LinearSymbolsWinCombination;
+import com.cyberspeed.scratchgame.wincombinations.SameSymbolsWinCombination;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CompiledGameConfigCacheTest {
+
+  private static final String CONFIG_FILE = "config.json";
+
+  @TempDir
+  Path cacheDirectory;
+
+  @Test
+  void load_compilesConfigAndWritesCacheFile() throws IOException {
+    var cache = new CompiledGameConfigCache(cacheDirectory);
+
+    var compiledGameConfig = cache.load(CONFIG_FILE);
+
+    assertNotNull(compiledGameConfig);
+    assertTrue(Files.isRegularFile(cacheFile(cache)));
+  }
+
+  @Test
+  void load_readsCompiledConfigFromCacheFile() throws IOException {
+    var cache = new CompiledGameConfigCache(cacheDirectory);
+    var compiledGameConfig = cache.load(CONFIG_FILE);
+    var lastModifiedTime = Files.getLastModifiedTime(cacheFile(cache));
+
+    var cachedGameConfig = cache.load(CONFIG_FILE);
+
+    // a configuration read from the cache is not compiled and written again
+    assertEquals(lastModifiedTime, Files.getLastModifiedTime(cacheFile(cache)));
+    assertSameCompiledForm(compiledGameConfig, cachedGameConfig);
+  }
+
+  @Test
+  void load_playsSameRounds_whenCompiledConfigIsReadFromCacheFile() {
+    var cache = new CompiledGameConfigCache(cacheDirectory);
+    var scratchGame = new ScratchGame(cache.load(CONFIG_FILE));
+    var cachedScratchGame = new ScratchGame(cache.load(CONFIG_FILE));
+    var random = RandomGenerators.create(42);
+    var cachedRandom = RandomGenerators.create(42);
+
+    for (int round = 0; round < 1000; round++) {
+      var gameOutput = scratchGame.play(100, random);
+      var cachedGameOutput = cachedScratchGame.play(100, cachedRandom);
+
+      assertArrayEquals(gameOutput.getMatrix(), cachedGameOutput.getMatrix());
+      assertEquals(gameOutput.getReward(), cachedGameOutput.getReward());
+      assertEquals(gameOutput.getAppliedWinningCombinations(), cachedGameOutput.getAppliedWinningCombinations());
+      assertEquals(gameOutput.getAppliedBonusSymbol(), cachedGameOutput.getAppliedBonusSymbol());
+    }
+  }
+
+  @Test
+  void load_compilesConfigAgain_whenCacheFileIsTruncated() throws IOException {
+    var cache = new CompiledGameConfigCache(cacheDirectory);
+    cache.load(CONFIG_FILE);
+    var cacheFile = cacheFile(cache);
+    var content = Files.readAllBytes(cacheFile);
+    Files.write(cacheFile, Arrays.copyOf(content, content.length / 2));
+
+    var compiledGameConfig = cache.load(CONFIG_FILE);
+
+    assertSameCompiledForm(cache.load(CONFIG_FILE), compiledGameConfig);
+    assertArrayEquals(content, Files.readAllBytes(cacheFile));
+  }
+
+  @Test
+  void load_compilesConfigAgain_whenCacheFileHasAnotherVersion() throws IOException {
+    var cache = new CompiledGameConfigCache(cacheDirectory);
+    cache.load(CONFIG_FILE);
+    var cacheFile = cacheFile(cache);
+    var content = Files.readAllBytes(cacheFile);
+    var otherVersion = content.clone();
+    ByteBuffer.wrap(otherVersion).putInt(Integer.BYTES, CompiledGameConfigCache.FORMAT_VERSION + 1);
+    Files.write(cacheFile, otherVersion);
+
+    var compiledGameConfig = cache.load(CONFIG_FILE);
+
+    assertSameCompiledForm(cache.load(CONFIG_FILE), compiledGameConfig);
+    assertArrayEquals(content, Files.readAllBytes(cacheFile));
+  }
+
+  @Test
+  void load_compilesConfigAgain_whenConfigFileChanges() throws IOException {
+    var configFile = cacheDirectory.resolve("config.json");
+    Files.writeString(configFile, Files.readString(Path.of(CONFIG_FILE)));
+    var cache = new CompiledGameConfigCache(cacheDirectory);
+    cache.load(configFile.toString());
+
+    Files.writeString(configFile, Files.readString(Path.of(CONFIG_FILE)).replace("\"rows\": 3", "\"rows\": 4"));
+    var compiledGameConfig = cache.load(configFile.toString());
+
+    assertEquals(4, compiledGameConfig.getRows());
+    assertNotEquals(cache.getCacheFile(Files.readAllBytes(Path.of(CONFIG_FILE))),
+      cache.getCacheFile(Files.readAllBytes(configFile)));
+  }
+
+  @Test
+  void load_throwsException_whenConfigFileDoesntExist() {
+    var cache = new CompiledGameConfigCache(cacheDirectory);
+
+    var exception = assertThrows(GameException.class, () -> cache.load("invalid-file"));
+
+    assertEquals("Unable to parse configuration file", exception.getMessage());
+    assertNotNull(exception.getCause(), "The GameException should have thrown with a throwable root cause");
+  }
+
+  @Test
+  void throwsException_whenDirectoryIsNull() {
+    var exception = assertThrows(GameException.class, () -> new CompiledGameConfigCache(null));
+    assertEquals("Cache directory cannot be null", exception.getMessage());
+  }
+
+  private static Path cacheFile(CompiledGameConfigCache cache) throws IOException {
+    return cache.getCacheFile(Files.readAllBytes(Path.of(CONFIG_FILE)));
+  }
+
+  private static void assertSameCompiledForm(CompiledGameConfig expected, CompiledGameConfig actual) {
+    assertEquals(expected.getRows(), actual.getRows());
+    assertEquals(expected.getColumns(), actual.getColumns());
+    assertEquals(expected.getMaskWords(), actual.getMaskWords());
+
+    assertEquals(expected.getSymbolCount(), actual.getSymbolCount());
+    for (int symbolId = 0; symbolId < expected.getSymbolCount(); symbolId++) {
+      assertEquals(expected.getSymbolName(symbolId), actual.getSymbolName(symbolId));
+      assertEquals(symbolId, actual.getSymbolId(expected.getSymbolName(symbolId)));
+      assertEquals(expected.getSymbolRewardMultiplier(symbolId), actual.getSymbolRewardMultiplier(symbolId));
+      assertEquals(expected.getBonusImpact(symbolId), actual.getBonusImpact(symbolId));
+      assertEquals(expected.getBonusExtra(symbolId), actual.getBonusExtra(symbolId));
+    }
+
+    for (int cell = 0; cell < expected.getRows() * expected.getColumns(); cell++) {
+      assertSameSampler(expected.getStandardSymbolSampler(cell), actual.getStandardSymbolSampler(cell));
+      // cells share the same samplers
+      assertEquals(expected.getStandardSymbolSampler(cell) == expected.getStandardSymbolSampler(0),
+        actual.getStandardSymbolSampler(cell) == actual.getStandardSymbolSampler(0));
+    }
+    assertEquals(expected.getDistinctStandardSymbolSamplerCount(), actual.getDistinctStandardSymbolSamplerCount());
+    assertSameSampler(expected.getBonusSymbolSampler(), actual.getBonusSymbolSampler());
+
+    assertEquals(expected.getWinCombinationCount(), actual.getWinCombinationCount());
+    assertEquals(expected.getLinearWinCombinationCost(), actual.getLinearWinCombinationCost());
+    assertEquals(expected.getWinCombinationGroupCount(), actual.getWinCombinationGroupCount());
+    for (int id = 0; id < expected.getWinCombinationCount(); id++) {
+      assertEquals(expected.getWinCombinationName(id), actual.getWinCombinationName(id));
+      assertEquals(id, actual.getWinCombinationId(expected.getWinCombinationName(id)));
+      assertEquals(expected.getWinCombinationGroupId(id), actual.getWinCombinationGroupId(id));
+      assertEquals(expected.getWinCombinationRewardMultiplier(id), actual.getWinCombinationRewardMultiplier(id));
+      assertEquals(expected.getSameSymbolCount(id), actual.getSameSymbolCount(id));
+      assertArrayEquals(expected.getCoveredAreaCells(id), actual.getCoveredAreaCells(id));
+      assertArrayEquals(expected.getCoveredAreaMasks(id), actual.getCoveredAreaMasks(id));
+      for (int otherId = 0; otherId < expected.getWinCombinationCount(); otherId++) {
+        assertEquals(expected.isBetterWinCombination(id, otherId), actual.isBetterWinCombination(id, otherId));
+      }
+
+      // win combinations are created again from the compiled form
+      var winCombination = expected.getWinCombination(id);
+      var cachedWinCombination = actual.getWinCombination(id);
+      assertEquals(winCombination.getClass(), cachedWinCombination.getClass());
+      assertEquals(winCombination.getGroup(), cachedWinCombination.getGroup());
+      assertEquals(winCombination.getRewardMultiplier(), cachedWinCombination.getRewardMultiplier());
+      if (winCombination instanceof SameSymbolsWinCombination sameSymbolsWinCombination) {
+        assertEquals(sameSymbolsWinCombination.getCount(),
+          ((SameSymbolsWinCombination) cachedWinCombination).getCount());
+      } else {
+        assertEquals(((LinearSymbolsWinCombination) winCombination).getCoveredAreas(),
+          ((LinearSymbolsWinCombination) cachedWinCombination).getCoveredAreas());
+      }
+    }
+    assertArrayEquals(expected.getLinearWinCombinationIds(), actual.getLinearWinCombinationIds());
+    for (int count = 0; count <= expected.getRows() * expected.getColumns(); count++) {
+      assertArrayEquals(expected.getSameSymbolWinCombinationIds(count), actual.getSameSymbolWinCombinationIds(count));
+    }
+  }
+
+  private static void assertSameSampler(SymbolSampler expected, SymbolSampler actual) {
+    if (expected == null) {
+      assertNull(actual);
+      return;
+    }
+
+    assertEquals(expected.size(), actual.size());
+    assertEquals(expected.getTotalProbability(), actual.getTotalProbability());
+    for (int index = 0; index < expected.size(); index++) {
+      assertEquals(expected.getSymbol(index), actual.getSymbol(index));
+      assertEquals(expected.getSymbolId(index), actual.getSymbolId(index));
+      assertEquals(expected.getProbability(index), actual.getProbability(index));
+    }
+  }
+}
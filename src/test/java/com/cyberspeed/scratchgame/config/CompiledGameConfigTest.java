@@ -0,0 +1,205 @@
+package com.cyberspeed.scratchgame.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import com.cyberspeed.scratchgame.GameTestBase;
+import com.cyberspeed.scratchgame.configs.CompiledGameConfig;
+import com.cyberspeed.scratchgame.exceptions.GameException;
+import com.cyberspeed.scratchgame.probabilities.DefaultStandardSymbolsProbability;
+import com.cyberspeed.scratchgame.probabilities.StandardSymbolsProbability;
+import com.cyberspeed.scratchgame.symbols.BonusImpact;
+import com.cyberspeed.scratchgame.symbols.BonusSymbol;
+import com.cyberspeed.scratchgame.wincombinations.LinearSymbolsWinCombination;
+import com.cyberspeed.scratchgame.wincombinations.SameSymbolsWinCombination;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class CompiledGameConfigTest extends GameTestBase {
+
+  @Test
+  void compilesCorrectly() {
+    var compiledConfig = new CompiledGameConfig(gameConfig);
+
+    assertEquals(3, compiledConfig.getRows());
+    assertEquals(3, compiledConfig.getColumns());
+    assertEquals(21, compiledConfig.getStandardSymbolSampler(2, 2).getTotalProbability());
+    assertEquals(15, compiledConfig.getBonusSymbolSampler().getTotalProbability());
+    // 3 rows, 3 columns and 2 diagonals of one mask word each
+    assertEquals(8, compiledConfig.getLinearAreaCount());
+    assertEquals(8, compiledConfig.getLinearWinCombinationCost());
+  }
+
+  @Test
+  void compiles_cellWithoutProbabilities() {
+    when(probability.standardSymbolsProbabilities()).thenReturn(
+      List.of(new StandardSymbolsProbability(0, 0, STANDARD_SYMBOLS_PROBABILITIES)));
+
+    var compiledConfig = new CompiledGameConfig(gameConfig);
+
+    assertNotNull(compiledConfig.getStandardSymbolSampler(0, 0));
+    assertNull(compiledConfig.getStandardSymbolSampler(1, 1));
+  }
+
+  @Test
+  void compiles_sharedSamplerOfIdenticalProbabilities() {
+    var compiledConfig = new CompiledGameConfig(gameConfig);
+
+    assertEquals(1, compiledConfig.getDistinctStandardSymbolSamplerCount());
+    assertSame(compiledConfig.getStandardSymbolSampler(0, 0), compiledConfig.getStandardSymbolSampler(2, 2));
+  }
+
+  @Test
+  void compiles_defaultProbabilitiesOfCellsNotListed() {
+    when(probability.standardSymbolsProbabilities()).thenReturn(
+      List.of(new StandardSymbolsProbability(0, 0, Map.of("A", 1, "B", 1))));
+    when(probability.defaultStandardSymbolsProbability()).thenReturn(
+      new DefaultStandardSymbolsProbability(STANDARD_SYMBOLS_PROBABILITIES));
+
+    var compiledConfig = new CompiledGameConfig(gameConfig);
+
+    assertEquals(2, compiledConfig.getDistinctStandardSymbolSamplerCount());
+    assertEquals(2, compiledConfig.getStandardSymbolSampler(0, 0).getTotalProbability());
+    assertEquals(21, compiledConfig.getStandardSymbolSampler(1, 1).getTotalProbability());
+    assertSame(compiledConfig.getStandardSymbolSampler(0, 1), compiledConfig.getStandardSymbolSampler(2, 2));
+  }
+
+  @Test
+  void throwsException_whenConfigIsNull() {
+    var exception = assertThrows(GameException.class, () -> new CompiledGameConfig(null));
+    assertEquals("Config cannot be null", exception.getMessage());
+  }
+
+  @Test
+  void throwsException_whenProbabilityIsNotWithinBounds() {
+    when(probability.standardSymbolsProbabilities()).thenReturn(
+      List.of(new StandardSymbolsProbability(3, 0, STANDARD_SYMBOLS_PROBABILITIES)));
+
+    var exception = assertThrows(GameException.class, () -> new CompiledGameConfig(gameConfig));
+    assertEquals("Standard Symbol probability [3:0] is not within bounds", exception.getMessage());
+  }
+
+  @Test
+  void compiles_symbolIds() {
+    var compiledConfig = new CompiledGameConfig(gameConfig);
+
+    assertEquals(ALL_SYMBOLS.size(), compiledConfig.getSymbolCount());
+    for (int id = 0; id < compiledConfig.getSymbolCount(); id++) {
+      assertEquals(id, compiledConfig.getSymbolId(compiledConfig.getSymbolName(id)));
+    }
+    assertEquals(-1, compiledConfig.getSymbolId("unknown"));
+  }
+
+  @Test
+  void compiles_winCombinations() {
+    var compiledConfig = new CompiledGameConfig(gameConfig);
+
+    assertEquals(WIN_COMBINATIONS.size(), compiledConfig.getWinCombinationCount());
+    for (int id = 0; id < compiledConfig.getWinCombinationCount(); id++) {
+      var winCombination = WIN_COMBINATIONS.get(compiledConfig.getWinCombinationName(id));
+      assertEquals(winCombination, compiledConfig.getWinCombination(id));
+
+      // only linear win combinations have covered areas
+      if (winCombination instanceof LinearSymbolsWinCombination) {
+        assertNotNull(compiledConfig.getCoveredAreaCells(id));
+        assertNotNull(compiledConfig.getCoveredAreaMasks(id));
+        assertEquals(0, compiledConfig.getSameSymbolCount(id));
+      } else {
+        assertNull(compiledConfig.getCoveredAreaCells(id));
+        assertNull(compiledConfig.getCoveredAreaMasks(id));
+        assertEquals(((SameSymbolsWinCombination) winCombination).getCount(), compiledConfig.getSameSymbolCount(id));
+      }
+    }
+  }
+
+  @Test
+  void compiles_sameSymbolWinCombinationsByCount() {
+    when(gameConfig.winCombinations()).thenReturn(Map.of(
+      "same_symbol_3_times", new SameSymbolsWinCombination(1, "same_symbols", 3),
+      "same_symbol_3_times_bis", new SameSymbolsWinCombination(2, "same_symbols_bis", 3),
+      "same_symbol_3_times_low", new SameSymbolsWinCombination(0.5, "same_symbols", 3),
+      "same_symbol_10_times", new SameSymbolsWinCombination(5, "same_symbols", 10),
+      "same_symbols_horizontally", new LinearSymbolsWinCombination(2, "horizontally_linear_symbols",
+        List.of(List.of("0:0", "0:1", "0:2")))));
+
+    var compiledConfig = new CompiledGameConfig(gameConfig);
+
+    assertEquals(0, compiledConfig.getSameSymbolWinCombinationIds(0).length);
+    assertEquals(0, compiledConfig.getSameSymbolWinCombinationIds(2).length);
+    var ids = compiledConfig.getSameSymbolWinCombinationIds(3);
+    assertEquals(2, ids.length);
+    // only the best win combination of the same_symbols group is kept
+    for (int id : ids) {
+      assertEquals(3, compiledConfig.getSameSymbolCount(id));
+      assertNotEquals("same_symbol_3_times_low", compiledConfig.getWinCombinationName(id));
+    }
+    // a 3x3 matrix can never have a symbol 10 times
+    assertEquals(0, compiledConfig.getSameSymbolWinCombinationIds(9).length);
+  }
+
+  @Test
+  void compiles_winCombinationGroupsAndRanks() {
+    var compiledConfig = new CompiledGameConfig(gameConfig);
+    var sameSymbol3Times = compiledConfig.getWinCombinationId("same_symbol_3_times");
+    var sameSymbol9Times = compiledConfig.getWinCombinationId("same_symbol_9_times");
+    var horizontally = compiledConfig.getWinCombinationId("same_symbols_horizontally");
+
+    // same_symbols, horizontally, vertically and the two diagonal groups
+    assertEquals(5, compiledConfig.getWinCombinationGroupCount());
+    assertEquals(compiledConfig.getWinCombinationGroupId(sameSymbol3Times),
+      compiledConfig.getWinCombinationGroupId(sameSymbol9Times));
+    assertNotEquals(compiledConfig.getWinCombinationGroupId(sameSymbol3Times),
+      compiledConfig.getWinCombinationGroupId(horizontally));
+    assertTrue(compiledConfig.isBetterWinCombination(sameSymbol9Times, sameSymbol3Times));
+    assertFalse(compiledConfig.isBetterWinCombination(sameSymbol3Times, sameSymbol9Times));
+    assertEquals(4, compiledConfig.getLinearWinCombinationIds().length);
+  }
+
+  @Test
+  void compiles_rewardMultipliersAndBonusImpacts() {
+    var compiledConfig = new CompiledGameConfig(gameConfig);
+
+    assertEquals(50, compiledConfig.getSymbolRewardMultiplier(compiledConfig.getSymbolId("A")));
+    assertEquals(2, compiledConfig.getWinCombinationRewardMultiplier(
+      compiledConfig.getWinCombinationId("same_symbols_horizontally")));
+    assertEquals(BonusImpact.MULTIPLY_REWARD, compiledConfig.getBonusImpact(compiledConfig.getSymbolId("10x")));
+    assertEquals(BonusImpact.EXTRA_BONUS, compiledConfig.getBonusImpact(compiledConfig.getSymbolId("+1000")));
+    assertEquals(1000, compiledConfig.getBonusExtra(compiledConfig.getSymbolId("+1000")));
+    assertEquals(BonusImpact.MISS, compiledConfig.getBonusImpact(compiledConfig.getSymbolId("MISS")));
+    assertNull(compiledConfig.getBonusImpact(compiledConfig.getSymbolId("A")));
+  }
+
+  @Test
+  void throwsException_whenBonusSymbolImpactIsUnknown() {
+    var symbols = new HashMap<>(ALL_SYMBOLS);
+    symbols.put("10x", new BonusSymbol(10, 0, "unknown-impact"));
+    when(gameConfig.symbols()).thenReturn(symbols);
+
+    var exception = assertThrows(GameException.class, () -> new CompiledGameConfig(gameConfig));
+    assertEquals("Unknown bonus symbol impact: unknown-impact", exception.getMessage());
+  }
+
+  @Test
+  void throwsException_whenCoveredAreaIsNotWithinBounds() {
+    when(gameConfig.winCombinations()).thenReturn(Map.of("same_symbols_horizontally",
+      new LinearSymbolsWinCombination(2, "horizontally_linear_symbols", List.of(List.of("0:0", "0:1", "0:3")))));
+
+    var exception = assertThrows(GameException.class, () -> new CompiledGameConfig(gameConfig));
+    assertEquals("Coordinates [0:3] are not within bounds: ", exception.getMessage());
+  }
+}
@@ -0,0 +1,197 @@
+package com.cyberspeed.scratchgame.config;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.cyberspeed.scratchgame.configs.CompiledGameConfig;
+import com.cyberspeed.scratchgame.configs.GameConfig;
+import com.cyberspeed.scratchgame.configs.GameConfigParser;
+import com.cyberspeed.scratchgame.exceptions.GameException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class GameConfigParserTest {
+
+  private static final String CONFIG_FILE = "config.json";
+  private static final String CONFIG = """
+    {
+      "rows": 1,
+      "columns": 2,
+      "symbols": {
+        "A": { "reward_multiplier": 5, "type": "standard" },
+        "10x": { "type": "bonus", "reward_multiplier": 10, "impact": "multiply_reward" }
+      },
+      "probabilities": {
+        "standard_symbols": [
+          { "row": 0, "column": 0, "symbols": { "A": 1 } }
+        ],
+        "bonus_symbols": { "symbols": { "10x": 1 } }
+      },
+      "win_combinations": {
+        "same_symbol_2_times": { "reward_multiplier": 2, "when": "same_symbols", "count": 2, "group": "same_symbols" },
+        "same_symbols_horizontally": {
+          "reward_multiplier": 3,
+          "when": "linear_symbols",
+          "group": "horizontally_linear_symbols",
+          "covered_areas": [ [ "0:0", "0:1" ] ]
+        }
+      }
+    }
+    """;
+
+  private final GameConfigParser gameConfigParser = new GameConfigParser();
+
+  @Test
+  void parse_createsSameConfigAsDataBinding() throws Exception {
+    var objectMapper = new ObjectMapper();
+    var expected = objectMapper.readValue(new File(CONFIG_FILE), GameConfig.class);
+
+    var actual = gameConfigParser.parse(CONFIG_FILE);
+
+    // attributes of both configurations, in the order they are kept
+    assertEquals(objectMapper.writeValueAsString(expected), objectMapper.writeValueAsString(actual));
+  }
+
+  @Test
+  void parse_createsSymbolsAndWinCombinationsOfEveryType() throws Exception {
+    var objectMapper = new ObjectMapper();
+
+    var actual = parse(CONFIG);
+
+    assertEquals(objectMapper.writeValueAsString(objectMapper.readValue(CONFIG, GameConfig.class)),
+      objectMapper.writeValueAsString(actual));
+  }
+
+  @Test
+  void parse_readsDefaultStandardSymbols() throws Exception {
+    var objectMapper = new ObjectMapper();
+    var config = withDefaultStandardSymbols(CONFIG);
+
+    var actual = parse(config);
+
+    assertEquals(Map.of("A", 3), actual.probabilities().defaultStandardSymbolsProbability().symbols());
+    assertEquals(objectMapper.writeValueAsString(objectMapper.readValue(config, GameConfig.class)),
+      objectMapper.writeValueAsString(actual));
+  }
+
+  @Test
+  void parse_allowsNoStandardSymbols_whenDefaultStandardSymbolsAreConfigured() {
+    var config = withDefaultStandardSymbols(
+      CONFIG.replace("{ \"row\": 0, \"column\": 0, \"symbols\": { \"A\": 1 } }", ""));
+
+    var actual = parse(config);
+
+    // every cell has the default probabilities
+    assertTrue(actual.probabilities().standardSymbolsProbabilities().isEmpty());
+    assertEquals(3, new CompiledGameConfig(actual).getStandardSymbolSampler(0, 1).getTotalProbability());
+  }
+
+  @Test
+  void parse_sharesIdenticalStandardSymbols() {
+    var cell = "{ \"row\": 0, \"column\": 0, \"symbols\": { \"A\": 1 } }";
+    var config = CONFIG.replace(cell, cell + ", " + cell.replace("\"column\": 0", "\"column\": 1"));
+
+    var standardSymbolsProbabilities = parse(config).probabilities().standardSymbolsProbabilities();
+
+    assertSame(standardSymbolsProbabilities.get(0).symbols(), standardSymbolsProbabilities.get(1).symbols());
+  }
+
+  @Test
+  void parse_readsCoveredAreasPattern() throws Exception {
+    var objectMapper = new ObjectMapper();
+    var config = CONFIG.replace("\"covered_areas\": [ [ \"0:0\", \"0:1\" ] ]",
+      "\"covered_areas_pattern\": \"all_rows\"");
+
+    var actual = parse(config);
+
+    var compiledGameConfig = new CompiledGameConfig(actual);
+    var id = compiledGameConfig.getWinCombinationId("same_symbols_horizontally");
+    assertArrayEquals(new int[][]{{0, 1}}, compiledGameConfig.getCoveredAreaCells(id));
+    assertEquals(objectMapper.writeValueAsString(objectMapper.readValue(config, GameConfig.class)),
+      objectMapper.writeValueAsString(actual));
+  }
+
+  @Test
+  void parse_keepsValidationMessage_whenConfigIsNotValid() {
+    var exception = assertThrows(GameException.class, () -> parse(CONFIG.replace("\"rows\": 1", "\"rows\": -1")));
+    assertEquals("rows must be positive: -1", exception.getMessage());
+
+    exception = assertThrows(GameException.class,
+      () -> parse(CONFIG.replace("\"reward_multiplier\": 5", "\"reward_multiplier\": 0")));
+    assertEquals("reward_multiplier must be greater than 0, but was: 0.0", exception.getMessage());
+
+    exception = assertThrows(GameException.class, () -> parse(CONFIG.replace("\"0:1\"", "\"0-1\"")));
+    assertEquals("Incorrect coordinates: 0-1", exception.getMessage());
+
+    exception = assertThrows(GameException.class,
+      () -> parse(CONFIG.replace("\"bonus_symbols\": { \"symbols\": { \"10x\": 1 } }", "\"bonus_symbols\": null")));
+    assertEquals("bonus_symbols cannot be null", exception.getMessage());
+  }
+
+  @Test
+  void parse_throwsException_whenSymbolTypeIsUnknown() {
+    var exception = assertThrows(GameException.class,
+      () -> parse(CONFIG.replace("\"type\": \"standard\"", "\"type\": \"wild\"")));
+
+    assertEquals("Unable to parse configuration file", exception.getMessage());
+    assertNotNull(exception.getCause(), "The GameException should have thrown with a throwable root cause");
+  }
+
+  @Test
+  void parse_throwsException_whenWinCombinationTypeIsUnknown() {
+    var exception = assertThrows(GameException.class,
+      () -> parse(CONFIG.replace("\"when\": \"same_symbols\"", "\"when\": \"scattered_symbols\"")));
+
+    assertEquals("Unable to parse configuration file", exception.getMessage());
+    assertNotNull(exception.getCause(), "The GameException should have thrown with a throwable root cause");
+  }
+
+  @Test
+  void parse_throwsException_whenAttributeIsUnknown() {
+    var exception = assertThrows(GameException.class,
+      () -> parse(CONFIG.replace("\"rows\": 1", "\"rows\": 1, \"layers\": 2")));
+
+    assertEquals("Unable to parse configuration file", exception.getMessage());
+    assertNotNull(exception.getCause(), "The GameException should have thrown with a throwable root cause");
+  }
+
+  @Test
+  void parse_throwsException_whenConfigIsNotWellFormed() {
+    var exception = assertThrows(GameException.class, () -> parse(CONFIG.substring(0, CONFIG.length() / 2)));
+
+    assertEquals("Unable to parse configuration file", exception.getMessage());
+    assertNotNull(exception.getCause(), "The GameException should have thrown with a throwable root cause");
+  }
+
+  @Test
+  void parse_throwsException_whenNumberIsExpected() {
+    var exception = assertThrows(GameException.class, () -> parse(CONFIG.replace("\"rows\": 1", "\"rows\": \"1\"")));
+
+    assertEquals("Unable to parse configuration file", exception.getMessage());
+  }
+
+  @Test
+  void parse_throwsException_whenFileDoesntExist() {
+    var exception = assertThrows(GameException.class, () -> gameConfigParser.parse("invalid-file"));
+
+    assertEquals("Unable to parse configuration file", exception.getMessage());
+    assertNotNull(exception.getCause(), "The GameException should have thrown with a throwable root cause");
+  }
+
+  private static String withDefaultStandardSymbols(String config) {
+    return config.replace("\"bonus_symbols\"",
+      "\"default_standard_symbols\": { \"symbols\": { \"A\": 3 } }, \"bonus_symbols\"");
+  }
+
+  private GameConfig parse(String config) {
+    return gameConfigParser.parse(new ByteArrayInputStream(config.getBytes(StandardCharsets.UTF_8)));
+  }
+}
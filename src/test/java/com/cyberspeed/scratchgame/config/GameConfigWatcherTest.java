@@ -0,0 +1,112 @@
+package com.cyberspeed.scratchgame.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.cyberspeed.scratchgame.configs.CompiledGameConfig;
+import com.cyberspeed.scratchgame.configs.GameConfigParser;
+import com.cyberspeed.scratchgame.configs.GameConfigWatcher;
+import com.cyberspeed.scratchgame.exceptions.GameException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class GameConfigWatcherTest {
+
+  private static final GameConfigParser GAME_CONFIG_PARSER = new GameConfigParser();
+  private static final long TIMEOUT_SECONDS = 30;
+
+  @TempDir
+  Path directory;
+
+  private Path configFile;
+  private String config;
+  private final BlockingQueue<CompiledGameConfig> reloaded = new LinkedBlockingQueue<>();
+  private final BlockingQueue<GameException> rejected = new LinkedBlockingQueue<>();
+  private GameConfigWatcher gameConfigWatcher;
+
+  @BeforeEach
+  void startWatcher() throws IOException {
+    config = Files.readString(Path.of("config.json"));
+    configFile = directory.resolve("config.json");
+    Files.writeString(configFile, config);
+
+    gameConfigWatcher = new GameConfigWatcher(configFile.toString(),
+      file -> new CompiledGameConfig(GAME_CONFIG_PARSER.parse(file)), reloaded::add, rejected::add);
+    gameConfigWatcher.start();
+  }
+
+  @AfterEach
+  void stopWatcher() {
+    gameConfigWatcher.close();
+  }
+
+  @Test
+  void reloadsConfig_whenConfigFileChanges() throws Exception {
+    Files.writeString(configFile, config.replace("\"rows\": 3", "\"rows\": 4"));
+
+    var compiledGameConfig = reloaded.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    assertNotNull(compiledGameConfig);
+    assertEquals(4, compiledGameConfig.getRows());
+  }
+
+  @Test
+  void reloadsConfig_whenConfigFileIsReplaced() throws Exception {
+    var newConfigFile = directory.resolve("config.json.new");
+    Files.writeString(newConfigFile, config.replace("\"rows\": 3", "\"rows\": 5"));
+    Files.move(newConfigFile, configFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+    var compiledGameConfig = reloaded.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    assertNotNull(compiledGameConfig);
+    assertEquals(5, compiledGameConfig.getRows());
+  }
+
+  @Test
+  void rejectsConfig_whenConfigIsNotValid() throws Exception {
+    Files.writeString(configFile, config.replace("\"rows\": 3", "\"rows\": -1"));
+
+    var exception = rejected.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    assertNotNull(exception);
+    assertEquals("rows must be positive: -1", exception.getMessage());
+    assertNull(reloaded.poll());
+
+    // the watcher keeps watching after a rejected configuration
+    Files.writeString(configFile, config);
+    assertNotNull(reloaded.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void ignoresOtherFilesOfDirectory() throws Exception {
+    Files.writeString(directory.resolve("other.json"), "{}");
+    Files.writeString(configFile, config.replace("\"rows\": 3", "\"rows\": 4"));
+
+    // only the change of the configuration file is loaded
+    assertEquals(4, reloaded.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS).getRows());
+    assertNull(rejected.poll());
+  }
+
+  @Test
+  void throwsException_whenLoaderIsNull() {
+    var exception = assertThrows(GameException.class,
+      () -> new GameConfigWatcher(configFile.toString(), null, reloaded::add, rejected::add));
+    assertEquals("Loader cannot be null", exception.getMessage());
+  }
+
+  @Test
+  void throwsException_whenDirectoryDoesntExist() {
+    var exception = assertThrows(GameException.class,
+      () -> new GameConfigWatcher(directory.resolve("missing/config.json").toString(),
+        file -> new CompiledGameConfig(GAME_CONFIG_PARSER.parse(file)), reloaded::add, rejected::add));
+    assertEquals("Unable to watch configuration file", exception.getMessage());
+  }
+}
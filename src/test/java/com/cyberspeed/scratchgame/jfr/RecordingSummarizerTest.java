@@ -0,0 +1,104 @@
+package com.cyberspeed.scratchgame.jfr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.cyberspeed.scratchgame.GameTestBase;
+import com.cyberspeed.scratchgame.ScratchGame;
+import com.cyberspeed.scratchgame.configs.CompiledGameConfig;
+import com.cyberspeed.scratchgame.exceptions.GameException;
+import com.cyberspeed.scratchgame.utils.RandomGenerators;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class RecordingSummarizerTest extends GameTestBase {
+
+  private static final RecordingSummarizer RECORDING_SUMMARIZER = new RecordingSummarizer();
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void summarize_timesEveryStageOfTheRecordedRounds() throws IOException {
+    var recordingFile = tempDir.resolve("rounds.jfr");
+    try (var recording = new Recording()) {
+      for (var name : List.of(ConfigLoadEvent.NAME, CardGenerationEvent.NAME, WinEvaluationEvent.NAME,
+        RewardCalculationEvent.NAME)) {
+        recording.enable(name).withThreshold(Duration.ZERO);
+      }
+      recording.start();
+
+      var configLoadEvent = new ConfigLoadEvent();
+      configLoadEvent.begin();
+      var compiledGameConfig = new CompiledGameConfig(copyGameConfig());
+      configLoadEvent.commit("config.json", null, compiledGameConfig);
+
+      var scratchGame = new ScratchGame(compiledGameConfig);
+      var random = RandomGenerators.create(1);
+      for (int i = 0; i < 100; i++) {
+        scratchGame.play(100, random);
+      }
+
+      recording.stop();
+      recording.dump(recordingFile);
+    }
+
+    var report = RECORDING_SUMMARIZER.summarize(recordingFile.toString());
+
+    assertEquals(recordingFile.toString(), report.getRecording());
+    assertEquals(List.of("config_load", "card_generation", "win_evaluation", "reward_calculation"),
+      List.copyOf(report.getStages().keySet()));
+    assertEquals(1, report.getStages().get("config_load").getCount());
+    for (var stage : List.of("card_generation", "win_evaluation", "reward_calculation")) {
+      var timings = report.getStages().get(stage);
+      assertEquals(100, timings.getCount(), stage);
+      assertTrue(timings.getP50Micros() <= timings.getP99Micros(), stage);
+      assertTrue(timings.getP99Micros() <= timings.getMaxMicros(), stage);
+      assertEquals(timings.getMeanMicros() * timings.getCount() / 1_000, timings.getTotalMillis(), 1e-9, stage);
+    }
+  }
+
+  @Test
+  void summarize_skipsStagesWithoutEvents() throws IOException {
+    var recordingFile = tempDir.resolve("empty.jfr");
+    try (var recording = new Recording()) {
+      recording.start();
+      recording.stop();
+      recording.dump(recordingFile);
+    }
+
+    var report = RECORDING_SUMMARIZER.summarize(recordingFile.toString());
+
+    assertTrue(report.getStages().isEmpty());
+  }
+
+  @Test
+  void throwsScratchGameException_whenRecordingIsNotReadable() throws IOException {
+    var recordingFile = Files.writeString(tempDir.resolve("rounds.jfr"), "not a recording");
+
+    var exception = assertThrows(GameException.class,
+      () -> RECORDING_SUMMARIZER.summarize(recordingFile.toString()));
+    assertEquals("Unable to read JFR recording", exception.getMessage());
+    assertNotNull(exception.getCause());
+  }
+
+  @Test
+  void throwsScratchGameException_whenRecordingFileIsNull() {
+    var exception = assertThrows(GameException.class, () -> RECORDING_SUMMARIZER.summarize(null));
+    assertEquals("Recording file cannot be null", exception.getMessage());
+  }
+}
@@ -0,0 +1,219 @@
+package com.cyberspeed.scratchgame.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.cyberspeed.scratchgame.GameTestBase;
+import com.cyberspeed.scratchgame.ScratchGame;
+import com.cyberspeed.scratchgame.configs.CompiledGameConfig;
+import com.cyberspeed.scratchgame.configs.GameConfig;
+import com.cyberspeed.scratchgame.exceptions.GameException;
+import com.cyberspeed.scratchgame.symbols.StandardSymbol;
+import com.cyberspeed.scratchgame.utils.RandomGenerators;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class GameMetricsTest extends GameTestBase {
+
+  @Test
+  void play_countsRounds() {
+    var gameMetrics = new GameMetrics();
+    var compiledGameConfig = new CompiledGameConfig(copyGameConfig());
+    var scratchGame = new ScratchGame(compiledGameConfig, gameMetrics);
+
+    // A wins 3 times and horizontally, the bonus symbol is applied
+    var winningOutput = scratchGame.play(100,
+      createScratchCard(compiledGameConfig, new String[][]{{"A", "A", "A"}, {"B", "C", "D"}, {"E", "F", "+1000"}}));
+    // no win combination, the bonus symbol is not applied
+    var losingOutput = scratchGame.play(100,
+      createScratchCard(compiledGameConfig, new String[][]{{"A", "B", "C"}, {"D", "E", "F"}, {"A", "B", "MISS"}}));
+
+    assertEquals(2, gameMetrics.getRounds());
+    assertEquals(200, gameMetrics.getTotalWagered());
+    assertEquals(winningOutput.getReward() + losingOutput.getReward(), gameMetrics.getTotalPaid());
+    assertEquals(11_000, gameMetrics.getTotalPaid());
+
+    var symbolsPlaced = gameMetrics.getSymbolsPlaced();
+    assertEquals(5, symbolsPlaced.get("A"));
+    assertEquals(3, symbolsPlaced.get("B"));
+    assertEquals(1, symbolsPlaced.get("+1000"));
+    assertEquals(1, symbolsPlaced.get("MISS"));
+    assertEquals(0, symbolsPlaced.get("10x"));
+
+    var winCombinationsTriggered = gameMetrics.getWinCombinationsTriggered();
+    assertEquals(1, winCombinationsTriggered.get("same_symbol_3_times"));
+    assertEquals(1, winCombinationsTriggered.get("same_symbols_horizontally"));
+    assertEquals(0, winCombinationsTriggered.get("same_symbols_vertically"));
+
+    var bonusImpacts = gameMetrics.getBonusImpacts();
+    assertEquals(1, bonusImpacts.get("extra_bonus"));
+    assertEquals(0, bonusImpacts.get("miss"));
+    assertEquals(0, bonusImpacts.get("multiply_reward"));
+  }
+
+  @Test
+  void counters_addUpByName_acrossConfigurations() {
+    var gameMetrics = new GameMetrics();
+    var firstCompiledGameConfig = new CompiledGameConfig(copyGameConfig());
+    var secondCompiledGameConfig = new CompiledGameConfig(copyGameConfig());
+    var firstGame = new ScratchGame(firstCompiledGameConfig, gameMetrics);
+    var secondGame = new ScratchGame(secondCompiledGameConfig, gameMetrics);
+    String[][] matrix = {{"A", "A", "A"}, {"B", "C", "D"}, {"E", "F", "+1000"}};
+
+    firstGame.play(100, createScratchCard(firstCompiledGameConfig, matrix));
+    secondGame.play(100, createScratchCard(secondCompiledGameConfig, matrix));
+
+    assertEquals(2, gameMetrics.getRounds());
+    assertEquals(6, gameMetrics.getSymbolsPlaced().get("A"));
+    assertEquals(2, gameMetrics.getWinCombinationsTriggered().get("same_symbol_3_times"));
+    assertEquals(2, gameMetrics.getBonusImpacts().get("extra_bonus"));
+  }
+
+  @Test
+  void counters_areBounded_whenConfigurationIsReloadedManyTimes() throws InterruptedException {
+    var gameMetrics = new GameMetrics();
+    var reloads = 100;
+    WeakReference<CompiledGameConfig> firstCompiledGameConfig = null;
+
+    for (int reload = 0; reload < reloads; reload++) {
+      var compiledGameConfig = new CompiledGameConfig(copyGameConfig());
+      if (firstCompiledGameConfig == null) {
+        firstCompiledGameConfig = new WeakReference<>(compiledGameConfig);
+      }
+      new ScratchGame(compiledGameConfig, gameMetrics).play(100, RandomGenerators.create(reload));
+    }
+
+    assertEquals(reloads, gameMetrics.getRounds());
+    assertEquals(reloads * 9L, gameMetrics.getSymbolsPlaced().values().stream().mapToLong(Long::longValue).sum());
+    // one counter by name, whatever the number of reloads
+    assertEquals(gameConfig.symbols().size(), gameMetrics.getSymbolsPlaced().size());
+    assertEquals(gameConfig.winCombinations().size(), gameMetrics.getWinCombinationsTriggered().size());
+
+    // the replaced configurations are not retained by the metrics
+    for (int attempt = 0; attempt < 20 && firstCompiledGameConfig.get() != null; attempt++) {
+      System.gc();
+      Thread.sleep(10);
+    }
+    assertNull(firstCompiledGameConfig.get());
+  }
+
+  @Test
+  void counters_countNewNames_ofReloadedConfiguration() {
+    var gameMetrics = new GameMetrics();
+    var firstCompiledGameConfig = new CompiledGameConfig(copyGameConfig());
+    var firstGame = new ScratchGame(firstCompiledGameConfig, gameMetrics);
+    String[][] matrix = {{"A", "A", "A"}, {"B", "C", "D"}, {"E", "F", "+1000"}};
+    firstGame.play(100, createScratchCard(firstCompiledGameConfig, matrix));
+
+    // the reloaded configuration adds symbol G
+    var symbols = new HashMap<>(ALL_SYMBOLS);
+    symbols.put("G", new StandardSymbol(100));
+    var reloadedCompiledGameConfig = new CompiledGameConfig(new GameConfig(gameConfig.rows(), gameConfig.columns(),
+      symbols, gameConfig.probabilities(), gameConfig.winCombinations()));
+    var reloadedGame = new ScratchGame(reloadedCompiledGameConfig, gameMetrics);
+    reloadedGame.play(100,
+      createScratchCard(reloadedCompiledGameConfig, new String[][]{{"G", "G", "G"}, {"B", "C", "D"}, {"E", "F", "MISS"}}));
+    // a round of the replaced game that is still being played
+    firstGame.play(100, createScratchCard(firstCompiledGameConfig, matrix));
+
+    assertEquals(3, gameMetrics.getRounds());
+    assertEquals(6, gameMetrics.getSymbolsPlaced().get("A"));
+    assertEquals(3, gameMetrics.getSymbolsPlaced().get("G"));
+    assertEquals(3, gameMetrics.getSymbolsPlaced().get("B"));
+    assertEquals(3, gameMetrics.getWinCombinationsTriggered().get("same_symbol_3_times"));
+  }
+
+  @Test
+  void play_countsEveryRound_ofConcurrentThreads() throws Exception {
+    var gameMetrics = new GameMetrics();
+    var scratchGame = new ScratchGame(new CompiledGameConfig(copyGameConfig()), gameMetrics);
+    var threads = 4;
+    var rounds = 5_000;
+
+    var executor = Executors.newFixedThreadPool(threads);
+    var futures = new ArrayList<Future<Long>>();
+    try {
+      for (int thread = 0; thread < threads; thread++) {
+        var random = RandomGenerators.create(thread);
+        Callable<Long> task = () -> {
+          var paid = 0L;
+          for (int round = 0; round < rounds; round++) {
+            paid += scratchGame.play(10, random).getReward();
+          }
+          return paid;
+        };
+        futures.add(executor.submit(task));
+      }
+
+      var paid = 0L;
+      for (Future<Long> future : futures) {
+        paid += future.get();
+      }
+
+      assertEquals(threads * rounds, gameMetrics.getRounds());
+      assertEquals(threads * rounds * 10L, gameMetrics.getTotalWagered());
+      assertEquals(paid, gameMetrics.getTotalPaid());
+      // every cell of the matrix holds a symbol
+      assertEquals(threads * rounds * 9L,
+        gameMetrics.getSymbolsPlaced().values().stream().mapToLong(Long::longValue).sum());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void register_publishesMetricsOnPlatformMBeanServer() throws Exception {
+    var gameMetrics = new GameMetrics().register();
+    try {
+      var scratchGame = new ScratchGame(new CompiledGameConfig(copyGameConfig()), gameMetrics);
+      scratchGame.play(100, RandomGenerators.create(1));
+
+      var mBeanServer = ManagementFactory.getPlatformMBeanServer();
+      var objectName = new ObjectName(GameMetrics.OBJECT_NAME);
+
+      assertEquals(1L, mBeanServer.getAttribute(objectName, "Rounds"));
+      assertEquals(100L, mBeanServer.getAttribute(objectName, "TotalWagered"));
+      assertInstanceOf(TabularData.class, mBeanServer.getAttribute(objectName, "SymbolsPlaced"));
+      var latency = assertInstanceOf(CompositeData.class,
+        mBeanServer.getAttribute(objectName, "CardGenerationLatency"));
+      assertTrue(latency.containsKey("p99Nanos"));
+    } finally {
+      gameMetrics.unregister();
+    }
+  }
+
+  @Test
+  void throwsException_whenMetricsAreRegisteredTwice() {
+    var gameMetrics = new GameMetrics().register();
+    try {
+      var exception = assertThrows(GameException.class, () -> new GameMetrics().register());
+      assertEquals("Unable to register game metrics", exception.getMessage());
+    } finally {
+      gameMetrics.unregister();
+    }
+  }
+
+  @Test
+  void throwsException_whenConfigIsNull() {
+    var exception = assertThrows(GameException.class, () -> new GameMetrics().counters(null));
+    assertEquals("Config cannot be null", exception.getMessage());
+  }
+}
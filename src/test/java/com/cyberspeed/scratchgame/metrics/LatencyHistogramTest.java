@@ -0,0 +1,74 @@
+package com.cyberspeed.scratchgame.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest {
+
+  @Test
+  void bucket_recordsEveryValueWithBoundedError() {
+    for (int shift = 0; shift < Long.SIZE - 2; shift++) {
+      for (long value : new long[]{(1L << shift) - 1, 1L << shift, (1L << shift) + 1, (3L << shift) / 2}) {
+        var highestValue = LatencyHistogram.highestValue(LatencyHistogram.bucket(value));
+
+        assertTrue(highestValue >= value, "value " + value);
+        assertTrue(highestValue - value <= value / LatencyHistogram.SUB_BUCKETS, "value " + value);
+      }
+    }
+    assertEquals(Long.MAX_VALUE, LatencyHistogram.highestValue(LatencyHistogram.bucket(Long.MAX_VALUE)));
+  }
+
+  @Test
+  void bucket_isContiguous() {
+    var lastBucket = LatencyHistogram.bucket(Long.MAX_VALUE);
+    for (int bucket = 0; bucket < lastBucket; bucket++) {
+      var highestValue = LatencyHistogram.highestValue(bucket);
+
+      assertEquals(bucket, LatencyHistogram.bucket(highestValue));
+      assertEquals(bucket + 1, LatencyHistogram.bucket(highestValue + 1));
+    }
+  }
+
+  @Test
+  void snapshot_calculatesPercentiles() {
+    var histogram = new LatencyHistogram();
+    for (int nanos = 1; nanos <= 1000; nanos++) {
+      histogram.record(nanos);
+    }
+
+    var snapshot = histogram.snapshot();
+
+    assertEquals(1000, snapshot.getCount());
+    assertEquals(500.5, snapshot.getMeanNanos(), 1e-9);
+    assertEquals(1000, snapshot.getMaxNanos());
+    assertTrue(snapshot.getP50Nanos() >= 500 && snapshot.getP50Nanos() <= 500 + 500 / LatencyHistogram.SUB_BUCKETS);
+    assertTrue(snapshot.getP90Nanos() >= 900 && snapshot.getP90Nanos() <= 900 + 900 / LatencyHistogram.SUB_BUCKETS);
+    assertTrue(snapshot.getP99Nanos() >= 990 && snapshot.getP99Nanos() <= 1000);
+    assertEquals(1000, snapshot.getP999Nanos());
+  }
+
+  @Test
+  void snapshot_isEmpty_whenNothingIsRecorded() {
+    var snapshot = new LatencyHistogram().snapshot();
+
+    assertEquals(0, snapshot.getCount());
+    assertEquals(0, snapshot.getMeanNanos());
+    assertEquals(0, snapshot.getMaxNanos());
+    assertEquals(0, snapshot.getP50Nanos());
+    assertEquals(0, snapshot.getP999Nanos());
+  }
+
+  @Test
+  void record_recordsNegativeLatencyAsZero() {
+    var histogram = new LatencyHistogram();
+    histogram.record(-5);
+
+    var snapshot = histogram.snapshot();
+
+    assertEquals(1, snapshot.getCount());
+    assertEquals(0, snapshot.getMaxNanos());
+    assertEquals(0, snapshot.getP50Nanos());
+  }
+}
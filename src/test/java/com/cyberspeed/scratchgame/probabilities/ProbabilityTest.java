@@ -3,13 +3,16 @@ package com.cyberspeed.scratchgame.probabilities;
 import static com.cyberspeed.scratchgame.utils.Validation.isNonEmptyCollection;
 import static com.cyberspeed.scratchgame.utils.Validation.isNotNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.times;
 
 import com.cyberspeed.scratchgame.GameTestBase;
+import com.cyberspeed.scratchgame.exceptions.GameException;
 import com.cyberspeed.scratchgame.utils.Validation;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.MockedStatic;
@@ -29,6 +32,22 @@ public class ProbabilityTest extends GameTestBase {
     assertEquals(probability.standardSymbolsProbabilities(), actualProbability.standardSymbolsProbabilities());
   }
 
+  @Test
+  void constructsWithoutStandardSymbols_whenDefaultStandardSymbolsAreGiven() {
+    var defaultProbability = new DefaultStandardSymbolsProbability(STANDARD_SYMBOLS_PROBABILITIES);
+
+    var actualProbability = new Probability(null, probability.bonusSymbolsProbability(), defaultProbability);
+    assertEquals(List.of(), actualProbability.standardSymbolsProbabilities());
+    assertEquals(defaultProbability, actualProbability.defaultStandardSymbolsProbability());
+  }
+
+  @Test
+  void throwsException_whenStandardSymbolsAreEmptyWithoutDefault() {
+    var exception = assertThrows(GameException.class,
+      () -> new Probability(List.of(), probability.bonusSymbolsProbability(), null));
+    assertEquals("standard_symbols cannot be null or empty", exception.getMessage());
+  }
+
   @Test
   void verifyValidations() {
     try (MockedStatic<Validation> validation = Mockito.mockStatic(Validation.class)) {
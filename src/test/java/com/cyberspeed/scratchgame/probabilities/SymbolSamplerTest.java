@@ -0,0 +1,130 @@
+package com.cyberspeed.scratchgame.probabilities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.cyberspeed.scratchgame.exceptions.GameException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+import org.junit.jupiter.api.Test;
+
+public class SymbolSamplerTest {
+
+  private static final Map<String, Integer> SYMBOL_PROBABILITIES = new LinkedHashMap<>();
+
+  static {
+    SYMBOL_PROBABILITIES.put("F", 6);
+    SYMBOL_PROBABILITIES.put("A", 1);
+    SYMBOL_PROBABILITIES.put("E", 5);
+    SYMBOL_PROBABILITIES.put("B", 2);
+    SYMBOL_PROBABILITIES.put("D", 4);
+    SYMBOL_PROBABILITIES.put("C", 3);
+  }
+
+  @Test
+  void constructsCorrectly() {
+    var sampler = new SymbolSampler(SYMBOL_PROBABILITIES);
+
+    assertEquals(6, sampler.size());
+    assertEquals(21, sampler.getTotalProbability());
+
+    // symbols are ordered by their probability
+    assertEquals("A", sampler.getSymbol(0));
+    assertEquals(1, sampler.getProbability(0));
+    assertEquals("F", sampler.getSymbol(5));
+    assertEquals(6, sampler.getProbability(5));
+  }
+
+  @Test
+  void sample_selectsSymbolByCumulativeProbability() {
+    var sampler = new SymbolSampler(SYMBOL_PROBABILITIES);
+    var random = mock(RandomGenerator.class);
+
+    // A: 0, B: 1-2, C: 3-5, D: 6-9, E: 10-14, F: 15-20
+    var expectedSymbols = "ABBCCCDDDDEEEEEFFFFFF";
+    for (int randomNumber = 0; randomNumber < 21; randomNumber++) {
+      when(random.nextInt(21)).thenReturn(randomNumber);
+      assertEquals(String.valueOf(expectedSymbols.charAt(randomNumber)), sampler.sample(random));
+    }
+  }
+
+  @Test
+  void sample_withoutLookupTable_selectsSymbolByCumulativeProbability() {
+    var sampler = new SymbolSampler(Map.of("A", 5000, "B", 10000));
+    var random = mock(RandomGenerator.class);
+
+    when(random.nextInt(15000)).thenReturn(0);
+    assertEquals("A", sampler.sample(random));
+    when(random.nextInt(15000)).thenReturn(4999);
+    assertEquals("A", sampler.sample(random));
+    when(random.nextInt(15000)).thenReturn(5000);
+    assertEquals("B", sampler.sample(random));
+    when(random.nextInt(15000)).thenReturn(14999);
+    assertEquals("B", sampler.sample(random));
+  }
+
+  @Test
+  void throwsException_whenProbabilitiesAreEmpty() {
+    var exception = assertThrows(GameException.class, () -> new SymbolSampler(Collections.emptyMap()));
+    assertEquals("Symbol probability map cannot be null or empty", exception.getMessage());
+  }
+
+  @Test
+  void throwsException_whenProbabilityIsNull() {
+    // a null probability among others would otherwise be compared while the symbols are sorted
+    var symbolProbabilities = new HashMap<String, Integer>();
+    symbolProbabilities.put("A", 1);
+    symbolProbabilities.put("B", null);
+    symbolProbabilities.put("C", 3);
+
+    var exception = assertThrows(GameException.class, () -> new SymbolSampler(symbolProbabilities));
+    assertEquals("Probability cannot be null for symbol: B", exception.getMessage());
+  }
+
+  @Test
+  void throwsException_whenSumOfProbabilitiesIsZero() {
+    var exception = assertThrows(GameException.class, () -> new SymbolSampler(Map.of("A", 0)));
+    assertEquals("Sum of symbol probabilities must be greater than 0", exception.getMessage());
+  }
+
+  @Test
+  void throwsException_whenSumOfProbabilitiesIsTooLarge() {
+    var exception = assertThrows(GameException.class,
+      () -> new SymbolSampler(Map.of("A", Integer.MAX_VALUE, "B", 1)));
+    assertEquals("Sum of symbol probabilities is too large", exception.getMessage());
+  }
+
+  @Test
+  void constructsFromSymbolsOfAnotherSampler() {
+    var sampler = new SymbolSampler(SYMBOL_PROBABILITIES, symbol -> symbol.charAt(0) - 'A' + 10);
+
+    var symbols = new String[sampler.size()];
+    var symbolIds = new int[sampler.size()];
+    var probabilities = new int[sampler.size()];
+    for (int index = 0; index < sampler.size(); index++) {
+      symbols[index] = sampler.getSymbol(index);
+      symbolIds[index] = sampler.getSymbolId(index);
+      probabilities[index] = sampler.getProbability(index);
+    }
+    var copy = new SymbolSampler(symbols, symbolIds, probabilities);
+
+    assertEquals(sampler.getTotalProbability(), copy.getTotalProbability());
+    var random = mock(RandomGenerator.class);
+    for (int randomNumber = 0; randomNumber < 21; randomNumber++) {
+      when(random.nextInt(21)).thenReturn(randomNumber);
+      assertEquals(sampler.sampleSymbolId(random), copy.sampleSymbolId(random));
+    }
+  }
+
+  @Test
+  void throwsException_whenSymbolsAndProbabilitiesHaveDifferentLength() {
+    var exception = assertThrows(GameException.class,
+      () -> new SymbolSampler(new String[]{"A", "B"}, new int[]{0, 1}, new int[]{1}));
+    assertEquals("Symbols, symbol ids and probabilities must have the same non-zero length", exception.getMessage());
+  }
+}
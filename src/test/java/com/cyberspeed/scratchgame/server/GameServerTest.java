@@ -0,0 +1,137 @@
+package com.cyberspeed.scratchgame.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.cyberspeed.scratchgame.GameTestBase;
+import com.cyberspeed.scratchgame.ScratchGame;
+import com.cyberspeed.scratchgame.configs.CompiledGameConfig;
+import com.cyberspeed.scratchgame.configs.GameConfig;
+import com.cyberspeed.scratchgame.exceptions.GameException;
+import com.cyberspeed.scratchgame.metrics.GameMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class GameServerTest extends GameTestBase {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  private static final HttpClient HTTP_CLIENT = HttpClient.newHttpClient();
+
+  private GameServer gameServer;
+
+  @BeforeEach
+  void startServer() {
+    gameServer = new GameServer(new ScratchGame(copyGameConfig()), 0, 2);
+    gameServer.start();
+  }
+
+  @AfterEach
+  void stopServer() {
+    gameServer.stop(0);
+  }
+
+  @Test
+  void health_respondsWithStatus() throws Exception {
+    var response = send(HttpRequest.newBuilder(uri("/health")).GET());
+
+    assertEquals(200, response.statusCode());
+    assertEquals("UP", OBJECT_MAPPER.readTree(response.body()).get("status").asText());
+  }
+
+  @Test
+  void play_respondsWithGameOutput() throws Exception {
+    var response = send(HttpRequest.newBuilder(uri("/play")).POST(BodyPublishers.ofString("{\"bet_amount\":100}")));
+
+    assertEquals(200, response.statusCode());
+    assertEquals("application/json", response.headers().firstValue("Content-Type").orElseThrow());
+    var gameOutput = OBJECT_MAPPER.readTree(response.body());
+    assertEquals(3, gameOutput.get("matrix").size());
+    assertTrue(gameOutput.get("reward").asInt() >= 0);
+  }
+
+  @Test
+  void play_respondsWithBadRequest_whenBetAmountIsNotGreaterThanZero() throws Exception {
+    var response = send(HttpRequest.newBuilder(uri("/play")).POST(BodyPublishers.ofString("{\"bet_amount\":0}")));
+
+    assertEquals(400, response.statusCode());
+    assertEquals("Betting amount must be greater than zero",
+      OBJECT_MAPPER.readTree(response.body()).get("error").asText());
+  }
+
+  @Test
+  void play_respondsWithBadRequest_whenRequestIsMalformed() throws Exception {
+    var response = send(HttpRequest.newBuilder(uri("/play")).POST(BodyPublishers.ofString("bet_amount=100")));
+
+    assertEquals(400, response.statusCode());
+    assertEquals("Unable to parse play request", OBJECT_MAPPER.readTree(response.body()).get("error").asText());
+  }
+
+  @Test
+  void play_respondsWithMethodNotAllowed_whenMethodIsGet() throws Exception {
+    var response = send(HttpRequest.newBuilder(uri("/play")).GET());
+
+    assertEquals(405, response.statusCode());
+  }
+
+  @Test
+  void play_respondsWithOutputOfNewGame_whenScratchGameIsReplaced() throws Exception {
+    var config = copyGameConfig();
+    var scratchGame = new ScratchGame(
+      new GameConfig(4, config.columns(), config.symbols(), config.probabilities(), config.winCombinations()));
+
+    gameServer.setScratchGame(scratchGame);
+    var response = send(HttpRequest.newBuilder(uri("/play")).POST(BodyPublishers.ofString("{\"bet_amount\":100}")));
+
+    assertSame(scratchGame, gameServer.getScratchGame());
+    assertEquals(200, response.statusCode());
+    assertEquals(4, OBJECT_MAPPER.readTree(response.body()).get("matrix").size());
+  }
+
+  @Test
+  void play_countsRoundsInMetricsOfGame() throws Exception {
+    var gameMetrics = new GameMetrics();
+    gameServer.setScratchGame(new ScratchGame(new CompiledGameConfig(copyGameConfig()), gameMetrics));
+
+    var response = send(HttpRequest.newBuilder(uri("/play")).POST(BodyPublishers.ofString("{\"bet_amount\":100}")));
+
+    assertEquals(200, response.statusCode());
+    assertEquals(1, gameMetrics.getRounds());
+    assertEquals(OBJECT_MAPPER.readTree(response.body()).get("reward").asLong(), gameMetrics.getTotalPaid());
+  }
+
+  @Test
+  void setScratchGame_throwsException_whenScratchGameIsNull() {
+    var exception = assertThrows(GameException.class, () -> gameServer.setScratchGame(null));
+    assertEquals("Scratch Game cannot be null", exception.getMessage());
+  }
+
+  @Test
+  void throwsException_whenScratchGameIsNull() {
+    var exception = assertThrows(GameException.class, () -> new GameServer(null, 0, 1));
+    assertEquals("Scratch Game cannot be null", exception.getMessage());
+  }
+
+  private URI uri(String path) {
+    return URI.create("http://localhost:" + gameServer.getPort() + path);
+  }
+
+  private static HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+    return HTTP_CLIENT.send(request.build(), BodyHandlers.ofString());
+  }
+}
@@ -0,0 +1,147 @@
+package com.cyberspeed.scratchgame.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import com.cyberspeed.scratchgame.GameTestBase;
+import com.cyberspeed.scratchgame.ScratchCard;
+import com.cyberspeed.scratchgame.configs.CompiledGameConfig;
+import com.cyberspeed.scratchgame.exceptions.GameException;
+import com.cyberspeed.scratchgame.probabilities.StandardSymbolsProbability;
+import com.cyberspeed.scratchgame.utils.RewardCalculator;
+import com.cyberspeed.scratchgame.utils.WinCombinationFinder;
+import com.cyberspeed.scratchgame.wincombinations.LinearSymbolsWinCombination;
+import com.cyberspeed.scratchgame.wincombinations.SameSymbolsWinCombination;
+import com.cyberspeed.scratchgame.wincombinations.WinCombination;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class ExactRtpCalculatorTest extends GameTestBase {
+
+  private static final int BETTING_AMOUNT = 100;
+
+  private final Map<String, WinCombination> winCombinations = new HashMap<>();
+
+  @BeforeEach
+  void initSmallMatrix() {
+    when(gameConfig.rows()).thenReturn(2);
+    when(gameConfig.columns()).thenReturn(2);
+    when(probability.standardSymbolsProbabilities()).thenReturn(
+      List.of(new StandardSymbolsProbability(0, 0, STANDARD_SYMBOLS_PROBABILITIES),
+        new StandardSymbolsProbability(0, 1, STANDARD_SYMBOLS_PROBABILITIES),
+        new StandardSymbolsProbability(1, 0, STANDARD_SYMBOLS_PROBABILITIES),
+        new StandardSymbolsProbability(1, 1, STANDARD_SYMBOLS_PROBABILITIES)));
+
+    winCombinations.put("same_symbol_2_times", new SameSymbolsWinCombination(1, "same_symbols", 2));
+    winCombinations.put("same_symbol_3_times", new SameSymbolsWinCombination(1.5, "same_symbols", 3));
+    winCombinations.put("same_symbol_4_times", new SameSymbolsWinCombination(2, "same_symbols", 4));
+    winCombinations.put("same_symbols_horizontally", new LinearSymbolsWinCombination(2, "horizontally_linear_symbols",
+      List.of(List.of("0:0", "0:1"), List.of("1:0", "1:1"))));
+    when(gameConfig.winCombinations()).thenReturn(winCombinations);
+  }
+
+  @Test
+  void calculate_matchesEveryPlayedScratchCard() {
+    var compiledGameConfig = new CompiledGameConfig(copyGameConfig());
+
+    var report = new ExactRtpCalculator(compiledGameConfig).calculate(BETTING_AMOUNT, 4);
+
+    assertEquals(expectedReward(compiledGameConfig), report.getExpectedReward(), 1e-9);
+    assertEquals(report.getExpectedReward() / BETTING_AMOUNT, report.getRtp(), 1e-12);
+    assertEquals(1.0, report.getPayoutDistribution().values().stream().mapToDouble(Double::doubleValue).sum(), 1e-12);
+    assertEquals(6 * 6 * 6 * 6 + 4 * 6 * 6 * 6, report.getOutcomes());
+    assertTrue(report.getHitFrequency() > 0 && report.getHitFrequency() < 1);
+  }
+
+  @Test
+  void calculate_matchesEveryPlayedScratchCard_whenBonusSymbolCanWin() {
+    winCombinations.put("same_symbol_1_times", new SameSymbolsWinCombination(1, "same_symbols", 1));
+    var compiledGameConfig = new CompiledGameConfig(copyGameConfig());
+
+    var report = new ExactRtpCalculator(compiledGameConfig).calculate(BETTING_AMOUNT, 2);
+
+    assertEquals(expectedReward(compiledGameConfig), report.getExpectedReward(), 1e-9);
+    assertEquals(6 * 6 * 6 * 6 + 4 * 6 * 6 * 6 * 5, report.getOutcomes());
+  }
+
+  @Test
+  void throwsException_whenThereAreTooManyOutcomes() {
+    when(gameConfig.rows()).thenReturn(3);
+    when(gameConfig.columns()).thenReturn(4);
+    var standardSymbolsProbabilities = new ArrayList<StandardSymbolsProbability>();
+    for (int cell = 0; cell < 12; cell++) {
+      standardSymbolsProbabilities.add(new StandardSymbolsProbability(cell / 4, cell % 4,
+        STANDARD_SYMBOLS_PROBABILITIES));
+    }
+    when(probability.standardSymbolsProbabilities()).thenReturn(standardSymbolsProbabilities);
+    var calculator = new ExactRtpCalculator(new CompiledGameConfig(gameConfig));
+
+    var exception = assertThrows(GameException.class, () -> calculator.calculate(BETTING_AMOUNT, 1));
+    assertEquals("Configuration has too many outcomes to calculate exact RTP, maximum is 1000000000, but was: "
+      + calculator.countOutcomes(), exception.getMessage());
+  }
+
+  @Test
+  void throwsException_whenConfigIsNull() {
+    var exception = assertThrows(GameException.class, () -> new ExactRtpCalculator(null));
+    assertEquals("Config cannot be null", exception.getMessage());
+  }
+
+  /**
+   * Plays every Scratch Card of the 2x2 matrix, with and without every bonus symbol on every cell, with the game's own
+   * win combination finder and reward calculator
+   */
+  private double expectedReward(CompiledGameConfig compiledGameConfig) {
+    var winCombinationFinder = new WinCombinationFinder();
+    var rewardCalculator = new RewardCalculator();
+    var bonusSampler = compiledGameConfig.getBonusSymbolSampler();
+    var sampler = compiledGameConfig.getStandardSymbolSampler(0);
+    var bonusProbability = ScratchCard.BONUS_GENERATION_PROBABILITY_PERCENTAGE / 100.0;
+    var expectedReward = 0.0;
+
+    for (int card = 0; card < 6 * 6 * 6 * 6; card++) {
+      var cells = new byte[4];
+      var cardProbability = 1.0;
+      for (int cell = 0, remainder = card; cell < 4; cell++, remainder /= 6) {
+        cells[cell] = (byte) sampler.getSymbolId(remainder % 6);
+        cardProbability *= (double) sampler.getProbability(remainder % 6) / sampler.getTotalProbability();
+      }
+
+      expectedReward += (1 - bonusProbability) * cardProbability
+        * play(compiledGameConfig, cells, ScratchCard.NO_BONUS_SYMBOL, winCombinationFinder, rewardCalculator);
+
+      for (int cell = 0; cell < 4; cell++) {
+        for (int bonus = 0; bonus < bonusSampler.size(); bonus++) {
+          var bonusCells = cells.clone();
+          bonusCells[cell] = (byte) bonusSampler.getSymbolId(bonus);
+          var probability = bonusProbability / 4 * bonusSampler.getProbability(bonus)
+            / bonusSampler.getTotalProbability() * cardProbability;
+          expectedReward += probability * play(compiledGameConfig, bonusCells, bonusSampler.getSymbolId(bonus),
+            winCombinationFinder, rewardCalculator);
+        }
+      }
+    }
+
+    return expectedReward;
+  }
+
+  private int play(CompiledGameConfig compiledGameConfig, byte[] cells, int bonusSymbolId,
+    WinCombinationFinder winCombinationFinder, RewardCalculator rewardCalculator) {
+    var scratchCard = new ScratchCard(compiledGameConfig, cells, bonusSymbolId);
+    var winningCombinationIds = winCombinationFinder.findIds(scratchCard, compiledGameConfig);
+    return (int) rewardCalculator.calculate(compiledGameConfig, BETTING_AMOUNT, scratchCard.getBonusSymbolId(),
+      winningCombinationIds);
+  }
+}
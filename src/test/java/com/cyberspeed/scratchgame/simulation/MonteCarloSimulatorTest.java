@@ -0,0 +1,84 @@
+package com.cyberspeed.scratchgame.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.cyberspeed.scratchgame.GameTestBase;
+import com.cyberspeed.scratchgame.configs.CompiledGameConfig;
+import com.cyberspeed.scratchgame.exceptions.GameException;
+import com.cyberspeed.scratchgame.utils.RandomGenerators;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class MonteCarloSimulatorTest extends GameTestBase {
+
+  @Test
+  void simulate_playsAllRounds() {
+    var simulator = new MonteCarloSimulator(new CompiledGameConfig(gameConfig));
+
+    var report = simulator.simulate(100, 1003, 3);
+
+    assertEquals(1003, report.getRounds());
+    assertEquals(3, report.getThreads());
+    assertEquals(100, report.getBettingAmount());
+    assertEquals(100_300, report.getTotalBet());
+    assertEquals(report.getTotalReward() / report.getTotalBet(), report.getRtp(), 1e-9);
+    assertEquals(report.getTotalReward() / report.getRounds(), report.getAverageReward(), 1e-6);
+    assertEquals(Math.sqrt(report.getRewardVariance()), report.getRewardStandardDeviation(), 1e-9);
+    assertTrue(report.getHitFrequency() >= 0 && report.getHitFrequency() <= 1);
+    assertEquals(WIN_COMBINATIONS.keySet(), report.getWinCombinationTriggerRates().keySet());
+    assertEquals(BONUS_SYMBOLS_PROBABILITIES.keySet(), report.getBonusSymbolTriggerRates().keySet());
+  }
+
+  @Test
+  void simulate_sameSeedPlaysSameRounds_withAnyNumberOfThreads() {
+    var simulator = new MonteCarloSimulator(new CompiledGameConfig(copyGameConfig()));
+
+    // more tasks than are in flight on a single thread, fewer than on three threads
+    var report1 = simulator.simulate(100, 400_000, 1, RandomGenerators.create(7));
+    var report2 = simulator.simulate(100, 400_000, 3, RandomGenerators.create(7));
+
+    assertEquals(report1.getTotalReward(), report2.getTotalReward());
+    assertEquals(report1.getRewardVariance(), report2.getRewardVariance());
+    assertEquals(report1.getMaxReward(), report2.getMaxReward());
+    assertEquals(report1.getWinCombinationTriggerRates(), report2.getWinCombinationTriggerRates());
+    assertEquals(report1.getBonusSymbolTriggerRates(), report2.getBonusSymbolTriggerRates());
+  }
+
+  @Test
+  void simulate_whenRoundsIsLessThanThreads() {
+    var simulator = new MonteCarloSimulator(new CompiledGameConfig(gameConfig));
+
+    var report = simulator.simulate(100, 2, 8);
+
+    assertEquals(2, report.getRounds());
+  }
+
+  @Test
+  void throwsException_whenConfigIsNull() {
+    var exception = assertThrows(GameException.class, () -> new MonteCarloSimulator(null));
+    assertEquals("Config cannot be null", exception.getMessage());
+  }
+
+  @Test
+  void throwsException_whenRoundsIsZero() {
+    var simulator = new MonteCarloSimulator(new CompiledGameConfig(gameConfig));
+
+    var exception = assertThrows(GameException.class, () -> simulator.simulate(100, 0, 1));
+    assertEquals("Number of rounds to simulate must be greater than 0", exception.getMessage());
+  }
+
+  @Test
+  void throwsException_whenThreadsIsZero() {
+    var simulator = new MonteCarloSimulator(new CompiledGameConfig(gameConfig));
+
+    var exception = assertThrows(GameException.class, () -> simulator.simulate(100, 10, 0));
+    assertEquals("Number of threads must be greater than 0", exception.getMessage());
+  }
+}
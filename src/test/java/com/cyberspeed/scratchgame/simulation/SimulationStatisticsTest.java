@@ -0,0 +1,49 @@
+package com.cyberspeed.scratchgame.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+public class SimulationStatisticsTest {
+
+  @Test
+  void addRound_calculatesStatistics() {
+    var statistics = new SimulationStatistics(1, 1);
+    statistics.addRound(0);
+    statistics.addRound(100);
+    statistics.addRound(200);
+
+    assertEquals(3, statistics.getRounds());
+    assertEquals(2, statistics.getWinningRounds());
+    assertEquals(300, statistics.getTotalReward());
+    assertEquals(200, statistics.getMaxReward());
+    assertEquals(100, statistics.getMean(), 1e-9);
+    assertEquals(20_000.0 / 3, statistics.getVariance(), 1e-9);
+  }
+
+  @Test
+  void merge_isSameAsAddingAllRounds() {
+    var expected = new SimulationStatistics(2, 2);
+    var first = new SimulationStatistics(2, 2);
+    var second = new SimulationStatistics(2, 2);
+    long[] rewards = {0, 50, 1000, 0, 20, 3000, 70};
+    for (int i = 0; i < rewards.length; i++) {
+      expected.addRound(rewards[i]);
+      (i < 3 ? first : second).addRound(rewards[i]);
+    }
+    first.addWinCombinationTrigger(1);
+    second.addWinCombinationTrigger(1);
+    second.addBonusSymbolTrigger(0);
+
+    first.merge(second);
+
+    assertEquals(expected.getRounds(), first.getRounds());
+    assertEquals(expected.getWinningRounds(), first.getWinningRounds());
+    assertEquals(expected.getTotalReward(), first.getTotalReward());
+    assertEquals(expected.getMaxReward(), first.getMaxReward());
+    assertEquals(expected.getMean(), first.getMean(), 1e-9);
+    assertEquals(expected.getVariance(), first.getVariance(), 1e-6);
+    assertEquals(2, first.getWinCombinationTriggers(1));
+    assertEquals(1, first.getBonusSymbolTriggers(0));
+  }
+}
@@ -0,0 +1,30 @@
+package com.cyberspeed.scratchgame.symbols;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.cyberspeed.scratchgame.exceptions.GameException;
+import org.junit.jupiter.api.Test;
+
+public class BonusImpactTest {
+
+  @Test
+  void ofImpact() {
+    assertEquals(BonusImpact.MULTIPLY_REWARD, BonusImpact.of("multiply_reward"));
+    assertEquals(BonusImpact.EXTRA_BONUS, BonusImpact.of("extra_bonus"));
+    assertEquals(BonusImpact.MISS, BonusImpact.of("miss"));
+  }
+
+  @Test
+  void appliesToReward() {
+    assertEquals(5000, BonusImpact.MULTIPLY_REWARD.apply(500, 10, 1000));
+    assertEquals(1500, BonusImpact.EXTRA_BONUS.apply(500, 10, 1000));
+    assertEquals(500, BonusImpact.MISS.apply(500, 10, 1000));
+  }
+
+  @Test
+  void throwsException_whenImpactIsUnknown() {
+    var exception = assertThrows(GameException.class, () -> BonusImpact.of("unknown-impact"));
+    assertEquals("Unknown bonus symbol impact: unknown-impact", exception.getMessage());
+  }
+}
@@ -1,12 +1,16 @@
 package com.cyberspeed.scratchgame.utils;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.cyberspeed.scratchgame.GameArgumentsParser;
 import com.cyberspeed.scratchgame.exceptions.GameException;
 import com.cyberspeed.scratchgame.models.GameInput;
+import com.cyberspeed.scratchgame.models.GameMode;
 import org.junit.jupiter.api.Test;
 
 public class GameArgumentsParserTest {
@@ -21,6 +25,147 @@ public class GameArgumentsParserTest {
     assertNotNull(gameInput);
     assertEquals("config.json", gameInput.configFile());
     assertEquals(100, gameInput.bettingAmount());
+    assertEquals(GameMode.PLAY, gameInput.mode());
+    assertNull(gameInput.seed());
+    assertNull(gameInput.configCacheDirectory());
+  }
+
+  @Test
+  public void parse_validInputWithSeed() {
+    String[] input = {"--config", "config.json", "--betting-amount", "100", "--seed", "-42"};
+    GameInput gameInput = GAME_ARGUMENTS_PARSER.parse(input);
+
+    assertEquals(GameMode.PLAY, gameInput.mode());
+    assertEquals(-42L, gameInput.seed());
+  }
+
+  @Test
+  public void parse_validInputWithConfigCache() {
+    String[] input = {"--config", "config.json", "--betting-amount", "100", "--config-cache", "cache"};
+
+    var gameInput = GAME_ARGUMENTS_PARSER.parse(input);
+    assertEquals("config.json", gameInput.configFile());
+    assertEquals("cache", gameInput.configCacheDirectory());
+  }
+
+  @Test
+  public void throwsScratchGameException_whenSeedIsInvalid() {
+    String[] input = {"--config", "config.json", "--betting-amount", "100", "--seed", "abc"};
+
+    var exception = assertThrows(GameException.class, () -> GAME_ARGUMENTS_PARSER.parse(input));
+    assertEquals("Unable to parse seed", exception.getMessage());
+  }
+
+  @Test
+  public void parse_validSimulationInput() {
+    String[] input = {"--config", "config.json", "--betting-amount", "100", "--simulate", "1000", "--threads", "4"};
+    GameInput gameInput = GAME_ARGUMENTS_PARSER.parse(input);
+
+    assertEquals(GameMode.SIMULATE, gameInput.mode());
+    assertEquals(100, gameInput.bettingAmount());
+    assertEquals(1000, gameInput.simulationRounds());
+    assertEquals(4, gameInput.threads());
+  }
+
+  @Test
+  public void parse_simulationInput_usesAvailableProcessors_whenThreadsIsMissing() {
+    String[] input = {"--config", "config.json", "--betting-amount", "100", "--simulate", "1000"};
+    GameInput gameInput = GAME_ARGUMENTS_PARSER.parse(input);
+
+    assertEquals(Runtime.getRuntime().availableProcessors(), gameInput.threads());
+  }
+
+  @Test
+  public void parse_validExactRtpInput() {
+    String[] input = {"--config", "config.json", "--exact-rtp", "--betting-amount", "100", "--threads", "2"};
+    GameInput gameInput = GAME_ARGUMENTS_PARSER.parse(input);
+
+    assertEquals(GameMode.EXACT_RTP, gameInput.mode());
+    assertEquals("config.json", gameInput.configFile());
+    assertEquals(100, gameInput.bettingAmount());
+    assertEquals(2, gameInput.threads());
+  }
+
+  @Test
+  public void parse_validServeInput_withoutBettingAmount() {
+    String[] input = {"--config", "config.json", "--serve", "8080"};
+    GameInput gameInput = GAME_ARGUMENTS_PARSER.parse(input);
+
+    assertEquals(GameMode.SERVE, gameInput.mode());
+    assertEquals(8080, gameInput.port());
+    assertFalse(gameInput.metrics());
+  }
+
+  @Test
+  public void parse_validServeInput_withMetrics() {
+    String[] input = {"--config", "config.json", "--metrics", "--serve", "8080"};
+    GameInput gameInput = GAME_ARGUMENTS_PARSER.parse(input);
+
+    assertEquals(GameMode.SERVE, gameInput.mode());
+    assertEquals(8080, gameInput.port());
+    assertTrue(gameInput.metrics());
+  }
+
+  @Test
+  public void throwsScratchGameException_whenPortIsNotWithinRange() {
+    String[] input = {"--config", "config.json", "--serve", "70000"};
+
+    var exception = assertThrows(GameException.class, () -> GAME_ARGUMENTS_PARSER.parse(input));
+    assertEquals("Port must be between 0 and 65535, but was: 70000", exception.getMessage());
+  }
+
+  @Test
+  public void parsesBatchMode_withoutBettingAmount() {
+    String[] input = {"--config", "config.json", "--batch", "bets.jsonl", "--out", "out.jsonl", "--seed", "7"};
+    GameInput gameInput = GAME_ARGUMENTS_PARSER.parse(input);
+
+    assertEquals(GameMode.BATCH, gameInput.mode());
+    assertEquals("bets.jsonl", gameInput.batchFile());
+    assertEquals("out.jsonl", gameInput.outputFile());
+    assertEquals(7L, gameInput.seed());
+  }
+
+  @Test
+  public void parsesJfrSummaryMode_withoutConfig() {
+    String[] input = {"--jfr-summary", "rounds.jfr"};
+    GameInput gameInput = GAME_ARGUMENTS_PARSER.parse(input);
+
+    assertEquals(GameMode.JFR_SUMMARY, gameInput.mode());
+    assertEquals("rounds.jfr", gameInput.recordingFile());
+    assertNull(gameInput.configFile());
+  }
+
+  @Test
+  public void throwsScratchGameException_whenBatchOutputFileIsMissing() {
+    String[] input = {"--config", "config.json", "--batch", "bets.jsonl"};
+
+    var exception = assertThrows(GameException.class, () -> GAME_ARGUMENTS_PARSER.parse(input));
+    assertEquals("Unable to parse batch input. Usage: --batch <requests-file> --out <output-file>",
+      exception.getMessage());
+  }
+
+  @Test
+  public void throwsScratchGameException_whenSimulationRoundsIsInvalid() {
+    String[] input = {"--config", "config.json", "--betting-amount", "100", "--simulate", "abc"};
+
+    var exception = assertThrows(GameException.class, () -> GAME_ARGUMENTS_PARSER.parse(input));
+    assertEquals("Unable to parse number of rounds to simulate", exception.getMessage());
+  }
+
+  @Test
+  public void throwsScratchGameException_whenSimulationRoundsIsZero() {
+    String[] input = {"--config", "config.json", "--betting-amount", "100", "--simulate", "0"};
+
+    var exception = assertThrows(GameException.class, () -> GAME_ARGUMENTS_PARSER.parse(input));
+    assertEquals("Number of rounds to simulate must be greater than 0", exception.getMessage());
+  }
+
+  @Test
+  public void throwsScratchGameException_whenThreadsIsNegative() {
+    String[] input = {"--config", "config.json", "--betting-amount", "100", "--simulate", "10", "--threads", "-1"};
+
+    var exception = assertThrows(GameException.class, () -> GAME_ARGUMENTS_PARSER.parse(input));
+    assertEquals("Number of threads must be greater than 0", exception.getMessage());
   }
 
   @Test
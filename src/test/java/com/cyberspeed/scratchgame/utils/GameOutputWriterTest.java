@@ -0,0 +1,105 @@
+package com.cyberspeed.scratchgame.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.cyberspeed.scratchgame.GameTestBase;
+import com.cyberspeed.scratchgame.ScratchGame;
+import com.cyberspeed.scratchgame.exceptions.GameException;
+import com.cyberspeed.scratchgame.models.GameOutput;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class GameOutputWriterTest extends GameTestBase {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+    .setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
+
+  @Test
+  void pretty_writesRowsOfMatrixOnTheirOwnLine() {
+    var gameOutput = GameOutput.builder().matrix(new String[][]{{"A", "B"}, {"C", "D"}}).reward(2500)
+      .appliedWinningCombinations(Map.of("A", Set.of("same_symbol_3_times"))).appliedBonusSymbol("+1000").build();
+
+    var expected = """
+      {
+        "matrix" : [
+          [ "A", "B" ],
+          [ "C", "D" ]
+        ],
+        "reward" : 2500,
+        "applied_winning_combinations" : {
+          "A" : [ "same_symbol_3_times" ]
+        },
+        "applied_bonus_symbol" : "+1000"
+      }""";
+
+    assertEquals(expected, write(GameOutputWriter.pretty(), gameOutput).replace(System.lineSeparator(), "\n"));
+  }
+
+  @Test
+  void pretty_writesSameLayoutAsIndentedOutput() throws Exception {
+    // layout that used to be printed on console, made by adjusting the indented output
+    var indentingMapper = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_EMPTY)
+      .enable(SerializationFeature.INDENT_OUTPUT);
+    var scratchGame = new ScratchGame(copyGameConfig());
+    var random = RandomGenerators.create(7);
+
+    for (int round = 0; round < 1000; round++) {
+      var gameOutput = scratchGame.play(100, random);
+      var expected = indentingMapper.writeValueAsString(gameOutput).replace("[ [", "[\n    [")
+        .replace("], [", "],\n    [").replace("] ],", "]\n  ],");
+
+      assertEquals(expected, write(GameOutputWriter.pretty(), gameOutput));
+    }
+  }
+
+  @Test
+  void compact_writesSingleLine() throws Exception {
+    var scratchGame = new ScratchGame(copyGameConfig());
+    var random = RandomGenerators.create(7);
+
+    for (int round = 0; round < 100; round++) {
+      var gameOutput = scratchGame.play(100, random);
+
+      assertEquals(OBJECT_MAPPER.writeValueAsString(gameOutput), write(GameOutputWriter.compact(), gameOutput));
+    }
+  }
+
+  @Test
+  void write_manyValuesToSameGenerator() throws Exception {
+    var output = new ByteArrayOutputStream();
+
+    try (var generator = GameOutputWriter.compact().createGenerator(output)) {
+      GameOutputWriter.compact().write(Map.of("error", "first"), generator);
+      GameOutputWriter.compact().write(Map.of("error", "second"), generator);
+    }
+
+    assertEquals("{\"error\":\"first\"} {\"error\":\"second\"}", output.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void throwsException_whenValueIsNull() {
+    var output = new ByteArrayOutputStream();
+
+    var exception = assertThrows(GameException.class, () -> GameOutputWriter.compact().write(null, output));
+    assertEquals("Scratch Game output cannot be null", exception.getMessage());
+  }
+
+  private static String write(GameOutputWriter gameOutputWriter, Object value) {
+    var output = new ByteArrayOutputStream();
+    gameOutputWriter.write(value, output);
+    return output.toString(StandardCharsets.UTF_8);
+  }
+}
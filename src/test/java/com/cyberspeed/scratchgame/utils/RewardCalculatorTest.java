@@ -4,8 +4,11 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.cyberspeed.scratchgame.GameTestBase;
+import com.cyberspeed.scratchgame.ScratchCard;
+import com.cyberspeed.scratchgame.configs.CompiledGameConfig;
 import com.cyberspeed.scratchgame.exceptions.GameException;
 import com.cyberspeed.scratchgame.symbols.BonusSymbol;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
@@ -17,6 +20,7 @@ import org.mockito.quality.Strictness;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
+@SuppressWarnings("deprecation")
 public class RewardCalculatorTest extends GameTestBase {
 
   private static final int BET_AMOUNT = 100;
@@ -120,4 +124,73 @@ public class RewardCalculatorTest extends GameTestBase {
 
     assertEquals("Unknown bonus symbol impact: unknown-impact", actualException.getMessage());
   }
+
+  @Test
+  void calculateReward_multipliesEveryWinCombination_whenTwoOfGroupAreApplied() {
+    var winningCombinations = Map.of("A", Set.of("same_symbol_4_times", "same_symbol_5_times"));
+
+    var actualRewardAmount = REWARD_CALCULATOR.calculate(gameConfig, BET_AMOUNT, null, winningCombinations);
+
+    // symbol A reward = 100 x 50 x 1.5 x 2 = 15000
+    assertEquals(15000, actualRewardAmount);
+  }
+
+  @Test
+  void calculateReward_throwsException_whenSymbolIsNotConfigured() {
+    var winningCombinations = Map.of("Z", Set.of("same_symbol_3_times"));
+
+    var actualException = assertThrows(GameException.class,
+      () -> REWARD_CALCULATOR.calculate(gameConfig, BET_AMOUNT, null, winningCombinations));
+
+    assertEquals("Symbol is not configured: Z", actualException.getMessage());
+  }
+
+  @Test
+  void calculateReward_compiled_sameAsByName() {
+    var compiledGameConfig = new CompiledGameConfig(gameConfig);
+    String[][] matrix = {{"A", "A", "A"}, {"B", "+1000", "B"}, {"A", "B", "A"}};
+    var scratchCard = createScratchCard(compiledGameConfig, matrix);
+    var winCombinationFinder = new WinCombinationFinder();
+
+    var winningCombinationIds = winCombinationFinder.findIds(scratchCard, compiledGameConfig);
+    var actualRewardAmount = REWARD_CALCULATOR.calculate(compiledGameConfig, BET_AMOUNT,
+      scratchCard.getBonusSymbolId(), winningCombinationIds);
+
+    // symbol A reward = 100 x 50 x 2 x 2 = 20000, symbol B reward = 100 x 25 x 1 = 2500
+    // total reward = (20000 + 2500) + 1000 = 23500
+    assertEquals(23500, actualRewardAmount);
+    assertEquals(REWARD_CALCULATOR.calculate(gameConfig, BET_AMOUNT, "+1000",
+      winCombinationFinder.toNames(winningCombinationIds, compiledGameConfig)), actualRewardAmount);
+  }
+
+  @Test
+  void calculateReward_compiled_sameAsByName_forEveryPlayedScratchCard() {
+    var copiedGameConfig = copyGameConfig();
+    var compiledGameConfig = new CompiledGameConfig(copiedGameConfig);
+    var winCombinationFinder = WinCombinationFinder.sequential();
+    var random = RandomGenerators.create(5);
+
+    for (int round = 0; round < 1000; round++) {
+      var scratchCard = new ScratchCard(compiledGameConfig, random);
+      var winningCombinationIds = winCombinationFinder.findIds(scratchCard, compiledGameConfig);
+
+      assertEquals(REWARD_CALCULATOR.calculate(copiedGameConfig, BET_AMOUNT, scratchCard.getBonusSymbol(),
+          winCombinationFinder.toNames(winningCombinationIds, compiledGameConfig)),
+        REWARD_CALCULATOR.calculate(compiledGameConfig, BET_AMOUNT, scratchCard.getBonusSymbolId(),
+          winningCombinationIds));
+    }
+  }
+
+  @Test
+  void calculateReward_compiled_noWinCombination_withMultiplyBonus() {
+    var compiledGameConfig = new CompiledGameConfig(gameConfig);
+    var noWinCombination = new int[compiledGameConfig.getSymbolCount()
+      * compiledGameConfig.getWinCombinationGroupCount()];
+    Arrays.fill(noWinCombination, WinCombinationFinder.NO_WIN_COMBINATION);
+
+    var actualRewardAmount = REWARD_CALCULATOR.calculate(compiledGameConfig, BET_AMOUNT,
+      compiledGameConfig.getSymbolId("10x"), noWinCombination);
+
+    assertEquals(0, actualRewardAmount);
+  }
 }
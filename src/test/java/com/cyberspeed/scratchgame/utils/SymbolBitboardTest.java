@@ -0,0 +1,167 @@
+package com.cyberspeed.scratchgame.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.when;
+
+import com.cyberspeed.scratchgame.GameTestBase;
+import com.cyberspeed.scratchgame.ScratchCard;
+import com.cyberspeed.scratchgame.configs.CompiledGameConfig;
+import com.cyberspeed.scratchgame.exceptions.GameException;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class SymbolBitboardTest extends GameTestBase {
+
+  @Test
+  void countsAndCovers_matrixOfOneWord() {
+    String[][] matrix = {{"A", "A", "A"}, {"B", "A", "D"}, {"A", "B", "5x"}};
+    var scratchCard = createScratchCard(matrix);
+    var compiledGameConfig = scratchCard.getCompiledGameConfig();
+
+    var bitboard = new SymbolBitboard(scratchCard);
+    var areaMasks = SymbolBitboard.toMasks(new int[][]{{0, 1, 2}, {0, 4, 8}, {0, 3, 6}}, 1);
+
+    assertEquals(5, bitboard.count(compiledGameConfig.getSymbolId("A")));
+    assertEquals(2, bitboard.count(compiledGameConfig.getSymbolId("B")));
+    assertEquals(0, bitboard.count(compiledGameConfig.getSymbolId("C")));
+    assertTrue(bitboard.covers(compiledGameConfig.getSymbolId("A"), areaMasks, 0));
+    assertFalse(bitboard.covers(compiledGameConfig.getSymbolId("A"), areaMasks, 1));
+    assertFalse(bitboard.covers(compiledGameConfig.getSymbolId("A"), areaMasks, 2));
+  }
+
+  @Test
+  void countsAndCovers_matrixOfMoreThanOneWord() {
+    // 9x9 matrix has 81 cells, masks take two longs
+    when(gameConfig.rows()).thenReturn(9);
+    when(gameConfig.columns()).thenReturn(9);
+    var compiledGameConfig = new CompiledGameConfig(gameConfig);
+    var symbolA = compiledGameConfig.getSymbolId("A");
+    var symbolB = compiledGameConfig.getSymbolId("B");
+
+    var cells = new byte[81];
+    for (int cell = 0; cell < cells.length; cell++) {
+      // last column is filled with A, all other cells with B
+      cells[cell] = (byte) (cell % 9 == 8 ? symbolA : symbolB);
+    }
+    var bitboard = new SymbolBitboard(new ScratchCard(compiledGameConfig, cells, ScratchCard.NO_BONUS_SYMBOL));
+
+    var words = SymbolBitboard.wordCount(81);
+    var lastColumn = new int[9];
+    var lastRow = new int[9];
+    for (int i = 0; i < 9; i++) {
+      lastColumn[i] = i * 9 + 8;
+      lastRow[i] = 72 + i;
+    }
+    var areaMasks = SymbolBitboard.toMasks(new int[][]{lastColumn, lastRow}, words);
+
+    assertEquals(2, words);
+    assertEquals(9, bitboard.count(symbolA));
+    assertEquals(72, bitboard.count(symbolB));
+    assertTrue(bitboard.covers(symbolA, areaMasks, 0));
+    assertFalse(bitboard.covers(symbolB, areaMasks, 0));
+    assertFalse(bitboard.covers(symbolA, areaMasks, 1));
+  }
+
+  @Test
+  void vectorKernel_buildsAndChecksSameMasksAsScalarKernel() {
+    assumeTrue(BitboardKernels.vector() != null, "Vector API module is not added");
+
+    // 37x41 matrix has 1517 cells, neither a multiple of the vector lanes nor of the bits of a word
+    when(gameConfig.rows()).thenReturn(37);
+    when(gameConfig.columns()).thenReturn(41);
+    var compiledGameConfig = new CompiledGameConfig(gameConfig);
+    var symbolCount = compiledGameConfig.getSymbolCount();
+
+    var random = new Random(7);
+    var cells = new byte[37 * 41];
+    for (int cell = 0; cell < cells.length; cell++) {
+      // a few cells are empty, rows 3 and 20 are filled with a single symbol
+      cells[cell] = cell % 97 == 0 ? ScratchCard.EMPTY_CELL
+        : (byte) (cell / 41 == 3 || cell / 41 == 20 ? 1 : random.nextInt(symbolCount));
+    }
+    var scratchCard = new ScratchCard(compiledGameConfig, cells, ScratchCard.NO_BONUS_SYMBOL);
+    var scalar = new SymbolBitboard(scratchCard, BitboardKernels.scalar());
+    var vector = new SymbolBitboard(scratchCard, BitboardKernels.vector());
+
+    // every cell is a covered area, followed by every row
+    var words = SymbolBitboard.wordCount(cells.length);
+    var areaCells = new int[cells.length + 37][];
+    for (int cell = 0; cell < cells.length; cell++) {
+      areaCells[cell] = new int[]{cell};
+    }
+    for (int row = 0; row < 37; row++) {
+      areaCells[cells.length + row] = IntStream.range(row * 41, (row + 1) * 41).toArray();
+    }
+    var areaMasks = SymbolBitboard.toMasks(areaCells, words);
+
+    var coveredRows = 0;
+    for (int symbolId = 0; symbolId < symbolCount; symbolId++) {
+      assertEquals(scalar.count(symbolId), vector.count(symbolId));
+      for (int area = 0; area < areaCells.length; area++) {
+        assertEquals(scalar.covers(symbolId, areaMasks, area), vector.covers(symbolId, areaMasks, area));
+        if (area >= cells.length && vector.covers(symbolId, areaMasks, area)) {
+          coveredRows++;
+        }
+      }
+    }
+    assertEquals(2, coveredRows);
+  }
+
+  @Test
+  void selectedKernel_isVectorKernel_whenVectorModuleIsAdded() {
+    assumeTrue(ModuleLayer.boot().findModule(BitboardKernels.VECTOR_MODULE).isPresent());
+
+    assertNotNull(BitboardKernels.vector());
+    assertSame(BitboardKernels.vector(), BitboardKernels.selected());
+  }
+
+  @Test
+  void selectedKernel_isScalarKernel_whenVectorModuleIsNotAdded() {
+    assumeTrue(ModuleLayer.boot().findModule(BitboardKernels.VECTOR_MODULE).isEmpty());
+
+    assertNull(BitboardKernels.vector());
+    assertSame(BitboardKernels.scalar(), BitboardKernels.selected());
+  }
+
+  @Test
+  void toMasks_setsBitOfEveryCell() {
+    var masks = SymbolBitboard.toMasks(new int[][]{{0, 63}, {64, 65}}, 2);
+
+    assertArrayEquals(new long[]{1L | (1L << 63), 0, 0, 3L}, masks);
+  }
+
+  @Test
+  void wordCount() {
+    assertEquals(1, SymbolBitboard.wordCount(1));
+    assertEquals(1, SymbolBitboard.wordCount(64));
+    assertEquals(2, SymbolBitboard.wordCount(65));
+  }
+
+  @Test
+  void throwsException_whenScratchCardIsNull() {
+    var exception = assertThrows(GameException.class, () -> new SymbolBitboard(null));
+    assertEquals("Game Scratch Card cannot be null", exception.getMessage());
+  }
+
+  @Test
+  void throwsException_whenKernelIsNull() {
+    var scratchCard = createScratchCard(new String[][]{{"A", "A", "A"}, {"B", "A", "D"}, {"A", "B", "5x"}});
+    var exception = assertThrows(GameException.class, () -> new SymbolBitboard(scratchCard, null));
+    assertEquals("Bitboard kernel cannot be null", exception.getMessage());
+  }
+}
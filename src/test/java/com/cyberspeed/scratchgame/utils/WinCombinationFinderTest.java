@@ -1,15 +1,32 @@
 package com.cyberspeed.scratchgame.utils;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
 
 import com.cyberspeed.scratchgame.GameTestBase;
 import com.cyberspeed.scratchgame.ScratchCard;
+import com.cyberspeed.scratchgame.ScratchCardBatch;
+import com.cyberspeed.scratchgame.configs.CompiledGameConfig;
+import com.cyberspeed.scratchgame.configs.GameConfig;
+import com.cyberspeed.scratchgame.exceptions.GameException;
+import com.cyberspeed.scratchgame.probabilities.BonusSymbolsProbability;
+import com.cyberspeed.scratchgame.probabilities.DefaultStandardSymbolsProbability;
+import com.cyberspeed.scratchgame.probabilities.Probability;
+import com.cyberspeed.scratchgame.wincombinations.LinearSymbolsWinCombination;
+import com.cyberspeed.scratchgame.wincombinations.SameSymbolsWinCombination;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
@@ -20,15 +37,12 @@ public class WinCombinationFinderTest extends GameTestBase {
 
   private static final WinCombinationFinder winCombinationFinder = new WinCombinationFinder();
 
-  @Mock
-  ScratchCard scratchCard;
-
   @Test
   void find_noWinCombinationFound() {
     String[][] matrix = {{"A", "B", "C"}, {"E", "B", "5x"}, {"F", "D", "C"}};
-    when(scratchCard.getMatrix()).thenReturn(matrix);
+    var scratchCard = createScratchCard(matrix);
 
-    var actualWiningCombinations = winCombinationFinder.find(scratchCard, gameConfig.winCombinations());
+    var actualWiningCombinations = winCombinationFinder.find(scratchCard, scratchCard.getCompiledGameConfig());
 
     assertNotNull(actualWiningCombinations);
     assertEquals(0, actualWiningCombinations.size());
@@ -36,11 +50,11 @@ public class WinCombinationFinderTest extends GameTestBase {
 
   @Test
   void find_oneSymbol_twoWinCombinationFound() {
-    String[][] matrix = {{"A", "A", "A"}, {"X", "Y", "Z"}, {"A", "A", "A"}};
-    when(scratchCard.getMatrix()).thenReturn(matrix);
+    String[][] matrix = {{"A", "A", "A"}, {"B", "C", "D"}, {"A", "A", "A"}};
+    var scratchCard = createScratchCard(matrix);
 
     var expectedWiningCombinationForSymbolA = Set.of("same_symbol_6_times", "same_symbols_horizontally");
-    var actualWiningCombinations = winCombinationFinder.find(scratchCard, gameConfig.winCombinations());
+    var actualWiningCombinations = winCombinationFinder.find(scratchCard, scratchCard.getCompiledGameConfig());
 
     assertNotNull(actualWiningCombinations);
     assertEquals(1, actualWiningCombinations.size());
@@ -49,12 +63,12 @@ public class WinCombinationFinderTest extends GameTestBase {
 
   @Test
   void find_oneSymbol_threeWinCombinationFound() {
-    String[][] matrix = {{"A", "A", "A"}, {"X", "Y", "A"}, {"B", "B", "A"}};
-    when(scratchCard.getMatrix()).thenReturn(matrix);
+    String[][] matrix = {{"A", "A", "A"}, {"C", "D", "A"}, {"B", "B", "A"}};
+    var scratchCard = createScratchCard(matrix);
 
     var expectedWiningCombinationForSymbolA = Set.of("same_symbol_5_times", "same_symbols_horizontally",
       "same_symbols_vertically");
-    var actualWiningCombinations = winCombinationFinder.find(scratchCard, gameConfig.winCombinations());
+    var actualWiningCombinations = winCombinationFinder.find(scratchCard, scratchCard.getCompiledGameConfig());
 
     assertNotNull(actualWiningCombinations);
     assertEquals(1, actualWiningCombinations.size());
@@ -63,12 +77,12 @@ public class WinCombinationFinderTest extends GameTestBase {
 
   @Test
   void find_twoSymbol_threeWinCombinationFound() {
-    String[][] matrix = {{"A", "B", "B"}, {"X", "A", "X"}, {"B", "C", "A"}};
-    when(scratchCard.getMatrix()).thenReturn(matrix);
+    String[][] matrix = {{"A", "B", "B"}, {"D", "A", "D"}, {"B", "C", "A"}};
+    var scratchCard = createScratchCard(matrix);
 
     var expectedWiningCombinationForSymbolA = Set.of("same_symbol_3_times", "same_symbols_diagonally_left_to_right");
     var expectedWiningCombinationForSymbolB = Set.of("same_symbol_3_times");
-    var actualWiningCombinations = winCombinationFinder.find(scratchCard, gameConfig.winCombinations());
+    var actualWiningCombinations = winCombinationFinder.find(scratchCard, scratchCard.getCompiledGameConfig());
 
     assertNotNull(actualWiningCombinations);
     assertEquals(2, actualWiningCombinations.size());
@@ -79,17 +93,166 @@ public class WinCombinationFinderTest extends GameTestBase {
   @Test
   void find_oneSymbol_fiveWinCombinationFound_matrixWithOnlyOneSymbol() {
     String[][] matrix = {{"A", "A", "A"}, {"A", "A", "A"}, {"A", "A", "A"}};
-    when(scratchCard.getMatrix()).thenReturn(matrix);
+    var scratchCard = createScratchCard(matrix);
 
     var expectedWiningCombinationForSymbolA = Set.of("same_symbol_9_times", "same_symbols_horizontally",
       "same_symbols_vertically", "same_symbols_diagonally_left_to_right", "same_symbols_diagonally_right_to_left");
-    var actualWiningCombinations = winCombinationFinder.find(scratchCard, gameConfig.winCombinations());
+    var actualWiningCombinations = winCombinationFinder.find(scratchCard, scratchCard.getCompiledGameConfig());
 
     assertNotNull(actualWiningCombinations);
     assertEquals(1, actualWiningCombinations.size());
     assertSymbolWinCombinations(expectedWiningCombinationForSymbolA, actualWiningCombinations.get("A"));
   }
 
+  @Test
+  void find_onlyBestWinCombinationOfGroupIsApplied() {
+    when(gameConfig.winCombinations()).thenReturn(Map.of(
+      "same_symbol_3_times", new SameSymbolsWinCombination(1, "same_symbols", 3),
+      "first_row", new LinearSymbolsWinCombination(2, "horizontally_linear_symbols",
+        List.of(List.of("0:0", "0:1", "0:2"))),
+      "any_row", new LinearSymbolsWinCombination(3, "horizontally_linear_symbols",
+        List.of(List.of("0:0", "0:1", "0:2"), List.of("1:0", "1:1", "1:2"), List.of("2:0", "2:1", "2:2"))),
+      "three_in_row", new SameSymbolsWinCombination(5, "horizontally_linear_symbols", 3)));
+    String[][] matrix = {{"A", "A", "A"}, {"B", "C", "D"}, {"E", "F", "B"}};
+    var scratchCard = createScratchCard(matrix);
+
+    var actualWiningCombinations = winCombinationFinder.find(scratchCard, scratchCard.getCompiledGameConfig());
+
+    assertEquals(1, actualWiningCombinations.size());
+    // three_in_row has the highest reward multiplier of the horizontally_linear_symbols group
+    assertSymbolWinCombinations(Set.of("same_symbol_3_times", "three_in_row"), actualWiningCombinations.get("A"));
+  }
+
+  @Test
+  void find_bestLinearWinCombinationOfGroupIsApplied() {
+    when(gameConfig.winCombinations()).thenReturn(Map.of(
+      "first_row", new LinearSymbolsWinCombination(2, "horizontally_linear_symbols",
+        List.of(List.of("0:0", "0:1", "0:2"))),
+      "any_row", new LinearSymbolsWinCombination(3, "horizontally_linear_symbols",
+        List.of(List.of("0:0", "0:1", "0:2"), List.of("1:0", "1:1", "1:2"), List.of("2:0", "2:1", "2:2")))));
+    String[][] matrix = {{"A", "A", "A"}, {"B", "B", "B"}, {"E", "F", "C"}};
+    var scratchCard = createScratchCard(matrix);
+
+    var actualWiningCombinations = winCombinationFinder.find(scratchCard, scratchCard.getCompiledGameConfig());
+
+    assertEquals(2, actualWiningCombinations.size());
+    assertSymbolWinCombinations(Set.of("any_row"), actualWiningCombinations.get("A"));
+    assertSymbolWinCombinations(Set.of("any_row"), actualWiningCombinations.get("B"));
+  }
+
+  @Test
+  void findIds_appliesSameWinCombinations_whenCoveredAreasAreCheckedInParallel() {
+    // rows are win combinations of the same group with different reward multipliers, columns and diagonals are covered
+    // areas of one win combination each, so that every task applies win combinations of several groups and ranks
+    // a matrix of more than 64 cells, so that masks have several words
+    var size = 10;
+    var winCombinations = new LinkedHashMap<>(WIN_COMBINATIONS);
+    var columns = new ArrayList<List<String>>();
+    var leftToRight = new ArrayList<String>();
+    for (int i = 0; i < size; i++) {
+      var row = new ArrayList<String>();
+      var column = new ArrayList<String>();
+      for (int j = 0; j < size; j++) {
+        row.add(i + ":" + j);
+        column.add(j + ":" + i);
+      }
+      winCombinations.put("row_" + i, new LinearSymbolsWinCombination(i % 3 + 1, "horizontally_linear_symbols",
+        List.of(row)));
+      columns.add(column);
+      leftToRight.add(i + ":" + i);
+    }
+    winCombinations.put("same_symbols_vertically",
+      new LinearSymbolsWinCombination(2, "vertically_linear_symbols", columns));
+    winCombinations.put("same_symbols_diagonally_left_to_right",
+      new LinearSymbolsWinCombination(2, "ltr_diagonally_linear_symbols", List.of(leftToRight)));
+    var probabilities = new Probability(List.of(), new BonusSymbolsProbability(BONUS_SYMBOLS_PROBABILITIES),
+      new DefaultStandardSymbolsProbability(Map.of("A", 1, "B", 1)));
+    var compiledGameConfig = new CompiledGameConfig(new GameConfig(size, size, ALL_SYMBOLS, probabilities,
+      winCombinations));
+
+    var forkJoinPool = new ForkJoinPool(4);
+    try {
+      var sequentialFinder = new WinCombinationFinder(forkJoinPool, Long.MAX_VALUE);
+      var parallelFinder = new WinCombinationFinder(forkJoinPool, 0);
+      var random = RandomGenerators.create(7);
+      var linearWins = 0;
+
+      for (int round = 0; round < 2000; round++) {
+        var scratchCard = new ScratchCard(compiledGameConfig, random);
+        var expected = sequentialFinder.findIds(scratchCard, compiledGameConfig);
+
+        assertArrayEquals(expected, parallelFinder.findIds(scratchCard, compiledGameConfig));
+        linearWins += Arrays.stream(expected).filter(id -> id != WinCombinationFinder.NO_WIN_COMBINATION
+          && compiledGameConfig.getCoveredAreaCells(id) != null).count();
+      }
+      assertTrue(linearWins > 0);
+    } finally {
+      forkJoinPool.shutdown();
+    }
+  }
+
+  @Test
+  void findIds_appliesSameWinCombinationsToCardOfBatchAndToScratchCard() {
+    var compiledGameConfig = new CompiledGameConfig(gameConfig);
+    var scratchCardBatch = new ScratchCardBatch(compiledGameConfig, 500);
+    scratchCardBatch.fill(RandomGenerators.create(3));
+
+    var forkJoinPool = new ForkJoinPool(4);
+    try {
+      var parallelFinder = new WinCombinationFinder(forkJoinPool, 0);
+      var wins = 0;
+      for (int card = 0; card < scratchCardBatch.getSize(); card++) {
+        var expected = winCombinationFinder.findIds(scratchCardBatch.getScratchCard(card), compiledGameConfig);
+
+        assertArrayEquals(expected, winCombinationFinder.findIds(scratchCardBatch, card, compiledGameConfig));
+        assertArrayEquals(expected, parallelFinder.findIds(scratchCardBatch, card, compiledGameConfig));
+        wins += Arrays.stream(expected).filter(id -> id != WinCombinationFinder.NO_WIN_COMBINATION).count();
+      }
+      assertTrue(wins > 0);
+    } finally {
+      forkJoinPool.shutdown();
+    }
+  }
+
+  @Test
+  void throwsException_whenScratchCardIsCreatedFromAnotherConfig() {
+    var scratchCard = new ScratchCard(new CompiledGameConfig(gameConfig), RandomGenerators.create(1));
+    var otherCompiledGameConfig = new CompiledGameConfig(gameConfig);
+
+    var exception = assertThrows(GameException.class,
+      () -> winCombinationFinder.findIds(scratchCard, otherCompiledGameConfig));
+    assertEquals("Game Scratch Card was not created from the game config", exception.getMessage());
+  }
+
+  @Test
+  void throwsException_whenScratchCardBatchIsCreatedFromAnotherConfig() {
+    var scratchCardBatch = new ScratchCardBatch(new CompiledGameConfig(gameConfig), 1);
+    scratchCardBatch.fill(RandomGenerators.create(1));
+    var otherCompiledGameConfig = new CompiledGameConfig(gameConfig);
+
+    var exception = assertThrows(GameException.class,
+      () -> winCombinationFinder.findIds(scratchCardBatch, 0, otherCompiledGameConfig));
+    assertEquals("Game Scratch Card batch was not created from the game config", exception.getMessage());
+  }
+
+  @Test
+  void sequential_neverSplitsCard() {
+    assertEquals(Long.MAX_VALUE, WinCombinationFinder.sequential().parallelCostThreshold());
+  }
+
+  @Test
+  void throwsException_whenForkJoinPoolIsNull() {
+    var exception = assertThrows(GameException.class, () -> new WinCombinationFinder(null, 0));
+    assertEquals("Fork join pool cannot be null", exception.getMessage());
+  }
+
+  @Test
+  void throwsException_whenParallelCostThresholdIsNegative() {
+    var exception = assertThrows(GameException.class,
+      () -> new WinCombinationFinder(ForkJoinPool.commonPool(), -1));
+    assertEquals("Parallel cost threshold cannot be negative, but was: -1", exception.getMessage());
+  }
+
   private void assertSymbolWinCombinations(Set<String> expectedWinCombination, Set<String> actualWinCombinations) {
     assertNotNull(actualWinCombinations);
     assertEquals(expectedWinCombination, actualWinCombinations);
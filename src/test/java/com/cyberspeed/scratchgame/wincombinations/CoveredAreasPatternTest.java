@@ -0,0 +1,75 @@
+package com.cyberspeed.scratchgame.wincombinations;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.cyberspeed.scratchgame.exceptions.GameException;
+import org.junit.jupiter.api.Test;
+
+public class CoveredAreasPatternTest {
+
+  // cell indexes of a 3x4 matrix:
+  //  0  1  2  3
+  //  4  5  6  7
+  //  8  9 10 11
+
+  @Test
+  void toCellIndexes_allRows() {
+    assertArrayEquals(new int[][]{{0, 1, 2, 3}, {4, 5, 6, 7}, {8, 9, 10, 11}},
+      new CoveredAreasPattern("all_rows").toCellIndexes(3, 4));
+  }
+
+  @Test
+  void toCellIndexes_allColumns() {
+    assertArrayEquals(new int[][]{{0, 4, 8}, {1, 5, 9}, {2, 6, 10}, {3, 7, 11}},
+      new CoveredAreasPattern("all_columns").toCellIndexes(3, 4));
+  }
+
+  @Test
+  void toCellIndexes_diagonals() {
+    assertArrayEquals(new int[][]{{0, 5, 10}}, new CoveredAreasPattern("ltr_diagonal").toCellIndexes(3, 4));
+    assertArrayEquals(new int[][]{{3, 6, 9}}, new CoveredAreasPattern("rtl_diagonal").toCellIndexes(3, 4));
+    assertArrayEquals(new int[][]{{0, 5, 10}, {3, 6, 9}}, new CoveredAreasPattern("diagonals").toCellIndexes(3, 4));
+  }
+
+  @Test
+  void toCellIndexes_stride() {
+    assertArrayEquals(new int[][]{{1, 3}}, new CoveredAreasPattern("stride:0:1:0:2").toCellIndexes(3, 4));
+    assertArrayEquals(new int[][]{{8, 5, 2}}, new CoveredAreasPattern("stride:2:0:-1:1").toCellIndexes(3, 4));
+    assertArrayEquals(new int[][]{{7, 10}}, new CoveredAreasPattern("stride:1:3:1:-1").toCellIndexes(3, 4));
+  }
+
+  @Test
+  void toCellIndexes_throwsException_whenStrideStartIsNotWithinBounds() {
+    var pattern = new CoveredAreasPattern("stride:3:0:1:0");
+
+    var exception = assertThrows(GameException.class, () -> pattern.toCellIndexes(3, 4));
+    assertEquals("Coordinates [3:0] are not within bounds: ", exception.getMessage());
+  }
+
+  @Test
+  void throwsException_whenPatternIsUnknown() {
+    var exception = assertThrows(GameException.class, () -> new CoveredAreasPattern("all_cells"));
+    assertEquals("Unknown covered areas pattern: all_cells", exception.getMessage());
+  }
+
+  @Test
+  void throwsException_whenStridePatternIsIncorrect() {
+    var exception = assertThrows(GameException.class, () -> new CoveredAreasPattern("stride:0:0:1"));
+    assertEquals("Incorrect stride pattern, expected stride:<row>:<column>:<row step>:<column step>, but was: "
+      + "stride:0:0:1", exception.getMessage());
+
+    exception = assertThrows(GameException.class, () -> new CoveredAreasPattern("stride:0:a:1:1"));
+    assertEquals("Incorrect stride pattern: stride:0:a:1:1", exception.getMessage());
+
+    exception = assertThrows(GameException.class, () -> new CoveredAreasPattern("stride:0:0:0:0"));
+    assertEquals("Steps of a stride pattern cannot both be 0: stride:0:0:0:0", exception.getMessage());
+  }
+
+  @Test
+  void throwsException_whenPatternIsEmpty() {
+    var exception = assertThrows(GameException.class, () -> new CoveredAreasPattern(""));
+    assertEquals("covered_areas_pattern cannot be null or empty", exception.getMessage());
+  }
+}
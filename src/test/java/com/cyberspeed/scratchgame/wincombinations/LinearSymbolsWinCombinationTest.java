@@ -3,28 +3,33 @@ package com.cyberspeed.scratchgame.wincombinations;
 import static com.cyberspeed.scratchgame.utils.Validation.isNonEmptyCollection;
 import static com.cyberspeed.scratchgame.utils.Validation.isGreaterThanZero;
 import static com.cyberspeed.scratchgame.utils.Validation.isNotBlank;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyDouble;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.times;
-import static org.mockito.Mockito.when;
 
-import com.cyberspeed.scratchgame.ScratchCard;
+import com.cyberspeed.scratchgame.GameTestBase;
+import com.cyberspeed.scratchgame.exceptions.GameException;
 import com.cyberspeed.scratchgame.utils.Validation;
 import java.util.List;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
 
 @ExtendWith(MockitoExtension.class)
-public class LinearSymbolsWinCombinationTest {
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class LinearSymbolsWinCombinationTest extends GameTestBase {
 
   private static final List<List<String>> HORIZONTAL_COVERED_AREAS = List.of(List.of("0:0", "0:1", "0:2"),
     List.of("1:0", "1:1", "1:1"), List.of("2:0", "2:1", "2:2"));
@@ -33,9 +38,6 @@ public class LinearSymbolsWinCombinationTest {
   private static final List<List<String>> LTR_DIAGONAL_COVERED_AREAS = List.of(List.of("0:0", "1:1", "2:2"));
   private static final List<List<String>> RTL_DIAGONAL_COVERED_AREAS = List.of(List.of("0:2", "1:1", "2:0"));
 
-  @Mock
-  ScratchCard scratchCard;
-
   @Test
   void constructsCorrectly() {
     var linearSymbolsWinCombination = new LinearSymbolsWinCombination(2, "horizontal", HORIZONTAL_COVERED_AREAS);
@@ -61,7 +63,7 @@ public class LinearSymbolsWinCombinationTest {
   @Test
   void apply_horizontalCoveredAreas_noneFound() {
     String[][] matrix = {{"A", "B", "C"}, {"D", "E", "F"}, {"A", "B", "C"}};
-    when(scratchCard.getMatrix()).thenReturn(matrix);
+    var scratchCard = createScratchCard(matrix);
 
     var actualResults = new LinearSymbolsWinCombination(2, "horizontal", HORIZONTAL_COVERED_AREAS).apply(scratchCard);
 
@@ -71,10 +73,10 @@ public class LinearSymbolsWinCombinationTest {
 
   @Test
   void apply_horizontalCoveredAreas_oneFound() {
-    String[][] matrix = {{"X", "O", "Z"}, {"O", "X", "Z"}, {"Z", "Z", "Z"}};
-    when(scratchCard.getMatrix()).thenReturn(matrix);
+    String[][] matrix = {{"A", "B", "C"}, {"B", "A", "C"}, {"C", "C", "C"}};
+    var scratchCard = createScratchCard(matrix);
 
-    var expectedResults = Set.of("Z");
+    var expectedResults = Set.of("C");
     var actualResults = new LinearSymbolsWinCombination(2, "horizontal", HORIZONTAL_COVERED_AREAS).apply(scratchCard);
 
     assertNotNull(actualResults);
@@ -83,10 +85,10 @@ public class LinearSymbolsWinCombinationTest {
 
   @Test
   void apply_horizontalCoveredAreas_twoFound() {
-    String[][] matrix = {{"X", "X", "X"}, {"O", "X", "Z"}, {"Z", "Z", "Z"}};
-    when(scratchCard.getMatrix()).thenReturn(matrix);
+    String[][] matrix = {{"A", "A", "A"}, {"B", "A", "C"}, {"C", "C", "C"}};
+    var scratchCard = createScratchCard(matrix);
 
-    var expectedResults = Set.of("X", "Z");
+    var expectedResults = Set.of("A", "C");
     var actualResults = new LinearSymbolsWinCombination(2, "horizontal", HORIZONTAL_COVERED_AREAS).apply(scratchCard);
 
     assertNotNull(actualResults);
@@ -95,10 +97,10 @@ public class LinearSymbolsWinCombinationTest {
 
   @Test
   void apply_verticalCoveredAreas_oneFound() {
-    String[][] matrix = {{"X", "O", "Z"}, {"O", "X", "Z"}, {"O", "X", "Z"}};
-    when(scratchCard.getMatrix()).thenReturn(matrix);
+    String[][] matrix = {{"A", "B", "C"}, {"B", "A", "C"}, {"B", "A", "C"}};
+    var scratchCard = createScratchCard(matrix);
 
-    var expectedResults = Set.of("Z");
+    var expectedResults = Set.of("C");
     var actualResults = new LinearSymbolsWinCombination(2, "vertical", VERTICAL_COVERED_AREAS).apply(scratchCard);
 
     assertNotNull(actualResults);
@@ -107,10 +109,10 @@ public class LinearSymbolsWinCombinationTest {
 
   @Test
   void apply_ltrDiagonalCoveredAreas_oneFound() {
-    String[][] matrix = {{"X", "O", "O"}, {"O", "X", "O"}, {"O", "O", "X"}};
-    when(scratchCard.getMatrix()).thenReturn(matrix);
+    String[][] matrix = {{"A", "B", "B"}, {"B", "A", "B"}, {"B", "B", "A"}};
+    var scratchCard = createScratchCard(matrix);
 
-    var expectedResults = Set.of("X");
+    var expectedResults = Set.of("A");
     var actualResults = new LinearSymbolsWinCombination(5, "diagonal", LTR_DIAGONAL_COVERED_AREAS).apply(scratchCard);
 
     assertNotNull(actualResults);
@@ -119,13 +121,64 @@ public class LinearSymbolsWinCombinationTest {
 
   @Test
   void apply_rtlDiagonalCoveredAreas_oneFound() {
-    String[][] matrix = {{"O", "O", "Z"}, {"O", "Z", "O"}, {"Z", "O", "O"}};
-    when(scratchCard.getMatrix()).thenReturn(matrix);
+    String[][] matrix = {{"B", "B", "C"}, {"B", "C", "B"}, {"C", "B", "B"}};
+    var scratchCard = createScratchCard(matrix);
 
-    var expectedResults = Set.of("Z");
+    var expectedResults = Set.of("C");
     var actualResults = new LinearSymbolsWinCombination(5, "diagonal", RTL_DIAGONAL_COVERED_AREAS).apply(scratchCard);
 
     assertNotNull(actualResults);
     assertEquals(expectedResults, actualResults);
   }
+
+  @Test
+  void toCellIndexes_convertsCoordinates() {
+    var cellIndexes = new LinearSymbolsWinCombination(5, "diagonal", RTL_DIAGONAL_COVERED_AREAS).toCellIndexes(3, 3);
+
+    assertArrayEquals(new int[][]{{2, 4, 6}}, cellIndexes);
+  }
+
+  @Test
+  void toCellIndexes_throwsException_whenCoordinatesAreNotWithinBounds() {
+    var linearSymbolsWinCombination = new LinearSymbolsWinCombination(2, "horizontal", HORIZONTAL_COVERED_AREAS);
+
+    var exception = assertThrows(GameException.class, () -> linearSymbolsWinCombination.toCellIndexes(2, 3));
+    assertEquals("Coordinates [2:0] are not within bounds: ", exception.getMessage());
+  }
+
+  @Test
+  void toCellIndexes_expandsCoveredAreasPattern() {
+    var linearSymbolsWinCombination = new LinearSymbolsWinCombination(2, "vertical", null, "all_columns");
+
+    assertNull(linearSymbolsWinCombination.getCoveredAreas());
+    assertEquals("all_columns", linearSymbolsWinCombination.getCoveredAreasPattern());
+    assertArrayEquals(new LinearSymbolsWinCombination(2, "vertical", VERTICAL_COVERED_AREAS).toCellIndexes(3, 3),
+      linearSymbolsWinCombination.toCellIndexes(3, 3));
+  }
+
+  @Test
+  void apply_coveredAreasPattern_oneFound() {
+    String[][] matrix = {{"A", "B", "C"}, {"D", "A", "F"}, {"A", "B", "A"}};
+    var linearSymbolsWinCombination = new LinearSymbolsWinCombination(2, "diagonal", null, "diagonals");
+
+    assertEquals(Set.of("A"), linearSymbolsWinCombination.apply(createScratchCard(matrix)));
+  }
+
+  @Test
+  void throwsException_whenCoveredAreasAndPatternAreBothGiven() {
+    var exception = assertThrows(GameException.class,
+      () -> new LinearSymbolsWinCombination(2, "horizontal", HORIZONTAL_COVERED_AREAS, "all_rows"));
+    assertEquals("covered_areas and covered_areas_pattern cannot both be given", exception.getMessage());
+  }
+
+  @Test
+  void throwsException_whenCoordinatesAreIncorrect() {
+    var exception = assertThrows(GameException.class,
+      () -> new LinearSymbolsWinCombination(2, "horizontal", List.of(List.of("0:0", "0-1"))));
+    assertEquals("Incorrect coordinates: 0-1", exception.getMessage());
+
+    exception = assertThrows(GameException.class,
+      () -> new LinearSymbolsWinCombination(2, "horizontal", List.of(List.of("0:0", "0:a"))));
+    assertEquals("Incorrect coordinates: 0:a", exception.getMessage());
+  }
 }
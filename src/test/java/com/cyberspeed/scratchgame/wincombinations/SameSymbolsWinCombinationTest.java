@@ -9,14 +9,12 @@ import static org.mockito.ArgumentMatchers.anyDouble;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.times;
-import static org.mockito.Mockito.when;
 
-import com.cyberspeed.scratchgame.ScratchCard;
+import com.cyberspeed.scratchgame.GameTestBase;
 import com.cyberspeed.scratchgame.utils.Validation;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -25,10 +23,7 @@ import org.mockito.quality.Strictness;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
-public class SameSymbolsWinCombinationTest {
-
-  @Mock
-  ScratchCard scratchCard;
+public class SameSymbolsWinCombinationTest extends GameTestBase {
 
   @Test
   void constructsCorrectly() {
@@ -55,7 +50,7 @@ public class SameSymbolsWinCombinationTest {
   @Test
   void apply_3x_noneFound() {
     String[][] matrix = {{"A", "B", "C"}, {"E", "B", "5x"}, {"F", "D", "C"}};
-    when(scratchCard.getMatrix()).thenReturn(matrix);
+    var scratchCard = createScratchCard(matrix);
 
     var actualResults = new SameSymbolsWinCombination(1, "same_symbols", 3).apply(scratchCard);
 
@@ -65,10 +60,10 @@ public class SameSymbolsWinCombinationTest {
 
   @Test
   void apply_3x_twoFound() {
-    String[][] matrix = {{"X", "O", "Z"}, {"A", "X", "Z"}, {"O", "Z", "X"}};
-    when(scratchCard.getMatrix()).thenReturn(matrix);
+    String[][] matrix = {{"D", "E", "F"}, {"A", "D", "F"}, {"E", "F", "D"}};
+    var scratchCard = createScratchCard(matrix);
 
-    var expectedResults = Set.of("Z", "X");
+    var expectedResults = Set.of("F", "D");
     var actualResults = new SameSymbolsWinCombination(1, "same_symbols", 3).apply(scratchCard);
 
     assertNotNull(actualResults);
@@ -77,10 +72,10 @@ public class SameSymbolsWinCombinationTest {
 
   @Test
   void apply_4x_oneFound() {
-    String[][] matrix = {{"X", "X", "A"}, {"A", "X", "B"}, {"E", "X", "C"}};
-    when(scratchCard.getMatrix()).thenReturn(matrix);
+    String[][] matrix = {{"D", "D", "A"}, {"A", "D", "B"}, {"E", "D", "C"}};
+    var scratchCard = createScratchCard(matrix);
 
-    var expectedResults = Set.of("X");
+    var expectedResults = Set.of("D");
     var actualResults = new SameSymbolsWinCombination(1.5, "same_symbols", 4).apply(scratchCard);
 
     assertNotNull(actualResults);
@@ -0,0 +1,90 @@
+package com.cyberspeed.scratchgame.utils;
+
+import com.cyberspeed.scratchgame.ScratchCard;
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link BitboardKernel} that compares a vector of cells with each symbol id and a vector of words of the masks at a
+ * time, with the incubating Vector API. This class must only be loaded when the {@code jdk.incubator.vector} module is
+ * present, see {@link BitboardKernels}.
+ * <p>
+ * The comparison of the cells with a symbol id is converted to bits without {@code VectorMask.toLong()}, which is not
+ * compiled to a single instruction by JDK 17: each lane of the comparison becomes a byte of 0 or 1, and the 8 bytes of
+ * a long are gathered into 8 bits by a multiplication, the bits of all the longs are then shifted in place and merged.
+ */
+final class VectorBitboardKernel implements BitboardKernel {
+
+  // preferred byte vector of at most 64 lanes, so that the bits of the cells of a vector fit in a word of a mask
+  private static final VectorSpecies<Byte> CELLS = ByteVector.SPECIES_PREFERRED.length() <= Long.SIZE
+    ? ByteVector.SPECIES_PREFERRED : ByteVector.SPECIES_512;
+  private static final VectorSpecies<Long> CELL_LONGS = CELLS.withLanes(long.class);
+  private static final VectorSpecies<Long> WORDS = LongVector.SPECIES_PREFERRED;
+
+  // multiplying a long of bytes of 0 or 1 by this number places the lowest bit of byte i at bit 56 + i
+  private static final long GATHER_BITS = 0x0102040810204080L;
+
+  private static final ByteVector ZEROS = ByteVector.zero(CELLS);
+  // position of the bits of each long of a vector of cells: 0, 8, 16...
+  private static final LongVector BYTE_SHIFTS = LongVector.zero(CELL_LONGS).addIndex(Byte.SIZE);
+
+  @Override
+  public void build(byte[] cells, int offset, int cellCount, int words, long[] symbolMasks, int[] symbolCounts) {
+    var symbolCount = symbolCounts.length;
+    var lanes = CELLS.length();
+
+    // the number of lanes divides 64, so the cells of a vector never span two words
+    var cell = 0;
+    for (; cell <= cellCount - lanes; cell += lanes) {
+      var vector = ByteVector.fromArray(CELLS, cells, offset + cell);
+      var word = cell >>> 6;
+      var shift = cell & (Long.SIZE - 1);
+      for (int symbolId = 0; symbolId < symbolCount; symbolId++) {
+        var bits = ZEROS.blend((byte) 1, vector.eq((byte) symbolId))
+          .reinterpretAsLongs()
+          .mul(GATHER_BITS)
+          .lanewise(VectorOperators.LSHR, Long.SIZE - Byte.SIZE)
+          .lanewise(VectorOperators.LSHL, BYTE_SHIFTS)
+          .reduceLanes(VectorOperators.OR);
+        symbolMasks[symbolId * words + word] |= bits << shift;
+      }
+    }
+    for (; cell < cellCount; cell++) {
+      var symbolId = cells[offset + cell];
+      if (symbolId != ScratchCard.EMPTY_CELL) {
+        symbolMasks[symbolId * words + (cell >>> 6)] |= 1L << cell;
+      }
+    }
+
+    // a symbol appears on as many cells as there are bits in its mask
+    for (int symbolId = 0; symbolId < symbolCount; symbolId++) {
+      var count = 0;
+      for (int word = symbolId * words; word < (symbolId + 1) * words; word++) {
+        count += Long.bitCount(symbolMasks[word]);
+      }
+      symbolCounts[symbolId] = count;
+    }
+  }
+
+  @Override
+  public boolean covers(long[] symbolMasks, int symbolOffset, long[] areaMasks, int areaOffset, int words) {
+    var word = 0;
+    for (; word <= words - WORDS.length(); word += WORDS.length()) {
+      var areaMask = LongVector.fromArray(WORDS, areaMasks, areaOffset + word);
+      var symbolMask = LongVector.fromArray(WORDS, symbolMasks, symbolOffset + word);
+      // bits of the covered area that are not set in the mask of the symbol
+      if (areaMask.lanewise(VectorOperators.AND_NOT, symbolMask).compare(VectorOperators.NE, 0).anyTrue()) {
+        return false;
+      }
+    }
+    for (; word < words; word++) {
+      var areaMask = areaMasks[areaOffset + word];
+      if ((symbolMasks[symbolOffset + word] & areaMask) != areaMask) {
+        return false;
+      }
+    }
+    return true;
+  }
+}